@@ -1,6 +1,11 @@
 package de.hpi.bpt.scylla;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+
+import de.hpi.bpt.scylla.logger.LoggingPolicy;
+import de.hpi.bpt.scylla.logger.TraceFilter;
 
 /**
  * Scylla is an extensible simulator for business processes in BPMN. <br>
@@ -16,7 +21,7 @@ public class Scylla {
     public static void main(String[] args) throws IllegalArgumentException {
 
         if (Arrays.stream(args).anyMatch(x -> x.contains("--help"))) {
-                System.out.println("Usage: Scylla --config=<your config file> --bpmn=<your first bpmn file> --cost=<your cost config path> [--bpmn=<your second bpmn file>] [--bpmn=...] --sim=<your first sim file> [--sim=<your second sim file>] [--sim=...] [--output=<your output path>]");
+                System.out.println("Usage: Scylla --config=<your config file> --bpmn=<your first bpmn file> --cost=<your cost config path> [--bpmn=<your second bpmn file>] [--bpmn=...] --sim=<your first sim file> [--sim=<your second sim file>] [--sim=...] [--output=<your output path>] [--enable-bps-logging [--log-every=<k>] [--log-fraction=<0..1> [--log-seed=<seed>]] [--log-processes=<id>,...] [--log-nodes=<id or name>,...] [--log-warmup=<seconds>] [--resource-series=<seconds>]] [--desmoj-logging [--trace-instances=<from>-<to>] [--trace-nodes=<id or name>,...] [--trace-resources=<resource type>,...] [--trace-window=<from>-<to>]] [--event-list=default|calendar] [--kernel=desmoj|native] [--inline-zero-delay] [--timer-wheel]");
                 return;
         }
 
@@ -78,8 +83,67 @@ public class Scylla {
         SimulationManager manager = new SimulationManager(outputFolder, bpmnFilenames, simFilenames, configurationFile,
                 costVariantConfigFile,
                 enableBpsLogging, enableDesmojLogging);
+        manager.setLoggingPolicy(parseLoggingPolicy(args));
+        manager.setTraceFilter(parseTraceFilter(args));
+        argumentValue(args, "--resource-series")
+                .ifPresent(interval -> manager.setResourceBusyTimeSeriesInterval(Long.parseLong(interval)));
+        argumentValue(args, "--event-list").ifPresent(eventList -> {
+            if (!eventList.equals("default") && !eventList.equals("calendar")) {
+                throw new IllegalArgumentException("Event list must be default or calendar, but was " + eventList + ".");
+            }
+            manager.setUseCalendarEventList(eventList.equals("calendar"));
+        });
+        argumentValue(args, "--kernel").ifPresent(kernel -> {
+            if (!kernel.equals("desmoj") && !kernel.equals("native")) {
+                throw new IllegalArgumentException("Kernel must be desmoj or native, but was " + kernel + ".");
+            }
+            manager.setUseNativeEventKernel(kernel.equals("native"));
+        });
+        manager.setInlineZeroDelayEvents(Arrays.stream(args).anyMatch(x -> "--inline-zero-delay".equalsIgnoreCase(x)));
+        manager.setUseTimerWheel(Arrays.stream(args).anyMatch(x -> "--timer-wheel".equalsIgnoreCase(x)));
         manager.run();
     }
+
+    private static LoggingPolicy parseLoggingPolicy(String[] args) {
+        LoggingPolicy loggingPolicy = new LoggingPolicy();
+        argumentValue(args, "--log-every").ifPresent(k -> loggingPolicy.setEveryKthInstance(Integer.parseInt(k)));
+        long seed = argumentValue(args, "--log-seed").map(Long::parseLong).orElse(0L);
+        argumentValue(args, "--log-fraction").ifPresent(f -> loggingPolicy.setFraction(Double.parseDouble(f), seed));
+        argumentValue(args, "--log-processes")
+                .ifPresent(ids -> loggingPolicy.setProcessIds(new HashSet<String>(Arrays.asList(ids.split(",")))));
+        argumentValue(args, "--log-nodes")
+                .ifPresent(ids -> loggingPolicy.setNodes(new HashSet<String>(Arrays.asList(ids.split(",")))));
+        argumentValue(args, "--log-warmup").ifPresent(t -> loggingPolicy.setWarmUpTime(Long.parseLong(t)));
+        return loggingPolicy;
+    }
+
+    private static TraceFilter parseTraceFilter(String[] args) {
+        TraceFilter traceFilter = new TraceFilter();
+        argumentValue(args, "--trace-instances").map(Scylla::parseRange)
+                .ifPresent(range -> traceFilter.setProcessInstanceRange((int) range[0], (int) range[1]));
+        argumentValue(args, "--trace-nodes")
+                .ifPresent(ids -> traceFilter.setNodes(new HashSet<String>(Arrays.asList(ids.split(",")))));
+        argumentValue(args, "--trace-resources")
+                .ifPresent(types -> traceFilter.setResourceTypes(new HashSet<String>(Arrays.asList(types.split(",")))));
+        argumentValue(args, "--trace-window").map(Scylla::parseRange)
+                .ifPresent(range -> traceFilter.setTimeWindow(range[0], range[1]));
+        return traceFilter;
+    }
+
+    private static long[] parseRange(String range) {
+        String[] bounds = range.split("-");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Range must be given as <from>-<to>, but was " + range + ".");
+        }
+        return new long[] { Long.parseLong(bounds[0]), Long.parseLong(bounds[1]) };
+    }
+
+    private static Optional<String> argumentValue(String[] args, String name) {
+        return Arrays.stream(args)
+                .filter(x -> x.startsWith(name + "="))
+                .map(s -> s.substring(name.length() + 1))
+                .findFirst();
+    }
     
 	public static String normalizePath(String path) {
 		if(path == null) return path;
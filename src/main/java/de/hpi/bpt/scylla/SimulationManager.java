@@ -23,11 +23,15 @@ import static de.hpi.bpt.scylla.Scylla.*;
 
 import de.hpi.bpt.scylla.exception.ScyllaValidationException;
 import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.logger.LoggingPolicy;
+import de.hpi.bpt.scylla.logger.SymbolTable;
+import de.hpi.bpt.scylla.logger.TraceFilter;
 import de.hpi.bpt.scylla.model.configuration.SimulationConfiguration;
 import de.hpi.bpt.scylla.model.global.GlobalConfiguration;
 import de.hpi.bpt.scylla.model.process.CommonProcessElements;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.plugin.batch.BatchPluginUtils;
+import de.hpi.bpt.scylla.plugin.dataobject.DataObjectField;
 import de.hpi.bpt.scylla.plugin_loader.DependencyGraph.CycleException;
 import de.hpi.bpt.scylla.plugin_loader.PluginLoader;
 import de.hpi.bpt.scylla.plugin_type.logger.OutputLoggerPluggable;
@@ -37,7 +41,9 @@ import de.hpi.bpt.scylla.plugin_type.parser.ProcessModelParserPluggable;
 import de.hpi.bpt.scylla.plugin_type.parser.SimulationConfigurationParserPluggable;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
+import desmoj.core.simulator.CalendarEventList;
 import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.SchedulerAccess;
 import desmoj.core.simulator.TimeInstant;
 
 /**
@@ -59,6 +65,13 @@ public class SimulationManager {
 
     private boolean enableBpsLogging;
     private boolean enableDesLogging;
+    private LoggingPolicy loggingPolicy = new LoggingPolicy();
+    private TraceFilter traceFilter = new TraceFilter();
+    private long resourceBusyTimeSeriesInterval = 0;
+    private boolean inlineZeroDelayEvents = false;
+    private boolean useCalendarEventList = false;
+    private boolean useNativeEventKernel = false;
+    private boolean useTimerWheel = false;
 
     private String[] processModelFilenames;
     private String[] simulationConfigurationFilenames;
@@ -68,6 +81,9 @@ public class SimulationManager {
     
 	private String outputPath;
 
+    // the symbol tables of the logs are shared by the JVM and are cleared by each run, see SymbolTable
+    private static final Object RUN_LOCK = new Object();
+
     /**
      * Constructor.
      * 
@@ -108,9 +124,16 @@ public class SimulationManager {
     }
 
     /**
-     * parses input, runs DesmoJ simulation experiment, writes BPS output logs
+     * parses input, runs DesmoJ simulation experiment, writes BPS output logs; simulations of the same JVM, e.g. of
+     * the GUI or of parallel tests, are run one after another, as they share the {@link SymbolTable}s
      */
     public String run() {
+        synchronized (RUN_LOCK) {
+            return runExclusively();
+        }
+    }
+
+    private String runExclusively() {
     	
     	Instant startTime = Instant.now();
     	
@@ -122,6 +145,13 @@ public class SimulationManager {
 			throw new Error(e);
 		}
 
+        // identifiers are assigned while parsing and simulating, do not carry them over from a previous run
+        SymbolTable.NODES.clear();
+        SymbolTable.NAMES.clear();
+        SymbolTable.RESOURCES.clear();
+        SymbolTable.COST_DRIVERS.clear();
+        DataObjectField.clearSlots();
+
         try {
         	parseInput();
         }
@@ -139,19 +169,28 @@ public class SimulationManager {
         String experimentName = Long.toString((new Date()).getTime());
         Experiment.setEpsilon(epsilon);
         Experiment exp = new Experiment(experimentName, enableDesLogging);
+        if (useCalendarEventList) {
+            SchedulerAccess.useEventList(exp, new CalendarEventList());
+        }
         exp.setShowProgressBar(false);
 
         // XXX each simulation configuration may have its own seed
         Long randomSeed = globalConfiguration.getRandomSeed();
-        if (randomSeed != null) {
-            exp.setSeedGenerator(randomSeed);
-        }
-        else {
-            exp.setSeedGenerator((new Random()).nextLong());
+        long seed = randomSeed != null ? randomSeed : (new Random()).nextLong();
+        exp.setSeedGenerator(seed);
+        // cost variants are drawn from their own stream, so they do not shift the streams of the simulation
+        if (costVariantConfiguration != null) {
+            costVariantConfiguration.setSeed(seed ^ 0x5DEECE66DL);
         }
 
         SimulationModel sm = new SimulationModel(null, globalConfiguration, costVariantConfiguration, commonProcessElements, processModels,
                 simulationConfigurations, enableBpsLogging, enableDesLogging);
+        sm.setLoggingPolicy(loggingPolicy);
+        sm.setTraceFilter(traceFilter);
+        sm.setResourceBusyTimeSeriesInterval(resourceBusyTimeSeriesInterval);
+        sm.getMicroStepQueue().setEnabled(inlineZeroDelayEvents);
+        sm.getEventKernel().setEnabled(useNativeEventKernel);
+        sm.getTimerWheel().setEnabled(useTimerWheel);
         sm.connectToExperiment(exp);
 
         int lambda = 1;
@@ -349,4 +388,88 @@ public class SimulationManager {
 	public void setOutputPath(String outputPath) {
 		this.outputPath = normalizePath(outputPath);
 	}
+
+	public LoggingPolicy getLoggingPolicy() {
+		return loggingPolicy;
+	}
+
+	/**
+	 * Restricts the business process-specific log to a sample of the process instances, see {@link LoggingPolicy}
+	 * @param loggingPolicy : the policy, KPIs are still calculated over all process instances
+	 */
+	public void setLoggingPolicy(LoggingPolicy loggingPolicy) {
+		this.loggingPolicy = loggingPolicy;
+	}
+
+	public TraceFilter getTraceFilter() {
+		return traceFilter;
+	}
+
+	/**
+	 * Restricts the DesmoJ trace to selected process instances, nodes, resource types and times, see {@link TraceFilter}
+	 * @param traceFilter : the filter, only has an effect if DesmoJ logging is enabled
+	 */
+	public void setTraceFilter(TraceFilter traceFilter) {
+		this.traceFilter = traceFilter;
+	}
+
+	public long getResourceBusyTimeSeriesInterval() {
+		return resourceBusyTimeSeriesInterval;
+	}
+
+	/**
+	 * Records the number of busy resource instances per resource type over time, see {@link de.hpi.bpt.scylla.logger.ResourceBusyTimeSeries}
+	 * @param interval : length of the intervals in reference time units, 0 to not record the time series
+	 */
+	public void setResourceBusyTimeSeriesInterval(long interval) {
+		this.resourceBusyTimeSeriesInterval = interval;
+	}
+
+	public boolean isInlineZeroDelayEvents() {
+		return inlineZeroDelayEvents;
+	}
+
+	/**
+	 * Runs events with zero delay inline where this does not change the order of events, see {@link de.hpi.bpt.scylla.simulation.MicroStepQueue}
+	 * @param inlineZeroDelayEvents : true to skip the DesmoJ event list for such events, the logs stay the same
+	 */
+	public void setInlineZeroDelayEvents(boolean inlineZeroDelayEvents) {
+		this.inlineZeroDelayEvents = inlineZeroDelayEvents;
+	}
+
+	public boolean isUseCalendarEventList() {
+		return useCalendarEventList;
+	}
+
+	/**
+	 * Uses a calendar queue instead of the default DesmoJ event list, see {@link CalendarEventList}
+	 * @param useCalendarEventList : true for amortized constant time scheduling, which pays off with many scheduled events
+	 */
+	public void setUseCalendarEventList(boolean useCalendarEventList) {
+		this.useCalendarEventList = useCalendarEventList;
+	}
+
+	public boolean isUseNativeEventKernel() {
+		return useNativeEventKernel;
+	}
+
+	/**
+	 * Executes the events of process instances by a lightweight kernel instead of the DesmoJ scheduler, see {@link de.hpi.bpt.scylla.simulation.EventKernel}
+	 * @param useNativeEventKernel : true to keep only external events in the DesmoJ event list, the DesmoJ trace then omits the events of process instances
+	 */
+	public void setUseNativeEventKernel(boolean useNativeEventKernel) {
+		this.useNativeEventKernel = useNativeEventKernel;
+	}
+
+	public boolean isUseTimerWheel() {
+		return useTimerWheel;
+	}
+
+	/**
+	 * Holds timeouts in a hierarchical timing wheel until they are about to become due, see {@link de.hpi.bpt.scylla.simulation.TimerWheel}
+	 * @param useTimerWheel : true to schedule and cancel timeouts without touching the event list; events which are due at the same time keep their order only with the native event kernel
+	 */
+	public void setUseTimerWheel(boolean useTimerWheel) {
+		this.useTimerWheel = useTimerWheel;
+	}
 }
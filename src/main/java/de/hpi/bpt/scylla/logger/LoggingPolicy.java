@@ -0,0 +1,153 @@
+package de.hpi.bpt.scylla.logger;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which {@link ProcessNodeInfo} objects are kept in the business process-specific log of a simulation model.
+ * Process instances are sampled (every k-th instance, a seeded random fraction, only instances starting after a
+ * warm-up time) and restricted to specific processes; within logged instances, records may be restricted to specific
+ * nodes.<br>
+ * The decision for a process instance is made once, on its first record. All criteria have to be met for a record to
+ * be logged. The default policy logs everything.
+ *
+ */
+public class LoggingPolicy {
+
+    private int everyKthInstance = 1;
+    private double fraction = 1;
+    private long seed = 0;
+    private Set<String> processIds;
+    private Set<String> nodes;
+    private long warmUpTime = 0;
+
+    // decisions per process, indexed by process instance identifier
+    private Map<String, BitSet> decidedInstances = new HashMap<String, BitSet>();
+    private Map<String, BitSet> loggedInstances = new HashMap<String, BitSet>();
+
+    /**
+     * @param k
+     *            only every k-th process instance (i.e. instances 1, k+1, 2k+1, ...) of a process is logged
+     */
+    public LoggingPolicy setEveryKthInstance(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1, but was " + k + ".");
+        }
+        this.everyKthInstance = k;
+        return this;
+    }
+
+    /**
+     * @param fraction
+     *            fraction of process instances which is logged, instances are drawn at random
+     * @param seed
+     *            seed of the random draw; the same seed always selects the same instances
+     */
+    public LoggingPolicy setFraction(double fraction, long seed) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Sampling fraction must be between 0 and 1, but was " + fraction + ".");
+        }
+        this.fraction = fraction;
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param processIds
+     *            identifiers of the processes to be logged, <code>null</code> for all processes
+     */
+    public LoggingPolicy setProcessIds(Set<String> processIds) {
+        this.processIds = processIds == null ? null : new HashSet<String>(processIds);
+        return this;
+    }
+
+    /**
+     * @param nodes
+     *            BPMN identifiers or display names of the nodes to be logged, <code>null</code> for all nodes
+     */
+    public LoggingPolicy setNodes(Set<String> nodes) {
+        this.nodes = nodes == null ? null : new HashSet<String>(nodes);
+        return this;
+    }
+
+    /**
+     * @param warmUpTime
+     *            time relative to simulation start (in reference time units), only process instances which start at
+     *            or after this time are logged
+     */
+    public LoggingPolicy setWarmUpTime(long warmUpTime) {
+        this.warmUpTime = warmUpTime;
+        return this;
+    }
+
+    /**
+     * @return true if the policy logs every record
+     */
+    public boolean logsEverything() {
+        return everyKthInstance == 1 && fraction >= 1 && processIds == null && nodes == null && warmUpTime <= 0;
+    }
+
+    /**
+     * Decides whether the given record is logged.
+     *
+     * @param processId
+     *            identifier of the top level process
+     * @param processInstanceId
+     *            identifier of the process instance
+     * @param nodeIdentifier
+     *            BPMN identifier of the node
+     * @param info
+     *            the record
+     * @return true if the record is to be kept in the log
+     */
+    public boolean accepts(String processId, int processInstanceId, String nodeIdentifier, ProcessNodeInfo info) {
+        if (!acceptsInstance(processId, processInstanceId, info.getTimestamp())) {
+            return false;
+        }
+        return nodes == null || nodes.contains(nodeIdentifier) || nodes.contains(info.getTaskName());
+    }
+
+    private boolean acceptsInstance(String processId, int processInstanceId, long timestamp) {
+        BitSet decided = decidedInstances.get(processId);
+        if (decided == null) {
+            decided = new BitSet();
+            decidedInstances.put(processId, decided);
+            loggedInstances.put(processId, new BitSet());
+        }
+        BitSet logged = loggedInstances.get(processId);
+        if (!decided.get(processInstanceId)) {
+            decided.set(processInstanceId);
+            logged.set(processInstanceId, decide(processId, processInstanceId, timestamp));
+        }
+        return logged.get(processInstanceId);
+    }
+
+    private boolean decide(String processId, int processInstanceId, long startTime) {
+        if (processIds != null && !processIds.contains(processId)) {
+            return false;
+        }
+        if (startTime < warmUpTime) {
+            return false;
+        }
+        if ((processInstanceId - 1) % everyKthInstance != 0) {
+            return false;
+        }
+        if (fraction < 1) {
+            // hash instead of a random stream, so the selection does not depend on the order of the instances
+            long hash = mix(seed ^ mix(processId.hashCode() ^ ((long) processInstanceId << 32)));
+            double uniform = (hash >>> 11) * 0x1.0p-53;
+            return uniform < fraction;
+        }
+        return true;
+    }
+
+    private static long mix(long z) {
+        // finalizer of SplitMix64
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,6 +1,13 @@
 package de.hpi.bpt.scylla.logger;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * 
@@ -11,16 +18,17 @@ import java.util.*;
  */
 public class ProcessNodeInfo {
 
-    private Integer id;
-    private String processScopeNodeId;
+    // names are stored as identifiers of the symbol tables, there may be millions of these records in one simulation
+    private int id;
+    private int processScopeNodeId;
     private String source;
     private long timestamp;
-    private String taskName;
-    private Set<String> resources;
+    private int taskName;
+    private int[] resources;
 
-    private List<String> costDrivers;
+    private int[] costDrivers;
     private ProcessNodeTransitionType transition;
-    private Map<String, Object> dataObjectField; //holds for each processed Node (and so each field) the generated values of one specific instance
+    private Map<String, Object> dataObjectField = Collections.emptyMap(); //holds for each processed Node (and so each field) the generated values of one specific instance
 
     /**
      * Constructor.
@@ -41,34 +49,32 @@ public class ProcessNodeInfo {
     public ProcessNodeInfo(Integer id, String processScopeNodeId, String source, long timestamp, String nodeName,
             Set<String> resources, ProcessNodeTransitionType transition) {
         // Process Node Info without cost drivers
-        this.processScopeNodeId = processScopeNodeId;
-        this.source = source;
-        this.timestamp = timestamp;
-        this.taskName = nodeName;
-        this.resources = resources;
-        this.transition = transition;
-        this.dataObjectField = new HashMap<String, Object>();
-        this.id = id;
-        this.costDrivers = new LinkedList<>();
+        this(id, processScopeNodeId, source, timestamp, nodeName, resources, transition, (List<String>) null);
     }
 
     public ProcessNodeInfo(Integer id, String processScopeNodeId, String source, long timestamp, String nodeName,
                            Set<String> resources, ProcessNodeTransitionType transition, List<String> costDrivers) {
         // Process Node Info with cost drivers
-        this.processScopeNodeId = processScopeNodeId;
+        this.processScopeNodeId = SymbolTable.NODES.intern(processScopeNodeId);
         this.source = source;
         this.timestamp = timestamp;
-        this.taskName = nodeName;
-        this.resources = resources;
+        this.taskName = SymbolTable.NAMES.intern(nodeName);
+        this.resources = SymbolTable.RESOURCES.internAll(resources);
         this.transition = transition;
-        this.dataObjectField = new HashMap<String, Object>();
         this.id = id;
-        this.costDrivers = costDrivers;
+        this.costDrivers = SymbolTable.COST_DRIVERS.internAll(costDrivers);
+    }
+
+    public ProcessNodeInfo(Integer id, String processScopeNodeId, String source, long timestamp, String nodeName,
+            Set<String> resources, ProcessNodeTransitionType transition, int[] costDriverIds) {
+        // Process Node Info with cost drivers which have already been resolved to identifiers
+        this(id, processScopeNodeId, source, timestamp, nodeName, resources, transition, (List<String>) null);
+        this.costDrivers = costDriverIds;
     }
     
 
     public String getProcessScopeNodeId() {
-        return processScopeNodeId;
+        return SymbolTable.NODES.resolve(processScopeNodeId);
     }
 
     public String getSource() {
@@ -80,10 +86,27 @@ public class ProcessNodeInfo {
     }
 
     public String getTaskName() {
-        return taskName;
+        return SymbolTable.NAMES.resolve(taskName);
     }
 
+    /**
+     * @return names of the resource instances involved, in the order they were passed to the constructor
+     */
     public Set<String> getResources() {
+        if (resources.length == 0) {
+            return Collections.emptySet();
+        }
+        Set<String> resourceNames = new LinkedHashSet<String>();
+        for (int resource : resources) {
+            resourceNames.add(SymbolTable.RESOURCES.resolve(resource));
+        }
+        return Collections.unmodifiableSet(resourceNames);
+    }
+
+    /**
+     * @return identifiers of the resource instances involved in {@link SymbolTable#RESOURCES}, must not be modified
+     */
+    public int[] getResourceIds() {
         return resources;
     }
 
@@ -96,6 +119,12 @@ public class ProcessNodeInfo {
     }
     
     public void SetDataObjectField(Map<String, Object> dataObjectField) {
+    	if (dataObjectField.isEmpty()) {
+    	    return;
+    	}
+    	if (this.dataObjectField.isEmpty()) {
+    	    this.dataObjectField = new HashMap<String, Object>();
+    	}
     	for (Map.Entry<String, Object> entry : dataObjectField.entrySet()) {
     	    String key = entry.getKey();
     	    Object value = entry.getValue();
@@ -103,11 +132,38 @@ public class ProcessNodeInfo {
     	}
     }
 
+    /**
+     * Replaces values of data object fields which are only sampled on demand, i.e. given as {@link Supplier}, by their
+     * samples. Must be called on the simulation thread before output loggers read the values, as they may run
+     * concurrently.
+     */
+    public void resolveDataObjectValues() {
+        for (Map.Entry<String, Object> entry : dataObjectField.entrySet()) {
+            if (entry.getValue() instanceof Supplier) {
+                entry.setValue(((Supplier<?>) entry.getValue()).get());
+            }
+        }
+    }
+
     public Integer getId(){
         return id;
     }
 
     public List<String> getCostDrivers() {
+        if (costDrivers.length == 0) {
+            return Collections.emptyList();
+        }
+        List<String> costDriverNames = new ArrayList<String>(costDrivers.length);
+        for (int costDriver : costDrivers) {
+            costDriverNames.add(SymbolTable.COST_DRIVERS.resolve(costDriver));
+        }
+        return Collections.unmodifiableList(costDriverNames);
+    }
+
+    /**
+     * @return identifiers of the cost drivers in {@link SymbolTable#COST_DRIVERS}, must not be modified
+     */
+    public int[] getCostDriverIds() {
         return costDrivers;
     }
 }
@@ -7,5 +7,5 @@ package de.hpi.bpt.scylla.logger;
  *
  */
 public enum ProcessNodeTransitionType {
-    ENABLE, BEGIN, PAUSE, RESUME, TERMINATE, CANCEL, EVENT_BEGIN, EVENT_TERMINATE
+    ENABLE, BEGIN, PAUSE, RESUME, TERMINATE, CANCEL, EVENT_BEGIN, EVENT_TERMINATE, ABANDON
 }
@@ -0,0 +1,105 @@
+package de.hpi.bpt.scylla.logger;
+
+import java.util.Arrays;
+
+/**
+ * Number of busy resource instances of one resource type over time, sampled in intervals of fixed length. For each
+ * interval, the busy time of all instances is summed up, so memory depends on the simulated time span and the
+ * interval length, but not on the number of state changes.
+ *
+ */
+public class ResourceBusyTimeSeries {
+
+    private final long interval;
+    private double[] busyTimePerInterval = new double[16];
+    private int numberOfIntervals = 0;
+
+    private int busyCount = 0;
+    private long lastChange = 0;
+
+    /**
+     * @param interval
+     *            length of the intervals in reference time units
+     */
+    public ResourceBusyTimeSeries(long interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1, but was " + interval + ".");
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * Changes the number of busy resource instances.
+     *
+     * @param timestamp
+     *            time relative to simulation start, not before the previous change
+     * @param delta
+     *            change of the number of busy instances, e.g. 1 if an instance has started to work
+     */
+    public void change(long timestamp, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        accumulate(busyCount, lastChange, timestamp);
+        busyCount += delta;
+        lastChange = Math.max(lastChange, timestamp);
+    }
+
+    private void accumulate(int count, long from, long to) {
+        if (to <= from) {
+            return;
+        }
+        int lastIndex = (int) ((to - 1) / interval);
+        ensureCapacity(lastIndex + 1);
+        if (count == 0) {
+            return;
+        }
+        while (from < to) {
+            int index = (int) (from / interval);
+            long end = Math.min(to, (index + 1) * interval);
+            busyTimePerInterval[index] += count * (end - from);
+            from = end;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > busyTimePerInterval.length) {
+            busyTimePerInterval = Arrays.copyOf(busyTimePerInterval, Math.max(size, busyTimePerInterval.length * 2));
+        }
+        numberOfIntervals = Math.max(numberOfIntervals, size);
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return current number of busy resource instances
+     */
+    public int getBusyCount() {
+        return busyCount;
+    }
+
+    /**
+     * Returns the average number of busy resource instances per interval.
+     *
+     * @param endTime
+     *            time relative to simulation start at which the series ends
+     * @return average numbers of busy instances, the i-th value belongs to the interval starting at i * interval
+     */
+    public double[] getAverageBusyCounts(long endTime) {
+        int size = (int) Math.max(numberOfIntervals, (endTime + interval - 1) / interval);
+        double[] averages = Arrays.copyOf(busyTimePerInterval, size);
+        // the busy count since the last change has not been accumulated yet
+        for (long from = lastChange; from < endTime && busyCount != 0;) {
+            int index = (int) (from / interval);
+            long end = Math.min(endTime, (index + 1) * interval);
+            averages[index] += busyCount * (end - from);
+            from = end;
+        }
+        for (int i = 0; i < size; i++) {
+            averages[i] /= interval;
+        }
+        return averages;
+    }
+}
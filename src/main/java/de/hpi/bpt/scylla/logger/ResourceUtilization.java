@@ -0,0 +1,103 @@
+package de.hpi.bpt.scylla.logger;
+
+import de.hpi.bpt.scylla.model.global.resource.EmissionFactorSeries;
+
+/**
+ * Running utilization figures of one resource instance. The state changes of the resource instance are added in the
+ * order in which they occur and are accumulated in place, so memory does not grow with the number of state changes.
+ *
+ */
+public class ResourceUtilization {
+
+    private long durationInUse = 0;
+    private long durationInUseIdle = 0;
+    private long lastTimestamp = 0;
+    private ResourceStatus lastStatus;
+    private long numberOfTransitions = 0;
+    private EmissionFactorSeries emissionFactors;
+    private double emissions = 0;
+
+    public ResourceUtilization() {
+    }
+
+    /**
+     * @param emissionFactors
+     *            emission factors of the resource instance in reference time units, integrated over each interval in
+     *            which the instance is in use; may be null
+     */
+    public ResourceUtilization(EmissionFactorSeries emissionFactors) {
+        this.emissionFactors = emissionFactors;
+    }
+
+    /**
+     * Adds a state change of the resource instance: FREE &lt;-&gt; IN_USE &lt;-&gt; IN_USE_IDLE.
+     *
+     * @param timestamp
+     *            time relative to simulation start
+     * @param status
+     *            new state of the resource instance
+     */
+    public void addTransition(long timestamp, ResourceStatus status) {
+        if (status == ResourceStatus.IN_USE) {
+            if (lastStatus == ResourceStatus.IN_USE_IDLE) {
+                durationInUseIdle += timestamp - lastTimestamp;
+            }
+        }
+        else if (status == ResourceStatus.FREE || status == ResourceStatus.IN_USE_IDLE) {
+            durationInUse += timestamp - lastTimestamp;
+            if (emissionFactors != null && lastStatus == ResourceStatus.IN_USE) {
+                emissions += emissionFactors.integrate(lastTimestamp, timestamp);
+            }
+        }
+        else {
+            DebugLogger.log("Resource transition type not supported: " + status);
+        }
+        lastTimestamp = timestamp;
+        lastStatus = status;
+        numberOfTransitions++;
+    }
+
+    /**
+     * @return time the resource instance has been assigned to tasks, including the time in which it has been assigned
+     *         but off-timetable
+     */
+    public long getDurationInUse() {
+        return durationInUse;
+    }
+
+    /**
+     * @return time the resource instance has been assigned to tasks but off-timetable
+     */
+    public long getDurationInUseIdle() {
+        return durationInUseIdle;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return the current state of the resource instance, <code>null</code> if it has never changed
+     */
+    public ResourceStatus getLastStatus() {
+        return lastStatus;
+    }
+
+    public long getNumberOfTransitions() {
+        return numberOfTransitions;
+    }
+
+    /**
+     * @return emission factors of the resource instance, null if it has none
+     */
+    public EmissionFactorSeries getEmissionFactors() {
+        return emissionFactors;
+    }
+
+    /**
+     * @return emissions of the resource instance over all completed intervals in use
+     */
+    public double getEmissions() {
+        return emissions;
+    }
+}
@@ -0,0 +1,121 @@
+package de.hpi.bpt.scylla.logger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns names which occur over and over again in the simulation logs (node identifiers, task names, resource
+ * instances, cost drivers) and maps them to dense int identifiers. Log records only store the identifiers, the names
+ * are resolved when output loggers write the logs.
+ *
+ * Interning may happen from the simulation thread while resolving may happen from multiple output logger threads.<br>
+ * The tables are shared by the JVM and are cleared at the start of each simulation, so only one simulation may run at
+ * a time; {@link de.hpi.bpt.scylla.SimulationManager#run()} enforces this by running simulations one after another.
+ *
+ */
+public class SymbolTable {
+
+    /** Process scope node identifiers, see {@link ProcessNodeInfo#getProcessScopeNodeId()}. */
+    public static final SymbolTable NODES = new SymbolTable();
+    /** Display names of nodes. */
+    public static final SymbolTable NAMES = new SymbolTable();
+    /** Resource instances in the form <code>resourceType_id</code>. */
+    public static final SymbolTable RESOURCES = new SymbolTable();
+    /** Concrete cost drivers. */
+    public static final SymbolTable COST_DRIVERS = new SymbolTable();
+
+    /** Identifier of the <code>null</code> name. */
+    public static final int NONE = -1;
+
+    public static final int[] EMPTY = new int[0];
+
+    private final Map<String, Integer> identifiers = new ConcurrentHashMap<String, Integer>();
+    private volatile String[] names = new String[64];
+    private int size = 0;
+
+    /**
+     * Returns the identifier of the given name and assigns a new one if the name has not been seen before.
+     *
+     * @param name
+     *            the name, may be <code>null</code>
+     * @return identifier of the name, {@link #NONE} for <code>null</code>
+     */
+    public int intern(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = identifiers.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = identifiers.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] currentNames = names;
+            if (size == currentNames.length) {
+                currentNames = Arrays.copyOf(currentNames, size * 2);
+            }
+            currentNames[size] = name;
+            // publish the name before its identifier becomes visible
+            names = currentNames;
+            id = size++;
+            identifiers.put(name, id);
+            return id;
+        }
+    }
+
+    /**
+     * Interns all given names.
+     *
+     * @param names
+     *            the names
+     * @return identifiers of the names in iteration order, a shared empty array if there are no names
+     */
+    public int[] internAll(Iterable<String> names) {
+        if (names == null) {
+            return EMPTY;
+        }
+        int[] ids = EMPTY;
+        int i = 0;
+        for (String name : names) {
+            if (i == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, i * 2));
+            }
+            ids[i++] = intern(name);
+        }
+        if (i == 0) {
+            return EMPTY;
+        }
+        return i == ids.length ? ids : Arrays.copyOf(ids, i);
+    }
+
+    /**
+     * Resolves the identifier to its name.
+     *
+     * @param id
+     *            identifier as returned by {@link #intern(String)}
+     * @return the name, <code>null</code> for {@link #NONE}
+     */
+    public String resolve(int id) {
+        if (id == NONE) {
+            return null;
+        }
+        return names[id];
+    }
+
+    public int size() {
+        return identifiers.size();
+    }
+
+    /**
+     * Forgets all names, identifiers which have been handed out before must not be resolved afterwards.
+     */
+    public synchronized void clear() {
+        identifiers.clear();
+        names = new String[64];
+        size = 0;
+    }
+}
@@ -0,0 +1,132 @@
+package de.hpi.bpt.scylla.logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Restricts DesmoJ trace output to the events of interest: a range of process instances, specific nodes, nodes which
+ * use specific resource types and a window of simulation time. All criteria which are set have to be met; the default
+ * filter lets everything pass.
+ *
+ */
+public class TraceFilter {
+
+    private int fromProcessInstance = Integer.MIN_VALUE;
+    private int toProcessInstance = Integer.MAX_VALUE;
+    private Set<String> nodes;
+    private Set<String> resourceTypes;
+    private long fromTime = Long.MIN_VALUE;
+    private long toTime = Long.MAX_VALUE;
+
+    /**
+     * @param from
+     *            identifier of the first process instance to be traced
+     * @param to
+     *            identifier of the last process instance to be traced (inclusive)
+     */
+    public TraceFilter setProcessInstanceRange(int from, int to) {
+        this.fromProcessInstance = from;
+        this.toProcessInstance = to;
+        return this;
+    }
+
+    /**
+     * @param nodes
+     *            BPMN identifiers or display names of the nodes to be traced, <code>null</code> for all nodes
+     */
+    public TraceFilter setNodes(Set<String> nodes) {
+        this.nodes = nodes == null ? null : new HashSet<String>(nodes);
+        return this;
+    }
+
+    /**
+     * @param resourceTypes
+     *            resource types to be traced, <code>null</code> for all; a node is traced if it uses at least one of
+     *            them
+     */
+    public TraceFilter setResourceTypes(Set<String> resourceTypes) {
+        this.resourceTypes = resourceTypes == null ? null : new HashSet<String>(resourceTypes);
+        return this;
+    }
+
+    /**
+     * @param from
+     *            begin of the traced time window, relative to simulation start in reference time units
+     * @param to
+     *            end of the traced time window (inclusive)
+     */
+    public TraceFilter setTimeWindow(long from, long to) {
+        this.fromTime = from;
+        this.toTime = to;
+        return this;
+    }
+
+    /**
+     * @return true if the filter lets everything pass
+     */
+    public boolean matchesAll() {
+        return fromProcessInstance == Integer.MIN_VALUE && toProcessInstance == Integer.MAX_VALUE && nodes == null
+                && resourceTypes == null && fromTime == Long.MIN_VALUE && toTime == Long.MAX_VALUE;
+    }
+
+    /**
+     * Checks whether the trace notes of a node of a process instance pass the filter.
+     *
+     * @param processInstanceId
+     *            identifier of the process instance
+     * @param nodeIdentifier
+     *            BPMN identifier of the node
+     * @param displayName
+     *            display name of the node, may be <code>null</code>
+     * @param resourceTypesOfNode
+     *            resource types the trace note is about, e.g. the ones required by the node
+     * @param time
+     *            current simulation time in reference time units
+     * @return true if the trace note is to be written
+     */
+    public boolean matches(int processInstanceId, String nodeIdentifier, String displayName,
+            Collection<String> resourceTypesOfNode, long time) {
+        if (!matches(processInstanceId, nodeIdentifier, displayName, time)) {
+            return false;
+        }
+        if (resourceTypes != null) {
+            for (String resourceType : resourceTypesOfNode) {
+                if (resourceTypes.contains(resourceType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the criteria of the filter except for the resource types, see {@link #matchesResourceType(String)}.
+     *
+     * @return true if the process instance, the node and the time pass the filter
+     */
+    public boolean matches(int processInstanceId, String nodeIdentifier, String displayName, long time) {
+        if (processInstanceId < fromProcessInstance || processInstanceId > toProcessInstance) {
+            return false;
+        }
+        if (time < fromTime || time > toTime) {
+            return false;
+        }
+        return nodes == null || nodes.contains(nodeIdentifier) || nodes.contains(displayName);
+    }
+
+    /**
+     * @return true if the filter is restricted to specific resource types
+     */
+    public boolean hasResourceTypes() {
+        return resourceTypes != null;
+    }
+
+    /**
+     * @return true if trace notes about the resource type pass the filter
+     */
+    public boolean matchesResourceType(String resourceType) {
+        return resourceTypes == null || resourceTypes.contains(resourceType);
+    }
+}
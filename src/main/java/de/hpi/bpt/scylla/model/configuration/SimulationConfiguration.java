@@ -26,6 +26,8 @@ public class SimulationConfiguration extends SimulationInput {
     private Map<Integer, TimeDistributionWrapper> arrivalRates;
     private Map<Integer, TimeDistributionWrapper> durations;
     private Map<Integer, TimeDistributionWrapper> setUpDurations;
+    private Map<Integer, TimeDistributionWrapper> patienceDurations;
+    private Map<Integer, Integer> balkingThresholds;
 
     private Map<Integer, Set<ResourceReference>> resourceReferences;
     private Map<Integer, SimulationConfiguration> configurationsOfSubProcesses;
@@ -49,6 +51,12 @@ public class SimulationConfiguration extends SimulationInput {
      *            arrival rates of new process instances
      * @param durations
      *            task durations
+     * @param setUpDurations
+     *            set-up durations of tasks
+     * @param patienceDurations
+     *            time which process instances wait in the queues of a task before they abandon them
+     * @param balkingThresholds
+     *            queue lengths at which process instances do not join the queues of a task
      * @param resourceReferences
      *            definition of resources involved in a task
      * @param configurationsOfSubProcesses
@@ -57,8 +65,8 @@ public class SimulationConfiguration extends SimulationInput {
     public SimulationConfiguration(String id, ProcessModel processModel, Integer numberOfProcessInstances,
             ZonedDateTime startDateTime, ZonedDateTime endDateTime, Long randomSeed,
             Map<Integer, TimeDistributionWrapper> arrivalRates, Map<Integer, TimeDistributionWrapper> durations, Map<Integer,
-            TimeDistributionWrapper> setUpDurations,
-            Map<Integer, Set<ResourceReference>> resourceReferences,
+            TimeDistributionWrapper> setUpDurations, Map<Integer, TimeDistributionWrapper> patienceDurations,
+            Map<Integer, Integer> balkingThresholds, Map<Integer, Set<ResourceReference>> resourceReferences,
             Map<Integer, SimulationConfiguration> configurationsOfSubProcesses) {
         super(id);
         this.processModel = processModel;
@@ -69,6 +77,8 @@ public class SimulationConfiguration extends SimulationInput {
         this.arrivalRates = arrivalRates;
         this.durations = durations;
         this.setUpDurations = setUpDurations;
+        this.patienceDurations = patienceDurations;
+        this.balkingThresholds = balkingThresholds;
         this.resourceReferences = resourceReferences;
         this.configurationsOfSubProcesses = configurationsOfSubProcesses;
     }
@@ -117,6 +127,14 @@ public class SimulationConfiguration extends SimulationInput {
         return setUpDurations;
     }
 
+    public Map<Integer, TimeDistributionWrapper> getPatienceDurations() {
+        return patienceDurations;
+    }
+
+    public Map<Integer, Integer> getBalkingThresholds() {
+        return balkingThresholds;
+    }
+
     public Map<Integer, SimulationConfiguration> getConfigurationsOfSubProcesses() {
         return configurationsOfSubProcesses;
     }
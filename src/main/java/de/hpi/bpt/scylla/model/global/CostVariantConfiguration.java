@@ -1,39 +1,151 @@
 package de.hpi.bpt.scylla.model.global;
 
+import de.hpi.bpt.scylla.logger.SymbolTable;
+
 import java.util.*;
 
+/**
+ * Cost variants with their frequencies and impact factors. The cost variant of each process instance is drawn by a
+ * seeded {@link CostVariantSampler}, so it is reproducible for any number of process instances.
+ */
 public class CostVariantConfiguration {
-    private final List<String> costVariants;
+    // cost variants in a fixed order, so the same seed always yields the same variants
+    private final String[] costVariants;
+    private final double[] frequencies;
+    private final int simulationRuns;
+
+    private long seed = 0;
+    // if set, the first simulationRuns instances are apportioned to the variants by their share of the frequencies
+    private boolean exactQuotas = false;
+    private CostVariantSampler sampler;
+
+    // cost variant -> impact per unit of each concrete cost driver, indexed by cost driver identifier
+    private final Map<String, double[]> impactFactors;
+
+    // if set, the impact of every process instance is calculated for all cost variants, not only for its own one
+    private boolean evaluateAllVariants = false;
 
     public CostVariantConfiguration(Map<String, Double> costVariantProbabilities, Integer simulationRuns) {
-        costVariants = new ArrayList<>();
+        this(costVariantProbabilities, simulationRuns, Collections.emptyMap());
+    }
 
-        // for each cost variant and its probabilities, as well as the number of simulation runs,
-        // randomly determine order of cost variants
-        costVariantProbabilities.forEach((variant, frequency) -> {
+    /**
+     * @param costVariantProbabilities cost variant -> frequency
+     * @param simulationRuns number of process instances the cost variants are drawn for
+     * @param impactFactors cost variant -> concrete cost driver name -> impact per occurrence of the cost driver
+     */
+    public CostVariantConfiguration(Map<String, Double> costVariantProbabilities, Integer simulationRuns,
+                                    Map<String, Map<String, Double>> impactFactors) {
+        Map<String, Double> sortedProbabilities = new TreeMap<>(costVariantProbabilities);
+        costVariants = sortedProbabilities.keySet().toArray(new String[0]);
+        frequencies = new double[costVariants.length];
+        for (int i = 0; i < costVariants.length; i++) {
+            frequencies[i] = sortedProbabilities.get(costVariants[i]);
+        }
+        this.simulationRuns = simulationRuns == null ? 0 : simulationRuns;
+        buildSampler();
 
-            double count = frequency * simulationRuns;
-            int variantCount = (int) Math.round(count);
-            for (int i = 0; i < variantCount; i++) {
-                costVariants.add(variant);
+        // resolve cost driver names once, so impacts can be looked up by cost driver identifier during simulation
+        this.impactFactors = new TreeMap<>();
+        impactFactors.forEach((variant, factorsOfVariant) -> {
+            double[] factors = new double[0];
+            for (Map.Entry<String, Double> entry : factorsOfVariant.entrySet()) {
+                int driverId = SymbolTable.COST_DRIVERS.intern(entry.getKey());
+                if (driverId >= factors.length) {
+                    factors = Arrays.copyOf(factors, driverId + 1);
+                }
+                factors[driverId] = entry.getValue();
             }
+            this.impactFactors.put(variant, factors);
         });
-        Collections.shuffle(costVariants);
-        System.out.println(costVariants);
-        System.out.println(costVariants.size());
+    }
 
+    private void buildSampler() {
+        sampler = new CostVariantSampler(costVariants, frequencies, seed, exactQuotas ? simulationRuns : 0);
     }
 
+    /**
+     * @param instanceID identifier of the process instance, starting at 1
+     * @return the cost variant of the process instance, <code>null</code> if there are no cost variants
+     */
     public String takeCostVariant(int instanceID) {
+        return sampler.sample(instanceID);
+    }
 
-        if (costVariants.size() == 0) {
-            System.out.println("tried taking cost variant but was empty");
-        }
+    /**
+     * @param seed seed of the stream the cost variants are drawn from, e.g. derived from the global seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        buildSampler();
+    }
 
-        if (costVariants.size() < instanceID -1) {
-            System.out.println("tried taking cost variant but there werent enough");
+    /**
+     * @param exactQuotas true if the first <code>count</code> process instances are to be apportioned to the
+     *                    variants by their share of the frequencies instead of independent draws, see
+     *                    {@link CostVariantSampler}
+     */
+    public void setExactQuotas(boolean exactQuotas) {
+        this.exactQuotas = exactQuotas;
+        buildSampler();
+    }
+
+    public boolean isExactQuotas() {
+        return exactQuotas;
+    }
+
+    /**
+     * @param instanceID identifier of the process instance
+     * @return true if a cost variant has been drawn for the process instance
+     */
+    public boolean hasCostVariant(int instanceID) {
+        return instanceID >= 1 && costVariants.length > 0;
+    }
+
+    /**
+     * @return identifiers of the cost variants which have impact factors
+     */
+    public Set<String> getCostVariantsWithImpactFactors() {
+        return Collections.unmodifiableSet(impactFactors.keySet());
+    }
+
+    /**
+     * Returns the impact of one occurrence of a concrete cost driver.
+     *
+     * @param costVariant identifier of the cost variant
+     * @param costDriverId identifier of the concrete cost driver in {@link SymbolTable#COST_DRIVERS}
+     * @return the impact, 0 if the cost variant has no impact factor for the cost driver
+     */
+    public double getImpactFactor(String costVariant, int costDriverId) {
+        return getImpactFactor(impactFactors.get(costVariant), costDriverId);
+    }
+
+    /**
+     * @param costVariant identifier of the cost variant
+     * @return impact factors of the cost variant indexed by cost driver identifier, may be shorter than the number of
+     * cost drivers, <code>null</code> if the cost variant has no impact factors; must not be modified
+     */
+    public double[] getImpactFactors(String costVariant) {
+        return impactFactors.get(costVariant);
+    }
+
+    /**
+     * @param factors impact factors of a cost variant as returned by {@link #getImpactFactors(String)}
+     * @param costDriverId identifier of the concrete cost driver in {@link SymbolTable#COST_DRIVERS}
+     * @return the impact, 0 if there is no impact factor for the cost driver
+     */
+    public static double getImpactFactor(double[] factors, int costDriverId) {
+        if (factors == null || costDriverId < 0 || costDriverId >= factors.length) {
+            return 0;
         }
+        return factors[costDriverId];
+    }
+
+    public boolean isEvaluateAllVariants() {
+        return evaluateAllVariants;
+    }
 
-        return costVariants.get(instanceID -1);
+    public void setEvaluateAllVariants(boolean evaluateAllVariants) {
+        this.evaluateAllVariants = evaluateAllVariants;
     }
 }
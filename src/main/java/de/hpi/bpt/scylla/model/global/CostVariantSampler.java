@@ -0,0 +1,182 @@
+package de.hpi.bpt.scylla.model.global;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Draws the cost variant of each process instance from a seeded stream with constant memory.<br>
+ * By default, variants are sampled independently with the alias method. In exact-quota mode, the first
+ * <code>count</code> process instances are apportioned to the variants by their share of the frequencies with the
+ * largest remainder method, so each variant gets its share rounded down or up and the quotas sum up to
+ * <code>count</code>. The instances get their variants in an order given by a seeded permutation of the instance
+ * indices; further instances are sampled.<br>
+ * The variant of an instance only depends on the seed and the instance identifier, not on the order in which
+ * variants are taken.
+ */
+class CostVariantSampler {
+
+    private final String[] variants;
+    private final long seed;
+
+    // alias tables
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    // exact quotas: cumulative number of instances up to and including each variant
+    private final long[] cumulativeQuotas;
+    private final long totalQuota;
+
+    /**
+     * @param variants identifiers of the cost variants, in a fixed order
+     * @param frequencies frequency of each variant, do not have to sum up to one
+     * @param seed seed of the stream
+     * @param exactQuotaCount number of instances for which the quotas are kept exactly, 0 to sample every instance
+     */
+    CostVariantSampler(String[] variants, double[] frequencies, long seed, long exactQuotaCount) {
+        this.variants = variants;
+        this.seed = seed;
+        int n = variants.length;
+
+        double sum = 0;
+        for (double frequency : frequencies) {
+            if (frequency < 0) {
+                throw new IllegalArgumentException("Frequency of cost variant must not be negative: " + frequency);
+            }
+            sum += frequency;
+        }
+
+        // Vose's alias method
+        probabilities = new double[n];
+        aliases = new int[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            scaled[i] = sum > 0 ? frequencies[i] * n / sum : 1;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        while (!large.isEmpty()) {
+            probabilities[large.pop()] = 1;
+        }
+        while (!small.isEmpty()) {
+            // only left due to rounding errors
+            probabilities[small.pop()] = 1;
+        }
+
+        cumulativeQuotas = new long[n];
+        long total = 0;
+        if (exactQuotaCount > 0 && n > 0) {
+            long[] quotas = apportion(frequencies, sum, exactQuotaCount);
+            for (int i = 0; i < n; i++) {
+                total += quotas[i];
+                cumulativeQuotas[i] = total;
+            }
+        }
+        totalQuota = total;
+    }
+
+    /**
+     * Largest remainder method: each variant gets its share of the count rounded down, the instances which are left
+     * go to the variants with the largest remainders, to the earlier variant in case of a tie.
+     *
+     * @return number of instances of each variant, summing up to the count
+     */
+    static long[] apportion(double[] frequencies, double sum, long count) {
+        int n = frequencies.length;
+        long[] quotas = new long[n];
+        double[] remainders = new double[n];
+        long left = count;
+        for (int i = 0; i < n; i++) {
+            double share = sum > 0 ? frequencies[i] / sum * count : (double) count / n;
+            quotas[i] = Math.min((long) share, left);
+            remainders[i] = share - quotas[i];
+            left -= quotas[i];
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        // stable, so ties keep the order of the variants
+        Arrays.sort(order, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; left > 0; i = (i + 1) % n) {
+            quotas[order[i]]++;
+            left--;
+        }
+        return quotas;
+    }
+
+    /**
+     * @param instanceId identifier of the process instance, starting at 1
+     * @return the cost variant of the process instance, <code>null</code> if there are no variants
+     */
+    String sample(int instanceId) {
+        if (variants.length == 0) {
+            return null;
+        }
+        long index = instanceId - 1L;
+        if (index >= 0 && index < totalQuota) {
+            long position = permute(index, totalQuota);
+            int lo = 0;
+            int hi = variants.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulativeQuotas[mid] > position) {
+                    hi = mid;
+                }
+                else {
+                    lo = mid + 1;
+                }
+            }
+            return variants[lo];
+        }
+        long hash = mix(seed ^ mix(instanceId));
+        int column = (int) (uniform(hash) * variants.length);
+        double coin = uniform(mix(hash ^ 0x9e3779b97f4a7c15L));
+        return variants[coin < probabilities[column] ? column : aliases[column]];
+    }
+
+    /**
+     * Seeded bijection on [0, size): a balanced Feistel network on the smallest even number of bits which covers
+     * the range, values outside the range are mapped again until they fall into it (cycle walking).
+     */
+    private long permute(long index, long size) {
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        if (bits % 2 == 1) {
+            bits++;
+        }
+        int halfBits = bits / 2;
+        long halfMask = (1L << halfBits) - 1;
+        long value = index;
+        do {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (int round = 0; round < 4; round++) {
+                long next = left ^ (mix(seed + round * 0x632be59bd9b4e019L + right) & halfMask);
+                left = right;
+                right = next;
+            }
+            value = (left << halfBits) | right;
+        } while (value >= size);
+        return value;
+    }
+
+    private static double uniform(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        // finalizer of SplitMix64
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
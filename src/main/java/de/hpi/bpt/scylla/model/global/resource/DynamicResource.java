@@ -15,6 +15,7 @@ public class DynamicResource extends Resource {
     private double cost;
     private TimeUnit timeUnit;
     private Map<String, DynamicResourceInstance> resourceInstances = new HashMap<String, DynamicResourceInstance>();
+    private EmissionFactorSeries emissionFactors;
 
     /**
      * Constructor.
@@ -45,4 +46,29 @@ public class DynamicResource extends Resource {
     public Map<String, DynamicResourceInstance> getResourceInstances() {
         return resourceInstances;
     }
+
+    /**
+     * @return emission factors of the resource instances which do not define their own ones, may be null
+     */
+    public EmissionFactorSeries getEmissionFactors() {
+        return emissionFactors;
+    }
+
+    public void setEmissionFactors(EmissionFactorSeries emissionFactors) {
+        this.emissionFactors = emissionFactors;
+    }
+
+    /**
+     * @param instanceName
+     *            name of the resource instance
+     * @return emission factors of the resource instance, or of the resource type if the instance has none; null if
+     *         neither has emission factors
+     */
+    public EmissionFactorSeries getEmissionFactors(String instanceName) {
+        DynamicResourceInstance instance = resourceInstances.get(instanceName);
+        if (instance != null && instance.getEmissionFactors() != null) {
+            return instance.getEmissionFactors();
+        }
+        return emissionFactors;
+    }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ public class DynamicResourceInstance {
     List<TimetableItem> timetable = null;
     double cost;
     TimeUnit timeUnit;
+    EmissionFactorSeries emissionFactors = null;
 
     /**
      * Constructor.
@@ -58,4 +59,15 @@ public class DynamicResourceInstance {
     public TimeUnit getTimeUnit() {
         return timeUnit;
     }
+
+    /**
+     * @return emission factors of the resource instance, null if the instance has none
+     */
+    public EmissionFactorSeries getEmissionFactors() {
+        return emissionFactors;
+    }
+
+    public void setEmissionFactors(EmissionFactorSeries emissionFactors) {
+        this.emissionFactors = emissionFactors;
+    }
 }
@@ -0,0 +1,144 @@
+package de.hpi.bpt.scylla.model.global.resource;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-varying emission factor of resources, e.g. the carbon intensity of the grid per hour of the day. The factor is
+ * a step function of the time relative to simulation start: each step begins at a point in time and lasts until the
+ * next one, the factor before the first step is 0. If a period is given, the steps are repeated in every period.<br>
+ * Factors are given per time unit of the series, so the emissions of a resource in use are the integral of the factor
+ * over the time in use. Cumulative emissions are precomputed at the beginning of every step, so the integral over an
+ * interval is found by binary search.
+ *
+ */
+public class EmissionFactorSeries {
+
+    private String id;
+    private TimeUnit timeUnit;
+    private double[] stepBegins;
+    private double[] factors;
+    private double period;
+    // integral of the factor from 0 to the beginning of each step
+    private double[] cumulative;
+    private double integralOfPeriod;
+
+    /**
+     * Constructor.
+     *
+     * @param id
+     *            identifier of the series
+     * @param timeUnit
+     *            time unit of the step begins and of the period; the factors are given per time unit
+     * @param stepBegins
+     *            beginning of each step relative to simulation start, strictly ascending and not negative
+     * @param factors
+     *            factor of each step per time unit
+     * @param period
+     *            length after which the steps are repeated, 0 if they are not repeated; all steps have to begin
+     *            within the first period
+     */
+    public EmissionFactorSeries(String id, TimeUnit timeUnit, double[] stepBegins, double[] factors, double period) {
+        if (stepBegins.length != factors.length) {
+            throw new IllegalArgumentException("Each step of emission factor series " + id + " needs a factor.");
+        }
+        for (int i = 0; i < stepBegins.length; i++) {
+            if (stepBegins[i] < 0 || (i > 0 && stepBegins[i] <= stepBegins[i - 1])) {
+                throw new IllegalArgumentException(
+                        "Steps of emission factor series " + id + " must begin at ascending, not negative times.");
+            }
+            if (period > 0 && stepBegins[i] >= period) {
+                throw new IllegalArgumentException(
+                        "Steps of emission factor series " + id + " must begin within the period.");
+            }
+        }
+        this.id = id;
+        this.timeUnit = timeUnit;
+        this.stepBegins = stepBegins.clone();
+        this.factors = factors.clone();
+        this.period = period;
+
+        cumulative = new double[stepBegins.length];
+        for (int i = 1; i < stepBegins.length; i++) {
+            cumulative[i] = cumulative[i - 1] + factors[i - 1] * (stepBegins[i] - stepBegins[i - 1]);
+        }
+        integralOfPeriod = period > 0 ? integralFromZero(period) : 0;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    /**
+     * @param targetTimeUnit
+     *            time unit of the new series
+     * @return the same series with step begins, period and factors expressed in the given time unit
+     */
+    public EmissionFactorSeries inTimeUnit(TimeUnit targetTimeUnit) {
+        if (targetTimeUnit == timeUnit) {
+            return this;
+        }
+        // target units per unit of this series
+        long targetUnitsPerUnit = targetTimeUnit.convert(1, timeUnit);
+        double scale = targetUnitsPerUnit > 0 ? targetUnitsPerUnit : 1.0 / timeUnit.convert(1, targetTimeUnit);
+        double[] scaledBegins = new double[stepBegins.length];
+        double[] scaledFactors = new double[factors.length];
+        for (int i = 0; i < stepBegins.length; i++) {
+            scaledBegins[i] = stepBegins[i] * scale;
+            scaledFactors[i] = factors[i] / scale;
+        }
+        return new EmissionFactorSeries(id, targetTimeUnit, scaledBegins, scaledFactors, period * scale);
+    }
+
+    /**
+     * @return the long-run average factor per time unit: the average over a period if the steps are repeated, the
+     *         factor of the last step otherwise
+     */
+    public double getMeanFactor() {
+        if (period > 0) {
+            return integralOfPeriod / period;
+        }
+        return factors.length == 0 ? 0 : factors[factors.length - 1];
+    }
+
+    /**
+     * @param from
+     *            begin of the interval relative to simulation start, in the time unit of the series
+     * @param to
+     *            end of the interval
+     * @return integral of the emission factor over the interval, 0 if the interval is empty
+     */
+    public double integrate(double from, double to) {
+        if (to <= from) {
+            return 0;
+        }
+        return integral(to) - integral(from);
+    }
+
+    private double integral(double time) {
+        if (time <= 0) {
+            return 0;
+        }
+        if (period > 0) {
+            double periods = Math.floor(time / period);
+            return periods * integralOfPeriod + integralFromZero(time - periods * period);
+        }
+        return integralFromZero(time);
+    }
+
+    private double integralFromZero(double time) {
+        int index = Arrays.binarySearch(stepBegins, time);
+        if (index < 0) {
+            // index of the last step which begins before the given time
+            index = -index - 2;
+        }
+        if (index < 0) {
+            return 0;
+        }
+        return cumulative[index] + factors[index] * (time - stepBegins[index]);
+    }
+}
@@ -0,0 +1,59 @@
+package de.hpi.bpt.scylla.model.process;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Join of a parallel gateway with more than one previous node, compiled once per process model.<br>
+ * Each previous node is assigned a bit. A process instance records the arrival of a token with a single OR on its
+ * arrival words, see {@link de.hpi.bpt.scylla.simulation.ProcessInstance#arriveAtJoin(ParallelJoin, int)}, and the
+ * gateway fires once the arrival words equal the expected masks. The words of all joins of a process model are laid
+ * out one after another, starting at {@link #getFirstWord()}.
+ *
+ */
+public class ParallelJoin {
+
+    // bit i stands for previousNodeIds[i]
+    private final int[] previousNodeIds;
+    private final int firstWord;
+    private final long[] expectedMasks;
+
+    ParallelJoin(Set<Integer> idsOfPreviousNodes, int firstWord) {
+        previousNodeIds = new int[idsOfPreviousNodes.size()];
+        int i = 0;
+        for (Integer nodeId : idsOfPreviousNodes) {
+            previousNodeIds[i++] = nodeId;
+        }
+        Arrays.sort(previousNodeIds);
+        this.firstWord = firstWord;
+        expectedMasks = new long[(previousNodeIds.length + 63) >>> 6];
+        for (int bit = 0; bit < previousNodeIds.length; bit++) {
+            expectedMasks[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param previousNodeId
+     *            identifier of a node before the gateway
+     * @return the bit of the node, or -1 if it is not before the gateway
+     */
+    public int getBitOf(int previousNodeId) {
+        int bit = Arrays.binarySearch(previousNodeIds, previousNodeId);
+        return bit < 0 ? -1 : bit;
+    }
+
+    public int getFirstWord() {
+        return firstWord;
+    }
+
+    public int getNumberOfWords() {
+        return expectedMasks.length;
+    }
+
+    /**
+     * @return the arrival bits of the given word once tokens from all previous nodes have arrived
+     */
+    public long getExpectedMask(int word) {
+        return expectedMasks[word];
+    }
+}
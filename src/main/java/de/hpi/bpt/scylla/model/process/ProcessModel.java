@@ -6,6 +6,7 @@ import java.util.*;
 import org.jdom2.Element;
 
 import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.SymbolTable;
 import de.hpi.bpt.scylla.model.SimulationInput;
 import de.hpi.bpt.scylla.model.process.graph.Graph;
 import de.hpi.bpt.scylla.model.process.graph.exception.MultipleStartNodesException;
@@ -57,6 +58,12 @@ public class ProcessModel extends SimulationInput {
     private Set<ProcessModel> processModelsInCollaboration;
 
     private Map<Integer, ArrayList<String>> activityToCostDriverMap;
+    // node id -> identifiers of the cost drivers in SymbolTable.COST_DRIVERS
+    private Map<Integer, int[]> activityToCostDriverIds = new HashMap<Integer, int[]>();
+
+    // node id of parallel gateway -> compiled join, built on first access
+    private Map<Integer, ParallelJoin> parallelJoins;
+    private int numberOfJoinWords;
 
     /**
      * Constructor.
@@ -102,6 +109,12 @@ public class ProcessModel extends SimulationInput {
         this.eventTypes = eventTypes;
         this.modelScopeId = buildModelScopeId(this);
         this.activityToCostDriverMap = activityToCostDriverMap;
+        if (activityToCostDriverMap != null) {
+            for (Integer nodeId : activityToCostDriverMap.keySet()) {
+                activityToCostDriverIds.put(nodeId,
+                        SymbolTable.COST_DRIVERS.internAll(activityToCostDriverMap.get(nodeId)));
+            }
+        }
     }
 
     private String buildModelScopeId(ProcessModel processModel) {
@@ -309,6 +322,49 @@ public class ProcessModel extends SimulationInput {
         return graph.getTargetObjects(nodeId);
     }
 
+    /**
+     * @param nodeId
+     *            identifier of a gateway
+     * @return the compiled join if the node is a parallel gateway with more than one previous node, otherwise null
+     * @throws NodeNotFoundException
+     * @throws ScyllaValidationException
+     */
+    public ParallelJoin getParallelJoin(int nodeId) throws NodeNotFoundException, ScyllaValidationException {
+        if (parallelJoins == null) {
+            compileParallelJoins();
+        }
+        return parallelJoins.get(nodeId);
+    }
+
+    /**
+     * @return the number of arrival words a process instance needs for all joins of the process model, see
+     *         {@link ParallelJoin}
+     */
+    public int getNumberOfJoinWords() throws NodeNotFoundException, ScyllaValidationException {
+        if (parallelJoins == null) {
+            compileParallelJoins();
+        }
+        return numberOfJoinWords;
+    }
+
+    private void compileParallelJoins() throws NodeNotFoundException, ScyllaValidationException {
+        Map<Integer, ParallelJoin> joins = new HashMap<Integer, ParallelJoin>();
+        int words = 0;
+        for (Map.Entry<Integer, GatewayType> gateway : gateways.entrySet()) {
+            if (gateway.getValue() != GatewayType.PARALLEL) {
+                continue;
+            }
+            Set<Integer> idsOfPreviousNodes = getIdsOfPreviousNodes(gateway.getKey());
+            if (idsOfPreviousNodes.size() > 1) {
+                ParallelJoin join = new ParallelJoin(idsOfPreviousNodes, words);
+                joins.put(gateway.getKey(), join);
+                words += join.getNumberOfWords();
+            }
+        }
+        numberOfJoinWords = words;
+        parallelJoins = joins;
+    }
+
     /**
      * Returns preceding nodes of given node.
      * 
@@ -401,4 +457,15 @@ public class ProcessModel extends SimulationInput {
     public Map<Integer, ArrayList<String>> getActivityToCostDriverMap() {
         return activityToCostDriverMap;
     }
+
+    /**
+     * @param nodeId
+     *            identifier of the node
+     * @return identifiers of the cost drivers of the node in {@link SymbolTable#COST_DRIVERS}, an empty array if the
+     *         node has none
+     */
+    public int[] getCostDriverIds(int nodeId) {
+        int[] costDriverIds = activityToCostDriverIds.get(nodeId);
+        return costDriverIds == null ? SymbolTable.EMPTY : costDriverIds;
+    }
 }
@@ -14,22 +14,49 @@ public class CostVariantConfigurationParser implements IDOMParser<CostVariantCon
     public CostVariantConfiguration parse(Element rootElement) throws ScyllaValidationException {
 
         Map<String, Double> costVariantMap = new HashMap<>();
+        Map<String, Map<String, Double>> impactFactors = new HashMap<>();
 
         List<Element> costVariantConfigurationElements = rootElement.getChildren();
 
         // get number of simulation runs
         Integer count = Integer.valueOf(rootElement.getAttributeValue("count"));
 
-        costVariantConfigurationElements.forEach(element -> {
+        for (Element element : costVariantConfigurationElements) {
 
             if (!Objects.equals(element.getName(), "fixed_cost")) {
                 // if not fixed cost, extract id and frequency
                 String variantID = element.getAttributeValue("id");
                 Double frequency = Double.valueOf(element.getAttributeValue("frequency"));
                 costVariantMap.put(variantID, frequency);
-            }
-        });
 
-        return new CostVariantConfiguration(costVariantMap, count);
+                // impact per concrete cost driver, e.g. <driver id="Electricity" cost="0.02"/>
+                Map<String, Double> impactFactorsOfVariant = new HashMap<>();
+                for (Element driver : element.getChildren()) {
+                    String driverID = driver.getAttributeValue("id");
+                    String impact = driver.getAttributeValue("cost");
+                    if (driverID == null || impact == null) {
+                        throw new ScyllaValidationException(
+                                "Cost driver of cost variant " + variantID + " requires an id and a cost.");
+                    }
+                    try {
+                        impactFactorsOfVariant.put(driverID, Double.valueOf(impact));
+                    }
+                    catch (NumberFormatException e) {
+                        throw new ScyllaValidationException(
+                                "Cost of cost driver " + driverID + " in cost variant " + variantID + " is not a number: " + impact);
+                    }
+                }
+                if (!impactFactorsOfVariant.isEmpty()) {
+                    impactFactors.put(variantID, impactFactorsOfVariant);
+                }
+            }
+        }
+
+        CostVariantConfiguration costVariantConfiguration = new CostVariantConfiguration(costVariantMap, count, impactFactors);
+        // evaluate="all" calculates the impact of each instance under every cost variant in the same run
+        costVariantConfiguration.setEvaluateAllVariants("all".equals(rootElement.getAttributeValue("evaluate")));
+        // quota="exact" keeps the frequencies exactly for the first count instances instead of drawing independently
+        costVariantConfiguration.setExactQuotas("exact".equals(rootElement.getAttributeValue("quota")));
+        return costVariantConfiguration;
     }
 }
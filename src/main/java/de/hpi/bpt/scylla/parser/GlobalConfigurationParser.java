@@ -20,6 +20,7 @@ import de.hpi.bpt.scylla.logger.DebugLogger;
 import de.hpi.bpt.scylla.model.global.GlobalConfiguration;
 import de.hpi.bpt.scylla.model.global.resource.DynamicResource;
 import de.hpi.bpt.scylla.model.global.resource.DynamicResourceInstance;
+import de.hpi.bpt.scylla.model.global.resource.EmissionFactorSeries;
 import de.hpi.bpt.scylla.model.global.resource.Resource;
 import de.hpi.bpt.scylla.model.global.resource.TimetableItem;
 import de.hpi.bpt.scylla.plugin_loader.PluginLoader;
@@ -63,6 +64,10 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
         // resourceId:[instanceName:timetableId]
         Map<String, Map<String, String>> resourcesToTimetableIds = new HashMap<String, Map<String, String>>();
         Map<String, List<TimetableItem>> timetables = new HashMap<String, List<TimetableItem>>();
+        // resourceId:emissionFactorsId of resource type, resourceId:[instanceName:emissionFactorsId]
+        Map<String, String> resourcesToEmissionFactorsIds = new HashMap<String, String>();
+        Map<String, Map<String, String>> resourceInstancesToEmissionFactorsIds = new HashMap<String, Map<String, String>>();
+        Map<String, EmissionFactorSeries> emissionFactors = new HashMap<String, EmissionFactorSeries>();
 
         for (Element el : globalConfigurationElements) {
             String elementName = el.getName();
@@ -110,6 +115,11 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
                                 throw new ScyllaValidationException("Multiple resource definitions: " + resourceId);
                             }
                             resourcesToTimetableIds.put(resourceId, new HashMap<String, String>());
+                            resourceInstancesToEmissionFactorsIds.put(resourceId, new HashMap<String, String>());
+                            String emissionFactorsId = elem.getAttributeValue("emissionFactorsId");
+                            if (emissionFactorsId != null) {
+                                resourcesToEmissionFactorsIds.put(resourceId, emissionFactorsId);
+                            }
 
                             Map<String, DynamicResourceInstance> resourceInstances = dynamicResource
                                     .getResourceInstances();
@@ -163,6 +173,12 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
                                 if (timetableId != null) {
                                     resourcesToTimetableIds.get(resourceId).put(name, timetableId);
                                 }
+
+                                String instanceEmissionFactorsId = element.getAttributeValue("emissionFactorsId");
+                                if (instanceEmissionFactorsId != null) {
+                                    resourceInstancesToEmissionFactorsIds.get(resourceId).put(name,
+                                            instanceEmissionFactorsId);
+                                }
                             }
 
                             resources.put(resourceId, dynamicResource);
@@ -202,6 +218,16 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
                         timetables.put(timetableId, items);
                     }
                 }
+                else if (elementName.equals("emissionFactors")) {
+                    for (Element sElement : el.getChildren("emissionFactorSeries", bsimNamespace)) {
+                        EmissionFactorSeries series = parseEmissionFactorSeries(sElement, bsimNamespace);
+                        if (emissionFactors.containsKey(series.getId())) {
+                            throw new ScyllaValidationException(
+                                    "Multiple emission factor series definitions: " + series.getId());
+                        }
+                        emissionFactors.put(series.getId(), series);
+                    }
+                }
             }
             else {
                 DebugLogger.log("Element " + el.getName() + " of global configuration is not supported.");
@@ -225,6 +251,19 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
                 }
             }
         }
+        // match emission factors and resource data
+        for (String resourceId : resourcesToEmissionFactorsIds.keySet()) {
+            ((DynamicResource) resources.get(resourceId)).setEmissionFactors(
+                    getEmissionFactorSeries(emissionFactors, resourcesToEmissionFactorsIds.get(resourceId)));
+        }
+        for (String resourceId : resourceInstancesToEmissionFactorsIds.keySet()) {
+            Map<String, String> instanceNameToEmissionFactorsIds = resourceInstancesToEmissionFactorsIds.get(resourceId);
+            DynamicResource dResource = (DynamicResource) resources.get(resourceId);
+            for (String resourceInstanceName : instanceNameToEmissionFactorsIds.keySet()) {
+                dResource.getResourceInstances().get(resourceInstanceName).setEmissionFactors(getEmissionFactorSeries(
+                        emissionFactors, instanceNameToEmissionFactorsIds.get(resourceInstanceName)));
+            }
+        }
         if (resources.isEmpty()) {
             //throw new ScyllaValidationException("No resource data definitions in file.");
         	System.err.println("[Warning:] No resource data definitions in file.");
@@ -244,7 +283,40 @@ public class GlobalConfigurationParser extends Parser<GlobalConfiguration> {
 
     private boolean isKnownElement(String name) {
         return name.equals("resourceAssignmentOrder") || name.equals("randomSeed") || name.equals("zoneOffset")
-                || name.equals("resourceData") || name.equals("timetables");
+                || name.equals("resourceData") || name.equals("timetables") || name.equals("emissionFactors");
+    }
+
+    private static EmissionFactorSeries parseEmissionFactorSeries(Element sElement, Namespace bsimNamespace)
+            throws ScyllaValidationException {
+        String id = sElement.getAttributeValue("id");
+        if (id == null) {
+            throw new ScyllaValidationException("Emission factor series does not have an id.");
+        }
+        try {
+            TimeUnit timeUnit = TimeUnit.valueOf(sElement.getAttributeValue("timeUnit"));
+            String periodString = sElement.getAttributeValue("period");
+            double period = periodString == null ? 0 : Double.parseDouble(periodString);
+            List<Element> stepElements = sElement.getChildren("step", bsimNamespace);
+            double[] stepBegins = new double[stepElements.size()];
+            double[] factors = new double[stepElements.size()];
+            for (int i = 0; i < stepElements.size(); i++) {
+                stepBegins[i] = Double.parseDouble(stepElements.get(i).getAttributeValue("from"));
+                factors[i] = Double.parseDouble(stepElements.get(i).getAttributeValue("factor"));
+            }
+            return new EmissionFactorSeries(id, timeUnit, stepBegins, factors, period);
+        }
+        catch (NullPointerException | IllegalArgumentException e) {
+            throw new ScyllaValidationException("Emission factor series " + id + " is invalid: " + e.getMessage());
+        }
+    }
+
+    private static EmissionFactorSeries getEmissionFactorSeries(Map<String, EmissionFactorSeries> emissionFactors,
+            String emissionFactorsId) throws ScyllaValidationException {
+        EmissionFactorSeries series = emissionFactors.get(emissionFactorsId);
+        if (series == null) {
+            throw new ScyllaValidationException("Emission factor series " + emissionFactorsId + " not found.");
+        }
+        return series;
     }
 
 }
@@ -131,6 +131,8 @@ public class SimulationConfigurationParser extends Parser<SimulationConfiguratio
         Map<Integer, TimeDistributionWrapper> arrivalRates = new HashMap<Integer, TimeDistributionWrapper>();
         Map<Integer, TimeDistributionWrapper> durations = new HashMap<Integer, TimeDistributionWrapper>();
         Map<Integer, TimeDistributionWrapper> setUpDurations = new HashMap<Integer, TimeDistributionWrapper>();
+        Map<Integer, TimeDistributionWrapper> patienceDurations = new HashMap<Integer, TimeDistributionWrapper>();
+        Map<Integer, Integer> balkingThresholds = new HashMap<Integer, Integer>();
         Map<Integer, Set<ResourceReference>> resourceReferences = new NodeMap<Set<ResourceReference>>(processModel.getNumberOfNodes());
         // gateways and events
         // Map<Integer, BranchingBehavior> branchingBehaviors = new HashMap<Integer, BranchingBehavior>();
@@ -193,6 +195,26 @@ public class SimulationConfigurationParser extends Parser<SimulationConfiguratio
                         TimeDistributionWrapper distribution = getTimeDistributionWrapper(setUpDurationElem, simNamespace);
                         setUpDurations.put(nodeId, distribution);
                     }
+                    Element patienceElem = el.getChild("patience", simNamespace);
+                    if (patienceElem != null) {
+                        TimeDistributionWrapper distribution = getTimeDistributionWrapper(patienceElem, simNamespace);
+                        patienceDurations.put(nodeId, distribution);
+                    }
+                    Element balkingElem = el.getChild("balking", simNamespace);
+                    if (balkingElem != null) {
+                        int queueLength;
+                        try {
+                            queueLength = Integer.parseInt(balkingElem.getAttributeValue("queueLength"));
+                        }
+                        catch (NumberFormatException e) {
+                            queueLength = -1;
+                        }
+                        if (queueLength < 0) {
+                            throw new ScyllaValidationException("Simulation configuration " + simId
+                                    + " defines no valid balking queue length for task / subprocess " + identifier);
+                        }
+                        balkingThresholds.put(nodeId, queueLength);
+                    }
 
                     Element resourcesElem = el.getChild("resources", simNamespace);
                     if (resourcesElem != null) {
@@ -255,7 +277,7 @@ public class SimulationConfigurationParser extends Parser<SimulationConfiguratio
 
         SimulationConfiguration simulationConfiguration = new SimulationConfiguration(simId, processModel,
                 numberOfProcessInstances, startDateTime, endDateTime, randomSeed, arrivalRates, durations, setUpDurations,
-                resourceReferences, configurationsOfSubProcesses);
+                patienceDurations, balkingThresholds, resourceReferences, configurationsOfSubProcesses);
 
         return simulationConfiguration;
     }
@@ -1,5 +1,6 @@
 package de.hpi.bpt.scylla.plugin.batch;
 
+import java.util.BitSet;
 import java.util.List;
 
 public class BatchActivity {
@@ -10,6 +11,8 @@ public class BatchActivity {
     private BatchClusterExecutionType executionType;
     private ActivationRule activationRule;
     private List<BatchGroupingCharacteristic> groupingCharacteristic;
+    // ids of the nodes from which the batch activity can be reached
+    private BitSet reachingNodes = new BitSet();
 
     /*Not used public BatchActivity(ProcessModel processModel, int nodeId, Integer maxBatchSize, BatchClusterExecutionType executionType, ActivationRule activationRule,
             List<String> groupingCharacteristic) {
@@ -54,4 +57,12 @@ public class BatchActivity {
         return groupingCharacteristic;
     }
 
+    BitSet getReachingNodes() {
+        return reachingNodes;
+    }
+
+    void setReachingNodes(BitSet reachingNodes) {
+        this.reachingNodes = reachingNodes;
+    }
+
 }
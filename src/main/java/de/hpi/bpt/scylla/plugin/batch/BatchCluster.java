@@ -44,6 +44,7 @@ abstract class BatchCluster extends Entity {
     private ProcessInstance responsibleProcessInstance;
     private List<TaskTerminateEvent> parentalEndEvents;
     private Integer startNodeId;
+    private List<Object> groupingKey;
 
     private List<TimeInstant> processInstanceEntranceTimes;
     private TimeInstant startTime;
@@ -108,6 +109,17 @@ abstract class BatchCluster extends Entity {
         this.startNodeId = startNodeId;
     }
     
+    /**
+     * @return values of the grouping characteristics which all process instances of this cluster share
+     */
+    List<Object> getGroupingKey() {
+        return groupingKey;
+    }
+
+    void setGroupingKey(List<Object> groupingKey) {
+        this.groupingKey = groupingKey;
+    }
+
     public boolean isProcessInstanceMatchingGroupingCharacteristic(ProcessInstance processInstance) {
     	return getProcessInstances().isEmpty() || 
 	    	getBatchActivity().getGroupingCharacteristic().stream()
@@ -8,6 +8,7 @@ import de.hpi.bpt.scylla.simulation.ProcessInstance;
 public class BatchGroupingCharacteristic {
 	
 	private String dataViewElement;
+	private int slot;
 	
 	public BatchGroupingCharacteristic(String dataViewElement) {
 		setDataViewElement(dataViewElement);
@@ -19,14 +20,15 @@ public class BatchGroupingCharacteristic {
 
 	public void setDataViewElement(String dataViewElement) {
 		this.dataViewElement = dataViewElement;
+		this.slot = DataObjectField.getSlot(dataViewElement);
 	}
 	
 	public boolean isFulfilledBetween(ProcessInstance pi1, ProcessInstance pi2) {
 		return Objects.equals(valueIn(pi1), valueIn(pi2));
 	}
 	
-	private Object valueIn(ProcessInstance processInstance) {
-		return DataObjectField.getDataObjectValue(processInstance.getId(), getDataViewElement());
+	Object valueIn(ProcessInstance processInstance) {
+		return DataObjectField.getDataObjectValue(processInstance, slot);
 	}
 	
 	@Override
@@ -30,8 +30,12 @@ public class BatchPluginUtils {
 	static final String ACTIVITIES_KEY = "batchActivities";
     private static BatchPluginUtils singleton;
 
-     // processID:[nodeId:batchClusters]
+     // processID:[nodeId:batchClusters], all clusters in order of creation, only read by the loggers
     private Map<String, Map<Integer, List<BatchCluster>>> batchClusters = new HashMap<String, Map<Integer, List<BatchCluster>>>();
+     // processID:[nodeId:[groupingKey:batchCluster]], clusters which have not started yet
+    private Map<String, Map<Integer, Map<List<Object>, BatchCluster>>> openClusters = new HashMap<String, Map<Integer, Map<List<Object>, BatchCluster>>>();
+     // processID:[nodeId:[processInstance:batchCluster]], running clusters by their process instances
+    private Map<String, Map<Integer, Map<ProcessInstance, BatchCluster>>> runningClusters = new HashMap<String, Map<Integer, Map<ProcessInstance, BatchCluster>>>();
     
     
     //TODO remove
@@ -65,6 +69,9 @@ public class BatchPluginUtils {
     // return subprocessStartEventsOnHold;
     // }
 
+    /**
+     * @return all batch clusters that were created, including the running and finished ones
+     */
     public Map<String, Map<Integer, List<BatchCluster>>> getBatchClusters() {
         return batchClusters;
     }
@@ -91,14 +98,11 @@ public class BatchPluginUtils {
         // (1) select the right batch cluster
         // (1a) check if there is already a batch with the data view (= a cluster the instance can be added to)
         String processId = processModel.getId();
-        Map<Integer, List<BatchCluster>> batchClustersOfProcess = batchClusters.computeIfAbsent(processId, (s) -> new HashMap<Integer, List<BatchCluster>>());
-        List<BatchCluster> clusters = batchClustersOfProcess.get(nodeId);
-        if (clusters != null) {
-        	cluster = clusters.stream()
-        		.filter(BatchCluster::hasNotStarted)
-        		.filter(eachCluster -> eachCluster.isProcessInstanceMatchingGroupingCharacteristic(processInstance))
-        		.findFirst().orElse(null);
-        }
+        Map<List<Object>, BatchCluster> openClustersOfNode = openClusters
+        	.computeIfAbsent(processId, (s) -> new HashMap<Integer, Map<List<Object>, BatchCluster>>())
+        	.computeIfAbsent(nodeId, (i) -> new HashMap<List<Object>, BatchCluster>());
+        List<Object> groupingKey = getGroupingKey(batchActivity, processInstance);
+        cluster = openClustersOfNode.get(groupingKey);
 
         // (1b) if not, create a new one
         if (cluster == null) {
@@ -107,7 +111,8 @@ public class BatchPluginUtils {
             TimeInstant currentSimulationTime = processInstance.presentTime();
             cluster = BatchCluster.create(model, currentSimulationTime, simulationComponents, batchActivity, showInTrace);
 
-            // schedule BatchClusterStart at current time plus maximum timeout
+            // schedule BatchClusterStart at current time plus maximum timeout, as a timer since it is rescheduled
+            // whenever the timeout is lowered
             BatchClusterEnableEvent clusterStartEvent = new BatchClusterEnableEvent(processInstance, cluster);
             cluster.setEnableEvent(clusterStartEvent);
 
@@ -116,10 +121,13 @@ public class BatchPluginUtils {
             long timeoutInSeconds = timeout.get(ChronoUnit.SECONDS);
             TimeSpan timeSpan = new TimeSpan(timeoutInSeconds, TimeUnit.SECONDS);
 
-            clusterStartEvent.schedule(timeSpan);
+            clusterStartEvent.scheduleTimer(timeSpan);
 
             // (4) add cluster to not started clusters
-            batchClustersOfProcess
+            cluster.setGroupingKey(groupingKey);
+            openClustersOfNode.put(groupingKey, cluster);
+            batchClusters
+            	.computeIfAbsent(processId, (s) -> new HashMap<Integer, List<BatchCluster>>())
             	.computeIfAbsent(nodeId,(i) -> new ArrayList<BatchCluster>())
             	.add(cluster);
 
@@ -128,6 +136,10 @@ public class BatchPluginUtils {
         // (2) add process instance to cluster
 
         cluster.addProcessInstance(processInstance, parentalBeginEvent);
+        // a maxloaded cluster does not accept further instances
+        if (!cluster.hasNotStarted()) {
+            openClustersOfNode.remove(groupingKey, cluster);
+        }
 
 
         // (3) check whether cluster timeout should be updated (lowered)
@@ -162,7 +174,7 @@ public class BatchPluginUtils {
                 //Scheduled with timeout from current point in time
                 BatchClusterEnableEvent clusterStartEvent = cluster.getEnableEvent();
                 clusterStartEvent.cancel();
-                clusterStartEvent.schedule(timeSpan);
+                clusterStartEvent.scheduleTimer(timeSpan);
             }
 
         }
@@ -172,32 +184,42 @@ public class BatchPluginUtils {
             // (2a) if bc is maxloaded, reschedule BatchClusterStart
             // there is only one event already scheduled for the cluster which is the BatchClusterStart
         	BatchClusterEnableEvent clusterStartEvent = cluster.getEnableEvent();
-            if(clusterStartEvent.isScheduled())clusterStartEvent.cancel();
+            if(clusterStartEvent.isPending())clusterStartEvent.cancel();
             clusterStartEvent.schedule(); // schedule for immediate execution
         }
 
     }
 
+    /**
+     * @return the values of the grouping characteristics of the batch activity in the process instance; instances
+     *         with equal keys can be batched together
+     */
+    private static List<Object> getGroupingKey(BatchActivity batchActivity, ProcessInstance processInstance) {
+        List<BatchGroupingCharacteristic> groupingCharacteristics = batchActivity.getGroupingCharacteristic();
+        List<Object> groupingKey = new ArrayList<Object>(groupingCharacteristics.size());
+        for (BatchGroupingCharacteristic groupingCharacteristic : groupingCharacteristics) {
+            groupingKey.add(groupingCharacteristic.valueIn(processInstance));
+        }
+        return groupingKey;
+    }
 
+    private Map<ProcessInstance, BatchCluster> getRunningClustersOfNode(String processId, int nodeId) {
+        Map<Integer, Map<ProcessInstance, BatchCluster>> runningClustersOfProcess = runningClusters.get(processId);
+        if (runningClustersOfProcess == null) {
+            return null;
+        }
+        return runningClustersOfProcess.get(nodeId);
+    }
 
     BatchCluster getRunningCluster(ProcessInstance processInstance, int nodeId) {
         ProcessModel processModel = processInstance.getProcessModel();
         String processId = processModel.getId();
 
-        if (batchClusters.containsKey(processId)) {
-            Map<Integer, List<BatchCluster>> batchClustersOfProcess = batchClusters.get(processId);
-            if (batchClustersOfProcess.containsKey(nodeId)) {
-                List<BatchCluster> clusters = batchClustersOfProcess.get(nodeId);
-                for (BatchCluster bc : clusters) {
-                    List<ProcessInstance> clusterProcessInstances = bc.getProcessInstances();
-                    if (bc.getState() == BatchClusterState.RUNNING
-                            && clusterProcessInstances.contains(processInstance)) {
-                        return bc;
-                    }
-                }
-            }
+        Map<ProcessInstance, BatchCluster> runningClustersOfNode = getRunningClustersOfNode(processId, nodeId);
+        if (runningClustersOfNode == null) {
+            return null;
         }
-        return null;
+        return runningClustersOfNode.get(processInstance);
     }
 
     void setClusterToRunning(BatchCluster bc) {
@@ -214,8 +236,21 @@ public class BatchPluginUtils {
         //
         // // move to running
         //
+        BatchActivity activity = bc.getBatchActivity();
+        String processId = bc.getProcessSimulationComponents().getProcessModel().getId();
+        int nodeId = activity.getNodeId();
+        Map<List<Object>, BatchCluster> openClustersOfNode = openClusters.get(processId).get(nodeId);
+        openClustersOfNode.remove(bc.getGroupingKey(), bc);
+
         bc.setState(BatchClusterState.RUNNING);
         bc.setStartTime(bc.presentTime());
+
+        Map<ProcessInstance, BatchCluster> runningClustersOfNode = runningClusters
+        	.computeIfAbsent(processId, (s) -> new HashMap<Integer, Map<ProcessInstance, BatchCluster>>())
+        	.computeIfAbsent(nodeId, (i) -> new HashMap<ProcessInstance, BatchCluster>());
+        for (ProcessInstance processInstance : bc.getProcessInstances()) {
+            runningClustersOfNode.put(processInstance, bc);
+        }
         //
         // Map<Integer, List<BatchCluster>> batchClustersOfProcess = batchClustersRunning.get(processId);
         // if (batchClustersOfProcess == null) {
@@ -244,25 +279,22 @@ public class BatchPluginUtils {
         ProcessModel processModel = processInstance.getProcessModel();
         String processId = processModel.getId();
 
-        if (batchClusters.containsKey(processId)) {
-            Map<Integer, List<BatchCluster>> batchClustersOfProcess = batchClusters.get(processId);
-            if (batchClustersOfProcess.containsKey(nodeId)) {
-                List<BatchCluster> clusters = batchClustersOfProcess.get(nodeId);
-                for (BatchCluster bc : clusters) {
-                    List<ProcessInstance> clusterProcessInstances = bc.getProcessInstances();
-                    if (bc.getState() == BatchClusterState.RUNNING
-                            && clusterProcessInstances.contains(processInstance)) {
-                        bc.setState(BatchClusterState.TERMINATED);
-                        // return clusters.remove(bc);
-                    }
-                }
+        Map<ProcessInstance, BatchCluster> runningClustersOfNode = getRunningClustersOfNode(processId, nodeId);
+        if (runningClustersOfNode == null) {
+            return;
+        }
+        BatchCluster bc = runningClustersOfNode.get(processInstance);
+        if (bc != null) {
+            bc.setState(BatchClusterState.TERMINATED);
+            // the cluster stays in the archive of all clusters for the loggers
+            for (ProcessInstance clusterProcessInstance : bc.getProcessInstances()) {
+                runningClustersOfNode.remove(clusterProcessInstance, bc);
             }
         }
-        // return false;
     }
 
     boolean isProcessInstanceCompleted(ProcessInstance processInstance) {
-        for (EventAbstract event : processInstance.getScheduledEvents()) {
+        for (EventAbstract event : processInstance.getPendingEvents()) {
             if (!(event instanceof TaskCancelEvent)) {
                 return false;
             }
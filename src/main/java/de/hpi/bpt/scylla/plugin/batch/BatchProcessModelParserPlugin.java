@@ -49,6 +49,9 @@ public class BatchProcessModelParserPlugin extends ProcessModelParserPluggable{
     		}
         }
         //Not needed batchActivities.forEach((key, value) -> value.setProcessModel(processModel));
+        for (BatchActivity batchActivity : batchActivities.values()) {
+        	batchActivity.setReachingNodes(MinMaxRule.getReachingNodes(processModel, batchActivity.getNodeId()));
+        }
         
 		Map<String, Object> extensionAttributes = new HashMap<String, Object>();
         extensionAttributes.put(BatchPluginUtils.ACTIVITIES_KEY, batchActivities);
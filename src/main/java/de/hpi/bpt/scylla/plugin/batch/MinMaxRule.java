@@ -1,8 +1,10 @@
 package de.hpi.bpt.scylla.plugin.batch;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -10,8 +12,8 @@ import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
+import de.hpi.bpt.scylla.simulation.ActiveNodeIndex;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
-import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
 import de.hpi.bpt.scylla.simulation.event.TaskBeginEvent;
 
 /**
@@ -51,27 +53,18 @@ public class MinMaxRule implements ActivationRule {
     
     
     /**
-     * @return the information to all currently running process instances, i.o. to be able to identify similar instances that are to reach the batch region
+     * Looks up the running instances which are active at a node from which the batch activity can be reached,
+     * see {@link BatchActivity#getReachingNodes()} and {@link ActiveNodeIndex}.
      */
-    private static List<ProcessInstance> getRunningInstances(ProcessInstance processInstance) {
-    	return ((SimulationModel)processInstance.getModel()).getEntities(true).stream()
-    			.filter(ProcessInstance.class::isInstance)
-    			.map(each -> (ProcessInstance) each)
-    			.filter(each -> each.getProcessModel().equals(processInstance.getProcessModel()))
-    			.collect(Collectors.toList());
-    }
-    
     private static boolean areSimilarInstancesAvailable(Integer forNodeId, ProcessInstance inProcessInstance) {
-        for (ProcessInstance runningInstance : getRunningInstances(inProcessInstance)) {
-        	Set<Integer> activeNodes = runningInstance.getScheduledEvents().stream()
-        			.filter(ScyllaEvent.class::isInstance)//ProcessInstanceGenerationEvents and similar must be filtered out
-        			.map(each -> (ScyllaEvent)each)
-        			.map(ScyllaEvent::getNodeId)
-        			.collect(Collectors.toSet());
-            if (inProcessInstance.getId() != runningInstance.getId() && willReach(runningInstance.getProcessModel(), activeNodes, forNodeId)) {
-                BatchActivity batchActivity = BatchPluginUtils.getBatchActivities(inProcessInstance.getProcessModel()).get(forNodeId);
-                if(batchActivity == null)throw new ScyllaRuntimeException("No batch activity found for node id "+forNodeId);
-                if(batchActivity.getGroupingCharacteristic().stream()
+        ProcessModel processModel = inProcessInstance.getProcessModel();
+        BatchActivity batchActivity = BatchPluginUtils.getBatchActivities(processModel).get(forNodeId);
+        if(batchActivity == null)throw new ScyllaRuntimeException("No batch activity found for node id "+forNodeId);
+        ActiveNodeIndex activeNodeIndex = ((SimulationModel)inProcessInstance.getModel()).getActiveNodeIndex();
+        BitSet reachingNodes = batchActivity.getReachingNodes();
+        for (int nodeId = reachingNodes.nextSetBit(0); nodeId >= 0; nodeId = reachingNodes.nextSetBit(nodeId + 1)) {
+            for (ProcessInstance runningInstance : activeNodeIndex.getProcessInstancesAt(processModel, nodeId)) {
+                if (inProcessInstance.getId() != runningInstance.getId() && batchActivity.getGroupingCharacteristic().stream()
                 	.allMatch(each -> each.isFulfilledBetween(inProcessInstance, runningInstance))) {
                 	return true;
                 }
@@ -79,6 +72,31 @@ public class MinMaxRule implements ActivationRule {
         }
         return false;
     }
+
+    /**
+     * @return the ids of all nodes from which the target node can be reached, without the target node itself;
+     *         i.e. an instance {@link #willReach(ProcessModel, Set, Integer) will reach} the target node iff one of
+     *         its active nodes is contained
+     */
+    static BitSet getReachingNodes(ProcessModel processModel, int targetNodeId) {
+    	BitSet reachingNodes = new BitSet();
+    	Deque<Integer> toVisit = new ArrayDeque<>();
+    	toVisit.add(targetNodeId);
+    	while(!toVisit.isEmpty()) {
+    		Integer current = toVisit.poll();
+    		try {
+    			for (Integer source : processModel.getGraph().getSourceObjects(current)) {
+    				if (source != targetNodeId && !reachingNodes.get(source)) {
+    					reachingNodes.set(source);
+    					toVisit.add(source);
+    				}
+    			}
+    		} catch (NodeNotFoundException e) {
+    			throw new ScyllaRuntimeException("There has been an error at process model graph traversal", e);
+    		}
+    	}
+    	return reachingNodes;
+    }
     
     public static boolean willReach(ProcessModel processModel, Set<Integer> activeNodeIds, Integer targetNodeId) {
     	Set<Integer> active = activeNodeIds.stream().collect(Collectors.toSet());
@@ -87,7 +105,7 @@ public class MinMaxRule implements ActivationRule {
     	Integer current;
     	while(!active.isEmpty()) {
     		current = active.stream().findAny().get();
-    		if(current == targetNodeId)return true;
+    		if(current.equals(targetNodeId))return true;
     		active.remove(current);
     		visited.add(current);
     		try {
@@ -164,7 +164,7 @@ public class ParallelBatchCluster extends BatchCluster {
             if (!getResponsibleProcessInstance().equals(beginEvent.getProcessInstance())) {
                 ResourceObjectTuple commonResources = beginEvent.getProcessInstance().getAssignedResources().get(beginEvent.getSource());
                 Set<String> resourceStrings = commonResources.getResourceObjects().stream()
-                		.map(res -> res.getResourceType() + "_" + res.getId())
+                		.map(res -> res.getName())
                 		.collect(Collectors.toSet());
                 ProcessNodeInfo info;
                 info = new ProcessNodeInfo(nodeId, processScopeNodeId, beginEvent.getSource(), timestamp, taskName, resourceStrings,
@@ -53,11 +53,11 @@ public abstract class ThresholdRule implements ActivationRule{
      */
     private static class DueDateThresholdRule extends ThresholdRule {
 
-        private String dueDate;
+        private int dueDateSlot;
 
         public DueDateThresholdRule (int threshold, String dueDate) {
             super(threshold);
-            this.dueDate = dueDate;
+            this.dueDateSlot = DataObjectField.getSlot(dueDate);
         }
 		
 		public Duration getTimeOut(TaskBeginEvent desmojEvent, ProcessInstance processInstance) {
@@ -73,7 +73,7 @@ public abstract class ThresholdRule implements ActivationRule{
 
 	        //SimulationModel model = (SimulationModel) desmojEvent.getModel();
 
-	        numberOfDays = (long) DataObjectField.getDataObjectValue(processInstance.getId(),dueDate);
+	        numberOfDays = (long) DataObjectField.getDataObjectValue(processInstance, dueDateSlot);
 	        //TODO make due date a real date and calculate remaining time until duedate
 	        //TODO should the result be fixed at some point?
 
@@ -0,0 +1,44 @@
+package de.hpi.bpt.scylla.plugin.boundaryevent;
+
+import java.util.concurrent.TimeUnit;
+
+import de.hpi.bpt.scylla.simulation.event.BPMNIntermediateEvent;
+import desmoj.core.simulator.TimeInstant;
+
+/**
+ * Occurrence of a boundary event of a running task. When it fires, the next occurrence of the same timer or the next
+ * non-timer boundary event of the task is scheduled, see {@link BoundaryEventPluginUtils#scheduleSuccessor(BoundaryEvent)}.
+ */
+class BoundaryEvent extends BPMNIntermediateEvent {
+
+    private BoundaryObject boundaryObject;
+    private BoundaryTimer timer;
+    private int occurrence;
+
+    /**
+     * @param timer
+     *            timer of the event, null if it is not a timer event
+     * @param occurrence
+     *            number of the occurrence of the timer, starting with 1
+     */
+    BoundaryEvent(BoundaryObject boundaryObject, int nodeId, BoundaryTimer timer, int occurrence) {
+        super(boundaryObject.getProcessInstance().getModel(), boundaryObject.getSource(),
+                new TimeInstant(boundaryObject.getBeginTimeOfTask(), TimeUnit.SECONDS),
+                boundaryObject.getDesmojObjects(), boundaryObject.getProcessInstance(), nodeId);
+        this.boundaryObject = boundaryObject;
+        this.timer = timer;
+        this.occurrence = occurrence;
+    }
+
+    BoundaryObject getBoundaryObject() {
+        return boundaryObject;
+    }
+
+    BoundaryTimer getTimer() {
+        return timer;
+    }
+
+    int getOccurrence() {
+        return occurrence;
+    }
+}
@@ -25,6 +25,10 @@ public class BoundaryIntermediateEventPlugin extends BPMNIntermediateEventPlugga
         if (isCancelActivity != null && isCancelActivity) {
             processInstance.cancel();
         }
+        else if (event instanceof BoundaryEvent) {
+            // the task is still running, so the next boundary event can be generated
+            BoundaryEventPluginUtils.getInstance().scheduleSuccessor((BoundaryEvent) event);
+        }
 	}
 
 }
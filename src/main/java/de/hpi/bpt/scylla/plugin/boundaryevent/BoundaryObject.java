@@ -1,13 +1,9 @@
 package de.hpi.bpt.scylla.plugin.boundaryevent;
 
-import java.util.List;
-import java.util.TreeMap;
-
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
-import de.hpi.bpt.scylla.simulation.event.BPMNIntermediateEvent;
 
-// This is just the data class for boundary events/ objects.
+// This is just the data class for boundary events/ objects, i.e. for the boundary events of a running task.
 class BoundaryObject {
 
     private String source;
@@ -17,26 +13,19 @@ class BoundaryObject {
     private int nodeId;
 
     private double beginTimeOfTask;
-    private double timerEventsCreatedUntil; // inclusive
+    private double endTimeOfTask;
     private double nonTimerEventsCreatedUntil; // inclusive
-    private List<Integer> referenceToBoundaryEvents;
     private boolean generateMoreBoundaryEvents = true;
 
-    // Ordered by Double.
-    private TreeMap<Double, List<BPMNIntermediateEvent>> boundaryEventsToSchedule = new TreeMap<Double, List<BPMNIntermediateEvent>>();
-    // for scheduling boundary events
-    private TreeMap<Double, List<String>> messagesOfBoundaryEventsToSchedule = new TreeMap<Double, List<String>>();
-
-    BoundaryObject(String source, double enableTimeOfTask, ProcessInstance processInstance, int nodeId,
-            ProcessSimulationComponents desmojObjects, List<Integer> referenceToBoundaryEvents) {
+    BoundaryObject(String source, double beginTimeOfTask, double endTimeOfTask, ProcessInstance processInstance,
+            int nodeId, ProcessSimulationComponents desmojObjects) {
         this.source = source;
-        this.beginTimeOfTask = enableTimeOfTask;
-        this.timerEventsCreatedUntil = enableTimeOfTask;
-        this.nonTimerEventsCreatedUntil = enableTimeOfTask;
+        this.beginTimeOfTask = beginTimeOfTask;
+        this.endTimeOfTask = endTimeOfTask;
+        this.nonTimerEventsCreatedUntil = beginTimeOfTask;
         this.processInstance = processInstance;
         this.nodeId = nodeId;
         this.pSimComponents = desmojObjects;
-        this.referenceToBoundaryEvents = referenceToBoundaryEvents;
     }
 
     String getSource() {
@@ -59,12 +48,8 @@ class BoundaryObject {
         return beginTimeOfTask;
     }
 
-    double getTimeUntilWhenTimerEventsAreCreated() {
-        return timerEventsCreatedUntil;
-    }
-
-    void setTimeUntilWhenTimerEventsAreCreated(double timeUntilWhenTimerEventsAreCreated) {
-        this.timerEventsCreatedUntil = timeUntilWhenTimerEventsAreCreated;
+    double getEndTimeOfTask() {
+        return endTimeOfTask;
     }
 
     double getTimeUntilWhenNonTimerEventsAreCreated() {
@@ -75,25 +60,12 @@ class BoundaryObject {
         this.nonTimerEventsCreatedUntil = timeUntilWhenNonTimerEventsAreCreated;
     }
 
-    List<Integer> getReferenceToBoundaryEvents() {
-        return referenceToBoundaryEvents;
-    }
-
     boolean isGenerateMoreNonTimerBoundaryEvents() {
         return generateMoreBoundaryEvents;
     }
 
-    // Will there ever be a use case where it will be set one true again? At the moment, generateMoreNonTimerBoundaryEvents is always false...
     void setGenerateMoreNonTimerBoundaryEvents(boolean generateMoreNonTimerBoundaryEvents) {
         this.generateMoreBoundaryEvents = generateMoreNonTimerBoundaryEvents;
     }
 
-    TreeMap<Double, List<BPMNIntermediateEvent>> getBoundaryEventsToSchedule() {
-        return boundaryEventsToSchedule;
-    }
-
-    TreeMap<Double, List<String>> getMessagesOfBoundaryEventsToSchedule() {
-        return messagesOfBoundaryEventsToSchedule;
-    }
-
 }
@@ -0,0 +1,63 @@
+package de.hpi.bpt.scylla.plugin.boundaryevent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom2.Element;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.model.process.node.EventDefinitionType;
+import de.hpi.bpt.scylla.model.process.node.EventType;
+import de.hpi.bpt.scylla.plugin_type.parser.ProcessModelParserPluggable;
+
+/**
+ * Parses the timer definitions of all boundary timer events, see {@link BoundaryTimer}.<br>
+ * Use {@link BoundaryEventPluginUtils#getTimers(ProcessModel)} to access them.
+ */
+public class BoundaryPMParserPlugin extends ProcessModelParserPluggable {
+
+    @Override
+    public String getName() {
+        return BoundaryEventPluginUtils.PLUGIN_NAME;
+    }
+
+    @Override
+    public Map<String, Object> parse(ProcessModel processModel, Element process) throws ScyllaValidationException {
+
+        Map<Integer, BoundaryTimer> timers = new HashMap<Integer, BoundaryTimer>();
+
+        for (Map.Entry<Integer, EventType> eventType : processModel.getEventTypes().entrySet()) {
+            if (eventType.getValue() != EventType.BOUNDARY) {
+                continue;
+            }
+            Integer nodeId = eventType.getKey();
+            Map<EventDefinitionType, Map<String, String>> eventDefinitions = processModel.getEventDefinitions()
+                    .get(nodeId);
+            Map<String, String> definitionAttributes = eventDefinitions == null ? null
+                    : eventDefinitions.get(EventDefinitionType.TIMER);
+            if (definitionAttributes == null) { // boundary event is not a timer event
+                continue;
+            }
+            String identifier = processModel.getIdentifiers().get(nodeId);
+            Boolean isInterrupting = processModel.getCancelActivities().get(nodeId);
+            BoundaryTimer timer;
+            try {
+                timer = BoundaryTimer.parse(definitionAttributes, isInterrupting != null && isInterrupting);
+            }
+            catch (ScyllaValidationException e) {
+                throw new ScyllaValidationException(e.getMessage() + " at timer event " + identifier, e);
+            }
+            if (timer == null) {
+                DebugLogger.log("Timer event " + identifier + " has no timer definition, skip.");
+                continue;
+            }
+            timers.put(nodeId, timer);
+        }
+
+        Map<String, Object> extensionAttributes = new HashMap<String, Object>();
+        extensionAttributes.put(BoundaryEventPluginUtils.TIMERS_KEY, timers);
+        return extensionAttributes;
+    }
+}
@@ -0,0 +1,88 @@
+package de.hpi.bpt.scylla.plugin.boundaryevent;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+
+/**
+ * Timer definition of a boundary event, parsed once when the process model is parsed.<br>
+ * A timer with a <code>timeDuration</code> fires once, a timer with a <code>timeCycle</code> of the form
+ * <code>Rn/[ISO 8601 duration]</code> fires every duration, at most n times if n is given.
+ *
+ */
+class BoundaryTimer {
+
+    static final int UNLIMITED = -1;
+
+    private double durationInSeconds;
+    private int maxOccurrences;
+    // a cycle may also fire when the task ends
+    private boolean isCycle;
+
+    private BoundaryTimer(double durationInSeconds, int maxOccurrences, boolean isCycle) {
+        this.durationInSeconds = durationInSeconds;
+        this.maxOccurrences = maxOccurrences;
+        this.isCycle = isCycle;
+    }
+
+    /**
+     * @param definitionAttributes
+     *            attributes of the timer event definition
+     * @param isInterrupting
+     *            true if the boundary event cancels its task, then it fires at most once
+     * @return the timer, or null if the definition has neither a time duration nor a time cycle
+     * @throws ScyllaValidationException
+     *             if the duration or the number of recurrences cannot be parsed
+     */
+    static BoundaryTimer parse(Map<String, String> definitionAttributes, boolean isInterrupting)
+            throws ScyllaValidationException {
+        String timeDuration = definitionAttributes.get("timeDuration"); // ISO 8601 duration
+        String timeCycle = definitionAttributes.get("timeCycle");
+        try {
+            if (timeDuration != null) {
+                return new BoundaryTimer(Duration.parse(timeDuration).getSeconds(), 1, false);
+            }
+            if (timeCycle != null) {
+                // ISO 8601 repeating time interval: Rn/[ISO 8601 duration] where n (optional) for number of recurrences
+                String[] recurrencesAndDuration = timeCycle.split("/");
+                if (recurrencesAndDuration.length != 2) {
+                    throw new ScyllaValidationException("Time cycle " + timeCycle + " is not of the form Rn/duration.");
+                }
+                String recurrencesString = recurrencesAndDuration[0];
+                int maxOccurrences = UNLIMITED;
+                if (recurrencesString.length() > 1) {
+                    maxOccurrences = Integer.parseInt(recurrencesString.substring(1));
+                }
+                if (isInterrupting && maxOccurrences != 0) {
+                    maxOccurrences = 1;
+                }
+                return new BoundaryTimer(Duration.parse(recurrencesAndDuration[1]).getSeconds(), maxOccurrences, true);
+            }
+        }
+        catch (DateTimeParseException | NumberFormatException e) {
+            throw new ScyllaValidationException("Invalid timer definition: " + e.getMessage(), e);
+        }
+        // TODO support timeDate attributes?
+        return null;
+    }
+
+    /**
+     * @param occurrence
+     *            number of the occurrence, starting with 1
+     * @param beginTimeOfTask
+     *            time at which the task begins, in seconds
+     * @param endTimeOfTask
+     *            time at which the task ends, in seconds
+     * @return time of the occurrence in seconds, or a negative value if the timer does not fire that often while the
+     *         task is running
+     */
+    double getTimeOfOccurrence(int occurrence, double beginTimeOfTask, double endTimeOfTask) {
+        if (durationInSeconds == 0 || (maxOccurrences != UNLIMITED && occurrence > maxOccurrences)) {
+            return -1;
+        }
+        double time = beginTimeOfTask + occurrence * durationInSeconds;
+        return time < endTimeOfTask || (isCycle && time == endTimeOfTask) ? time : -1;
+    }
+}
@@ -0,0 +1,36 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
+import de.hpi.bpt.scylla.plugin_type.simulation.event.BPMNEndEventPluggable;
+import de.hpi.bpt.scylla.simulation.ProcessInstance;
+import de.hpi.bpt.scylla.simulation.event.BPMNEndEvent;
+import de.hpi.bpt.scylla.simulation.event.TaskCancelEvent;
+import desmoj.core.simulator.EventAbstract;
+
+/**
+ * Releases the data object values of a top level process instance when it has ended.
+ */
+public class DataObjectBPMNEndEvent extends BPMNEndEventPluggable {
+
+    @Override
+    public String getName() {
+        return DataObjectPluginUtils.PLUGIN_NAME;
+    }
+
+    @Override
+    public void eventRoutine(BPMNEndEvent desmojEvent, ProcessInstance processInstance) throws ScyllaRuntimeException {
+        // sub-process instances store their values in the top level process instance
+        if (processInstance.getParent() == null && processInstanceIsCompleted(processInstance)) {
+            processInstance.releaseDataObjectValues();
+        }
+    }
+
+    private boolean processInstanceIsCompleted(ProcessInstance processInstance) {
+        for (EventAbstract event : processInstance.getPendingEvents()) {
+            if (!(event instanceof TaskCancelEvent)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
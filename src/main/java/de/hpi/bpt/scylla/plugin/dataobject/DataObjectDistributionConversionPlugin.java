@@ -1,17 +1,26 @@
 package de.hpi.bpt.scylla.plugin.dataobject;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import de.hpi.bpt.scylla.logger.DebugLogger;
 import de.hpi.bpt.scylla.model.configuration.SimulationConfiguration;
 import de.hpi.bpt.scylla.model.configuration.distribution.Distribution;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.plugin_type.simulation.DistributionConversionPluggable;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 import de.hpi.bpt.scylla.simulation.utils.SimulationUtils;
 import desmoj.core.dist.NumericalDist;
 
+/**
+ * Sets the DesmoJ distributions of the data object fields. The fields are returned by the nodes which write them,
+ * i.e. the sources of their data objects in {@link ProcessModel#getDataObjectsGraph()}, so a node finds the fields it
+ * writes with a single lookup, see {@link DataObjectPluginUtils#writeDataObjects}.
+ */
 public class DataObjectDistributionConversionPlugin extends DistributionConversionPluggable {
 
     @Override
@@ -35,6 +44,7 @@ public class DataObjectDistributionConversionPlugin extends DistributionConversi
         boolean showInReport = model.reportIsOn();
         boolean showInTrace = model.traceIsOn();
         
+        Map<Integer, Object> fieldsByWritingNode = new HashMap<Integer, Object>();
         for(Integer nodeId : dataObjects.keySet()) {
         	Map<String, DataObjectField> dataObjectFields = (Map<String, DataObjectField>) dataObjects.get(nodeId);
         	String name = processModel.getModelScopeId() + "_" + nodeId.toString();
@@ -55,9 +65,22 @@ public class DataObjectDistributionConversionPlugin extends DistributionConversi
 				}
             	desmojDist.setSeed(randomSeed);
             	distWrapper.setDesmojDistribution(desmojDist);
+            	addToWritingNodes(processModel, dataObjectField, fieldsByWritingNode);
     		}
     	}
         
-        return dataObjects;
+        return fieldsByWritingNode;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addToWritingNodes(ProcessModel processModel, DataObjectField dataObjectField, Map<Integer, Object> fieldsByWritingNode) {
+        try {
+            for (Integer writingNodeId : processModel.getDataObjectsGraph().getSourceObjects(dataObjectField.getNodeId())) {
+                ((List<DataObjectField>) fieldsByWritingNode.computeIfAbsent(writingNodeId, id -> new ArrayList<DataObjectField>()))
+                        .add(dataObjectField);
+            }
+        } catch (NodeNotFoundException e) {
+            // data object is neither written nor read by any node
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package de.hpi.bpt.scylla.plugin.dataobject;
 
-import java.util.HashMap;
+import de.hpi.bpt.scylla.logger.SymbolTable;
+import de.hpi.bpt.scylla.simulation.ProcessInstance;
 
 public class DataObjectField {
 
@@ -8,14 +9,22 @@ public class DataObjectField {
 	private String fieldName;
 	private Integer NodeId; //DataObject it contains to
 	private String fieldType;
+	private String qualifiedName;
+	private int slot;
 
-	private static HashMap<String, Object> dataObjectValues = new HashMap<String, Object>();
+	/**
+	 * Slots of the fields in the form <code>dataObjectName.fieldName</code>. The values of the fields are stored per
+	 * process instance in an array indexed by these slots, see {@link ProcessInstance#getDataObjectValue(int)}.
+	 */
+	private static final SymbolTable slots = new SymbolTable();
 
-	DataObjectField(DataDistributionWrapper wrapper, Integer NodeId, String fieldName, String fieldtype) {
+	DataObjectField(DataDistributionWrapper wrapper, Integer NodeId, String dataObjectName, String fieldName, String fieldtype) {
 		this.distributionWrapper = wrapper;
 		this.NodeId = NodeId;
 		this.fieldName = fieldName;
 		this.fieldType = fieldtype;
+		this.qualifiedName = dataObjectName + "." + fieldName;
+		this.slot = getSlot(qualifiedName);
 	}
 
 	public DataDistributionWrapper getDataDistributionWrapper() {
@@ -34,11 +43,57 @@ public class DataObjectField {
 		return this.fieldType;
 	}
 
-	static void addDataObjectValue(Integer processId, String fieldName, Object value) {
-		dataObjectValues.put(fieldName + "_" + String.valueOf(processId), value);
+	/**
+	 * @return name of the field in the form <code>dataObjectName.fieldName</code>
+	 */
+	public String getQualifiedName() {
+		return qualifiedName;
 	}
 
-	public static Object getDataObjectValue(Integer processId, String fieldName) {
-		return dataObjectValues.get(fieldName + "_" + String.valueOf(processId));
+	public int getSlot() {
+		return slot;
+	}
+
+	/**
+	 * @param fieldName name of the field in the form <code>dataObjectName.fieldName</code>
+	 * @return slot of the field, assigned when the field is seen first
+	 */
+	public static int getSlot(String fieldName) {
+		return slots.intern(fieldName);
+	}
+
+	/**
+	 * Forgets the slots of all fields, fields and conditions which have been parsed before must not be used afterwards.
+	 */
+	public static void clearSlots() {
+		slots.clear();
+	}
+
+	static void setDataObjectValue(ProcessInstance processInstance, int slot, Object value) {
+		getTopLevelInstance(processInstance).setDataObjectValue(slot, value);
+	}
+
+	/**
+	 * @return current value of the field in the process instance or its top level process instance, <code>null</code>
+	 *         if it has not been set; values written by nodes are sampled now if they have not been read before
+	 */
+	public static Object getDataObjectValue(ProcessInstance processInstance, int slot) {
+		Object value = getTopLevelInstance(processInstance).getDataObjectValue(slot);
+		if (value instanceof LazyDataObjectValue) {
+			return ((LazyDataObjectValue) value).get();
+		}
+		return value;
+	}
+
+	public static Object getDataObjectValue(ProcessInstance processInstance, String fieldName) {
+		return getDataObjectValue(processInstance, getSlot(fieldName));
+	}
+
+	// sub-process instances share the data objects of their top level process instance
+	private static ProcessInstance getTopLevelInstance(ProcessInstance processInstance) {
+		while (processInstance.getParent() != null) {
+			processInstance = processInstance.getParent();
+		}
+		return processInstance;
 	}
 }
\ No newline at end of file
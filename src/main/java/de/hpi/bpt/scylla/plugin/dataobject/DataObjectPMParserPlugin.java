@@ -0,0 +1,55 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom2.Element;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
+import de.hpi.bpt.scylla.plugin_type.parser.ProcessModelParserPluggable;
+
+/**
+ * Compiles the conditions on the outgoing flows of gateways, see {@link GatewayCondition}.<br>
+ * Use {@link DataObjectPluginUtils#getGatewayConditions(ProcessModel)} to access them.
+ */
+public class DataObjectPMParserPlugin extends ProcessModelParserPluggable {
+
+    @Override
+    public String getName() {
+        return DataObjectPluginUtils.PLUGIN_NAME;
+    }
+
+    @Override
+    public Map<String, Object> parse(ProcessModel processModel, Element process) throws ScyllaValidationException {
+
+        Map<Integer, GatewayCondition> gatewayConditions = new HashMap<Integer, GatewayCondition>();
+
+        for (Integer nodeId : processModel.getGateways().keySet()) {
+            try {
+                for (Integer outgoingFlow : processModel.getGraph().getTargetObjects(nodeId)) {
+                    String displayName = processModel.getDisplayNames().get(outgoingFlow);
+                    if (displayName == null || !GatewayCondition.containsOperator(displayName)) {
+                        continue;
+                    }
+                    try {
+                        gatewayConditions.put(outgoingFlow, GatewayCondition.compile(displayName));
+                    }
+                    catch (ScyllaValidationException e) {
+                        DebugLogger.log("Warning: " + e.getMessage() + " on flow '"
+                                + processModel.getIdentifiers().get(outgoingFlow) + "', skip.");
+                    }
+                }
+            }
+            catch (NodeNotFoundException e) {
+                throw new ScyllaValidationException(e.getMessage(), e);
+            }
+        }
+
+        Map<String, Object> extensionAttributes = new HashMap<String, Object>();
+        extensionAttributes.put(DataObjectPluginUtils.GATEWAY_CONDITIONS_KEY, gatewayConditions);
+        return extensionAttributes;
+    }
+}
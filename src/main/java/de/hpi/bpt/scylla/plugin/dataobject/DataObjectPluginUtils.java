@@ -1,8 +1,21 @@
 package de.hpi.bpt.scylla.plugin.dataobject;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.simulation.ProcessInstance;
+import de.hpi.bpt.scylla.simulation.SimulationModel;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
+
 public class DataObjectPluginUtils {
 	
     public static final String PLUGIN_NAME = "dataobject";
+    static final String GATEWAY_CONDITIONS_KEY = "gatewayConditions";
     private static DataObjectPluginUtils singleton;
     
     static DataObjectPluginUtils getInstance() {
@@ -11,4 +24,72 @@ public class DataObjectPluginUtils {
         }
         return singleton;
     }
-}
+
+    /**
+     * @return compiled conditions of the outgoing flows of the gateways of the process model, by flow,
+     *         <code>null</code> if the process model has not been parsed with this plugin
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<Integer, GatewayCondition> getGatewayConditions(ProcessModel processModel) {
+        return (Map<Integer, GatewayCondition>) processModel.getExtensionValue(PLUGIN_NAME, GATEWAY_CONDITIONS_KEY);
+    }
+
+    /**
+     * Writes new values of the data object fields which the node of the event writes. The values are sampled when
+     * they are read first. They are also added to the record of the node in the log, if the record has been kept.
+     * 
+     * @param transition
+     *            transition of the record of the node
+     */
+    @SuppressWarnings("unchecked")
+    static void writeDataObjects(ScyllaEvent desmojEvent, ProcessInstance processInstance,
+            ProcessNodeTransitionType transition) {
+        Map<Integer, Object> fieldsByWritingNode = desmojEvent.getSimulationComponents().getExtensionDistributions()
+                .get(PLUGIN_NAME);
+        if (fieldsByWritingNode == null) {
+            return;
+        }
+        List<DataObjectField> fields = (List<DataObjectField>) fieldsByWritingNode.get(desmojEvent.getNodeId());
+        if (fields == null) {
+            return;
+        }
+        ProcessNodeInfo info = getCurrentNodeInfo(desmojEvent, processInstance, transition);
+        for (DataObjectField field : fields) {
+            LazyDataObjectValue value = new LazyDataObjectValue(field);
+            DataObjectField.setDataObjectValue(processInstance, field.getSlot(), value);
+            if (info != null) {
+                info.SetDataObjectField(Collections.singletonMap(field.getQualifiedName(), value));
+            }
+        }
+    }
+
+    /**
+     * @return the record which the event has just added to the log, <code>null</code> if it has not been kept
+     */
+    private static ProcessNodeInfo getCurrentNodeInfo(ScyllaEvent desmojEvent, ProcessInstance processInstance,
+            ProcessNodeTransitionType transition) {
+        ProcessModel processModel = processInstance.getProcessModel();
+        while (processModel.getParent() != null) {
+            processModel = processModel.getParent();
+        }
+        SimulationModel model = (SimulationModel) desmojEvent.getModel();
+        Map<Integer, List<ProcessNodeInfo>> nodeInfosOfProcess = model.getProcessNodeInfos().get(processModel.getId());
+        List<ProcessNodeInfo> nodeInfos = nodeInfosOfProcess == null ? null
+                : nodeInfosOfProcess.get(processInstance.getId());
+        if (nodeInfos == null) {
+            return null;
+        }
+        long timestamp = Math.round(model.presentTime().getTimeRounded(DateTimeUtils.getReferenceTimeUnit()));
+        // records are added in order of time, so only the records of the current point in time are searched
+        for (int i = nodeInfos.size() - 1; i >= 0; i--) {
+            ProcessNodeInfo info = nodeInfos.get(i);
+            if (info.getTimestamp() < timestamp) {
+                break;
+            }
+            if (info.getId() == desmojEvent.getNodeId() && info.getTransition() == transition) {
+                return info;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
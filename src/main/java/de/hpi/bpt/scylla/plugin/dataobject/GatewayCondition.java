@@ -0,0 +1,176 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.simulation.ProcessInstance;
+
+/**
+ * Condition on data object fields which is attached to an outgoing flow of an exclusive gateway, e.g.
+ * <code>Discount.Type=25&amp;&amp;Discount.Points&lt;1000</code>.<br>
+ * Conditions are compiled once when the process model is parsed: the fields are bound to their slots and constant
+ * values are parsed in advance, so evaluating a condition does not parse anything.
+ *
+ */
+public abstract class GatewayCondition {
+
+	static enum Operator {
+		// tokens which contain other tokens come first
+		GREATEROREQUAL(	i -> i >= 0, ">="),
+		LESSOREQUAL(	i -> i <= 0, "<="),
+		NOTEQUAL(		i -> i != 0, "!="),
+		EQUAL(			i -> i == 0, "==", "="),
+		LESS(			i -> i <  0, "<"),
+		GREATER(		i -> i >  0, ">");
+
+		private String[] tokens;
+		private IntPredicate condition;
+		private Operator(IntPredicate c, String... t) {
+			condition = c;
+			tokens = t;
+		}
+	}
+
+	/**
+	 * @return true if the condition holds for the current data object values of the process instance
+	 */
+	public boolean isFulfilledIn(ProcessInstance processInstance) {
+		return isFulfilledFor(slot -> DataObjectField.getDataObjectValue(processInstance, slot));
+	}
+
+	/**
+	 * @param valueOfSlot
+	 *            current values of the data object fields by their slots
+	 * @return true if the condition holds for the given values
+	 */
+	abstract boolean isFulfilledFor(IntFunction<Object> valueOfSlot);
+
+	/**
+	 * @param s
+	 *            display name of a flow
+	 * @return true if the display name contains a comparison operator, i.e. is meant to be a condition
+	 */
+	public static boolean containsOperator(String s) {
+		for (Operator operator : Operator.values()) {
+			for (String token : operator.tokens) {
+				if (s.contains(token)) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param expression
+	 *            comparisons of the form <code>dataObjectName.fieldName operator value</code>, joined by
+	 *            <code>&amp;&amp;</code>
+	 * @return the compiled condition
+	 * @throws ScyllaValidationException
+	 *             if one of the comparisons does not have an operator
+	 */
+	public static GatewayCondition compile(String expression) throws ScyllaValidationException {
+		String[] parts = expression.split("&&");
+		if (parts.length == 1) {
+			return compileComparison(parts[0]);
+		}
+		Comparison[] comparisons = new Comparison[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			comparisons[i] = compileComparison(parts[i]);
+		}
+		return new Conjunction(comparisons);
+	}
+
+	private static Comparison compileComparison(String condition) throws ScyllaValidationException {
+		condition = condition.trim();
+		for (Operator operator : Operator.values()) {
+			for (String token : operator.tokens) {
+				int index = condition.indexOf(token);
+				if (index < 0) continue;
+				String field = condition.substring(0, index).trim();
+				int end = condition.indexOf(token, index + token.length());
+				String value = condition.substring(index + token.length(), end < 0 ? condition.length() : end).trim();
+				return new Comparison(DataObjectField.getSlot(field), operator, value);
+			}
+		}
+		throw new ScyllaValidationException("Condition " + condition + " does not have a comparison-operator");
+	}
+
+	/**
+	 * Holds if all comparisons hold.
+	 */
+	private static class Conjunction extends GatewayCondition {
+
+		private final Comparison[] comparisons;
+
+		Conjunction(Comparison[] comparisons) {
+			this.comparisons = comparisons;
+		}
+
+		@Override
+		boolean isFulfilledFor(IntFunction<Object> valueOfSlot) {
+			for (Comparison comparison : comparisons) {
+				if (!comparison.isFulfilledFor(valueOfSlot)) return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Compares the value of a field to a constant. If both are integral numbers, they are compared as numbers,
+	 * otherwise they are compared as strings for which only (in)equality holds.
+	 */
+	private static class Comparison extends GatewayCondition {
+
+		private final int slot;
+		private final Operator operator;
+		private final String value;
+		private final boolean numeric;
+		private final long numericValue;
+
+		Comparison(int slot, Operator operator, String value) {
+			this.slot = slot;
+			this.operator = operator;
+			this.value = value;
+			this.numeric = isLong(value);
+			this.numericValue = numeric ? Long.parseLong(value) : 0;
+		}
+
+		@Override
+		boolean isFulfilledFor(IntFunction<Object> valueOfSlot) {
+			Object fieldValue = valueOfSlot.apply(slot);
+			if (numeric) {
+				if (fieldValue instanceof Long || fieldValue instanceof Integer || fieldValue instanceof Short
+						|| fieldValue instanceof Byte) {
+					return operator.condition.test(Long.compare(((Number) fieldValue).longValue(), numericValue));
+				}
+				if (fieldValue instanceof String && isLong((String) fieldValue)) {
+					return operator.condition.test(Long.compare(Long.parseLong((String) fieldValue), numericValue));
+				}
+			}
+			if (operator != Operator.EQUAL && operator != Operator.NOTEQUAL) return false;
+			return operator.condition.test(String.valueOf(fieldValue).trim().compareTo(value));
+		}
+	}
+
+	/**
+	 * @return true if the string can be parsed by {@link Long#parseLong(String)}, checked without exceptions where
+	 *         possible
+	 */
+	static boolean isLong(String s) {
+		int length = s.length();
+		int start = length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+') ? 1 : 0;
+		if (length == start) return false;
+		for (int i = start; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') return false;
+		}
+		if (length - start < 19) return true;
+		// might overflow
+		try {
+			Long.parseLong(s);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+}
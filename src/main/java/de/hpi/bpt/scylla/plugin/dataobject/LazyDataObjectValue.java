@@ -0,0 +1,47 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import java.util.function.Supplier;
+
+import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+
+/**
+ * Value of a data object field which is sampled from the distribution of the field when it is read first, so fields
+ * which are written but never read, e.g. by a gateway or a batch activity, do not cost anything.<br>
+ * The same value is stored in the process instance and logged with the writing node. Values which have not been read
+ * during the simulation are sampled when the logs are frozen, see
+ * {@link de.hpi.bpt.scylla.logger.ProcessNodeInfo#resolveDataObjectValues()}, so the loggers never sample.
+ */
+final class LazyDataObjectValue implements Supplier<Object> {
+
+	private final DataObjectField field;
+	private Object value;
+	private boolean sampled = false;
+
+	LazyDataObjectValue(DataObjectField field) {
+		this.field = field;
+	}
+
+	/**
+	 * @return the value, sampled on first call; <code>null</code> if it could not be sampled
+	 */
+	@Override
+	public Object get() {
+		if (!sampled) {
+			sampled = true;
+			try {
+				value = field.getDataDistributionWrapper().getSample();
+			} catch (ScyllaRuntimeException | ScyllaValidationException e) {
+				DebugLogger.error("Could not sample data object field " + field.getQualifiedName() + ": " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(get());
+	}
+}
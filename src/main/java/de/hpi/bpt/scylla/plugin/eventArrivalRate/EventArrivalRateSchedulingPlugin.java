@@ -30,6 +30,21 @@ public class EventArrivalRateSchedulingPlugin extends EventSchedulingPluggable{
 	 */
 	@Override
 	public boolean scheduleEvent(ScyllaEvent event, TimeSpan timeSpan) throws ScyllaRuntimeException {
+		TimeSpan newTime = peekDelay(event, timeSpan);
+		if(newTime != null) {
+			ProcessInstance processInstance = event.getProcessInstance();
+			event.schedule(processInstance, newTime);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets a sample of the arrival rate distribution for this event, if existing,
+	 * and returns the time span displaced by this value.
+	 */
+	@Override
+	public TimeSpan peekDelay(ScyllaEvent event, TimeSpan timeSpan) throws ScyllaRuntimeException {
 
         ProcessSimulationComponents pSimComponents = event.getSimulationComponents();
 
@@ -39,14 +54,11 @@ public class EventArrivalRateSchedulingPlugin extends EventSchedulingPluggable{
         if(arrivalRate != null) {
         	NumericalDist<?> distribution = arrivalRate.getKey();
         	TimeUnit timeUnit = arrivalRate.getValue();
-			ProcessInstance processInstance = event.getProcessInstance();
 			TimeSpan offset = new TimeSpan(distribution.sample().doubleValue(),timeUnit);
-	        TimeSpan newTime = new TimeSpan(timeSpan.getTimeAsDouble()+offset.getTimeAsDouble());
-	        event.schedule(processInstance, newTime);
-	    	return false;
+	        return new TimeSpan(timeSpan.getTimeAsDouble()+offset.getTimeAsDouble());
 	    }
 		
-		return true;
+		return null;
 	}
 
 }
@@ -1,22 +1,21 @@
 package de.hpi.bpt.scylla.plugin.gateway_eventbased;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import co.paralleluniverse.fibers.SuspendExecution;
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
 import de.hpi.bpt.scylla.exception.ScyllaValidationException;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.model.process.node.GatewayType;
+import de.hpi.bpt.scylla.plugin_type.simulation.EventSchedulingPluggable;
 import de.hpi.bpt.scylla.plugin_type.simulation.event.GatewayEventPluggable;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 import de.hpi.bpt.scylla.simulation.event.GatewayEvent;
 import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
 import de.hpi.bpt.scylla.simulation.utils.SimulationUtils;
-import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeSpan;
 
 public class EventbasedGatewayEventPlugin extends GatewayEventPluggable{
 
@@ -27,7 +26,8 @@ public class EventbasedGatewayEventPlugin extends GatewayEventPluggable{
 
 	/**
 	 * Handles a gateway event, if it is an event based gateway
-	 * Changes scheduling behavior by already scheduling the next events of the given gateway event (if event based)
+	 * Changes scheduling behavior by resolving the race between the next events of the given gateway event (if event based):
+	 * The delays of all next events are determined before scheduling, and only the event that occurs first is scheduled.
 	 */
 	@Override
 	public void eventRoutine(GatewayEvent desmojEvent, ProcessInstance processInstance) throws ScyllaRuntimeException {
@@ -40,23 +40,28 @@ public class EventbasedGatewayEventPlugin extends GatewayEventPluggable{
 			Set<Integer> idsOfNextNodes = processModel.getIdsOfNextNodes(nodeId);
 			if(type == GatewayType.EVENT_BASED && idsOfNextNodes.size() > 1) {
 
-				//Schedule all following events
-				List<ScyllaEvent> nextEvents = new ArrayList<ScyllaEvent>(desmojEvent.getNextEventMap().values());
-				desmojEvent.scheduleNextEvents();
-				//and look which is scheduled first.
-				ScyllaEvent first = nextEvents.get(0);
-				for(ScyllaEvent e : nextEvents) {
-					if(TimeInstant.isBefore(e.scheduledNext(), first.scheduledNext())) {
+				//Determine the delays of all following events
+				Map<Integer, ScyllaEvent> nextEventMap = desmojEvent.getNextEventMap();
+				Map<Integer, TimeSpan> timeSpanToNextEventMap = desmojEvent.getTimeSpanToNextEventMap();
+				ScyllaEvent first = null;
+				TimeSpan delayOfFirst = null;
+				for(Integer index : nextEventMap.keySet()) {
+					ScyllaEvent e = nextEventMap.get(index);
+					TimeSpan delay = EventSchedulingPluggable.runPeekDelayPlugins(e, timeSpanToNextEventMap.get(index));
+					//and look which occurs first.
+					if(first == null || TimeSpan.isShorter(delay, delayOfFirst)) {
 						first = e;
+						delayOfFirst = delay;
 					}
 				}
-				//Cancel all other events except the one that is scheduled first.
-				nextEvents.remove(first);
-				for(ScyllaEvent e : nextEvents) {
-					e.cancel();
+				//Schedule only the event that occurs first, with the delay already determined.
+				nextEventMap.clear();
+				timeSpanToNextEventMap.clear();
+				if(!model.isCanceled(processInstance, nodeId)) {
+					first.schedule(delayOfFirst);
 				}
 			}
-		} catch (NodeNotFoundException | ScyllaValidationException | SuspendExecution e) {
+		} catch (NodeNotFoundException | ScyllaValidationException e) {
 			e.printStackTrace();
 			//Critical error (following nodes not found or validation error), abort the instance.
             SimulationUtils.abort(model, processInstance, nodeId, desmojEvent.traceIsOn());
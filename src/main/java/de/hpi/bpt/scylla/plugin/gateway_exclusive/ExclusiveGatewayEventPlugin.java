@@ -1,7 +1,6 @@
 package de.hpi.bpt.scylla.plugin.gateway_exclusive;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,10 +14,8 @@ import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 import de.hpi.bpt.scylla.simulation.event.GatewayEvent;
-import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
 import de.hpi.bpt.scylla.simulation.utils.SimulationUtils;
 import desmoj.core.dist.DiscreteDistEmpirical;
-import desmoj.core.simulator.TimeSpan;
 
 public class ExclusiveGatewayEventPlugin extends GatewayEventPluggable {
 
@@ -27,36 +24,15 @@ public class ExclusiveGatewayEventPlugin extends GatewayEventPluggable {
         return ExclusiveGatewayPluginUtils.PLUGIN_NAME;
     }
 
-    private void scheduleNextEvent(GatewayEvent desmojEvent, ProcessInstance processInstance, ProcessModel processModel, Integer nextFlowId) throws ScyllaValidationException {
-        Set<Integer> nodeIds = null;
-        try {
-            nodeIds = processModel.getTargetObjectIds(nextFlowId);
-        } catch (NodeNotFoundException e) {
-        	throw new ScyllaValidationException("Flow with id " + nextFlowId + " not found.");
-        }
-        if (nodeIds.size() != 1) {
-        	throw new ScyllaValidationException("Flow with id " + nextFlowId + " does not connect to 1 node, but" + nodeIds.size() + " .");
-        }
-        int nextNodeId = nodeIds.iterator().next();
-
-        Map<Integer, ScyllaEvent> nextEventMap = desmojEvent.getNextEventMap();
-        List<Integer> indicesOfEventsToKeep = new ArrayList<Integer>();
-        for (int index : nextEventMap.keySet()) {
-            ScyllaEvent eventCandidate = nextEventMap.get(index);
-            int nodeIdOfCandidate = eventCandidate.getNodeId();
-            if (nodeIdOfCandidate == nextNodeId) {
-                indicesOfEventsToKeep.add(index);
-                break;
-            }
-        }
-        Map<Integer, TimeSpan> timeSpanToNextEventMap = desmojEvent.getTimeSpanToNextEventMap();
-        nextEventMap.keySet().retainAll(indicesOfEventsToKeep);
-        timeSpanToNextEventMap.keySet().retainAll(indicesOfEventsToKeep);
-    }
-
+    /**
+     * Decides on the branch of exclusive splits before any events are created, so that events are only created for
+     * the node of the chosen flow. The decision is taken by the {@link ExclusiveGatewayDecisionPluggable decision
+     * plugins}, otherwise by the branching distribution, otherwise the default flow is taken.
+     */
     @SuppressWarnings("unchecked")
     @Override
-    public void eventRoutine(GatewayEvent desmojEvent, ProcessInstance processInstance) throws ScyllaRuntimeException {
+    public Set<Integer> selectNextNodes(GatewayEvent desmojEvent, ProcessInstance processInstance,
+            Set<Integer> idsOfNextNodes) throws ScyllaRuntimeException {
         SimulationModel model = (SimulationModel) desmojEvent.getModel();
         ProcessModel processModel = processInstance.getProcessModel();
         int nodeId = desmojEvent.getNodeId();
@@ -93,7 +69,7 @@ public class ExclusiveGatewayEventPlugin extends GatewayEventPluggable {
                     }
                 	
                     if (nextFlowId != null) {
-                        scheduleNextEvent(desmojEvent, processInstance, processModel, nextFlowId);
+                        return Collections.singleton(getTargetNodeId(processModel, nextFlowId));
                     } else {
                         throw new ScyllaValidationException("Could not decide on gateway " + desmojEvent.getDisplayName() + ". No distribution, no default path or plugin aided decision given.");
                     }
@@ -103,7 +79,26 @@ public class ExclusiveGatewayEventPlugin extends GatewayEventPluggable {
             System.err.println(e.getMessage());
             e.printStackTrace();
             SimulationUtils.abort(model, processInstance, nodeId, showInTrace);
-            return;
+            return Collections.emptySet();
         }
+        return idsOfNextNodes;
+    }
+
+    private static int getTargetNodeId(ProcessModel processModel, Integer nextFlowId) throws ScyllaValidationException {
+        Set<Integer> nodeIds = null;
+        try {
+            nodeIds = processModel.getTargetObjectIds(nextFlowId);
+        } catch (NodeNotFoundException e) {
+        	throw new ScyllaValidationException("Flow with id " + nextFlowId + " not found.");
+        }
+        if (nodeIds.size() != 1) {
+        	throw new ScyllaValidationException("Flow with id " + nextFlowId + " does not connect to 1 node, but" + nodeIds.size() + " .");
+        }
+        return nodeIds.iterator().next();
+    }
+
+    @Override
+    public void eventRoutine(GatewayEvent desmojEvent, ProcessInstance processInstance) throws ScyllaRuntimeException {
+        // the branch has already been chosen in selectNextNodes
     }
 }
@@ -2,16 +2,16 @@ package de.hpi.bpt.scylla.plugin.statslogger_nojar;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
-import de.hpi.bpt.scylla.logger.DebugLogger;
 import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
-import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
-import de.hpi.bpt.scylla.logger.ResourceInfo;
-import de.hpi.bpt.scylla.logger.ResourceStatus;
+import de.hpi.bpt.scylla.logger.ResourceBusyTimeSeries;
+import de.hpi.bpt.scylla.logger.ResourceUtilization;
+import de.hpi.bpt.scylla.model.global.resource.DynamicResource;
+import de.hpi.bpt.scylla.model.global.resource.DynamicResourceInstance;
+import de.hpi.bpt.scylla.model.global.resource.Resource;
 import de.hpi.bpt.scylla.plugin_type.logger.OutputLoggerPluggable;
 import de.hpi.bpt.scylla.simulation.ResourceObject;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
@@ -27,23 +27,103 @@ import org.jdom2.output.XMLOutputter;
 
 public class StatisticsLogger extends OutputLoggerPluggable {
 
+    // statistics of the process and task instances, collected while the simulation is running
+    private SimulationModel collectedModel;
+    private Map<String, Double> collectedCostPerResourceInstance;
+    private Map<String, Map<Integer, StatisticsProcessInstanceCollector>> collectors = new HashMap<String, Map<Integer, StatisticsProcessInstanceCollector>>();
+    // statistics of process instances which have ended, their collectors have been dropped
+    private Map<String, Map<Integer, StatisticsProcessInstanceObject>> endedInstances = new HashMap<String, Map<Integer, StatisticsProcessInstanceObject>>();
+    private Map<String, Map<String, Map<String, CollectedTaskInstance>>> collectedTasks = new HashMap<String, Map<String, Map<String, CollectedTaskInstance>>>();
+
     @Override
     public String getName() {
         return "KPI";
     }
 
+    @Override
+    public void nodeInfoAdded(SimulationModel model, String processId, int processInstanceId, ProcessNodeInfo info) {
+        if (model != collectedModel) {
+            collectedModel = model;
+            collectedCostPerResourceInstance = calculateCostPerResourceInstance(model);
+            collectors.clear();
+            endedInstances.clear();
+            collectedTasks.clear();
+        }
+
+        if (!collectors.containsKey(processId)) {
+            collectors.put(processId, new HashMap<Integer, StatisticsProcessInstanceCollector>());
+            endedInstances.put(processId, new HashMap<Integer, StatisticsProcessInstanceObject>());
+            collectedTasks.put(processId, new HashMap<String, Map<String, CollectedTaskInstance>>());
+        }
+        Map<Integer, StatisticsProcessInstanceCollector> collectorsOfProcess = collectors.get(processId);
+        StatisticsProcessInstanceCollector collector = collectorsOfProcess.get(processInstanceId);
+        if (collector == null) {
+            collector = new StatisticsProcessInstanceCollector();
+            collectorsOfProcess.put(processInstanceId, collector);
+        }
+
+        String taskInstanceId = String.valueOf(collector.getNumberOfNodeInfos());
+        StatisticsTaskInstanceObject stio = collector.add(info, collectedCostPerResourceInstance);
+
+        Map<String, Map<String, CollectedTaskInstance>> collectedTasksOfProcess = collectedTasks.get(processId);
+        String processScopeNodeId = info.getProcessScopeNodeId();
+        if (!collectedTasksOfProcess.containsKey(processScopeNodeId)) {
+            collectedTasksOfProcess.put(processScopeNodeId, new HashMap<String, CollectedTaskInstance>());
+        }
+        // task instances are identified by their position in the log of their process instance, on collision the
+        // task instance of the process instance with the highest identifier is kept
+        Map<String, CollectedTaskInstance> collectedTaskInstances = collectedTasksOfProcess.get(processScopeNodeId);
+        CollectedTaskInstance collected = collectedTaskInstances.get(taskInstanceId);
+        if (collected == null || collected.processInstanceId <= processInstanceId) {
+            collectedTaskInstances.put(taskInstanceId, new CollectedTaskInstance(processInstanceId, stio));
+        }
+    }
+
+    @Override
+    public void processInstanceEnded(SimulationModel model, String processId, int processInstanceId) {
+        if (model != collectedModel || !collectors.containsKey(processId)) {
+            return;
+        }
+        Map<Integer, StatisticsProcessInstanceCollector> collectorsOfProcess = collectors.get(processId);
+        StatisticsProcessInstanceCollector collector = collectorsOfProcess.get(processInstanceId);
+        // keep collecting if branches of the process instance still wait for resources
+        if (collector != null && !collector.hasOpenTasks()) {
+            endedInstances.get(processId).put(processInstanceId, collector.getStatistics());
+            collectorsOfProcess.remove(processInstanceId);
+        }
+    }
+
+    private static Map<String, Double> calculateCostPerResourceInstance(SimulationModel model) {
+        Map<String, Double> costPerResourceInstance = new HashMap<String, Double>();
+        TimeUnit referenceUnit = DateTimeUtils.getReferenceTimeUnit();
+        Map<String, Resource> resources = model.getGlobalConfiguration().getResources();
+        for (String resourceType : resources.keySet()) {
+            Resource resource = resources.get(resourceType);
+            if (resource instanceof DynamicResource) {
+                Map<String, DynamicResourceInstance> resourceInstances = ((DynamicResource) resource)
+                        .getResourceInstances();
+                for (String resourceId : resourceInstances.keySet()) {
+                    DynamicResourceInstance instance = resourceInstances.get(resourceId);
+                    double costInReferenceUnit = DateTimeUtils.convertCost(instance.getTimeUnit(), referenceUnit,
+                            instance.getCost());
+                    costPerResourceInstance.put(resourceType + "_" + resourceId, costInReferenceUnit);
+                }
+            }
+        }
+        return costPerResourceInstance;
+    }
+
     public void writeToLog(SimulationModel model, String outputPathWithoutExtension) throws IOException {
 
         TimeUnit timeUnit = DateTimeUtils.getReferenceTimeUnit();
         double totalEndTime = model.presentTime().getTimeAsDouble(timeUnit);
-        Map<String, Map<Integer, List<ProcessNodeInfo>>> processNodeInfos = model.getProcessNodeInfos();
-        Map<String, Map<String, List<ResourceInfo>>> resourceInfos = model.getResourceInfos();
+        Map<String, Map<String, ResourceUtilization>> resourceUtilizations = model.getResourceUtilizations();
 
         Set<ResourceObject> resourceObjectsSet = model.getResourceManager().getAllResourceObjects();
         Map<String, Double> costPerResourceInstance = new HashMap<String, Double>();
         Map<String, Map<String, ResourceObject>> resourceObjects = new HashMap<String, Map<String, ResourceObject>>();
         for (ResourceObject res : resourceObjectsSet) {
-            String resourceName = res.getResourceType() + "_" + res.getId();
+            String resourceName = res.getName();
 
             TimeUnit timeUnitOfResource = res.getTimeUnit();
             TimeUnit referenceUnit = DateTimeUtils.getReferenceTimeUnit();
@@ -63,41 +143,15 @@ public class StatisticsLogger extends OutputLoggerPluggable {
 
         Map<String, Map<String, StatisticsResourceObject>> statsPerResource = new HashMap<String, Map<String, StatisticsResourceObject>>();
         // double totalEndTime = 0;
-        for (String resourceType : resourceInfos.keySet()) {
+        for (String resourceType : resourceUtilizations.keySet()) {
             Map<String, StatisticsResourceObject> statsPerResourceInstance = new HashMap<String, StatisticsResourceObject>();
-            Map<String, List<ResourceInfo>> resourceInfosOfType = resourceInfos.get(resourceType);
-            for (String resourceId : resourceInfosOfType.keySet()) {
-
-                long durationInUse = 0;
-                long durationInUseIdle = 0;
-                long currentTime = 0;
-
-                List<ResourceInfo> infosOfResource = resourceInfosOfType.get(resourceId);
-                ResourceStatus previousStatus = null;
-
-                for (ResourceInfo info : infosOfResource) {
-
-                    ResourceStatus status = info.getTransition();
-                    long timestamp = info.getTimestamp();
-
-                    // FREE <-> IN_USE <-> IN_USE_IDLE
-                    if (status == ResourceStatus.IN_USE) {
-                        if (previousStatus == ResourceStatus.IN_USE_IDLE) {
-                            durationInUseIdle += timestamp - currentTime;
-                        }
-                    }
-                    else if (status == ResourceStatus.FREE || status == ResourceStatus.IN_USE_IDLE) {
-                        durationInUse += timestamp - currentTime;
-                    }
-                    else {
-                        DebugLogger.log("Resource transition type not supported: " + status);
-                    }
-                    currentTime = timestamp;
+            Map<String, ResourceUtilization> utilizationsOfType = resourceUtilizations.get(resourceType);
+            for (String resourceId : utilizationsOfType.keySet()) {
 
-                    // if (currentTime > totalEndTime) {
-                    // totalEndTime = currentTime;
-                    // }
-                }
+                // in use and idle durations have been accumulated during the simulation
+                ResourceUtilization utilization = utilizationsOfType.get(resourceId);
+                long durationInUse = utilization.getDurationInUse();
+                long durationInUseIdle = utilization.getDurationInUseIdle();
 
                 long durationAvailable = DateTimeUtils.getAvailabilityTime(
                         resourceObjects.get(resourceType).get(resourceId).getTimetable(),
@@ -126,140 +180,33 @@ public class StatisticsLogger extends OutputLoggerPluggable {
         Map<String, Map<Integer, StatisticsProcessInstanceObject>> statsPerProcess = new HashMap<String, Map<Integer, StatisticsProcessInstanceObject>>();
         Map<String, Map<String, Map<String, StatisticsTaskInstanceObject>>> statsPerTask = new HashMap<String, Map<String, Map<String, StatisticsTaskInstanceObject>>>();
 
-        for (String processId : processNodeInfos.keySet()) {
+        // statistics have been collected during the simulation, so they cover all process instances even if the
+        // logging policy of the model does not keep all of them in the log
+        if (model != collectedModel) {
+            collectors.clear();
+            endedInstances.clear();
+            collectedTasks.clear();
+        }
+        for (String processId : collectors.keySet()) {
 
             Map<Integer, StatisticsProcessInstanceObject> statsPerProcessInstance = new HashMap<Integer, StatisticsProcessInstanceObject>();
             Map<String, Map<String, StatisticsTaskInstanceObject>> statsPerTaskOfProcess = new HashMap<String, Map<String, StatisticsTaskInstanceObject>>();
 
-            Map<Integer, List<ProcessNodeInfo>> nodeInfoOfProcessInstances = processNodeInfos.get(processId);
-            for (int processInstanceId : nodeInfoOfProcessInstances.keySet()) {
-
-                List<ProcessNodeInfo> nodeInfoList = nodeInfoOfProcessInstances.get(processInstanceId);
-
-                long durationTotal = 0;
-                long durationInactive = 0;
-                long durationResourcesIdle = 0;
-                long durationWaiting = 0;
-                double costs = 0;
-
-                Long previousTimestamp = null;
-                long timeProcessStart = 0;
-
-                Map<TaskInstanceIdentifier, Long> taskDurations = new HashMap<TaskInstanceIdentifier, Long>();
-                Map<TaskInstanceIdentifier, Long> begunOrResumedTasks = new HashMap<TaskInstanceIdentifier, Long>();
-
-                Map<TaskInstanceIdentifier, Long> enabledTasks = new HashMap<TaskInstanceIdentifier, Long>();
-                Map<TaskInstanceIdentifier, Long> pausedTasks = new HashMap<TaskInstanceIdentifier, Long>();
-                for (int i = 0; i < nodeInfoList.size(); i++) {
-                	
-                	String taskInstanceId = String.valueOf(i);
-                	long taskDurationEffective = 0;
-                    long taskDurationResourcesIdle = 0;
-                    long taskDurationWaiting = 0;
-                    double taskCosts = 0;
-
-                    ProcessNodeInfo ni = nodeInfoList.get(i);
-                    long timestamp = ni.getTimestamp();
-                    String processScopeNodeId = ni.getProcessScopeNodeId();
-                    String source = ni.getSource();
-                    TaskInstanceIdentifier taskInstanceIdentifier = new TaskInstanceIdentifier(processScopeNodeId,
-                            source);
-                    
-                    Set<String> resources = ni.getResources();
-                    
-                    String taskName = ni.getTaskName();
-                    StatisticsTaskInstanceObject stio = new StatisticsTaskInstanceObject(taskName);
-
-                    if (i == 0) {
-                        previousTimestamp = timestamp;
-                        timeProcessStart = timestamp;
-                    }
-                    else if (i == nodeInfoList.size() - 1) {
-                        durationTotal = timestamp - timeProcessStart;
-                    }
-
-                    ProcessNodeTransitionType transition = ni.getTransition();
-
-                    if (begunOrResumedTasks.isEmpty()) {
-                        durationInactive += timestamp - previousTimestamp;
-                    }
-                    if (transition == ProcessNodeTransitionType.ENABLE) {
-                        enabledTasks.put(taskInstanceIdentifier, timestamp);
-                    }
-                    else if (transition == ProcessNodeTransitionType.BEGIN) {
-                        Long enableTimestamp = enabledTasks.get(taskInstanceIdentifier);
-                        if (enableTimestamp != null) {
-                            long duration = timestamp - enableTimestamp;
-                            durationWaiting += duration;
-                            taskDurationWaiting += duration;
-                            enabledTasks.remove(taskInstanceIdentifier);
-                        }
-
-                        taskDurations.put(taskInstanceIdentifier, 0L);
-                        begunOrResumedTasks.put(taskInstanceIdentifier, timestamp);
-                    }
-                    else if (transition == ProcessNodeTransitionType.PAUSE) {
-                        pausedTasks.put(taskInstanceIdentifier, timestamp);
-
-                        Long beginOrResumeTimestamp = begunOrResumedTasks.get(taskInstanceIdentifier);
-                        long duration = timestamp - beginOrResumeTimestamp;
-                        for (String resourceName : resources) {
-                            Double costPerUnit = costPerResourceInstance.get(resourceName);
-                            costs += duration * costPerUnit;
-                            taskCosts += duration * costPerUnit;
-                        }
-                        taskDurations.put(taskInstanceIdentifier, taskDurations.get(taskInstanceIdentifier) + duration);
-                        begunOrResumedTasks.remove(taskInstanceIdentifier);
-                    }
-                    else if (transition == ProcessNodeTransitionType.RESUME) {
-                        Long pauseTimestamp = pausedTasks.get(taskInstanceIdentifier);
-                        long duration = timestamp - pauseTimestamp;
-                        durationResourcesIdle += duration;
-                        taskDurationResourcesIdle += duration;
-                        pausedTasks.remove(taskInstanceIdentifier);
-
-                        begunOrResumedTasks.put(taskInstanceIdentifier, timestamp);
-                    }
-                    else if (transition == ProcessNodeTransitionType.TERMINATE
-                            || transition == ProcessNodeTransitionType.CANCEL) {
-                        Long beginOrResumeTimestamp = begunOrResumedTasks.get(taskInstanceIdentifier);
-                        long duration = timestamp - beginOrResumeTimestamp;
-                        for (String resourceName : resources) {
-                            Double costPerUnit = costPerResourceInstance.get(resourceName);
-                            costs += duration * costPerUnit;
-                            taskCosts += duration * costPerUnit;
-                        }
-
-                        taskDurationEffective = taskDurations.get(taskInstanceIdentifier) + duration;
-                        taskDurations.remove(taskInstanceIdentifier);
-                        begunOrResumedTasks.remove(taskInstanceIdentifier);
-                    }
-                    else if (transition == ProcessNodeTransitionType.EVENT_BEGIN
-                            || transition == ProcessNodeTransitionType.EVENT_TERMINATE) {
-                        // not supported
-                    }
-
-                    stio.setDurationEffective(taskDurationEffective);
-                    stio.setDurationResourcesIdle(taskDurationResourcesIdle);
-                    stio.setDurationWaiting(taskDurationWaiting);
-                    stio.setCost(taskCosts);
-                    
-                    if (!statsPerTaskOfProcess.containsKey(processScopeNodeId)) {
-                        statsPerTaskOfProcess.put(processScopeNodeId, new HashMap<String, StatisticsTaskInstanceObject>());
+            statsPerProcessInstance.putAll(endedInstances.get(processId));
+            Map<Integer, StatisticsProcessInstanceCollector> collectorsOfProcess = collectors.get(processId);
+            for (Integer processInstanceId : collectorsOfProcess.keySet()) {
+                statsPerProcessInstance.put(processInstanceId, collectorsOfProcess.get(processInstanceId).getStatistics());
+            }
+            Map<String, Map<String, CollectedTaskInstance>> collectedTasksOfProcess = collectedTasks.get(processId);
+            if (collectedTasksOfProcess != null) {
+                for (String processScopeNodeId : collectedTasksOfProcess.keySet()) {
+                    Map<String, StatisticsTaskInstanceObject> statsPerTaskInstance = new HashMap<String, StatisticsTaskInstanceObject>();
+                    Map<String, CollectedTaskInstance> collectedTaskInstances = collectedTasksOfProcess.get(processScopeNodeId);
+                    for (String taskInstanceId : collectedTaskInstances.keySet()) {
+                        statsPerTaskInstance.put(taskInstanceId, collectedTaskInstances.get(taskInstanceId).stio);
                     }
-                    
-                    statsPerTaskOfProcess.get(processScopeNodeId).put(taskInstanceId, stio);
-
-                    previousTimestamp = ni.getTimestamp();
+                    statsPerTaskOfProcess.put(processScopeNodeId, statsPerTaskInstance);
                 }
-
-                StatisticsProcessInstanceObject spio = new StatisticsProcessInstanceObject();
-                spio.setDurationTotal(durationTotal);
-                spio.setDurationInactive(durationInactive);
-                spio.setDurationResourcesIdle(durationResourcesIdle);
-                spio.setDurationWaiting(durationWaiting);
-                spio.setCosts(costs);
-                statsPerProcessInstance.put(processInstanceId, spio);
             }
             statsPerProcess.put(processId, statsPerProcessInstance);
             statsPerTask.put(processId, statsPerTaskOfProcess);
@@ -493,6 +440,16 @@ public class StatisticsLogger extends OutputLoggerPluggable {
                 resourceInUse.addContent(resourceInUseStats.getStatsAsElements());
                 resourceAvailable.addContent(resourceAvailableStats.getStatsAsElements());
                 resourceWorkload.addContent(resourceWorkloadStats.getStatsAsElements());
+
+                ResourceBusyTimeSeries busyTimeSeries = model.getResourceBusyTimeSeries().get(resourceType);
+                if (busyTimeSeries != null) {
+                    Element busyOverTime = new Element("busy_over_time");
+                    busyOverTime.setAttribute("interval", String.valueOf(busyTimeSeries.getInterval()));
+                    for (double averageBusyCount : busyTimeSeries.getAverageBusyCounts(Math.round(totalEndTime))) {
+                        busyOverTime.addContent(new Element("busy").setText(String.valueOf(averageBusyCount)));
+                    }
+                    resourceTime.addContent(busyOverTime);
+                }
             }
         }
         
@@ -506,32 +463,15 @@ public class StatisticsLogger extends OutputLoggerPluggable {
         xmlOutput.output(doc, fos);
     }
 
-    class TaskInstanceIdentifier {
+    private static class CollectedTaskInstance {
 
-        String processScopeNodeId;
-        String source;
+        int processInstanceId;
+        StatisticsTaskInstanceObject stio;
 
-        TaskInstanceIdentifier(String processScopeNodeId, String source) {
-            this.processScopeNodeId = processScopeNodeId;
-            this.source = source;
+        CollectedTaskInstance(int processInstanceId, StatisticsTaskInstanceObject stio) {
+            this.processInstanceId = processInstanceId;
+            this.stio = stio;
         }
-
-        @Override
-        public boolean equals(Object object) {
-            if (object instanceof TaskInstanceIdentifier) {
-                TaskInstanceIdentifier tio = (TaskInstanceIdentifier) object;
-                if (this.processScopeNodeId.equals(tio.processScopeNodeId) && this.source.equals(tio.source)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
-        @Override
-        public int hashCode() {
-            return processScopeNodeId.hashCode() + source.hashCode();
-        }
-
     }
 
 }
@@ -0,0 +1,196 @@
+package de.hpi.bpt.scylla.plugin.statslogger_nojar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+
+/**
+ * Calculates the statistics of one process instance from its process node infos, which are added one at a time in
+ * the order they are logged. Thus the statistics are available without keeping the log of the process instance.
+ *
+ */
+class StatisticsProcessInstanceCollector {
+
+    private int numberOfNodeInfos = 0;
+
+    private long durationTotal = 0;
+    private long durationInactive = 0;
+    private long durationResourcesIdle = 0;
+    private long durationWaiting = 0;
+    private double costs = 0;
+
+    private long previousTimestamp = 0;
+    private long timeProcessStart = 0;
+
+    private Map<TaskInstanceIdentifier, Long> taskDurations = new HashMap<TaskInstanceIdentifier, Long>();
+    private Map<TaskInstanceIdentifier, Long> begunOrResumedTasks = new HashMap<TaskInstanceIdentifier, Long>();
+
+    private Map<TaskInstanceIdentifier, Long> enabledTasks = new HashMap<TaskInstanceIdentifier, Long>();
+    private Map<TaskInstanceIdentifier, Long> pausedTasks = new HashMap<TaskInstanceIdentifier, Long>();
+
+    /**
+     * @return number of process node infos added so far, i.e. the index of the next one
+     */
+    int getNumberOfNodeInfos() {
+        return numberOfNodeInfos;
+    }
+
+    /**
+     * Adds the next process node info of the process instance.
+     *
+     * @param ni
+     *            the process node info
+     * @param costPerResourceInstance
+     *            cost per reference time unit of each resource instance
+     * @return statistics of the task instance at this process node info
+     */
+    StatisticsTaskInstanceObject add(ProcessNodeInfo ni, Map<String, Double> costPerResourceInstance) {
+        long taskDurationEffective = 0;
+        long taskDurationResourcesIdle = 0;
+        long taskDurationWaiting = 0;
+        double taskCosts = 0;
+
+        long timestamp = ni.getTimestamp();
+        TaskInstanceIdentifier taskInstanceIdentifier = new TaskInstanceIdentifier(ni.getProcessScopeNodeId(),
+                ni.getSource());
+
+        StatisticsTaskInstanceObject stio = new StatisticsTaskInstanceObject(ni.getTaskName());
+
+        if (numberOfNodeInfos == 0) {
+            previousTimestamp = timestamp;
+            timeProcessStart = timestamp;
+        }
+        else {
+            durationTotal = timestamp - timeProcessStart;
+        }
+        numberOfNodeInfos++;
+
+        ProcessNodeTransitionType transition = ni.getTransition();
+
+        if (begunOrResumedTasks.isEmpty()) {
+            durationInactive += timestamp - previousTimestamp;
+        }
+        if (transition == ProcessNodeTransitionType.ENABLE) {
+            enabledTasks.put(taskInstanceIdentifier, timestamp);
+        }
+        else if (transition == ProcessNodeTransitionType.BEGIN) {
+            Long enableTimestamp = enabledTasks.get(taskInstanceIdentifier);
+            if (enableTimestamp != null) {
+                long duration = timestamp - enableTimestamp;
+                durationWaiting += duration;
+                taskDurationWaiting += duration;
+                enabledTasks.remove(taskInstanceIdentifier);
+            }
+
+            taskDurations.put(taskInstanceIdentifier, 0L);
+            begunOrResumedTasks.put(taskInstanceIdentifier, timestamp);
+        }
+        else if (transition == ProcessNodeTransitionType.PAUSE) {
+            pausedTasks.put(taskInstanceIdentifier, timestamp);
+
+            Long beginOrResumeTimestamp = begunOrResumedTasks.get(taskInstanceIdentifier);
+            long duration = timestamp - beginOrResumeTimestamp;
+            for (String resourceName : ni.getResources()) {
+                Double costPerUnit = costPerResourceInstance.get(resourceName);
+                costs += duration * costPerUnit;
+                taskCosts += duration * costPerUnit;
+            }
+            taskDurations.put(taskInstanceIdentifier, taskDurations.get(taskInstanceIdentifier) + duration);
+            begunOrResumedTasks.remove(taskInstanceIdentifier);
+        }
+        else if (transition == ProcessNodeTransitionType.RESUME) {
+            Long pauseTimestamp = pausedTasks.get(taskInstanceIdentifier);
+            long duration = timestamp - pauseTimestamp;
+            durationResourcesIdle += duration;
+            taskDurationResourcesIdle += duration;
+            pausedTasks.remove(taskInstanceIdentifier);
+
+            begunOrResumedTasks.put(taskInstanceIdentifier, timestamp);
+        }
+        else if (transition == ProcessNodeTransitionType.TERMINATE
+                || transition == ProcessNodeTransitionType.CANCEL) {
+            Long beginOrResumeTimestamp = begunOrResumedTasks.get(taskInstanceIdentifier);
+            long duration = timestamp - beginOrResumeTimestamp;
+            for (String resourceName : ni.getResources()) {
+                Double costPerUnit = costPerResourceInstance.get(resourceName);
+                costs += duration * costPerUnit;
+                taskCosts += duration * costPerUnit;
+            }
+
+            taskDurationEffective = taskDurations.get(taskInstanceIdentifier) + duration;
+            taskDurations.remove(taskInstanceIdentifier);
+            begunOrResumedTasks.remove(taskInstanceIdentifier);
+        }
+        else if (transition == ProcessNodeTransitionType.ABANDON) {
+            // the task does not begin, the time in its queue is still waiting time
+            Long enableTimestamp = enabledTasks.remove(taskInstanceIdentifier);
+            if (enableTimestamp != null) {
+                long duration = timestamp - enableTimestamp;
+                durationWaiting += duration;
+                taskDurationWaiting += duration;
+            }
+        }
+        else if (transition == ProcessNodeTransitionType.EVENT_BEGIN
+                || transition == ProcessNodeTransitionType.EVENT_TERMINATE) {
+            // not supported
+        }
+
+        stio.setDurationEffective(taskDurationEffective);
+        stio.setDurationResourcesIdle(taskDurationResourcesIdle);
+        stio.setDurationWaiting(taskDurationWaiting);
+        stio.setCost(taskCosts);
+
+        previousTimestamp = timestamp;
+        return stio;
+    }
+
+    /**
+     * @return true if a task of the process instance has been enabled, begun or paused, but has not ended yet
+     */
+    boolean hasOpenTasks() {
+        return !enabledTasks.isEmpty() || !begunOrResumedTasks.isEmpty() || !pausedTasks.isEmpty();
+    }
+
+    /**
+     * @return statistics of the process instance based on the process node infos added so far
+     */
+    StatisticsProcessInstanceObject getStatistics() {
+        StatisticsProcessInstanceObject spio = new StatisticsProcessInstanceObject();
+        spio.setDurationTotal(durationTotal);
+        spio.setDurationInactive(durationInactive);
+        spio.setDurationResourcesIdle(durationResourcesIdle);
+        spio.setDurationWaiting(durationWaiting);
+        spio.setCosts(costs);
+        return spio;
+    }
+
+    static class TaskInstanceIdentifier {
+
+        String processScopeNodeId;
+        String source;
+
+        TaskInstanceIdentifier(String processScopeNodeId, String source) {
+            this.processScopeNodeId = processScopeNodeId;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof TaskInstanceIdentifier) {
+                TaskInstanceIdentifier tio = (TaskInstanceIdentifier) object;
+                if (this.processScopeNodeId.equals(tio.processScopeNodeId) && this.source.equals(tio.source)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return processScopeNodeId.hashCode() + source.hashCode();
+        }
+
+    }
+}
@@ -98,7 +98,7 @@ public class SubprocessBPMNEEPlugin extends BPMNEndEventPluggable {
     }
 
     private boolean processInstanceIsCompleted(ProcessInstance processInstance) {
-        for (EventAbstract event : processInstance.getScheduledEvents()) {
+        for (EventAbstract event : processInstance.getPendingEvents()) {
             if (!(event instanceof TaskCancelEvent)) {
                 return false;
             }
@@ -0,0 +1,267 @@
+package de.hpi.bpt.scylla.plugin.sustainabilitylogger;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.model.global.CostVariantConfiguration;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Accumulates the environmental impact of the cost drivers of terminated tasks while the simulation is running.
+ * Impacts are summed up per process instance, per activity, per cost variant and per cost driver, so no log has to
+ * be kept or read again to calculate them.<br>
+ * If the cost variant configuration evaluates all variants, the impact of every process instance is additionally
+ * calculated under each cost variant. Variants do not influence the control flow, so this gives a paired comparison
+ * of the variants on the same simulated instances.
+ */
+class ImpactAccumulator {
+
+    private final CostVariantConfiguration costVariantConfiguration;
+
+    private final Map<String, ProcessImpacts> impactsPerProcess = new TreeMap<>();
+    private final Map<String, VariantImpact> impactsPerVariant = new TreeMap<>();
+
+    // indexed by cost driver identifier
+    private double[] impactPerDriver = new double[0];
+    private long[] occurrencesPerDriver = new long[0];
+
+    // evaluation of all cost variants, indexed by variant index; empty if not enabled
+    private final String[] allVariants;
+    private final double[][] factorsPerVariant;
+    private final double[] totalImpactPerVariant;
+
+    ImpactAccumulator(CostVariantConfiguration costVariantConfiguration) {
+        this.costVariantConfiguration = costVariantConfiguration;
+        if (costVariantConfiguration != null && costVariantConfiguration.isEvaluateAllVariants()) {
+            allVariants = costVariantConfiguration.getCostVariantsWithImpactFactors().toArray(new String[0]);
+        }
+        else {
+            allVariants = new String[0];
+        }
+        factorsPerVariant = new double[allVariants.length][];
+        for (int v = 0; v < allVariants.length; v++) {
+            factorsPerVariant[v] = costVariantConfiguration.getImpactFactors(allVariants[v]);
+        }
+        totalImpactPerVariant = new double[allVariants.length];
+    }
+
+    /**
+     * Adds the next record of a process instance. The cost variant of the instance is taken from the cost variant
+     * configuration.
+     *
+     * @param processId identifier of the top level process
+     * @param processInstanceId identifier of the process instance
+     * @param info the record
+     */
+    void add(String processId, int processInstanceId, ProcessNodeInfo info) {
+        ProcessImpacts processImpacts = getProcessImpacts(processId);
+        if (!processImpacts.isRegistered(processInstanceId)) {
+            String costVariant = null;
+            if (costVariantConfiguration != null && costVariantConfiguration.hasCostVariant(processInstanceId)) {
+                costVariant = costVariantConfiguration.takeCostVariant(processInstanceId);
+            }
+            registerInstance(processImpacts, processInstanceId, costVariant);
+        }
+
+        int[] costDriverIds = info.getCostDriverIds();
+        if (info.getTransition() != ProcessNodeTransitionType.TERMINATE || costDriverIds.length == 0) {
+            return;
+        }
+        addActivityExecution(processImpacts, processInstanceId, info.getProcessScopeNodeId(), info.getTaskName(),
+                costDriverIds);
+    }
+
+    ProcessImpacts getProcessImpacts(String processId) {
+        return impactsPerProcess.computeIfAbsent(processId, id -> new ProcessImpacts());
+    }
+
+    /**
+     * Registers a process instance, even if it never executes an activity with cost drivers.
+     *
+     * @param costVariant cost variant of the instance, may be <code>null</code>
+     */
+    void registerInstance(ProcessImpacts processImpacts, int processInstanceId, String costVariant) {
+        if (processImpacts.register(processInstanceId, costVariant) && costVariant != null) {
+            impactsPerVariant.computeIfAbsent(costVariant, id -> new VariantImpact()).instances++;
+        }
+    }
+
+    /**
+     * Adds the termination of an activity of a registered process instance.
+     *
+     * @param activityId identifier of the activity
+     * @param activityName display name of the activity
+     * @param costDriverIds identifiers of the cost drivers of the activity
+     */
+    void addActivityExecution(ProcessImpacts processImpacts, int processInstanceId, String activityId,
+                              String activityName, int[] costDriverIds) {
+        String costVariant = processImpacts.variantPerInstance[processInstanceId];
+        double[] factors = costVariant == null ? null : costVariantConfiguration.getImpactFactors(costVariant);
+
+        double impact = 0;
+        for (int driverId : costDriverIds) {
+            double driverImpact = CostVariantConfiguration.getImpactFactor(factors, driverId);
+            addDriverImpact(driverId, driverImpact, 1);
+            impact += driverImpact;
+        }
+
+        processImpacts.impactPerInstance[processInstanceId] += impact;
+        addActivityImpact(processImpacts, activityId, activityName, impact, 1);
+        if (costVariant != null) {
+            impactsPerVariant.get(costVariant).impact += impact;
+        }
+
+        for (int v = 0; v < allVariants.length; v++) {
+            double impactOfVariant = 0;
+            for (int driverId : costDriverIds) {
+                impactOfVariant += CostVariantConfiguration.getImpactFactor(factorsPerVariant[v], driverId);
+            }
+            processImpacts.impactPerVariantAndInstance[v][processInstanceId] += impactOfVariant;
+            totalImpactPerVariant[v] += impactOfVariant;
+        }
+    }
+
+    private void addDriverImpact(int driverId, double impact, long occurrences) {
+        if (driverId >= impactPerDriver.length) {
+            impactPerDriver = Arrays.copyOf(impactPerDriver, Math.max(driverId + 1, impactPerDriver.length * 2));
+            occurrencesPerDriver = Arrays.copyOf(occurrencesPerDriver, impactPerDriver.length);
+        }
+        impactPerDriver[driverId] += impact;
+        occurrencesPerDriver[driverId] += occurrences;
+    }
+
+    private static void addActivityImpact(ProcessImpacts processImpacts, String activityId, String activityName,
+                                          double impact, long executions) {
+        ActivityImpact activityImpact = processImpacts.impactsPerActivity
+                .computeIfAbsent(activityId, id -> new ActivityImpact(activityName));
+        activityImpact.impact += impact;
+        activityImpact.executions += executions;
+    }
+
+    /**
+     * Adds the impacts collected by another accumulator with the same cost variant configuration. Its process
+     * instances are numbered densely from 1 and are mapped to their actual identifiers.
+     *
+     * @param other the other accumulator
+     * @param processInstanceIds process id -> actual identifier of each process instance of the other accumulator,
+     *                           indexed by its identifier there
+     */
+    void merge(ImpactAccumulator other, Map<String, int[]> processInstanceIds) {
+        for (Map.Entry<String, ProcessImpacts> entry : other.impactsPerProcess.entrySet()) {
+            ProcessImpacts source = entry.getValue();
+            ProcessImpacts target = getProcessImpacts(entry.getKey());
+            int[] actualIds = processInstanceIds.get(entry.getKey());
+            for (int localId = 0; localId < actualIds.length; localId++) {
+                if (!source.isRegistered(localId)) {
+                    continue;
+                }
+                int actualId = actualIds[localId];
+                registerInstance(target, actualId, source.variantPerInstance[localId]);
+                target.impactPerInstance[actualId] += source.impactPerInstance[localId];
+                for (int v = 0; v < allVariants.length; v++) {
+                    target.impactPerVariantAndInstance[v][actualId] += source.impactPerVariantAndInstance[v][localId];
+                }
+            }
+            for (Map.Entry<String, ActivityImpact> activity : source.impactsPerActivity.entrySet()) {
+                addActivityImpact(target, activity.getKey(), activity.getValue().name, activity.getValue().impact,
+                        activity.getValue().executions);
+            }
+        }
+        for (Map.Entry<String, VariantImpact> entry : other.impactsPerVariant.entrySet()) {
+            impactsPerVariant.computeIfAbsent(entry.getKey(), id -> new VariantImpact()).impact += entry.getValue().impact;
+        }
+        for (int driverId = 0; driverId < other.impactPerDriver.length; driverId++) {
+            if (other.occurrencesPerDriver[driverId] > 0) {
+                addDriverImpact(driverId, other.impactPerDriver[driverId], other.occurrencesPerDriver[driverId]);
+            }
+        }
+        for (int v = 0; v < allVariants.length; v++) {
+            totalImpactPerVariant[v] += other.totalImpactPerVariant[v];
+        }
+    }
+
+    Map<String, ProcessImpacts> getImpactsPerProcess() {
+        return impactsPerProcess;
+    }
+
+    Map<String, VariantImpact> getImpactsPerVariant() {
+        return impactsPerVariant;
+    }
+
+    double[] getImpactPerDriver() {
+        return impactPerDriver;
+    }
+
+    long[] getOccurrencesPerDriver() {
+        return occurrencesPerDriver;
+    }
+
+    /**
+     * @return the cost variants all process instances are evaluated for, empty if not enabled
+     */
+    String[] getAllVariants() {
+        return allVariants;
+    }
+
+    /**
+     * @return total impact of all process instances under each of {@link #getAllVariants()}
+     */
+    double[] getTotalImpactPerVariant() {
+        return totalImpactPerVariant;
+    }
+
+    class ProcessImpacts {
+
+        // indexed by process instance identifier
+        double[] impactPerInstance = new double[16];
+        String[] variantPerInstance = new String[16];
+        // impact of each instance under each of the variants of getAllVariants()
+        double[][] impactPerVariantAndInstance = new double[allVariants.length][16];
+        private boolean[] registered = new boolean[16];
+        int numberOfInstances = 0;
+
+        final Map<String, ActivityImpact> impactsPerActivity = new TreeMap<>();
+
+        private boolean register(int processInstanceId, String costVariant) {
+            if (processInstanceId >= registered.length) {
+                int length = Math.max(processInstanceId + 1, registered.length * 2);
+                impactPerInstance = Arrays.copyOf(impactPerInstance, length);
+                variantPerInstance = Arrays.copyOf(variantPerInstance, length);
+                registered = Arrays.copyOf(registered, length);
+                for (int v = 0; v < allVariants.length; v++) {
+                    impactPerVariantAndInstance[v] = Arrays.copyOf(impactPerVariantAndInstance[v], length);
+                }
+            }
+            if (registered[processInstanceId]) {
+                return false;
+            }
+            registered[processInstanceId] = true;
+            variantPerInstance[processInstanceId] = costVariant;
+            numberOfInstances++;
+            return true;
+        }
+
+        boolean isRegistered(int processInstanceId) {
+            return processInstanceId < registered.length && registered[processInstanceId];
+        }
+    }
+
+    static class ActivityImpact {
+
+        final String name;
+        double impact = 0;
+        long executions = 0;
+
+        ActivityImpact(String name) {
+            this.name = name;
+        }
+    }
+
+    static class VariantImpact {
+
+        double impact = 0;
+        long instances = 0;
+    }
+}
@@ -0,0 +1,213 @@
+package de.hpi.bpt.scylla.plugin.sustainabilitylogger;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ResourceUtilization;
+import de.hpi.bpt.scylla.logger.SymbolTable;
+import de.hpi.bpt.scylla.plugin.statslogger_nojar.StatisticsCalculationObject;
+import de.hpi.bpt.scylla.plugin_type.logger.OutputLoggerPluggable;
+import de.hpi.bpt.scylla.simulation.SimulationModel;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes sustainability KPIs: the environmental impact of the cost drivers of all terminated tasks, based on the
+ * impact factors of the cost variant of each process instance. The impacts are accumulated while the simulation is
+ * running, see {@link ImpactAccumulator}. Resources with emission factors additionally report their emissions over
+ * the time they have been in use.
+ */
+public class SustainabilityLogger extends OutputLoggerPluggable {
+
+    private SimulationModel collectedModel;
+    private ImpactAccumulator accumulator;
+
+    @Override
+    public String getName() {
+        return "Sustainability";
+    }
+
+    @Override
+    public void nodeInfoAdded(SimulationModel model, String processId, int processInstanceId, ProcessNodeInfo info) {
+        if (model != collectedModel) {
+            collectedModel = model;
+            accumulator = new ImpactAccumulator(model.getCostVariantConfiguration());
+        }
+        accumulator.add(processId, processInstanceId, info);
+    }
+
+    @Override
+    public void writeToLog(SimulationModel model, String outputPathWithoutExtension) throws IOException {
+        if (model != collectedModel) {
+            collectedModel = model;
+            accumulator = new ImpactAccumulator(model.getCostVariantConfiguration());
+        }
+        String fileName = outputPathWithoutExtension + model.getGlobalConfiguration().getFileNameWithoutExtension()
+                + "_sustainability.xml";
+        writeKPIs(accumulator, model.getResourceUtilizations(), fileName);
+    }
+
+    /**
+     * Writes the KPIs of the accumulated impacts and of the resource emissions to an XML file.
+     *
+     * @param resourceUtilizations utilization of the resource instances by resource type and instance identifier
+     */
+    static void writeKPIs(ImpactAccumulator accumulator, Map<String, Map<String, ResourceUtilization>> resourceUtilizations,
+                          String fileName) throws IOException {
+        Element sustainability = new Element("sustainabilityKPIs");
+        Document doc = new Document(sustainability);
+
+        Element processes = new Element("processes");
+        Element variants = new Element("cost_variants");
+        Element drivers = new Element("cost_drivers");
+        sustainability.addContent(processes);
+        sustainability.addContent(variants);
+        sustainability.addContent(drivers);
+
+        double totalImpact = 0;
+        for (Map.Entry<String, ImpactAccumulator.ProcessImpacts> entry : accumulator.getImpactsPerProcess().entrySet()) {
+            ImpactAccumulator.ProcessImpacts processImpacts = entry.getValue();
+
+            Element process = new Element("process");
+            process.addContent(new Element("id").setText(entry.getKey()));
+            Element instances = new Element("instances");
+            Element activities = new Element("activities");
+
+            double processImpact = 0;
+            for (int processInstanceId = 0; processInstanceId < processImpacts.impactPerInstance.length; processInstanceId++) {
+                if (!processImpacts.isRegistered(processInstanceId)) {
+                    continue;
+                }
+                double impact = processImpacts.impactPerInstance[processInstanceId];
+                processImpact += impact;
+
+                Element instance = new Element("instance");
+                instance.addContent(new Element("id").setText(String.valueOf(processInstanceId)));
+                String costVariant = processImpacts.variantPerInstance[processInstanceId];
+                if (costVariant != null) {
+                    instance.addContent(new Element("cost_variant").setText(costVariant));
+                }
+                instance.addContent(new Element("impact").setText(String.valueOf(impact)));
+                instances.addContent(instance);
+            }
+
+            for (Map.Entry<String, ImpactAccumulator.ActivityImpact> activityEntry : processImpacts.impactsPerActivity.entrySet()) {
+                ImpactAccumulator.ActivityImpact activityImpact = activityEntry.getValue();
+                Element activity = new Element("activity");
+                activity.addContent(new Element("id").setText(activityEntry.getKey()));
+                activity.addContent(new Element("name").setText(activityImpact.name));
+                activity.addContent(new Element("executions").setText(String.valueOf(activityImpact.executions)));
+                activity.addContent(new Element("impact").setText(String.valueOf(activityImpact.impact)));
+                activities.addContent(activity);
+            }
+
+            process.addContent(new Element("impact").setText(String.valueOf(processImpact)));
+            process.addContent(new Element("average_impact_per_instance")
+                    .setText(String.valueOf(average(processImpact, processImpacts.numberOfInstances))));
+            process.addContent(activities);
+            process.addContent(instances);
+            processes.addContent(process);
+            totalImpact += processImpact;
+        }
+
+        for (Map.Entry<String, ImpactAccumulator.VariantImpact> entry : accumulator.getImpactsPerVariant().entrySet()) {
+            ImpactAccumulator.VariantImpact variantImpact = entry.getValue();
+            Element variant = new Element("cost_variant");
+            variant.addContent(new Element("id").setText(entry.getKey()));
+            variant.addContent(new Element("instances").setText(String.valueOf(variantImpact.instances)));
+            variant.addContent(new Element("impact").setText(String.valueOf(variantImpact.impact)));
+            variant.addContent(new Element("average_impact_per_instance")
+                    .setText(String.valueOf(average(variantImpact.impact, variantImpact.instances))));
+            variants.addContent(variant);
+        }
+
+        double[] impactPerDriver = accumulator.getImpactPerDriver();
+        long[] occurrencesPerDriver = accumulator.getOccurrencesPerDriver();
+        for (int driverId = 0; driverId < impactPerDriver.length; driverId++) {
+            if (occurrencesPerDriver[driverId] == 0) {
+                continue;
+            }
+            Element driver = new Element("cost_driver");
+            driver.addContent(new Element("id").setText(SymbolTable.COST_DRIVERS.resolve(driverId)));
+            driver.addContent(new Element("occurrences").setText(String.valueOf(occurrencesPerDriver[driverId])));
+            driver.addContent(new Element("impact").setText(String.valueOf(impactPerDriver[driverId])));
+            drivers.addContent(driver);
+        }
+
+        Element resources = new Element("resources");
+        double totalEmissions = 0;
+        for (Map.Entry<String, Map<String, ResourceUtilization>> entry : resourceUtilizations.entrySet()) {
+            Element resource = new Element("resource");
+            resource.addContent(new Element("type").setText(entry.getKey()));
+            Element instances = new Element("instances");
+            double emissionsOfType = 0;
+            for (Map.Entry<String, ResourceUtilization> instanceEntry : entry.getValue().entrySet()) {
+                ResourceUtilization utilization = instanceEntry.getValue();
+                if (utilization.getEmissionFactors() == null) {
+                    continue;
+                }
+                Element instance = new Element("instance");
+                instance.addContent(new Element("id").setText(instanceEntry.getKey()));
+                instance.addContent(new Element("in_use").setText(String.valueOf(utilization.getDurationInUse())));
+                instance.addContent(new Element("emissions").setText(String.valueOf(utilization.getEmissions())));
+                instances.addContent(instance);
+                emissionsOfType += utilization.getEmissions();
+            }
+            if (instances.getContentSize() == 0) {
+                continue;
+            }
+            resource.addContent(new Element("emissions").setText(String.valueOf(emissionsOfType)));
+            resource.addContent(instances);
+            resources.addContent(resource);
+            totalEmissions += emissionsOfType;
+        }
+        if (resources.getContentSize() > 0) {
+            resources.addContent(0, new Element("emissions").setText(String.valueOf(totalEmissions)));
+            sustainability.addContent(resources);
+        }
+
+        String[] allVariants = accumulator.getAllVariants();
+        if (allVariants.length > 0) {
+            // every instance under every variant, distributions are over the impacts of the instances
+            Element comparison = new Element("cost_variant_comparison");
+            sustainability.addContent(comparison);
+            double[] totalImpactPerVariant = accumulator.getTotalImpactPerVariant();
+            for (int v = 0; v < allVariants.length; v++) {
+                StatisticsCalculationObject distribution = new StatisticsCalculationObject();
+                for (ImpactAccumulator.ProcessImpacts processImpacts : accumulator.getImpactsPerProcess().values()) {
+                    double[] impactPerInstance = processImpacts.impactPerVariantAndInstance[v];
+                    for (int processInstanceId = 0; processInstanceId < impactPerInstance.length; processInstanceId++) {
+                        if (processImpacts.isRegistered(processInstanceId)) {
+                            distribution.addValue(impactPerInstance[processInstanceId]);
+                        }
+                    }
+                }
+                distribution.calculateStatistics();
+
+                Element variant = new Element("cost_variant");
+                variant.addContent(new Element("id").setText(allVariants[v]));
+                variant.addContent(new Element("impact").setText(String.valueOf(totalImpactPerVariant[v])));
+                Element impactPerInstance = new Element("impact_per_instance");
+                impactPerInstance.addContent(distribution.getStatsAsElements());
+                variant.addContent(impactPerInstance);
+                comparison.addContent(variant);
+            }
+        }
+
+        sustainability.addContent(0, new Element("impact").setText(String.valueOf(totalImpact)));
+
+        try (FileOutputStream fos = new FileOutputStream(fileName)) {
+            XMLOutputter xmlOutput = new XMLOutputter();
+            xmlOutput.setFormat(Format.getPrettyFormat());
+            xmlOutput.output(doc, fos);
+        }
+    }
+
+    private static double average(double sum, long count) {
+        return count == 0 ? 0 : sum / count;
+    }
+}
@@ -0,0 +1,372 @@
+package de.hpi.bpt.scylla.plugin.sustainabilitylogger;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.logger.SymbolTable;
+import de.hpi.bpt.scylla.model.global.CostVariantConfiguration;
+import de.hpi.bpt.scylla.parser.CostVariantConfigurationParser;
+import org.jdom2.JDOMException;
+import org.jdom2.input.SAXBuilder;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Calculates the sustainability KPIs of existing XES logs, as written by the XES logger, without simulating again.
+ * Each trace has to carry its cost variant in the <code>cost:variant</code> attribute and each completed event its
+ * cost drivers in <code>cost:driver</code> attributes; the impact factors are taken from a cost variant
+ * configuration.<br>
+ * The logs are streamed by a single reader, which hands chunks of traces to a fork/join pool. Only a bounded number
+ * of chunks is in memory at any time, so logs of arbitrary size can be processed. As XES logs do not contain node
+ * identifiers, activities are identified by their names.
+ */
+public class XESImpactCalculator {
+
+    private static final int TRACES_PER_CHUNK = 1024;
+
+    private static final String KEY_NAME = "concept:name";
+    private static final String KEY_TRANSITION = "lifecycle:transition";
+    private static final String KEY_COST_VARIANT = "cost:variant";
+    private static final String KEY_COST_DRIVER = "cost:driver";
+
+    private final CostVariantConfiguration costVariantConfiguration;
+    private final ImpactAccumulator accumulator;
+    private final int parallelism;
+
+    /**
+     * @param costVariantConfiguration impact factors of the cost variants
+     * @param parallelism number of worker threads
+     */
+    public XESImpactCalculator(CostVariantConfiguration costVariantConfiguration, int parallelism) {
+        this.costVariantConfiguration = costVariantConfiguration;
+        this.accumulator = new ImpactAccumulator(costVariantConfiguration);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Adds the impacts of a log file, which may be gzip compressed.
+     *
+     * @param fileName path of the log file
+     * @throws IOException if the log cannot be read or is malformed
+     */
+    public void addLog(String fileName) throws IOException {
+        String defaultProcessId = fileName.replaceAll("^.*[/\\\\]", "").replaceAll("\\..*$", "");
+        try (InputStream in = new FileInputStream(fileName)) {
+            addLog(in, defaultProcessId);
+        }
+    }
+
+    /**
+     * Adds the impacts of a log, which may be gzip compressed.
+     *
+     * @param in stream of the log, is not closed
+     * @param defaultProcessId identifier of the process if the log has no name
+     * @throws IOException if the log cannot be read or is malformed
+     */
+    public void addLog(InputStream in, String defaultProcessId) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        // the XES logger writes compressed logs with a misleading extension, so look at the content
+        buffered.mark(2);
+        boolean gzip = buffered.read() == 0x1f && buffered.read() == 0x8b;
+        buffered.reset();
+        InputStream logStream = gzip ? new GZIPInputStream(buffered) : buffered;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore chunksInMemory = new Semaphore(2 * parallelism);
+        // no references to the tasks are kept, so a chunk can be collected as soon as it has been processed; the
+        // reader is a party of the phaser and each chunk registers as long as it is being processed
+        Phaser chunksInProcess = new Phaser(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(logStream);
+            try {
+                read(reader, defaultProcessId, chunk -> {
+                    chunksInMemory.acquire();
+                    chunksInProcess.register();
+                    pool.execute(() -> {
+                        try {
+                            if (failure.get() == null) {
+                                process(chunk);
+                            }
+                        }
+                        catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        }
+                        finally {
+                            chunksInMemory.release();
+                            chunksInProcess.arriveAndDeregister();
+                        }
+                    });
+                });
+            }
+            finally {
+                reader.close();
+            }
+            chunksInProcess.awaitAdvanceInterruptibly(chunksInProcess.arrive());
+            if (failure.get() != null) {
+                throw new IOException("Calculating the impacts of " + defaultProcessId + " failed.", failure.get());
+            }
+        }
+        catch (XMLStreamException e) {
+            throw new IOException("Log of " + defaultProcessId + " is malformed: " + e.getMessage(), e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calculating the impacts of " + defaultProcessId + ".", e);
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the KPIs of all logs added so far, in the format of the sustainability logger.
+     *
+     * @param fileName path of the KPI file
+     */
+    public void writeKPIs(String fileName) throws IOException {
+        synchronized (accumulator) {
+            SustainabilityLogger.writeKPIs(accumulator, Collections.emptyMap(), fileName);
+        }
+    }
+
+    ImpactAccumulator getAccumulator() {
+        return accumulator;
+    }
+
+    private void read(XMLStreamReader reader, String defaultProcessId, ChunkConsumer consumer)
+            throws XMLStreamException, InterruptedException {
+        String processId = null;
+        int nextTraceNumber = 1;
+        Chunk chunk = null;
+        // element depth of the log, the current trace and the current event; -1 if outside
+        int depth = 0;
+        int logDepth = -1;
+        int traceDepth = -1;
+        int eventDepth = -1;
+        String eventName = null;
+        String eventTransition = null;
+        List<String> eventDrivers = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String element = reader.getLocalName();
+                if (logDepth < 0 && element.equals("log")) {
+                    logDepth = depth;
+                }
+                else if (traceDepth < 0 && depth == logDepth + 1 && element.equals("trace")) {
+                    traceDepth = depth;
+                    if (processId == null) {
+                        processId = defaultProcessId;
+                    }
+                    if (chunk == null) {
+                        chunk = new Chunk(processId);
+                    }
+                    chunk.addTrace(nextTraceNumber++);
+                }
+                else if (traceDepth >= 0 && eventDepth < 0 && depth == traceDepth + 1 && element.equals("event")) {
+                    eventDepth = depth;
+                    eventName = null;
+                    eventTransition = null;
+                    eventDrivers.clear();
+                }
+                else {
+                    String key = reader.getAttributeValue(null, "key");
+                    String value = reader.getAttributeValue(null, "value");
+                    if (key == null) {
+                        continue;
+                    }
+                    if (eventDepth >= 0 && depth == eventDepth + 1) {
+                        if (key.equals(KEY_NAME)) {
+                            eventName = value;
+                        }
+                        else if (key.equals(KEY_TRANSITION)) {
+                            eventTransition = value;
+                        }
+                        else if (key.equals(KEY_COST_DRIVER)) {
+                            eventDrivers.add(value);
+                        }
+                    }
+                    else if (traceDepth >= 0 && eventDepth < 0 && depth == traceDepth + 1) {
+                        if (key.equals(KEY_NAME)) {
+                            chunk.setTraceName(value);
+                        }
+                        else if (key.equals(KEY_COST_VARIANT)) {
+                            chunk.setTraceVariant(value);
+                        }
+                    }
+                    else if (traceDepth < 0 && depth == logDepth + 1 && key.equals(KEY_NAME)) {
+                        processId = value;
+                    }
+                }
+            }
+            else if (type == XMLStreamConstants.END_ELEMENT) {
+                if (depth == eventDepth) {
+                    eventDepth = -1;
+                    if ("complete".equals(eventTransition) && !eventDrivers.isEmpty()) {
+                        chunk.addActivityExecution(eventName,
+                                SymbolTable.COST_DRIVERS.internAll(eventDrivers));
+                    }
+                }
+                else if (depth == traceDepth) {
+                    traceDepth = -1;
+                    if (chunk.size() == TRACES_PER_CHUNK) {
+                        consumer.accept(chunk);
+                        chunk = null;
+                    }
+                }
+                depth--;
+            }
+        }
+        if (chunk != null) {
+            consumer.accept(chunk);
+        }
+    }
+
+    private void process(Chunk chunk) {
+        // process instances of the chunk are numbered from 1 in the local accumulator
+        ImpactAccumulator local = new ImpactAccumulator(costVariantConfiguration);
+        ImpactAccumulator.ProcessImpacts processImpacts = local.getProcessImpacts(chunk.processId);
+        int[] processInstanceIds = new int[chunk.size() + 1];
+        for (int trace = 0; trace < chunk.size(); trace++) {
+            int localId = trace + 1;
+            processInstanceIds[localId] = chunk.getProcessInstanceId(trace);
+            local.registerInstance(processImpacts, localId, chunk.variants.get(trace));
+            for (int execution = chunk.firstExecution[trace]; execution < chunk.firstExecution[trace + 1]; execution++) {
+                String activity = chunk.activities.get(execution);
+                local.addActivityExecution(processImpacts, localId, activity, activity,
+                        chunk.driverIds.get(execution));
+            }
+        }
+        synchronized (accumulator) {
+            accumulator.merge(local, Collections.singletonMap(chunk.processId, processInstanceIds));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+
+        void accept(Chunk chunk) throws InterruptedException;
+    }
+
+    /**
+     * Consecutive traces of a log with their completed activity executions.
+     */
+    private static class Chunk {
+
+        final String processId;
+        final List<String> names = new ArrayList<>();
+        final int[] traceNumbers = new int[TRACES_PER_CHUNK];
+        final List<String> variants = new ArrayList<>();
+        // executions of trace i are firstExecution[i] until firstExecution[i + 1]
+        final int[] firstExecution = new int[TRACES_PER_CHUNK + 1];
+        final List<String> activities = new ArrayList<>();
+        final List<int[]> driverIds = new ArrayList<>();
+
+        Chunk(String processId) {
+            this.processId = processId;
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        void addTrace(int traceNumber) {
+            traceNumbers[names.size()] = traceNumber;
+            names.add(null);
+            variants.add(null);
+            firstExecution[names.size()] = activities.size();
+        }
+
+        void setTraceName(String name) {
+            names.set(names.size() - 1, name);
+        }
+
+        void setTraceVariant(String variant) {
+            variants.set(variants.size() - 1, variant);
+        }
+
+        void addActivityExecution(String activity, int[] costDriverIds) {
+            activities.add(activity);
+            driverIds.add(costDriverIds);
+            firstExecution[names.size()] = activities.size();
+        }
+
+        /**
+         * @return the name of the trace if it is a process instance identifier, its position in the log otherwise
+         */
+        int getProcessInstanceId(int trace) {
+            String name = names.get(trace);
+            if (name != null) {
+                try {
+                    int id = Integer.parseInt(name.trim());
+                    if (id >= 0) {
+                        return id;
+                    }
+                }
+                catch (NumberFormatException e) {
+                    // fall back to the position
+                }
+            }
+            return traceNumbers[trace];
+        }
+    }
+
+    public static void main(String[] args) {
+        if (Arrays.stream(args).anyMatch(x -> x.contains("--help"))) {
+            System.out.println("Usage: XESImpactCalculator --cost=<your cost config path> [--output=<your KPI file>] [--threads=<number of threads>] <your first log file> [<your second log file>] [...]");
+            return;
+        }
+
+        String costVariantConfigFile = argumentValue(args, "--cost")
+                .orElseThrow(() -> new IllegalArgumentException("You have to provide a cost variant file. Usage: --cost=<your file path>"));
+        String[] logFileNames = Arrays.stream(args).filter(x -> !x.startsWith("--")).toArray(String[]::new);
+        if (logFileNames.length == 0) {
+            throw new IllegalArgumentException("You have to provide at least one log file.");
+        }
+        String outputFileName = argumentValue(args, "--output")
+                .orElse(logFileNames[0].replaceAll("\\.[^./\\\\]*$", "") + "_sustainability.xml");
+        int threads = argumentValue(args, "--threads").map(Integer::parseInt)
+                .orElse(Runtime.getRuntime().availableProcessors());
+
+        try {
+            CostVariantConfiguration costVariantConfiguration = new CostVariantConfigurationParser()
+                    .parse(new SAXBuilder().build(costVariantConfigFile).getRootElement());
+            XESImpactCalculator calculator = new XESImpactCalculator(costVariantConfiguration, threads);
+            for (String logFileName : logFileNames) {
+                calculator.addLog(logFileName);
+            }
+            calculator.writeKPIs(outputFileName);
+            System.out.println("Sustainability KPIs written to " + outputFileName);
+        }
+        catch (ScyllaValidationException | JDOMException | IOException e) {
+            DebugLogger.error(e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static Optional<String> argumentValue(String[] args, String name) {
+        return Arrays.stream(args)
+                .filter(x -> x.startsWith(name + "="))
+                .map(s -> s.substring(name.length() + 1))
+                .findFirst();
+    }
+}
@@ -0,0 +1,63 @@
+package de.hpi.bpt.scylla.plugin.sustainableassignment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weights of the score by which resource instances are chosen: the lower the weighted sum of cost per time unit,
+ * emission factor and expected wait of an instance, the earlier it is chosen.
+ *
+ */
+public class AssignmentWeights {
+
+    private final double costWeight;
+    private final double emissionWeight;
+    private final double waitWeight;
+    private final long expectedTaskDuration;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Constructor.
+     * 
+     * @param costWeight
+     *            weight of the cost per reference time unit of an instance
+     * @param emissionWeight
+     *            weight of the mean emission factor per reference time unit of an instance
+     * @param waitWeight
+     *            weight of the expected wait, i.e. the time a task of the expected duration would be paused because
+     *            the instance goes off its timetable
+     * @param expectedTaskDuration
+     *            expected duration of a task for the expected wait, 0 to ignore timetables
+     * @param timeUnit
+     *            time unit of the expected duration
+     */
+    public AssignmentWeights(double costWeight, double emissionWeight, double waitWeight, long expectedTaskDuration,
+            TimeUnit timeUnit) {
+        this.costWeight = costWeight;
+        this.emissionWeight = emissionWeight;
+        this.waitWeight = waitWeight;
+        this.expectedTaskDuration = expectedTaskDuration;
+        this.timeUnit = timeUnit;
+    }
+
+    public double getCostWeight() {
+        return costWeight;
+    }
+
+    public double getEmissionWeight() {
+        return emissionWeight;
+    }
+
+    public double getWaitWeight() {
+        return waitWeight;
+    }
+
+    /**
+     * @param targetTimeUnit
+     *            time unit of the result
+     * @return expected duration of a task in the given time unit
+     */
+    public long getExpectedTaskDuration(TimeUnit targetTimeUnit) {
+        return targetTimeUnit.convert(expectedTaskDuration, timeUnit);
+    }
+
+}
@@ -0,0 +1,59 @@
+package de.hpi.bpt.scylla.plugin.sustainableassignment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Element;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.model.global.GlobalConfiguration;
+import de.hpi.bpt.scylla.plugin_type.parser.GlobalConfigurationParserPluggable;
+
+/**
+ * Parses the weights of the sustainability-aware resource assignment from the global configuration, e.g.<br>
+ * <code>&lt;sustainableResourceAssignment costWeight="1" emissionWeight="10" waitWeight="0.5"
+ * expectedTaskDuration="30" timeUnit="MINUTES"/&gt;</code><br>
+ * Without this element, resources are assigned as usual.
+ *
+ */
+public class SustainableAssignmentGCParserPlugin extends GlobalConfigurationParserPluggable {
+
+    @Override
+    public String getName() {
+        return SustainableAssignmentPluginUtils.PLUGIN_NAME;
+    }
+
+    @Override
+    public Map<String, Object> parse(GlobalConfiguration globalConfiguration, Element rootElement)
+            throws ScyllaValidationException {
+        Map<String, Object> extensionAttributes = new HashMap<String, Object>();
+        Element element = rootElement.getChild(SustainableAssignmentPluginUtils.ELEMENT_NAME,
+                rootElement.getNamespace());
+        if (element == null) {
+            return extensionAttributes;
+        }
+        try {
+            double costWeight = parseDouble(element, "costWeight");
+            double emissionWeight = parseDouble(element, "emissionWeight");
+            double waitWeight = parseDouble(element, "waitWeight");
+            String duration = element.getAttributeValue("expectedTaskDuration");
+            long expectedTaskDuration = duration == null ? 0 : Long.parseLong(duration);
+            String timeUnit = element.getAttributeValue("timeUnit");
+            AssignmentWeights weights = new AssignmentWeights(costWeight, emissionWeight, waitWeight,
+                    expectedTaskDuration, timeUnit == null ? TimeUnit.SECONDS : TimeUnit.valueOf(timeUnit));
+            extensionAttributes.put(SustainableAssignmentPluginUtils.WEIGHTS_KEY, weights);
+        }
+        catch (IllegalArgumentException e) {
+            throw new ScyllaValidationException(
+                    "Invalid " + SustainableAssignmentPluginUtils.ELEMENT_NAME + " element: " + e.getMessage());
+        }
+        return extensionAttributes;
+    }
+
+    private static double parseDouble(Element element, String attributeName) {
+        String value = element.getAttributeValue(attributeName);
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+
+}
@@ -0,0 +1,22 @@
+package de.hpi.bpt.scylla.plugin.sustainableassignment;
+
+/**
+ * Utility class for plugin internal magic strings.
+ *
+ */
+public class SustainableAssignmentPluginUtils {
+
+    /**
+     * Plugin name.
+     */
+    public static final String PLUGIN_NAME = "sustainableAssignment";
+    /**
+     * Key for the {@link AssignmentWeights} to be stored as extension of the global configuration
+     */
+    public static final String WEIGHTS_KEY = "weights";
+    /**
+     * Name of the definition element in the global configuration
+     */
+    public static final String ELEMENT_NAME = "sustainableResourceAssignment";
+
+}
@@ -0,0 +1,326 @@
+package de.hpi.bpt.scylla.plugin.sustainableassignment;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
+import de.hpi.bpt.scylla.model.configuration.ResourceReference;
+import de.hpi.bpt.scylla.model.global.GlobalConfiguration;
+import de.hpi.bpt.scylla.model.global.resource.DynamicResource;
+import de.hpi.bpt.scylla.model.global.resource.EmissionFactorSeries;
+import de.hpi.bpt.scylla.model.global.resource.Resource;
+import de.hpi.bpt.scylla.model.global.resource.TimetableItem;
+import de.hpi.bpt.scylla.plugin_type.simulation.event.ProcessSimulationStopEventPluggable;
+import de.hpi.bpt.scylla.plugin_type.simulation.resource.ResourceAssignmentPluggable;
+import de.hpi.bpt.scylla.simulation.QueueManager;
+import de.hpi.bpt.scylla.simulation.ResourceObject;
+import de.hpi.bpt.scylla.simulation.ResourceObjectTuple;
+import de.hpi.bpt.scylla.simulation.SimulationModel;
+import de.hpi.bpt.scylla.simulation.event.ProcessSimulationStopEvent;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
+
+/**
+ * Assigns the available resource instances with the lowest weighted score of cost per time unit, emission factor and
+ * expected wait, see {@link AssignmentWeights}. As with the default assignment, instances of higher priority are
+ * preferred regardless of their score.<br>
+ * Priority, cost and emission factor do not change during the simulation, so the free instances of each type are kept
+ * in a heap ordered by them, with the least recently used instance first among equal ones. The expected wait depends
+ * on the current time; as it is never negative, instances are taken from the heap only until no later instance can
+ * have a better score. Thus, an assignment usually takes O(log n) for n instances of a type.<br>
+ * The best instances of the required types are chosen independently of each other. Only if their timetables do not
+ * intersect, all combinations of available instances are searched like in
+ * {@link QueueManager#findMatchingResourceObjectTuples(Map, String[], int[])}.
+ *
+ */
+public class SustainableResourceAssignmentPlugin extends ResourceAssignmentPluggable {
+
+    // upper bound for walking through timetables, in case of degenerate timetables
+    private static final int MAX_TIMETABLE_STEPS = 1000;
+
+    // candidates of higher priority first, then those with the lower score
+    private static final Comparator<Candidate> BETTER_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> -candidate.resourceObject.getPriority())
+            .thenComparingDouble(candidate -> candidate.score);
+
+    private SimulationModel preparedModel;
+    private AssignmentWeights weights;
+    private Map<ResourceObject, Double> staticScores;
+
+    @Override
+    public String getName() {
+        return SustainableAssignmentPluginUtils.PLUGIN_NAME;
+    }
+
+    @Override
+    public boolean wantsToHandleAssignment(SimulationModel model, ScyllaEvent event) {
+        return getWeights(model) != null;
+    }
+
+    @Override
+    public Optional<ResourceObjectTuple> getResourcesForEvent(SimulationModel model, ScyllaEvent event) {
+        prepare(model);
+        QueueManager queueManager = model.getResourceManager();
+        Set<ResourceReference> resourceReferences = event.getSimulationComponents().getSimulationConfiguration()
+                .getResourceReferenceSet(event.getNodeId());
+        ResourceObjectTuple tuple = new ResourceObjectTuple();
+        if (resourceReferences.isEmpty()) {
+            return Optional.of(tuple);
+        }
+
+        ZonedDateTime now = DateTimeUtils.getDateTime(model.presentTime());
+        List<TimetableItem> sharedTimetable = null;
+        boolean first = true;
+        boolean enoughResources = true;
+        for (ResourceReference reference : resourceReferences) {
+            Queue<ResourceObject> queue = queueManager.getResourceQueue(reference.getResourceId());
+            List<ResourceObject> chosen = choose(queue, reference.getAmount(), now);
+            tuple.getResourceObjects().addAll(chosen);
+            if (chosen.size() < reference.getAmount()) {
+                enoughResources = false;
+                break;
+            }
+            for (ResourceObject resourceObject : chosen) {
+                sharedTimetable = first ? resourceObject.getTimetable()
+                        : DateTimeUtils.intersectTimetables(sharedTimetable, resourceObject.getTimetable());
+                first = false;
+            }
+        }
+
+        if (!enoughResources || (sharedTimetable != null && sharedTimetable.isEmpty())) {
+            for (ResourceObject resourceObject : tuple.getResourceObjects()) {
+                queueManager.getResourceQueue(resourceObject.getResourceType()).add(resourceObject);
+            }
+            if (!enoughResources) {
+                return Optional.empty();
+            }
+            return chooseCombination(queueManager, resourceReferences, now);
+        }
+        tuple.setSharedTimetable(sharedTimetable);
+        return Optional.of(tuple);
+    }
+
+    /**
+     * Searches all combinations of available instances whose timetables intersect and polls the best one from the
+     * queues, i.e. the one with the highest total priority and then the lowest total score.
+     *
+     * @return the chosen combination, empty if no combination matches
+     */
+    private Optional<ResourceObjectTuple> chooseCombination(QueueManager queueManager,
+            Set<ResourceReference> resourceReferences, ZonedDateTime now) {
+        String[] resourceIds = new String[resourceReferences.size()];
+        int[] resourceAmountsRequired = new int[resourceReferences.size()];
+        Map<String, List<ResourceObject>> availableResourceObjects = new HashMap<String, List<ResourceObject>>();
+        Map<ResourceObject, Double> scores = new IdentityHashMap<ResourceObject, Double>();
+        int i = 0;
+        for (ResourceReference reference : resourceReferences) {
+            resourceIds[i] = reference.getResourceId();
+            resourceAmountsRequired[i] = reference.getAmount();
+            List<ResourceObject> available = new ArrayList<ResourceObject>();
+            for (ResourceObject resourceObject : queueManager.getResourceQueue(reference.getResourceId())) {
+                if (resourceObject.isAvailable(now)) {
+                    available.add(resourceObject);
+                    double expectedWait = getExpectedWait(resourceObject, now);
+                    scores.put(resourceObject, staticScores.get(resourceObject) + weights.getWaitWeight() * expectedWait);
+                }
+            }
+            availableResourceObjects.put(reference.getResourceId(), available);
+            i++;
+        }
+
+        ResourceObjectTuple best = null;
+        int bestPriority = 0;
+        double bestScore = 0;
+        for (ResourceObjectTuple tuple : QueueManager.findMatchingResourceObjectTuples(availableResourceObjects,
+                resourceIds, resourceAmountsRequired)) {
+            int priority = 0;
+            double score = 0;
+            for (ResourceObject resourceObject : tuple.getResourceObjects()) {
+                priority += resourceObject.getPriority();
+                score += scores.get(resourceObject);
+            }
+            if (best == null || priority > bestPriority || (priority == bestPriority && score < bestScore)) {
+                best = tuple;
+                bestPriority = priority;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            return Optional.empty();
+        }
+        for (ResourceObject resourceObject : best.getResourceObjects()) {
+            queueManager.getResourceQueue(resourceObject.getResourceType()).remove(resourceObject);
+        }
+        return Optional.of(best);
+    }
+
+    /**
+     * Polls the available instances with the lowest scores from the queue, all other instances stay in the queue.
+     *
+     * @return the chosen instances, fewer than the given amount if not enough instances are available
+     */
+    private List<ResourceObject> choose(Queue<ResourceObject> queue, int amount, ZonedDateTime now) {
+        // worst of the best candidates found so far first
+        PriorityQueue<Candidate> best = new PriorityQueue<Candidate>(Math.max(1, amount), BETTER_FIRST.reversed());
+        List<ResourceObject> polled = new ArrayList<ResourceObject>();
+        while (!queue.isEmpty()) {
+            ResourceObject head = queue.peek();
+            double staticScore = staticScores.get(head);
+            if (best.size() == amount && BETTER_FIRST.compare(new Candidate(head, staticScore), best.peek()) >= 0) {
+                // the expected wait is not negative, so no further instance can be better
+                break;
+            }
+            polled.add(queue.poll());
+            if (!head.isAvailable(now)) {
+                continue;
+            }
+            double score = staticScore + weights.getWaitWeight() * getExpectedWait(head, now);
+            best.add(new Candidate(head, score));
+            if (best.size() > amount) {
+                best.poll();
+            }
+        }
+
+        List<ResourceObject> chosen = new ArrayList<ResourceObject>();
+        for (Candidate candidate : best) {
+            chosen.add(candidate.resourceObject);
+        }
+        polled.removeAll(chosen);
+        queue.addAll(polled);
+        return chosen;
+    }
+
+    /**
+     * @return time a task of the expected duration which starts now would be paused because the instance goes off
+     *         its timetable, in reference time units
+     */
+    private double getExpectedWait(ResourceObject resourceObject, ZonedDateTime now) {
+        List<TimetableItem> timetable = resourceObject.getTimetable();
+        long remaining = weights.getExpectedTaskDuration(DateTimeUtils.getReferenceTimeUnit());
+        if (timetable == null || timetable.isEmpty() || remaining == 0 || weights.getWaitWeight() == 0) {
+            return 0;
+        }
+        int index = -1;
+        for (int i = 0; i < timetable.size(); i++) {
+            if (DateTimeUtils.isWithin(now, timetable.get(i))) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return 0;
+        }
+
+        ChronoUnit chronoUnit = DateTimeUtils.getReferenceChronoUnit();
+        ZonedDateTime dateTime = now;
+        double wait = 0;
+        for (int step = 0; step < MAX_TIMETABLE_STEPS; step++) {
+            TimetableItem item = timetable.get(index);
+            ZonedDateTime endOfItem = DateTimeUtils.getNextOrSameZonedDateTime(dateTime, item.getWeekdayTo(),
+                    item.getEndTime());
+            long available = chronoUnit.between(dateTime, endOfItem);
+            if (available >= remaining) {
+                break;
+            }
+            remaining -= available;
+            index = (index + 1) % timetable.size();
+            TimetableItem nextItem = timetable.get(index);
+            DayOfWeek nextWeekday = nextItem.getWeekdayFrom();
+            LocalTime nextTime = nextItem.getBeginTime();
+            dateTime = DateTimeUtils.getNextZonedDateTime(endOfItem, nextWeekday, nextTime);
+            wait += chronoUnit.between(endOfItem, dateTime);
+        }
+        return wait;
+    }
+
+    private static AssignmentWeights getWeights(SimulationModel model) {
+        GlobalConfiguration globalConfiguration = model.getGlobalConfiguration();
+        if (globalConfiguration == null) {
+            return null;
+        }
+        return (AssignmentWeights) globalConfiguration.getExtensionValue(SustainableAssignmentPluginUtils.PLUGIN_NAME,
+                SustainableAssignmentPluginUtils.WEIGHTS_KEY);
+    }
+
+    /**
+     * Calculates the static scores of all resource instances of the model and orders the free instances by them.
+     */
+    private void prepare(SimulationModel model) {
+        if (model == preparedModel) {
+            return;
+        }
+        preparedModel = model;
+        weights = getWeights(model);
+        staticScores = new IdentityHashMap<ResourceObject, Double>();
+
+        Map<String, Resource> resources = model.getGlobalConfiguration().getResources();
+        TimeUnit referenceUnit = DateTimeUtils.getReferenceTimeUnit();
+        QueueManager queueManager = model.getResourceManager();
+        for (ResourceObject resourceObject : queueManager.getAllResourceObjects()) {
+            double cost = DateTimeUtils.convertCost(resourceObject.getTimeUnit(), referenceUnit,
+                    resourceObject.getCost());
+            double emissionFactor = 0;
+            Resource resource = resources.get(resourceObject.getResourceType());
+            if (resource instanceof DynamicResource) {
+                EmissionFactorSeries series = ((DynamicResource) resource).getEmissionFactors(resourceObject.getId());
+                if (series != null) {
+                    emissionFactor = series.inTimeUnit(referenceUnit).getMeanFactor();
+                }
+            }
+            staticScores.put(resourceObject,
+                    weights.getCostWeight() * cost + weights.getEmissionWeight() * emissionFactor);
+        }
+
+        Comparator<ResourceObject> order = Comparator.comparingInt((ResourceObject o) -> -o.getPriority())
+                .thenComparingDouble(o -> staticScores.get(o))
+                .thenComparingDouble(ResourceObject::getTimeOfLastAccess);
+        for (String resourceType : queueManager.getResourceTypes()) {
+            queueManager.setResourceOrder(resourceType, order);
+        }
+    }
+
+    /**
+     * Releases the preparation once the prepared model stops, the plugin instance may outlive it.
+     */
+    public class SimulationStopPlugin extends ProcessSimulationStopEventPluggable {
+
+        @Override
+        public String getName() {
+            return SustainableResourceAssignmentPlugin.this.getName();
+        }
+
+        @Override
+        public void eventRoutine(ProcessSimulationStopEvent desmojEvent) throws ScyllaRuntimeException {
+            if (desmojEvent.getModel() == preparedModel) {
+                preparedModel = null;
+                weights = null;
+                staticScores = null;
+            }
+        }
+    }
+
+    private static class Candidate {
+
+        final ResourceObject resourceObject;
+        final double score;
+
+        Candidate(ResourceObject resourceObject, double score) {
+            this.resourceObject = resourceObject;
+            this.score = score;
+        }
+    }
+
+}
@@ -1,18 +1,41 @@
 package de.hpi.bpt.scylla.plugin_type.logger;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
 import de.hpi.bpt.scylla.plugin_loader.PluginLoader;
 import de.hpi.bpt.scylla.plugin_type.IPluggable;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 
 public abstract class OutputLoggerPluggable implements IPluggable, IOutputLogger {
 
+    /**
+     * Runs all output logger plugins concurrently. The loggers only get to see a read-only view of the logs of the
+     * finished simulation model. A failing logger does not stop the others; all failures are reported and the first
+     * one is rethrown after every logger has finished.
+     *
+     * @param model
+     *            the finished simulation model
+     * @param outputPathWithoutExtension
+     *            the output folder
+     * @throws IOException
+     *             if at least one of the loggers failed
+     */
     public static void runPlugins(SimulationModel model, String outputPathWithoutExtension) throws IOException {
         Class<OutputLoggerPluggable> clazz = OutputLoggerPluggable.class;
         /*ServiceLoader<? extends OutputLoggerPluggable> serviceLoader = (ServiceLoader<? extends OutputLoggerPluggable>) ServiceLoader
@@ -20,6 +43,7 @@ public abstract class OutputLoggerPluggable implements IPluggable, IOutputLogger
         Iterator<? extends OutputLoggerPluggable> plugins = serviceLoader.iterator();*/
         Iterator<? extends OutputLoggerPluggable> plugins = PluginLoader.dGetPlugins(clazz);
         Set<String> namesOfExtensions = new HashSet<String>();
+        List<OutputLoggerPluggable> pluginsToRun = new ArrayList<OutputLoggerPluggable>();
         while (plugins.hasNext()) {
             OutputLoggerPluggable plugin = plugins.next();
             String name = plugin.getName();
@@ -34,9 +58,154 @@ public abstract class OutputLoggerPluggable implements IPluggable, IOutputLogger
                 }
             }
             namesOfExtensions.add(name);
+            pluginsToRun.add(plugin);
+        }
+
+        // loggers must not modify the logs, and from now on they may be read by several threads at once
+        model.freezeLogs();
+
+        // run
+        runConcurrently(pluginsToRun, OutputLoggerPluggable::getName,
+                plugin -> plugin.writeToLog(model, outputPathWithoutExtension));
+    }
 
-            // run
-            plugin.writeToLog(model, outputPathWithoutExtension);
+    /**
+     * Notifies all output logger plugins of a new record of the business process-specific log.
+     *
+     * @param model
+     *            the simulation model
+     * @param processId
+     *            identifier of the top level process
+     * @param processInstanceId
+     *            identifier of the process instance
+     * @param info
+     *            the new record
+     */
+    public static void runNodeInfoPlugins(SimulationModel model, String processId, int processInstanceId,
+            ProcessNodeInfo info) {
+        Iterator<? extends OutputLoggerPluggable> plugins = PluginLoader.dGetPlugins(OutputLoggerPluggable.class);
+        while (plugins.hasNext()) {
+            plugins.next().nodeInfoAdded(model, processId, processInstanceId, info);
         }
     }
+
+    /**
+     * Is called for every record of the business process-specific log while the simulation is running, regardless of
+     * whether the logging policy of the model keeps the record. Loggers which calculate statistics over all process
+     * instances should collect them here instead of reading the log in {@link #writeToLog(SimulationModel, String)}.
+     *
+     * @param model
+     *            the simulation model
+     * @param processId
+     *            identifier of the top level process
+     * @param processInstanceId
+     *            identifier of the process instance
+     * @param info
+     *            the new record
+     */
+    public void nodeInfoAdded(SimulationModel model, String processId, int processInstanceId, ProcessNodeInfo info) {
+    }
+
+    /**
+     * Notifies all output logger plugins that a top level process instance has reached an end event and has no
+     * pending events left.
+     *
+     * @param model
+     *            the simulation model
+     * @param processId
+     *            identifier of the top level process
+     * @param processInstanceId
+     *            identifier of the process instance
+     */
+    public static void runProcessInstanceEndedPlugins(SimulationModel model, String processId, int processInstanceId) {
+        Iterator<? extends OutputLoggerPluggable> plugins = PluginLoader.dGetPlugins(OutputLoggerPluggable.class);
+        while (plugins.hasNext()) {
+            plugins.next().processInstanceEnded(model, processId, processInstanceId);
+        }
+    }
+
+    /**
+     * Is called while the simulation is running when a top level process instance has reached an end event and has no
+     * pending events left. Loggers may release what they have collected for the process instance in
+     * {@link #nodeInfoAdded(SimulationModel, String, int, ProcessNodeInfo)} and keep only its result. Branches which
+     * wait for resources are not pending, so records of the process instance may still follow.
+     *
+     * @param model
+     *            the simulation model
+     * @param processId
+     *            identifier of the top level process
+     * @param processInstanceId
+     *            identifier of the process instance
+     */
+    public void processInstanceEnded(SimulationModel model, String processId, int processInstanceId) {
+    }
+
+    /**
+     * Writes output for each of the given items on a worker pool and waits until all of them are done.
+     *
+     * @param items
+     *            the items to write output for, e.g. loggers or processes
+     * @param naming
+     *            function to name an item in error messages
+     * @param task
+     *            the writing routine to be run for each item
+     * @throws IOException
+     *             the first failure, with all further failures attached as suppressed exceptions
+     */
+    protected static <T> void runConcurrently(Collection<T> items, Function<T, String> naming, OutputTask<T> task)
+            throws IOException {
+        if (items.isEmpty()) {
+            return;
+        }
+        int numberOfThreads = Math.min(items.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            Map<String, Future<Void>> runningTasks = new LinkedHashMap<String, Future<Void>>();
+            for (T item : items) {
+                runningTasks.put(naming.apply(item), executor.submit(() -> {
+                    task.write(item);
+                    return null;
+                }));
+            }
+
+            IOException failure = null;
+            for (Map.Entry<String, Future<Void>> runningTask : runningTasks.entrySet()) {
+                String name = runningTask.getKey();
+                try {
+                    runningTask.getValue().get();
+                }
+                catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    DebugLogger.error("Writing output of " + name + " failed: " + cause.getMessage());
+                    cause.printStackTrace();
+                    if (failure == null) {
+                        failure = cause instanceof IOException ? (IOException) cause
+                                : new IOException("Writing output of " + name + " failed.", cause);
+                    }
+                    else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while writing output of " + name + ".", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Output writing routine for a single item, may throw {@link IOException}.
+     */
+    @FunctionalInterface
+    protected interface OutputTask<T> {
+
+        void write(T item) throws IOException;
+    }
 }
@@ -45,4 +45,38 @@ public abstract class EventSchedulingPluggable implements IPluggable, IEventSche
         return normalScheduleBehavior;
     }
 
+    /**
+     * Determines the time span after which the event would be scheduled, without scheduling it, e.g. to resolve a
+     * race between events before any of them is scheduled.<br>
+     * Plugins draw their samples here, so the event must be scheduled for exactly the returned time span, e.g. with
+     * {@link ScyllaEvent#schedule(TimeSpan)}, and must not be passed to {@link #runPlugins(ScyllaEvent, TimeSpan)}
+     * again.
+     * 
+     * @param timeSpan
+     *            the time span which the event would be scheduled for without plugins
+     * @return the time span of the first plugin which would change the scheduling of the event, the given time span
+     *         if there is none
+     */
+    public static TimeSpan runPeekDelayPlugins(ScyllaEvent event, TimeSpan timeSpan) throws ScyllaRuntimeException {
+        Iterator<? extends EventSchedulingPluggable> plugins = PluginLoader.dGetPlugins(EventSchedulingPluggable.class);
+        while (plugins.hasNext()) {
+            TimeSpan delay = plugins.next().peekDelay(event, timeSpan);
+            if (delay != null) {
+                return delay;
+            }
+        }
+        return timeSpan;
+    }
+
+    /**
+     * Peek counterpart of {@link #scheduleEvent(ScyllaEvent, TimeSpan)}, see
+     * {@link #runPeekDelayPlugins(ScyllaEvent, TimeSpan)}.
+     * 
+     * @return the time span after which this plugin would schedule the event, null if it does not change the
+     *         scheduling of the event
+     */
+    public TimeSpan peekDelay(ScyllaEvent event, TimeSpan timeSpan) throws ScyllaRuntimeException {
+        return null;
+    }
+
 }
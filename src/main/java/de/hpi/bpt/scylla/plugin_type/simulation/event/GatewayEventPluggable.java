@@ -1,6 +1,10 @@
 package de.hpi.bpt.scylla.plugin_type.simulation.event;
 
+import java.util.Iterator;
+import java.util.Set;
+
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
+import de.hpi.bpt.scylla.plugin_loader.PluginLoader;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.event.GatewayEvent;
 
@@ -11,4 +15,34 @@ public abstract class GatewayEventPluggable extends ScyllaEventPluggable<Gateway
 
         runPlugins(GatewayEventPluggable.class, desmojEvent, processInstance);
     }
+
+    /**
+     * Lets all plugins restrict the next nodes of the gateway before any events are created for them.
+     * 
+     * @param idsOfNextNodes
+     *            identifiers of all nodes following the gateway
+     * @return identifiers of the nodes for which events are created
+     */
+    public static Set<Integer> runNextNodeSelectionPlugins(GatewayEvent desmojEvent, ProcessInstance processInstance,
+            Set<Integer> idsOfNextNodes) throws ScyllaRuntimeException {
+
+        Iterator<GatewayEventPluggable> plugins = PluginLoader.dGetPlugins(GatewayEventPluggable.class);
+        while (plugins.hasNext()) {
+            idsOfNextNodes = plugins.next().selectNextNodes(desmojEvent, processInstance, idsOfNextNodes);
+        }
+        return idsOfNextNodes;
+    }
+
+    /**
+     * Called before the events for the next nodes are created, e.g. to decide on the branch of a split so that no
+     * events are created for the other branches. By default, all nodes are kept.
+     * 
+     * @param idsOfNextNodes
+     *            identifiers of the next nodes as selected by the plugins before
+     * @return identifiers of the nodes for which events are created
+     */
+    public Set<Integer> selectNextNodes(GatewayEvent desmojEvent, ProcessInstance processInstance,
+            Set<Integer> idsOfNextNodes) throws ScyllaRuntimeException {
+        return idsOfNextNodes;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package de.hpi.bpt.scylla.simulation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+
+/**
+ * Index of the scheduled events of all process instances by process model and node, i.e. of the nodes at which the
+ * process instances are currently active.<br>
+ * Events are added when they are scheduled and removed when they are canceled. Events which are no longer pending,
+ * see {@link ScyllaEvent#isPending()}, are filtered out on lookup and purged whenever the events of a node have
+ * doubled since the last purge, so the index stays proportional to the number of scheduled events.
+ *
+ */
+public class ActiveNodeIndex {
+
+    // process model : node id : events which have been scheduled for the node
+    private Map<ProcessModel, Map<Integer, NodeEntry>> entries = new HashMap<ProcessModel, Map<Integer, NodeEntry>>();
+
+    public void add(ScyllaEvent event) {
+        ProcessModel processModel = event.getProcessInstance().getProcessModel();
+        entries.computeIfAbsent(processModel, p -> new HashMap<Integer, NodeEntry>())
+                .computeIfAbsent(event.getNodeId(), n -> new NodeEntry())
+                .add(event);
+    }
+
+    public void remove(ScyllaEvent event) {
+        NodeEntry entry = getEntry(event.getProcessInstance().getProcessModel(), event.getNodeId());
+        if (entry != null) {
+            entry.events.remove(event);
+        }
+    }
+
+    /**
+     * @param processModel
+     *            process model of the node
+     * @param nodeId
+     *            identifier of the node
+     * @return the process instances of the process model which have an event scheduled for the node, in the order of
+     *         their first scheduled event
+     */
+    public Set<ProcessInstance> getProcessInstancesAt(ProcessModel processModel, int nodeId) {
+        NodeEntry entry = getEntry(processModel, nodeId);
+        if (entry == null) {
+            return new LinkedHashSet<ProcessInstance>();
+        }
+        entry.purge();
+        Set<ProcessInstance> processInstances = new LinkedHashSet<ProcessInstance>(2 * entry.events.size());
+        for (ScyllaEvent event : entry.events) {
+            processInstances.add(event.getProcessInstance());
+        }
+        return processInstances;
+    }
+
+    private NodeEntry getEntry(ProcessModel processModel, int nodeId) {
+        Map<Integer, NodeEntry> entriesOfProcessModel = entries.get(processModel);
+        if (entriesOfProcessModel == null) {
+            return null;
+        }
+        return entriesOfProcessModel.get(nodeId);
+    }
+
+    private static class NodeEntry {
+
+        private Set<ScyllaEvent> events = new LinkedHashSet<ScyllaEvent>();
+        private int sizeAfterLastPurge = 0;
+
+        void add(ScyllaEvent event) {
+            events.add(event);
+            if (events.size() > 2 * sizeAfterLastPurge + 16) {
+                purge();
+            }
+        }
+
+        void purge() {
+            Iterator<ScyllaEvent> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                if (!iterator.next().isPending()) {
+                    iterator.remove();
+                }
+            }
+            sizeAfterLastPurge = events.size();
+        }
+    }
+}
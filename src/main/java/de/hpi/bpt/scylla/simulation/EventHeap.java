@@ -0,0 +1,158 @@
+package de.hpi.bpt.scylla.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of entries which are due at points in time, ordered by time and then by sequence number, e.g. the events
+ * of the {@link EventKernel} and the patience deadlines of {@link QueueAbandonment}. The keys are also stored in
+ * primitive arrays, so comparing them does not touch the entries. Each entry knows its position in the heap, so it can
+ * be removed in logarithmic time.
+ *
+ * @param <E>
+ *            type of the entries
+ */
+class EventHeap<E extends EventHeap.Entry> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private Entry[] entries = new Entry[INITIAL_CAPACITY];
+    private int size = 0;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the entry which is due first, null if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    E first() {
+        return size == 0 ? null : (E) entries[0];
+    }
+
+    /**
+     * @return the point in time of the entry which is due first, the heap must not be empty
+     */
+    long firstTime() {
+        return times[0];
+    }
+
+    /**
+     * @param element
+     *            entry which is not held by a heap
+     * @param time
+     *            point in time at which the entry is due
+     * @param sequence
+     *            sequence number of the entry among the entries which are due at the same time
+     */
+    void add(E element, long time, long sequence) {
+        if (size == times.length) {
+            int capacity = 2 * size;
+            times = Arrays.copyOf(times, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+        }
+        Entry entry = element;
+        entry.time = time;
+        entry.sequence = sequence;
+        siftUp(size++, entry);
+    }
+
+    /**
+     * @return true if the entry was held by the heap and has been removed
+     */
+    boolean remove(E element) {
+        Entry entry = element;
+        int index = entry.index;
+        if (index < 0) {
+            return false;
+        }
+        entry.index = -1;
+        size--;
+        Entry last = entries[size];
+        entries[size] = null;
+        if (index < size) {
+            siftDown(index, last);
+            if (last.index == index) {
+                siftUp(index, last);
+            }
+        }
+        return true;
+    }
+
+    private boolean isBefore(long time, long sequence, int index) {
+        return time < times[index] || (time == times[index] && sequence < sequences[index]);
+    }
+
+    private void siftUp(int index, Entry entry) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBefore(entry.time, entry.sequence, parent)) {
+                break;
+            }
+            set(index, entries[parent]);
+            index = parent;
+        }
+        set(index, entry);
+    }
+
+    private void siftDown(int index, Entry entry) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && isBefore(times[child + 1], sequences[child + 1], child)) {
+                child++;
+            }
+            if (!isBefore(child, entry)) {
+                break;
+            }
+            set(index, entries[child]);
+            index = child;
+        }
+        set(index, entry);
+    }
+
+    private boolean isBefore(int index, Entry entry) {
+        return times[index] < entry.time || (times[index] == entry.time && sequences[index] < entry.sequence);
+    }
+
+    private void set(int index, Entry entry) {
+        times[index] = entry.time;
+        sequences[index] = entry.sequence;
+        entries[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * Position of an element in a heap.
+     */
+    abstract static class Entry {
+
+        private long time;
+        private long sequence;
+        private int index = -1;
+
+        /**
+         * @return true if the entry is held by a heap
+         */
+        boolean isHeld() {
+            return index >= 0;
+        }
+
+        long getTime() {
+            return time;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package de.hpi.bpt.scylla.simulation;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import desmoj.core.simulator.Event;
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.ExternalEvent;
+import desmoj.core.simulator.SchedulerAccess;
+import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeSpan;
+
+/**
+ * Lightweight event kernel which executes the events of process instances instead of the DesmoJ scheduler, i.e. all
+ * {@link de.hpi.bpt.scylla.simulation.event.ScyllaEvent}s and
+ * {@link de.hpi.bpt.scylla.simulation.event.ProcessInstanceGenerationEvent}s. The events stay DesmoJ events, so event
+ * routines and plug-ins are unchanged, but scheduling them does not create event notes or time instants: the kernel
+ * keeps them in an {@link EventHeap} which is keyed by the point in time in epsilon and a sequence number. Events for the same point in time are executed first in, first out, as in DesmoJ.<br>
+ * External events, e.g. resource availability changes and the end of the simulation, remain in the DesmoJ event list.
+ * A single step event in that list stands for the kernel: it executes the kernel events in order and advances the
+ * simulation clock until the next external event is due, then it reschedules itself. At the same point in time,
+ * external events are executed before the events of the kernel. As these external events are scheduled long in
+ * advance, this is the order DesmoJ would choose as well. External events which are scheduled while the simulation
+ * runs, e.g. the tick of the {@link TimerWheel}, are {@link ProxyEvent}s and are executed by the kernel, so that
+ * they keep the order in which they have been scheduled relative to the events of process instances.<br>
+ * The DesmoJ trace does not list the events of the kernel, only the notes which events send themselves. Events with
+ * zero delay are not run inline while the kernel is enabled, see {@link MicroStepQueue}.
+ *
+ */
+public class EventKernel {
+
+    private SimulationModel model;
+    private boolean enabled = false;
+
+    private EventHeap<Slot> heap = new EventHeap<Slot>();
+    // number of scheduled proxy events, see ProxyEvent
+    private int numberOfProxyEvents = 0;
+    private long nextSequence = 0;
+
+    private StepEvent stepEvent;
+    // point in time for which the step event is scheduled, negative if it is not scheduled
+    private long stepTime = -1;
+    private boolean running = false;
+
+    EventKernel(SimulationModel model) {
+        this.model = model;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled
+     *            true to execute the events of process instances by this kernel, must be set before the simulation
+     *            starts
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true if no event of a process instance is scheduled, proxy events do not count
+     */
+    public boolean isEmpty() {
+        return heap.size() == numberOfProxyEvents;
+    }
+
+    public void schedule(Slot slot, ProcessInstance who, TimeSpan timeSpan) {
+        schedule(slot, who, model.presentTime().getTimeInEpsilon() + timeSpan.getTimeInEpsilon());
+    }
+
+    public void schedule(Slot slot, ProcessInstance who, TimeInstant timeInstant) {
+        schedule(slot, who, timeInstant.getTimeInEpsilon());
+    }
+
+    /**
+     * Schedules the event of the slot for the given process instance. Like DesmoJ, events which are scheduled already
+     * or which would be executed in the past are skipped.
+     *
+     * @param slot
+     *            slot of the event
+     * @param who
+     *            process instance which is passed to the event routine, null for the slot of a {@link ProxyEvent}
+     * @param time
+     *            point in time in epsilon
+     */
+    public void schedule(Slot slot, ProcessInstance who, long time) {
+        schedule(slot, who, time, nextSequence++);
+    }
+
+    /**
+     * Like {@link #schedule(Slot, ProcessInstance, long)}, but the event is executed in the order of the given
+     * sequence number among the events which are due at the same time.
+     *
+     * @param sequence
+     *            a sequence number drawn by {@link #nextSequence()} before, e.g. when a timer has been scheduled, or
+     *            {@link Long#MIN_VALUE} to execute the event before all other events which are due at the same time
+     */
+    public void schedule(Slot slot, ProcessInstance who, long time, long sequence) {
+        if (slot.isScheduled()) {
+            DebugLogger.log("Event " + slot.getName() + " is scheduled already, skip.");
+            return;
+        }
+        if (time < model.presentTime().getTimeInEpsilon()) {
+            DebugLogger.log("Event " + slot.getName() + " would be executed in the past, skip.");
+            return;
+        }
+        slot.who = who;
+        if (who != null) {
+            who.addKernelSlot(slot);
+        }
+        else {
+            numberOfProxyEvents++;
+        }
+        heap.add(slot, time, sequence);
+        if (!running && (stepTime < 0 || time < stepTime)) {
+            scheduleStep(time);
+        }
+    }
+
+    /**
+     * @return a sequence number for an event which is scheduled later on, but shall be executed in the order of this
+     *         point in time among the events which are due at the same time
+     */
+    public long nextSequence() {
+        return nextSequence++;
+    }
+
+    /**
+     * @return true if the event of the slot was scheduled and has been removed
+     */
+    public boolean cancel(Slot slot) {
+        if (!slot.isScheduled()) {
+            return false;
+        }
+        remove(slot);
+        return true;
+    }
+
+    private void scheduleStep(long time) {
+        TimeInstant timeInstant = new TimeInstant(time, Experiment.getEpsilon());
+        if (stepEvent == null) {
+            stepEvent = new StepEvent(model);
+        }
+        if (stepTime >= 0) {
+            stepEvent.reSchedule(timeInstant);
+        }
+        else {
+            stepEvent.schedule(timeInstant);
+        }
+        stepTime = time;
+    }
+
+    /**
+     * Executes the events of the kernel in order until the next external event is due.
+     */
+    private void step() throws SuspendExecution {
+        stepTime = -1;
+        running = true;
+        try {
+            long presentTime = model.presentTime().getTimeInEpsilon();
+            while (!heap.isEmpty()) {
+                long time = heap.firstTime();
+                if (SchedulerAccess.getTimeOfNextEventInEpsilon(model) <= time) {
+                    scheduleStep(time);
+                    return;
+                }
+                if (time != presentTime) {
+                    SchedulerAccess.setPresentTime(model, new TimeInstant(time, Experiment.getEpsilon()));
+                    presentTime = time;
+                }
+                Slot slot = heap.first();
+                ProcessInstance who = slot.who;
+                remove(slot);
+                if (slot.proxyEvent != null) {
+                    slot.proxyEvent.eventRoutine();
+                }
+                else {
+                    slot.event.eventRoutine(who);
+                }
+            }
+        }
+        finally {
+            running = false;
+        }
+    }
+
+    private void remove(Slot slot) {
+        heap.remove(slot);
+        if (slot.who != null) {
+            slot.who.removeKernelSlot(slot);
+        }
+        else {
+            numberOfProxyEvents--;
+        }
+        slot.who = null;
+    }
+
+    /**
+     * Position of an event in the heap of the kernel, each event which can be scheduled by the kernel has one.
+     */
+    public static final class Slot extends EventHeap.Entry {
+
+        private final Event<ProcessInstance> event;
+        private final ProxyEvent proxyEvent;
+        private ProcessInstance who;
+
+        public Slot(Event<ProcessInstance> event) {
+            this.event = event;
+            this.proxyEvent = null;
+        }
+
+        Slot(ProxyEvent proxyEvent) {
+            this.event = null;
+            this.proxyEvent = proxyEvent;
+        }
+
+        public boolean isScheduled() {
+            return isHeld();
+        }
+
+        Event<ProcessInstance> getEvent() {
+            return event;
+        }
+
+        private String getName() {
+            return proxyEvent != null ? proxyEvent.getName() : event.getName();
+        }
+    }
+
+    private class StepEvent extends ExternalEvent {
+
+        StepEvent(SimulationModel owner) {
+            super(owner, "EventKernel", false);
+        }
+
+        @Override
+        public void eventRoutine() throws SuspendExecution {
+            step();
+        }
+    }
+}
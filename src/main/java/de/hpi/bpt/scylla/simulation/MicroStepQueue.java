@@ -0,0 +1,132 @@
+package de.hpi.bpt.scylla.simulation;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+import desmoj.core.simulator.ExternalEvent;
+import desmoj.core.simulator.SchedulerAccess;
+import desmoj.core.simulator.TimeSpan;
+
+/**
+ * Runs events with zero delay inline instead of passing them through the DesmoJ event list, if this does not change
+ * the order in which events are executed.<br>
+ * DesmoJ executes events for the same point in time first in, first out. An event with zero delay is therefore
+ * executed right after the current event if, and only if, no other event is scheduled for the present time. Only then
+ * it is accepted as the pending micro step; at most one micro step is pending at a time, every other event goes to the
+ * event list as before. The pending micro step is executed by a drain event, which takes the place of the micro step
+ * in the event list and keeps executing micro steps as long as their successors are accepted, too. If the event
+ * routine which accepts a micro step has nothing left to do afterwards, the micro step can be executed right away
+ * instead, see {@link #offer(ScyllaEvent, boolean)}.<br>
+ * Events which are traced are never run inline, so the DesmoJ trace stays complete. Neither are events which are
+ * executed by the {@link EventKernel}, which does not pass them through the DesmoJ event list anyway.
+ *
+ */
+public class MicroStepQueue {
+
+    private SimulationModel model;
+    private boolean enabled = false;
+
+    private ScyllaEvent pending;
+    private DrainEvent drainEvent;
+    private boolean draining = false;
+
+    MicroStepQueue(SimulationModel model) {
+        this.model = model;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Accepts the event as the pending micro step if it can be run inline without changing the order of events.
+     * 
+     * @param event
+     *            event which would be scheduled with zero delay, after the scheduling plug-ins have run
+     * @param runAfterRoutine
+     *            true if the current event routine ends right after scheduling, then the caller executes the micro
+     *            step with {@link #runPending()} instead of a drain event
+     * @return true if the event has been accepted and must not be scheduled
+     */
+    public boolean offer(ScyllaEvent event, boolean runAfterRoutine) {
+        if (!enabled || pending != null
+                || model.isTraced(event.getProcessInstance(), event.getNodeId(), event.getSimulationComponents())
+                || model.getEventKernel().isEnabled()
+                || SchedulerAccess.isEventScheduledUntil(model, model.presentTime())) {
+            return false;
+        }
+        pending = event;
+        model.getActiveNodeIndex().add(event);
+        if (!draining && !runAfterRoutine) {
+            if (drainEvent == null) {
+                drainEvent = new DrainEvent(model);
+            }
+            drainEvent.schedule(new TimeSpan(0));
+        }
+        return true;
+    }
+
+    /**
+     * Executes the pending micro step and the micro steps which follow from it. Does nothing if micro steps are being
+     * executed already, they are continued by the caller further up.
+     */
+    public void runPending() throws SuspendExecution {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            while (pending != null) {
+                ScyllaEvent event = pending;
+                pending = null;
+                event.eventRoutine(event.getProcessInstance());
+            }
+        }
+        finally {
+            draining = false;
+        }
+    }
+
+    public boolean hasPending() {
+        return pending != null;
+    }
+
+    public boolean isPending(ScyllaEvent event) {
+        return pending == event;
+    }
+
+    /**
+     * Removes the pending micro step, e.g. when it is canceled.
+     * 
+     * @return true if the event was the pending micro step
+     */
+    public boolean remove(ScyllaEvent event) {
+        if (pending != event) {
+            return false;
+        }
+        pending = null;
+        return true;
+    }
+
+    /**
+     * @return the pending micro step if it belongs to the process instance, otherwise null
+     */
+    ScyllaEvent getPendingOf(ProcessInstance processInstance) {
+        return pending != null && pending.getProcessInstance() == processInstance ? pending : null;
+    }
+
+    private class DrainEvent extends ExternalEvent {
+
+        DrainEvent(SimulationModel owner) {
+            super(owner, "MicroSteps", false);
+        }
+
+        @Override
+        public void eventRoutine() throws SuspendExecution {
+            runPending();
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package de.hpi.bpt.scylla.simulation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.model.process.ParallelJoin;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
 import de.hpi.bpt.scylla.simulation.event.TaskCancelEvent;
 import de.hpi.bpt.scylla.simulation.event.TaskEvent;
@@ -38,13 +42,28 @@ public class ProcessInstance extends Entity {
      */
     private Map<String, ResourceObjectTuple> assignedResources = new HashMap<String, ResourceObjectTuple>();
 
+    private static final long[] NO_JOIN_ARRIVALS = new long[0];
+
     /**
-     * map of graph node identifier of BPMN event to graph node identifiers of nodes which have triggered the BPMN event
+     * arrival bits of tokens at the parallel joins of the process model, laid out as described in {@link ParallelJoin}
      */
-    private Map<Integer, Set<Integer>> referenceToEventsOnHold = new HashMap<Integer, Set<Integer>>();
+    private long[] joinArrivals = NO_JOIN_ARRIVALS;
+
+    // events which are scheduled for this process instance by the event kernel, see EventKernel
+    private List<EventKernel.Slot> kernelSlots;
+    // events which are held by the timer wheel for this process instance, see TimerWheel
+    private List<TimerWheel.Timer> timers;
 
     private double startTime = 0;
 
+    private static final Object[] NO_DATA_OBJECT_VALUES = new Object[0];
+
+    /**
+     * values of data object fields, indexed by the slots of the fields which are assigned when the simulation
+     * configuration is parsed
+     */
+    private Object[] dataObjectValues = NO_DATA_OBJECT_VALUES;
+
     /**
      * Constructor.
      * 
@@ -105,8 +124,102 @@ public class ProcessInstance extends Entity {
         return assignedResources;
     }
 
-    public Map<Integer, Set<Integer>> getNodesAndTriggers() {
-        return referenceToEventsOnHold;
+    /**
+     * Records that a token from the given node has arrived at a parallel join. Once tokens from all nodes before the
+     * join have arrived, the arrivals are reset for the next round.
+     * 
+     * @param join
+     *            compiled join of the process model of this process instance
+     * @param fromNodeId
+     *            identifier of the node the token comes from
+     * @return true if the join fires
+     * @throws NodeNotFoundException
+     * @throws ScyllaValidationException
+     */
+    public boolean arriveAtJoin(ParallelJoin join, int fromNodeId)
+            throws NodeNotFoundException, ScyllaValidationException {
+        int bit = join.getBitOf(fromNodeId);
+        if (bit < 0) {
+            return false;
+        }
+        int firstWord = join.getFirstWord();
+        int numberOfWords = join.getNumberOfWords();
+        if (joinArrivals.length < firstWord + numberOfWords) {
+            joinArrivals = new long[processModel.getNumberOfJoinWords()];
+        }
+        joinArrivals[firstWord + (bit >>> 6)] |= 1L << bit;
+        for (int word = 0; word < numberOfWords; word++) {
+            if (joinArrivals[firstWord + word] != join.getExpectedMask(word)) {
+                return false;
+            }
+        }
+        Arrays.fill(joinArrivals, firstWord, firstWord + numberOfWords, 0L);
+        return true;
+    }
+
+    void addKernelSlot(EventKernel.Slot slot) {
+        if (kernelSlots == null) {
+            kernelSlots = new ArrayList<EventKernel.Slot>(4);
+        }
+        kernelSlots.add(slot);
+    }
+
+    void removeKernelSlot(EventKernel.Slot slot) {
+        kernelSlots.remove(slot);
+    }
+
+    void addTimer(TimerWheel.Timer timer) {
+        if (timers == null) {
+            timers = new ArrayList<TimerWheel.Timer>(4);
+        }
+        timers.add(timer);
+    }
+
+    void removeTimer(TimerWheel.Timer timer) {
+        timers.remove(timer);
+    }
+
+    /**
+     * @return true if an event is scheduled for this process instance, by DesmoJ or by the {@link EventKernel}, is
+     *         held by the {@link TimerWheel} or waits to be run inline, see {@link MicroStepQueue}
+     */
+    public boolean isPending() {
+        return isScheduled() || (kernelSlots != null && !kernelSlots.isEmpty()) || (timers != null && !timers.isEmpty())
+                || ((SimulationModel) getModel()).getMicroStepQueue().getPendingOf(this) != null;
+    }
+
+    /**
+     * @return the events which are pending for this process instance, see {@link #isPending()}: the scheduled events
+     *         in the order in which they are executed, followed by the timers in the order in which they are due
+     */
+    public List<EventAbstract> getPendingEvents() {
+        List<EventAbstract> pendingEvents = new ArrayList<EventAbstract>();
+        // an event which waits to be run inline comes before all scheduled events
+        ScyllaEvent pendingEvent = ((SimulationModel) getModel()).getMicroStepQueue().getPendingOf(this);
+        if (pendingEvent != null) {
+            pendingEvents.add(pendingEvent);
+        }
+        if (isScheduled()) {
+            pendingEvents.addAll(getScheduledEvents());
+        }
+        if (kernelSlots != null && !kernelSlots.isEmpty()) {
+            List<EventKernel.Slot> slots = new ArrayList<EventKernel.Slot>(kernelSlots);
+            slots.sort(Comparator.comparingLong(EventKernel.Slot::getTime)
+                    .thenComparingLong(EventKernel.Slot::getSequence));
+            for (EventKernel.Slot slot : slots) {
+                pendingEvents.add(slot.getEvent());
+            }
+        }
+        // timers follow in the order in which they are due
+        if (timers != null && !timers.isEmpty()) {
+            List<TimerWheel.Timer> sortedTimers = new ArrayList<TimerWheel.Timer>(timers);
+            sortedTimers.sort(Comparator.comparingLong(TimerWheel.Timer::getTime)
+                    .thenComparingLong(TimerWheel.Timer::getSequence));
+            for (TimerWheel.Timer timer : sortedTimers) {
+                pendingEvents.add(timer.getEvent());
+            }
+        }
+        return pendingEvents;
     }
 
     public double getStartTime() {
@@ -117,6 +230,29 @@ public class ProcessInstance extends Entity {
         this.startTime = startTime;
     }
 
+    /**
+     * @param slot
+     *            slot of the data object field
+     * @return current value of the data object field, <code>null</code> if it has not been set
+     */
+    public Object getDataObjectValue(int slot) {
+        return slot >= 0 && slot < dataObjectValues.length ? dataObjectValues[slot] : null;
+    }
+
+    public void setDataObjectValue(int slot, Object value) {
+        if (slot >= dataObjectValues.length) {
+            dataObjectValues = Arrays.copyOf(dataObjectValues, Math.max(slot + 1, dataObjectValues.length * 2));
+        }
+        dataObjectValues[slot] = value;
+    }
+
+    /**
+     * Releases the values of all data object fields, e.g. when the process instance has ended.
+     */
+    public void releaseDataObjectValues() {
+        dataObjectValues = NO_DATA_OBJECT_VALUES;
+    }
+
     // public double getTimeRelativeToSubProcessStart() {
     // return timeRelativeToSubProcessStart;
     // }
@@ -143,10 +279,11 @@ public class ProcessInstance extends Entity {
                 child.cancel();
             }
 
-            if (isScheduled()) {
-                List<EventAbstract> scheduledEvents = getScheduledEvents();
+            SimulationModel model = (SimulationModel) getModel();
+            if (isPending()) {
+                List<EventAbstract> pendingEvents = getPendingEvents();
                 List<ScyllaEvent> rescheduledEvents = new ArrayList<ScyllaEvent>();
-                for (EventAbstract e : scheduledEvents) {
+                for (EventAbstract e : pendingEvents) {
                     if (e instanceof TaskEvent) {
                         TaskEvent event = (TaskEvent) e;
 
@@ -155,7 +292,23 @@ public class ProcessInstance extends Entity {
                         rescheduledEvents.add(cancelEvent);
                     }
                 }
-                super.cancel();
+                ScyllaEvent pendingEvent = model.getMicroStepQueue().getPendingOf(this);
+                if (pendingEvent != null) {
+                    pendingEvent.cancel();
+                }
+                if (kernelSlots != null) {
+                    for (EventKernel.Slot slot : new ArrayList<EventKernel.Slot>(kernelSlots)) {
+                        model.getEventKernel().cancel(slot);
+                    }
+                }
+                if (timers != null) {
+                    for (TimerWheel.Timer timer : new ArrayList<TimerWheel.Timer>(timers)) {
+                        model.getTimerWheel().cancel(timer);
+                    }
+                }
+                if (isScheduled()) {
+                    super.cancel();
+                }
                 for (ScyllaEvent event : rescheduledEvents) {
                     TimeSpan timeSpan = new TimeSpan(0);
                     SimulationUtils.scheduleEvent(event, timeSpan);
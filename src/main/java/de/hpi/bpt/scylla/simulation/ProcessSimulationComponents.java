@@ -37,6 +37,8 @@ public class ProcessSimulationComponents {
     private Map<Integer, NumericalDist<?>> setUpDistributions = new HashMap<Integer, NumericalDist<?>>();
     private Map<Integer, TimeUnit> distributionTimeUnits = new HashMap<Integer, TimeUnit>();
     private Map<Integer, TimeUnit> setUpDistributionTimeUnits = new HashMap<Integer, TimeUnit>();
+    private Map<Integer, NumericalDist<?>> patienceDistributions = new HashMap<Integer, NumericalDist<?>>();
+    private Map<Integer, TimeUnit> patienceDistributionTimeUnits = new HashMap<Integer, TimeUnit>();
 
     private boolean showInReport;
     private boolean showInTrace;
@@ -72,6 +74,7 @@ public class ProcessSimulationComponents {
             Map<Integer, TimeDistributionWrapper> arrivalRates = simulationConfiguration.getArrivalRates();
             Map<Integer, TimeDistributionWrapper> durations = simulationConfiguration.getDurations();
             Map<Integer, TimeDistributionWrapper> setUpDurations = simulationConfiguration.getSetUpDurations();
+            Map<Integer, TimeDistributionWrapper> patienceDurations = simulationConfiguration.getPatienceDurations();
             Map<Integer, TimeDistributionWrapper> arrivalRatesAndDurations = new HashMap<Integer, TimeDistributionWrapper>();
 
             arrivalRatesAndDurations.putAll(arrivalRates);
@@ -79,9 +82,11 @@ public class ProcessSimulationComponents {
 
             setSmallestTimeUnit(arrivalRatesAndDurations);
             setSmallestTimeUnit(setUpDurations);
+            setSmallestTimeUnit(patienceDurations);
 
-            convertToDesmojDistributions(arrivalRatesAndDurations, false);
-            convertToDesmojDistributions(setUpDurations, true);
+            convertToDesmojDistributions(arrivalRatesAndDurations, distributions, distributionTimeUnits);
+            convertToDesmojDistributions(setUpDurations, setUpDistributions, setUpDistributionTimeUnits);
+            convertToDesmojDistributions(patienceDurations, patienceDistributions, patienceDistributionTimeUnits);
 
             extensionDistributions = DistributionConversionPluggable.runPlugins(this);
 
@@ -112,7 +117,8 @@ public class ProcessSimulationComponents {
         }
     }
 
-    private void convertToDesmojDistributions(Map<Integer, TimeDistributionWrapper> arrivalRatesAndDurations, boolean setUp)
+    private void convertToDesmojDistributions(Map<Integer, TimeDistributionWrapper> arrivalRatesAndDurations,
+            Map<Integer, NumericalDist<?>> desmojDistributions, Map<Integer, TimeUnit> desmojDistributionTimeUnits)
             throws InstantiationException {
         
         
@@ -127,13 +133,8 @@ public class ProcessSimulationComponents {
             desmojDist.setSeed(randomSeed);
             // XXX no conversion of distribution to target unit smallestTimeUnit during runtime required, desmoj does it
             // all
-            if (!setUp) {
-                distributions.put(nodeId, desmojDist);
-                distributionTimeUnits.put(nodeId, distTimeUnit);
-            } else {
-                setUpDistributions.put(nodeId, desmojDist);
-                setUpDistributionTimeUnits.put(nodeId, distTimeUnit);
-            }
+            desmojDistributions.put(nodeId, desmojDist);
+            desmojDistributionTimeUnits.put(nodeId, distTimeUnit);
         }
     }
 
@@ -259,6 +260,28 @@ public class ProcessSimulationComponents {
         return value;
     }
 
+    public double getPatienceDistributionSample(Integer nodeId) {
+        NumericalDist<?> patienceDistribution = patienceDistributions.get(nodeId);
+        if (patienceDistribution == null) {
+            String name = processModel.getIdentifiers().get(nodeId);
+            DebugLogger.log("No patience distribution found for node " + nodeId + ": " + name + ". "
+                    + "\nUse zero time interval.");
+            return 0d;
+        }
+        if (patienceDistribution instanceof ContDistErlang) {
+            // skip trace notes to avoid confusion, see getDistributionSample(Integer)
+            ContDistErlang dist = (ContDistErlang) patienceDistribution;
+            dist.skipTraceNote((int) dist.getOrder());
+        }
+        double value = patienceDistribution.sample().doubleValue();
+
+        if (value < 0) {
+            value = 0; // negative values are not allowed, DESMOJ can't handle negative event times
+        }
+
+        return value;
+    }
+
     public Map<Integer, NumericalDist<?>> getDistributions() {
         return distributions;
     }
@@ -279,6 +302,14 @@ public class ProcessSimulationComponents {
         return setUpdistributionTimeUnit;
     }
 
+    public TimeUnit getPatienceDistributionTimeUnit(Integer nodeId) {
+        TimeUnit patienceDistributionTimeUnit = patienceDistributionTimeUnits.get(nodeId);
+        if (patienceDistributionTimeUnit == null) {
+            patienceDistributionTimeUnit = TimeUnit.DAYS;
+        }
+        return patienceDistributionTimeUnit;
+    }
+
     public Map<Integer, TimeUnit> getDistributionTimeUnits() {
         return distributionTimeUnits;
     }
@@ -0,0 +1,74 @@
+package de.hpi.bpt.scylla.simulation;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.ExternalEvent;
+import desmoj.core.simulator.TimeInstant;
+
+/**
+ * External event which stands for a data structure of events, e.g. the {@link TimerWheel}: it is scheduled for the
+ * earliest point in time at which the data structure has something to do and is rescheduled whenever an earlier point
+ * in time comes up. It is not rescheduled for later points in time, it may therefore find nothing to do.<br>
+ * While the {@link EventKernel} is enabled, the kernel executes this event instead of the DesmoJ scheduler. Like the
+ * events of process instances, it is then executed in the order in which it has been scheduled if other events are due
+ * at the same point in time.
+ *
+ */
+abstract class ProxyEvent extends ExternalEvent {
+
+    private SimulationModel model;
+    private EventKernel.Slot kernelSlot = new EventKernel.Slot(this);
+    private boolean isFirst;
+    // point in time for which the event is scheduled, negative if it is not scheduled
+    private long time = -1;
+
+    /**
+     * @param isFirst
+     *            true if the event only hands over events to the kernel, it is then executed before all other events
+     *            which are due at the same time while the kernel is enabled
+     */
+    ProxyEvent(SimulationModel owner, String name, boolean showInTrace, boolean isFirst) {
+        super(owner, name, showInTrace);
+        this.model = owner;
+        this.isFirst = isFirst;
+    }
+
+    /**
+     * Schedules the event for the given point in time, unless it is scheduled for this or an earlier point in time
+     * already.
+     *
+     * @param time
+     *            point in time in epsilon
+     */
+    void scheduleAt(long time) {
+        if (this.time >= 0 && this.time <= time) {
+            return;
+        }
+        EventKernel eventKernel = model.getEventKernel();
+        if (eventKernel.isEnabled()) {
+            eventKernel.cancel(kernelSlot);
+            eventKernel.schedule(kernelSlot, null, time, isFirst ? Long.MIN_VALUE : eventKernel.nextSequence());
+        }
+        else {
+            TimeInstant timeInstant = new TimeInstant(time, Experiment.getEpsilon());
+            if (this.time >= 0) {
+                reSchedule(timeInstant);
+            }
+            else {
+                schedule(timeInstant);
+            }
+        }
+        this.time = time;
+    }
+
+    @Override
+    public final void eventRoutine() throws SuspendExecution {
+        time = -1;
+        run();
+    }
+
+    /**
+     * Does whatever the data structure has to do at the present time.
+     */
+    protected abstract void run() throws SuspendExecution;
+}
@@ -0,0 +1,180 @@
+package de.hpi.bpt.scylla.simulation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.model.configuration.ResourceReference;
+import de.hpi.bpt.scylla.model.configuration.SimulationConfiguration;
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
+import de.hpi.bpt.scylla.simulation.utils.SimulationUtils;
+import desmoj.core.simulator.TimeSpan;
+
+/**
+ * Abandonment of the event queues of the model by process instances which wait for resources.<br>
+ * Balking: a process instance does not join the queues of a task if one of them holds at least as many events as the
+ * balking threshold of the task. Reneging: a process instance leaves the queues of a task once it has waited for as
+ * long as its patience, which is sampled from the patience distribution of the task when it joins the queues.<br>
+ * The deadlines of all waiting process instances are kept in one {@link EventHeap} which is shared by the queues. A single
+ * deadline event stands for the heap in the event list, see {@link ProxyEvent}. It is scheduled for the earliest deadline. Deadlines of events
+ * which leave the queues early are removed from the heap but do not reschedule the deadline event, it may therefore find
+ * nothing to do.<br>
+ * Abandoned process instances are logged with {@link ProcessNodeTransitionType#ABANDON} and are canceled.
+ *
+ */
+public class QueueAbandonment {
+
+    private SimulationModel model;
+
+    private EventHeap<Deadline> deadlines = new EventHeap<Deadline>();
+    private long nextSequence = 0;
+    private Map<ScyllaEvent, Deadline> deadlinesByEvent = new HashMap<ScyllaEvent, Deadline>();
+
+    private DeadlineEvent deadlineEvent;
+
+    QueueAbandonment(SimulationModel model) {
+        this.model = model;
+    }
+
+    public boolean isEmpty() {
+        return deadlines.isEmpty();
+    }
+
+    /**
+     * @param event
+     *            event which is about to be added to the event queues
+     * @return true if one of the queues of the event holds at least as many events as the balking threshold of its
+     *         node
+     */
+    public boolean balks(ScyllaEvent event) {
+        SimulationConfiguration simulationConfiguration = event.getSimulationComponents()
+                .getSimulationConfiguration();
+        Integer balkingThreshold = simulationConfiguration.getBalkingThresholds().get(event.getNodeId());
+        if (balkingThreshold == null) {
+            return false;
+        }
+        for (ResourceReference resourceRef : simulationConfiguration.getResourceReferenceSet(event.getNodeId())) {
+            ScyllaEventQueue eventQueue = model.getEventQueues().get(resourceRef.getResourceId());
+            if (eventQueue.size() >= balkingThreshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Samples the patience of the process instance of an event which has been added to the event queues and tracks
+     * its deadline.
+     *
+     * @param event
+     *            event which has been added to the event queues, its node must have a patience distribution
+     */
+    public void add(ScyllaEvent event) {
+        if (deadlinesByEvent.containsKey(event)) {
+            return;
+        }
+        ProcessSimulationComponents simulationComponents = event.getSimulationComponents();
+        int nodeId = event.getNodeId();
+        double patience = simulationComponents.getPatienceDistributionSample(nodeId);
+        TimeUnit timeUnit = simulationComponents.getPatienceDistributionTimeUnit(nodeId);
+
+        Deadline deadline = new Deadline(event);
+        long time = model.presentTime().getTimeInEpsilon() + new TimeSpan(patience, timeUnit).getTimeInEpsilon();
+        deadlines.add(deadline, time, nextSequence++);
+        deadlinesByEvent.put(event, deadline);
+
+        scheduleDeadlineEvent(time);
+    }
+
+    /**
+     * Stops tracking the deadline of an event which has left the event queues.
+     */
+    public void remove(ScyllaEvent event) {
+        Deadline deadline = deadlinesByEvent.remove(event);
+        if (deadline != null) {
+            deadlines.remove(deadline);
+        }
+    }
+
+    /**
+     * Logs that the process instance of the event abandons the queues of its node, removes the event from the queues
+     * and cancels the process instance.
+     *
+     * @param event
+     *            event which is or would have been waiting in the event queues
+     */
+    public void abandon(ScyllaEvent event) {
+        model.removeFromEventQueues(event);
+
+        ProcessInstance processInstance = event.getProcessInstance();
+        ProcessModel processModel = processInstance.getProcessModel();
+        int nodeId = event.getNodeId();
+        long timestamp = Math.round(model.presentTime().getTimeRounded(DateTimeUtils.getReferenceTimeUnit()));
+        Set<String> resources = new HashSet<String>();
+        String processScopeNodeId = SimulationUtils.getProcessScopeNodeId(processModel, nodeId);
+        ProcessNodeInfo info = new ProcessNodeInfo(nodeId, processScopeNodeId, event.getSource(), timestamp,
+                event.getDisplayName(), resources, ProcessNodeTransitionType.ABANDON);
+        model.addNodeInfo(processModel, processInstance, info);
+
+        // the process instance leaves the process, like at the end of the simulation
+        while (processInstance.getParent() != null) {
+            processInstance = processInstance.getParent();
+        }
+        if (processInstance.isPending()) {
+            processInstance.cancel();
+        }
+    }
+
+    private void scheduleDeadlineEvent(long time) {
+        if (deadlineEvent == null) {
+            deadlineEvent = new DeadlineEvent(model);
+        }
+        deadlineEvent.scheduleAt(time);
+    }
+
+    /**
+     * Lets all process instances whose deadline has been reached abandon the queues.
+     */
+    private void expire() {
+        long now = model.presentTime().getTimeInEpsilon();
+        while (!deadlines.isEmpty() && deadlines.firstTime() <= now) {
+            Deadline deadline = deadlines.first();
+            deadlinesByEvent.remove(deadline.event);
+            deadlines.remove(deadline);
+            deadlineEvent.sendTraceNote("Patience of process instance " + deadline.event.getProcessInstance().getId()
+                    + " is exhausted, it abandons the queue of task " + deadline.event.getDisplayName() + ".");
+            abandon(deadline.event);
+        }
+        if (!deadlines.isEmpty()) {
+            scheduleDeadlineEvent(deadlines.firstTime());
+        }
+    }
+
+    private static final class Deadline extends EventHeap.Entry {
+
+        private final ScyllaEvent event;
+
+        Deadline(ScyllaEvent event) {
+            this.event = event;
+        }
+    }
+
+    private class DeadlineEvent extends ProxyEvent {
+
+        DeadlineEvent(SimulationModel owner) {
+            super(owner, "QueueAbandonment", owner.traceIsOn(), false);
+        }
+
+        @Override
+        protected void run() throws SuspendExecution {
+            expire();
+        }
+    }
+}
@@ -9,12 +9,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
-import de.hpi.bpt.scylla.logger.ResourceInfo;
 import de.hpi.bpt.scylla.logger.ResourceStatus;
 import de.hpi.bpt.scylla.model.configuration.ResourceReference;
 import de.hpi.bpt.scylla.model.global.resource.DynamicResource;
@@ -102,6 +102,33 @@ public class QueueManager {
     	return resourceObjects.keySet();
     }    
 
+    /**
+     * @param typeId
+     *            resource type
+     * @return the free resource instances of the type; instances polled from the queue are assigned until they are
+     *         added again
+     */
+    public Queue<ResourceObject> getResourceQueue(String typeId) {
+        return resourceObjects.get(typeId);
+    }
+
+    /**
+     * Changes the order in which the free resource instances of a type are kept, e.g. for resource assignment plugins
+     * which take the first instances of {@link #getResourceQueue(String)}. The order must not depend on state that
+     * changes while an instance is free.
+     * 
+     * @param typeId
+     *            resource type
+     * @param order
+     *            new order of the resource instances, the first one is polled first
+     */
+    public void setResourceOrder(String typeId, Comparator<? super ResourceObject> order) {
+        ResourceQueue oldQueue = resourceObjects.get(typeId);
+        ResourceQueue newQueue = new ResourceQueue(oldQueue.size(), order);
+        newQueue.addAll(oldQueue);
+        resourceObjects.put(typeId, newQueue);
+    }
+
     /**
      * Checks whether resource instances are available for the given event.
      * 
@@ -185,22 +212,8 @@ public class QueueManager {
             return null;
         }
 
-        // find timetable-matching instances per resource -> one match = one tuple
-        Map<String, List<ResourceObjectTuple>> tuplesPerResource = new HashMap<String, List<ResourceObjectTuple>>();
-        i = 0;
-        for (String resourceId : resourceIds) {
-            int amount = resourceAmountsRequired[i];
-            List<ResourceObject> resourceObjects = availableResourceObjects.get(resourceId);
-            List<ResourceObjectTuple> tuples = new ArrayList<ResourceObjectTuple>();
-            for (int index = 0; index < resourceObjects.size(); index++) {
-                tuples.addAll(findMatchingResourceObjects(resourceObjects, index, amount));
-            }
-            tuplesPerResource.put(resourceId, tuples);
-            i++;
-        }
-
-        // match tuples of different resource types
-        List<ResourceObjectTuple> matchingTuples = findMatchingResourceObjectTuples(tuplesPerResource, resourceIds);
+        List<ResourceObjectTuple> matchingTuples = findMatchingResourceObjectTuples(availableResourceObjects,
+                resourceIds, resourceAmountsRequired);
 
         if (matchingTuples.isEmpty()) { // no resources available
             return null;
@@ -255,13 +268,12 @@ public class QueueManager {
             // }
             // }
 
-            model.sendTraceNote("Assign resource " + resourceType + " (" + resourceId + ") to process instance "
-                    + processInstance.getName() + ", source: " + source);
+            model.sendTraceNote(processInstance, nodeId, resourceType, () -> "Assign resource " + resourceType + " ("
+                    + resourceId + ") to process instance " + processInstance.getName() + ", source: " + source);
 
             if (model.isOutputLoggingOn()) {
                 ResourceStatus status = ResourceStatus.IN_USE;
-                ResourceInfo info = new ResourceInfo(Math.round(timeOfLastAccess), status, processInstance, nodeId);
-                model.addResourceInfo(resourceType, resourceId, info);
+                model.addResourceTransition(resourceType, resourceId, Math.round(timeOfLastAccess), status);
             }
         }
         resourceObjectTuple.setAvgOfLastAccesses(timeOfLastAccess);
@@ -302,12 +314,14 @@ public class QueueManager {
         for (ResourceObject resourceObject : assignedResources) {
             String resourceId = resourceObject.getResourceType();
             resourceObjects.get(resourceId).offer(presentTime, resourceObject, processInstance, nodeId);
-            String traceNote = "Dissociate resource " + resourceId + " (" + resourceObject.getId()
-                    + ") from process instance " + processInstance.getName();
-            if (nameOfResponsibleEvent != null) {
-                traceNote += ", source: " + nameOfResponsibleEvent;
-            }
-            model.sendTraceNote(traceNote);
+            model.sendTraceNote(processInstance, nodeId, resourceId, () -> {
+                String traceNote = "Dissociate resource " + resourceId + " (" + resourceObject.getId()
+                        + ") from process instance " + processInstance.getName();
+                if (nameOfResponsibleEvent != null) {
+                    traceNote += ", source: " + nameOfResponsibleEvent;
+                }
+                return traceNote;
+            });
             resourceQueuesUpdated[i] = resourceId;
             i++;
         }
@@ -339,19 +353,46 @@ public class QueueManager {
         Set<ResourceObject> objects = new HashSet<ResourceObject>();
         Map<String, ResourceQueue> resources = getResourceObjects();
         for (String resourceType : resources.keySet()) {
-            ResourceQueue resourceQueue = resources.get(resourceType);
-            ResourceObject obj = resourceQueue.poll();
-            while (obj != null) {
-                objects.add(obj);
-                obj = resourceQueue.poll();
-            }
-            resourceQueue.addAll(objects);
+            // only iterate, the queues must stay untouched as output loggers may call this concurrently
+            objects.addAll(resources.get(resourceType));
         }
         return objects;
 
     }
     
 
+    /**
+     * Finds all combinations of resource instances which cover the required amounts of all given resource types and
+     * whose timetables intersect.
+     * 
+     * @param availableResourceObjects
+     *            available resource instances per resource type
+     * @param resourceIds
+     *            required resource types
+     * @param resourceAmountsRequired
+     *            required amount of each resource type, in the order of <code>resourceIds</code>
+     * @return tuples of matching resource instances along with their shared timetables, empty if there is no match
+     */
+    public static List<ResourceObjectTuple> findMatchingResourceObjectTuples(
+            Map<String, List<ResourceObject>> availableResourceObjects, String[] resourceIds,
+            int[] resourceAmountsRequired) {
+        // find timetable-matching instances per resource -> one match = one tuple
+        Map<String, List<ResourceObjectTuple>> tuplesPerResource = new HashMap<String, List<ResourceObjectTuple>>();
+        for (int i = 0; i < resourceIds.length; i++) {
+            String resourceId = resourceIds[i];
+            int amount = resourceAmountsRequired[i];
+            List<ResourceObject> resourceObjects = availableResourceObjects.get(resourceId);
+            List<ResourceObjectTuple> tuples = new ArrayList<ResourceObjectTuple>();
+            for (int index = 0; index < resourceObjects.size(); index++) {
+                tuples.addAll(findMatchingResourceObjects(resourceObjects, index, amount));
+            }
+            tuplesPerResource.put(resourceId, tuples);
+        }
+
+        // match tuples of different resource types
+        return findMatchingResourceObjectTuples(tuplesPerResource, resourceIds);
+    }
+
     private static List<ResourceObjectTuple> findMatchingResourceObjectTuples(Map<String, List<ResourceObjectTuple>> tuplesPerResource, String[] resourceIds) {
         List<ResourceObjectTuple> tuples = new ArrayList<ResourceObjectTuple>();
         List<ResourceObjectTuple> tuplesOfFirstResource = tuplesPerResource.get(resourceIds[0]);
@@ -17,6 +17,7 @@ public class ResourceObject {
 
     private String resourceType;
     private String id;
+    private String name;
     private double timeOfLastAccess = 0;
     // private long timeInUse = 0;
     // private long timeInUseOutOfTimetable = 0;
@@ -57,6 +58,16 @@ public class ResourceObject {
         return id;
     }
 
+    /**
+     * @return name of the resource instance as used in the logs, i.e. <code>resourceType_id</code>
+     */
+    public String getName() {
+        if (name == null) {
+            name = resourceType + "_" + id;
+        }
+        return name;
+    }
+
     public double getCost() {
         return cost;
     }
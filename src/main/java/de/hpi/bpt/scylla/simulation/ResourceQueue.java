@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 
-import de.hpi.bpt.scylla.logger.ResourceInfo;
 import de.hpi.bpt.scylla.logger.ResourceStatus;
 import de.hpi.bpt.scylla.model.global.resource.TimetableItem;
 import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
@@ -31,7 +30,7 @@ class ResourceQueue extends PriorityQueue<ResourceObject> {
      */
     public ResourceQueue(int capacity) {
         // sort by priority, ascending
-        super(capacity, new Comparator<ResourceObject>() {
+        this(capacity, new Comparator<ResourceObject>() {
             @Override
             public int compare(ResourceObject o1, ResourceObject o2) {
                 int prioComp = o2.getPriority() - o1.getPriority();
@@ -52,6 +51,18 @@ class ResourceQueue extends PriorityQueue<ResourceObject> {
         });
     }
 
+    /**
+     * Constructor.
+     * 
+     * @param capacity
+     *            size of resource queue
+     * @param order
+     *            order of the resource instances, the first one is polled first
+     */
+    public ResourceQueue(int capacity, Comparator<? super ResourceObject> order) {
+        super(Math.max(1, capacity), order);
+    }
+
     public boolean offer(TimeInstant returnTime, ResourceObject e, ProcessInstance processInstance, int nodeId) {
         double timeOfLastAccess = returnTime.getTimeAsDouble(DateTimeUtils.getReferenceTimeUnit());
         e.setTimeOfLastAccess(timeOfLastAccess);
@@ -61,8 +72,7 @@ class ResourceQueue extends PriorityQueue<ResourceObject> {
             String resourceType = e.getResourceType();
             String resourceId = e.getId();
             ResourceStatus status = ResourceStatus.FREE;
-            ResourceInfo info = new ResourceInfo(Math.round(timeOfLastAccess), status, processInstance, nodeId);
-            model.addResourceInfo(resourceType, resourceId, info);
+            model.addResourceTransition(resourceType, resourceId, Math.round(timeOfLastAccess), status);
         }
 
         return super.offer(e);
@@ -13,17 +13,27 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
 import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.logger.LoggingPolicy;
 import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
-import de.hpi.bpt.scylla.logger.ResourceInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.logger.ResourceBusyTimeSeries;
+import de.hpi.bpt.scylla.logger.ResourceStatus;
+import de.hpi.bpt.scylla.logger.ResourceUtilization;
+import de.hpi.bpt.scylla.logger.TraceFilter;
 import de.hpi.bpt.scylla.model.configuration.ResourceReference;
 import de.hpi.bpt.scylla.model.configuration.SimulationConfiguration;
 import de.hpi.bpt.scylla.model.global.CostVariantConfiguration;
 import de.hpi.bpt.scylla.model.global.GlobalConfiguration;
+import de.hpi.bpt.scylla.model.global.resource.DynamicResource;
+import de.hpi.bpt.scylla.model.global.resource.EmissionFactorSeries;
+import de.hpi.bpt.scylla.model.global.resource.Resource;
 import de.hpi.bpt.scylla.model.process.CommonProcessElements;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.plugin_type.logger.OutputLoggerPluggable;
 import de.hpi.bpt.scylla.plugin_type.parser.EventOrderType;
 import de.hpi.bpt.scylla.plugin_type.simulation.resource.ResourceQueueUpdatedPluggable;
 import de.hpi.bpt.scylla.simulation.event.ProcessInstanceGenerationEvent;
@@ -61,9 +71,23 @@ public class SimulationModel extends Model {
     private Map<String, ProcessSimulationComponents> pSimMap = new HashMap<String, ProcessSimulationComponents>();
 
     private Map<String, Map<Integer, List<ProcessNodeInfo>>> processNodeInfos = new TreeMap<String, Map<Integer, List<ProcessNodeInfo>>>();
-    private Map<String, Map<String, List<ResourceInfo>>> resourceInfos = new TreeMap<String, Map<String, List<ResourceInfo>>>();
+    // state changes of resource instances are accumulated in place instead of being logged one by one
+    private Map<String, Map<String, ResourceUtilization>> resourceUtilizations = new TreeMap<String, Map<String, ResourceUtilization>>();
+    private long resourceBusyTimeSeriesInterval = 0;
+    private Map<String, ResourceBusyTimeSeries> resourceBusyTimeSeries = new TreeMap<String, ResourceBusyTimeSeries>();
 
     private boolean outputLoggingIsOn = false;
+    private LoggingPolicy loggingPolicy = new LoggingPolicy();
+    private TraceFilter traceFilter = new TraceFilter();
+    // nodes of process instances which have been canceled, see isCanceled(ProcessInstance, int)
+    private Set<Long> canceledNodes = new HashSet<Long>();
+
+    private ActiveNodeIndex activeNodeIndex = new ActiveNodeIndex();
+    private MicroStepQueue microStepQueue = new MicroStepQueue(this);
+    private EventKernel eventKernel = new EventKernel(this);
+    private TimerWheel timerWheel;
+    private QueueAbandonment queueAbandonment;
+
     protected SimulationModel(Model owner, String name, boolean showInReport, boolean showInTrace) {
         super(owner, name, showInReport, showInTrace);
     }
@@ -224,6 +248,32 @@ public class SimulationModel extends Model {
         return eventQueues;
     }
 
+    public ActiveNodeIndex getActiveNodeIndex() {
+        return activeNodeIndex;
+    }
+
+    public MicroStepQueue getMicroStepQueue() {
+        return microStepQueue;
+    }
+
+    public EventKernel getEventKernel() {
+        return eventKernel;
+    }
+
+    public TimerWheel getTimerWheel() {
+        if (timerWheel == null) {
+            timerWheel = new TimerWheel(this);
+        }
+        return timerWheel;
+    }
+
+    public QueueAbandonment getQueueAbandonment() {
+        if (queueAbandonment == null) {
+            queueAbandonment = new QueueAbandonment(this);
+        }
+        return queueAbandonment;
+    }
+
     public Map<String, ProcessSimulationComponents> getDesmojObjectsMap() {
         return pSimMap;
     }
@@ -232,20 +282,135 @@ public class SimulationModel extends Model {
         return processNodeInfos;
     }
 
-    public Map<String, Map<String, List<ResourceInfo>>> getResourceInfos() {
-        return resourceInfos;
+    /**
+     * @return utilization of the resource instances which have changed their state at least once, by resource type and
+     *         resource instance identifier
+     */
+    public Map<String, Map<String, ResourceUtilization>> getResourceUtilizations() {
+        return resourceUtilizations;
+    }
+
+    /**
+     * @return number of busy resource instances over time by resource type, empty if no interval has been set
+     */
+    public Map<String, ResourceBusyTimeSeries> getResourceBusyTimeSeries() {
+        return resourceBusyTimeSeries;
+    }
+
+    public long getResourceBusyTimeSeriesInterval() {
+        return resourceBusyTimeSeriesInterval;
     }
 
-    public boolean addResourceInfo(String resourceType, String id, ResourceInfo info) {
-        if (!resourceInfos.containsKey(resourceType)) {
-            resourceInfos.put(resourceType, new TreeMap<String, List<ResourceInfo>>());
+    /**
+     * @param interval
+     *            length of the intervals of the busy count time series of the resource types in reference time units,
+     *            0 to not record the time series
+     */
+    public void setResourceBusyTimeSeriesInterval(long interval) {
+        this.resourceBusyTimeSeriesInterval = interval;
+    }
+
+    /**
+     * Replaces the process node and resource logs with read-only views once the simulation is finished. Afterwards,
+     * the logs can safely be read by several output loggers at the same time, while any attempt to add or change log
+     * entries fails with an {@link UnsupportedOperationException}.
+     */
+    public void freezeLogs() {
+        Map<String, Map<Integer, List<ProcessNodeInfo>>> frozenNodeInfos = new TreeMap<String, Map<Integer, List<ProcessNodeInfo>>>();
+        for (String processId : processNodeInfos.keySet()) {
+            Map<Integer, List<ProcessNodeInfo>> nodeInfosOfProcess = new TreeMap<Integer, List<ProcessNodeInfo>>();
+            for (Map.Entry<Integer, List<ProcessNodeInfo>> entry : processNodeInfos.get(processId).entrySet()) {
+                nodeInfosOfProcess.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            }
+            frozenNodeInfos.put(processId, Collections.unmodifiableMap(nodeInfosOfProcess));
         }
-        if (!resourceInfos.get(resourceType).containsKey(id)) {
-            resourceInfos.get(resourceType).put(id, new ArrayList<ResourceInfo>());
+        processNodeInfos = Collections.unmodifiableMap(frozenNodeInfos);
+        // sample data object values which have never been read now and in a fixed order, not by the loggers
+        for (Map<Integer, List<ProcessNodeInfo>> nodeInfosOfProcess : frozenNodeInfos.values()) {
+            for (List<ProcessNodeInfo> nodeInfosOfInstance : nodeInfosOfProcess.values()) {
+                for (ProcessNodeInfo info : nodeInfosOfInstance) {
+                    info.resolveDataObjectValues();
+                }
+            }
+        }
+
+        Map<String, Map<String, ResourceUtilization>> frozenResourceUtilizations = new TreeMap<String, Map<String, ResourceUtilization>>();
+        for (String resourceType : resourceUtilizations.keySet()) {
+            frozenResourceUtilizations.put(resourceType,
+                    Collections.unmodifiableMap(resourceUtilizations.get(resourceType)));
+        }
+        resourceUtilizations = Collections.unmodifiableMap(frozenResourceUtilizations);
+        resourceBusyTimeSeries = Collections.unmodifiableMap(resourceBusyTimeSeries);
+    }
+
+    /**
+     * Records a state change of a resource instance.
+     * 
+     * @param resourceType
+     *            type of the resource instance
+     * @param id
+     *            identifier of the resource instance
+     * @param timestamp
+     *            time relative to simulation start
+     * @param status
+     *            new state of the resource instance
+     */
+    public void addResourceTransition(String resourceType, String id, long timestamp, ResourceStatus status) {
+        Map<String, ResourceUtilization> utilizationsOfType = resourceUtilizations.get(resourceType);
+        if (utilizationsOfType == null) {
+            utilizationsOfType = new TreeMap<String, ResourceUtilization>();
+            resourceUtilizations.put(resourceType, utilizationsOfType);
+        }
+        ResourceUtilization utilization = utilizationsOfType.get(id);
+        if (utilization == null) {
+            EmissionFactorSeries emissionFactors = getEmissionFactors(resourceType, id);
+            if (emissionFactors != null) {
+                emissionFactors = emissionFactors.inTimeUnit(DateTimeUtils.getReferenceTimeUnit());
+            }
+            utilization = new ResourceUtilization(emissionFactors);
+            utilizationsOfType.put(id, utilization);
+        }
+        ResourceStatus previousStatus = utilization.getLastStatus();
+        utilization.addTransition(timestamp, status);
+
+        if (resourceBusyTimeSeriesInterval > 0) {
+            ResourceBusyTimeSeries series = resourceBusyTimeSeries.get(resourceType);
+            if (series == null) {
+                series = new ResourceBusyTimeSeries(resourceBusyTimeSeriesInterval);
+                resourceBusyTimeSeries.put(resourceType, series);
+            }
+            int delta = (status == ResourceStatus.IN_USE ? 1 : 0) - (previousStatus == ResourceStatus.IN_USE ? 1 : 0);
+            series.change(timestamp, delta);
         }
-        return resourceInfos.get(resourceType).get(id).add(info);
     }
 
+    /**
+     * @return emission factors of the resource instance, or of its resource type if the instance has none; null if
+     *         neither has emission factors
+     */
+    private EmissionFactorSeries getEmissionFactors(String resourceType, String id) {
+        if (globalConfiguration == null) {
+            return null;
+        }
+        Resource resource = globalConfiguration.getResources().get(resourceType);
+        if (!(resource instanceof DynamicResource)) {
+            return null;
+        }
+        return ((DynamicResource) resource).getEmissionFactors(id);
+    }
+
+    /**
+     * Adds a record to the business process-specific log. Output loggers are notified of every record, but the record
+     * is only kept in the log if the logging policy of the model accepts it.
+     * 
+     * @param processModel
+     *            process model of the node
+     * @param processInstance
+     *            process instance of the node
+     * @param nodeInfo
+     *            the record
+     * @return true if the record is kept in the log
+     */
     public boolean addNodeInfo(ProcessModel processModel, ProcessInstance processInstance, ProcessNodeInfo nodeInfo) {
         String processId = processModel.getId();
         ProcessModel parent = processModel.getParent();
@@ -255,6 +420,16 @@ public class SimulationModel extends Model {
         }
         int processInstanceId = processInstance.getId();
 
+        if (nodeInfo.getTransition() == ProcessNodeTransitionType.CANCEL) {
+            canceledNodes.add(canceledNodeKey(processInstanceId, nodeInfo.getId()));
+        }
+        OutputLoggerPluggable.runNodeInfoPlugins(this, processId, processInstanceId, nodeInfo);
+
+        if (!loggingPolicy.logsEverything() && !loggingPolicy.accepts(processId, processInstanceId,
+                processModel.getIdentifiers().get(nodeInfo.getId()), nodeInfo)) {
+            return false;
+        }
+
         if (!processNodeInfos.containsKey(processId)) {
             processNodeInfos.put(processId, new TreeMap<Integer, List<ProcessNodeInfo>>());
         }
@@ -265,6 +440,145 @@ public class SimulationModel extends Model {
         return nodeInfosOfProcess.get(processInstanceId).add(nodeInfo);
     }
 
+    /**
+     * Checks whether a node has been canceled in the given process instance. Unlike looking up
+     * {@link ProcessNodeTransitionType#CANCEL} records in the log, this does not depend on the logging policy.
+     * 
+     * @param processInstance
+     *            the process instance
+     * @param nodeId
+     *            identifier of the node
+     * @return true if a cancellation of the node has been logged for the process instance
+     */
+    public boolean isCanceled(ProcessInstance processInstance, int nodeId) {
+        return canceledNodes.contains(canceledNodeKey(processInstance.getId(), nodeId));
+    }
+
+    private static long canceledNodeKey(int processInstanceId, int nodeId) {
+        return ((long) processInstanceId << 32) | (nodeId & 0xffffffffL);
+    }
+
+    /**
+     * Checks whether DesmoJ trace notes about a node of a process instance are to be written. This is false whenever
+     * tracing is off, so trace messages should only be built if this returns true.
+     * 
+     * @param processInstance
+     *            the process instance
+     * @param nodeId
+     *            identifier of the node
+     * @param simulationComponents
+     *            simulation components of the process, provide the resource types required by the node
+     * @return true if the trace filter of the model lets the trace notes pass
+     */
+    public boolean isTraced(ProcessInstance processInstance, int nodeId,
+            ProcessSimulationComponents simulationComponents) {
+        return isTraced(processInstance, nodeId, simulationComponents, presentTime());
+    }
+
+    /**
+     * Checks whether DesmoJ trace notes about a node of a process instance are to be written at the given point in
+     * time, e.g. the time an event is scheduled for.
+     * 
+     * @param processInstance
+     *            the process instance
+     * @param nodeId
+     *            identifier of the node
+     * @param simulationComponents
+     *            simulation components of the process, provide the resource types required by the node
+     * @param timeInstant
+     *            point in time which is checked against the time window of the trace filter
+     * @return true if the trace filter of the model lets the trace notes pass
+     */
+    public boolean isTraced(ProcessInstance processInstance, int nodeId,
+            ProcessSimulationComponents simulationComponents, TimeInstant timeInstant) {
+        if (!traceIsOn()) {
+            return false;
+        }
+        if (traceFilter.matchesAll()) {
+            return true;
+        }
+        if (!isTraced(processInstance, nodeId, timeInstant)) {
+            return false;
+        }
+        if (!traceFilter.hasResourceTypes()) {
+            return true;
+        }
+        for (ResourceReference reference : simulationComponents.getSimulationConfiguration()
+                .getResourceReferenceSet(nodeId)) {
+            if (traceFilter.matchesResourceType(reference.getResourceId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether DesmoJ trace notes about a resource used at a node of a process instance are to be written.
+     * 
+     * @param processInstance
+     *            the process instance
+     * @param nodeId
+     *            identifier of the node
+     * @param resourceType
+     *            the resource type the trace note is about
+     * @return true if the trace filter of the model lets the trace notes pass
+     */
+    public boolean isTraced(ProcessInstance processInstance, int nodeId, String resourceType) {
+        if (!traceIsOn()) {
+            return false;
+        }
+        if (traceFilter.matchesAll()) {
+            return true;
+        }
+        return traceFilter.matchesResourceType(resourceType) && isTraced(processInstance, nodeId, presentTime());
+    }
+
+    /**
+     * Checks the trace filter except for its resource types.
+     */
+    private boolean isTraced(ProcessInstance processInstance, int nodeId, TimeInstant timeInstant) {
+        ProcessModel processModel = processInstance.getProcessModel();
+        long time = Math.round(timeInstant.getTimeRounded(DateTimeUtils.getReferenceTimeUnit()));
+        return traceFilter.matches(processInstance.getId(), processModel.getIdentifiers().get(nodeId),
+                processModel.getDisplayNames().get(nodeId), time);
+    }
+
+    /**
+     * Sends a DesmoJ trace note about a resource used at a node of a process instance. The message is only built if
+     * the note passes the trace filter.
+     * 
+     * @param processInstance
+     *            the process instance
+     * @param nodeId
+     *            identifier of the node
+     * @param resourceType
+     *            the resource type the trace note is about
+     * @param message
+     *            builds the trace message
+     */
+    public void sendTraceNote(ProcessInstance processInstance, int nodeId, String resourceType,
+            Supplier<String> message) {
+        if (isTraced(processInstance, nodeId, resourceType)) {
+            sendTraceNote(message.get());
+        }
+    }
+
+    public TraceFilter getTraceFilter() {
+        return traceFilter;
+    }
+
+    public void setTraceFilter(TraceFilter traceFilter) {
+        this.traceFilter = traceFilter;
+    }
+
+    public LoggingPolicy getLoggingPolicy() {
+        return loggingPolicy;
+    }
+
+    public void setLoggingPolicy(LoggingPolicy loggingPolicy) {
+        this.loggingPolicy = loggingPolicy;
+    }
+
     public ZonedDateTime getStartDateTime() {
         return startDateTime;
     }
@@ -286,7 +600,8 @@ public class SimulationModel extends Model {
     }
     
     /**
-     * Adds event to event queues.
+     * Adds event to event queues. If its node has a patience distribution, the process instance abandons the queues
+     * once its patience is exhausted, see {@link QueueAbandonment}.
      * 
      * @param event
      *            the event to be added to event queues
@@ -304,6 +619,9 @@ public class SimulationModel extends Model {
             ScyllaEventQueue eventQueue = eventQueues.get(resourceId);
             eventQueue.offer(event);
         }
+        if (simulationComponents.getSimulationConfiguration().getPatienceDurations().containsKey(nodeId)) {
+            getQueueAbandonment().add(event);
+        }
     }
     
     /**
@@ -395,6 +713,9 @@ public class SimulationModel extends Model {
                 return true;
             }
         }
+        if (microStepQueue.hasPending() || !eventKernel.isEmpty() || (timerWheel != null && !timerWheel.isEmpty())) {
+            return true;
+        }
         Collection<ScyllaEventQueue> eventQueues = getEventQueues().values();
         for (ScyllaEventQueue queue : eventQueues) {
             if (!queue.isEmpty()) {
@@ -436,6 +757,11 @@ public class SimulationModel extends Model {
                 }
             }
             queue.removeAll(eventsToRemove);
+            if (queueAbandonment != null) {
+                for (ScyllaEvent event : eventsToRemove) {
+                    queueAbandonment.remove(event);
+                }
+            }
         }
         return idsOfProcessInstancesToAbort;
     }
@@ -451,6 +777,9 @@ public class SimulationModel extends Model {
             ScyllaEventQueue eventQueue = getEventQueues().get(resourceId);
             eventQueue.remove(event);
         }
+        if (queueAbandonment != null) {
+            queueAbandonment.remove(event);
+        }
     }
     
 	/**
@@ -0,0 +1,355 @@
+package de.hpi.bpt.scylla.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import de.hpi.bpt.scylla.logger.DebugLogger;
+import de.hpi.bpt.scylla.simulation.event.ScyllaEvent;
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeSpan;
+
+/**
+ * Hierarchical timing wheel for events which are likely to be canceled before they are due, e.g. the timeouts of batch
+ * clusters and boundary events, see {@link ScyllaEvent#scheduleTimer(TimeSpan)}.<br>
+ * Timers are kept in the wheel and are only scheduled as events once they are about to become due, i.e. when the
+ * present time reaches the slot of one minute in which they are due. Until then, scheduling and canceling a timer
+ * takes constant time and does not touch the event list. The wheel has four levels of 64 slots each: a slot of level
+ * 0 spans one minute, a slot of level n spans all slots of level n-1. Timers are placed in the lowest level which
+ * covers their point in time and are moved down a level when the present time reaches their slot. Timers which are due
+ * after the last level are kept in an overflow list.<br>
+ * A single tick event stands for the wheel in the event list, see {@link ProxyEvent}. It is scheduled for the start of the next slot which
+ * holds timers. Canceled timers do not reschedule the tick event, it may therefore find nothing to do.<br>
+ * The wheel is only used if it is enabled, otherwise timers are scheduled as events right away. The events of timers
+ * keep the sequence number which the {@link EventKernel} gave them when the timers were scheduled. While the kernel is
+ * enabled, they are therefore executed in the same order as if they had been scheduled right away; the DesmoJ
+ * scheduler executes them after the events which have been scheduled for the same point in time in the meantime.
+ *
+ */
+public class TimerWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOTS = 64;
+    private static final int OVERFLOW = LEVELS;
+
+    private SimulationModel model;
+    private boolean enabled = false;
+
+    // width of a slot of each level in epsilon
+    private long[] widths = new long[LEVELS];
+    // first timer of each slot, the timers of a slot are doubly linked; the overflow list is the only slot of the last
+    // level
+    private Timer[][] heads = new Timer[LEVELS + 1][SLOTS];
+    // bit i is set if slot i of the level holds timers
+    private long[] occupied = new long[LEVELS];
+    // point in time up to which timers have been moved down or scheduled
+    private long cursor = 0;
+    private int size = 0;
+
+    private TickEvent tickEvent;
+
+    TimerWheel(SimulationModel model) {
+        this(model, Math.max(1, new TimeSpan(1, TimeUnit.MINUTES).getTimeInEpsilon()));
+    }
+
+    /**
+     * @param width
+     *            width of a slot of level 0 in epsilon
+     */
+    TimerWheel(SimulationModel model, long width) {
+        this.model = model;
+        for (int level = 0; level < LEVELS; level++) {
+            widths[level] = width;
+            width *= SLOTS;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled
+     *            true to hold timers in the wheel, must be set before the simulation starts
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Schedules the event of the timer for the given process instance once it is about to become due. Like DesmoJ,
+     * timers which are scheduled already are skipped.
+     *
+     * @param timer
+     *            timer of the event
+     * @param who
+     *            process instance for which the event is scheduled
+     * @param timeSpan
+     *            time span from now until the event is due
+     */
+    public void schedule(Timer timer, ProcessInstance who, TimeSpan timeSpan) {
+        if (timer.isScheduled()) {
+            DebugLogger.log("Timer of event " + timer.event.getName() + " is scheduled already, skip.");
+            return;
+        }
+        long now = model.presentTime().getTimeInEpsilon();
+        List<Timer> dueTimers = new ArrayList<Timer>();
+        advance(now, dueTimers);
+        timer.who = who;
+        who.addTimer(timer);
+        add(timer, now + timeSpan.getTimeInEpsilon(), model.getEventKernel().nextSequence(), dueTimers);
+        scheduleDueTimers(dueTimers);
+        scheduleTick();
+    }
+
+    /**
+     * Places the timer in the wheel, or collects it if it is due within the slot of level 0 of the cursor.
+     *
+     * @param time
+     *            point in time in epsilon at which the timer is due, must not be before the cursor
+     * @param sequence
+     *            sequence number of the timer among the timers which are due at the same time
+     */
+    void add(Timer timer, long time, long sequence, List<Timer> dueTimers) {
+        timer.time = time;
+        timer.sequence = sequence;
+        size++;
+        insert(timer, dueTimers);
+    }
+
+    /**
+     * @return true if the timer was held by the wheel and has been removed
+     */
+    public boolean cancel(Timer timer) {
+        if (!timer.isScheduled()) {
+            return false;
+        }
+        remove(timer);
+        return true;
+    }
+
+    private void remove(Timer timer) {
+        unlink(timer);
+        // timers which have been added without a process instance have no one to tell
+        if (timer.who != null) {
+            timer.who.removeTimer(timer);
+            timer.who = null;
+        }
+        size--;
+    }
+
+    /**
+     * Moves the cursor to the given point in time: the timers of all slots which have been reached are placed anew,
+     * timers which are due within the slot of level 0 of the new cursor are collected.
+     */
+    void advance(long now, List<Timer> dueTimers) {
+        long from = cursor;
+        cursor = now;
+        if (now / widths[0] == from / widths[0]) {
+            return;
+        }
+        List<Timer> reachedTimers = new ArrayList<Timer>();
+        if (heads[OVERFLOW][0] != null && now / widths[LEVELS - 1] != from / widths[LEVELS - 1]) {
+            collect(OVERFLOW, 0, reachedTimers);
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            long fromSlot = from / widths[level];
+            long toSlot = now / widths[level];
+            if (toSlot == fromSlot) {
+                break; // higher levels have not moved either
+            }
+            // the slot of the old cursor is empty, so at most the following 63 slots can hold timers
+            int count = (int) Math.min(toSlot - fromSlot, SLOTS - 1);
+            long reachedSlots = Long.rotateLeft((1L << count) - 1, (int) ((fromSlot + 1) & (SLOTS - 1)));
+            long slots = occupied[level] & reachedSlots;
+            while (slots != 0) {
+                int index = Long.numberOfTrailingZeros(slots);
+                slots &= slots - 1;
+                collect(level, index, reachedTimers);
+            }
+        }
+        for (Timer timer : reachedTimers) {
+            insert(timer, dueTimers);
+        }
+    }
+
+    private void collect(int level, int index, List<Timer> timers) {
+        Timer timer = heads[level][index];
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.level = -1;
+            timer.prev = null;
+            timer.next = null;
+            timers.add(timer);
+            timer = next;
+        }
+        heads[level][index] = null;
+        if (level < LEVELS) {
+            occupied[level] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Places the timer in the lowest level which covers its point in time relative to the cursor, or collects it if
+     * it is due within the slot of level 0 of the cursor.
+     */
+    private void insert(Timer timer, List<Timer> dueTimers) {
+        for (int level = 0; level < LEVELS; level++) {
+            long slot = timer.time / widths[level];
+            long cursorSlot = cursor / widths[level];
+            if (slot - cursorSlot < SLOTS) {
+                if (slot <= cursorSlot) {
+                    dueTimers.add(timer);
+                }
+                else {
+                    link(timer, level, (int) (slot & (SLOTS - 1)));
+                }
+                return;
+            }
+        }
+        link(timer, OVERFLOW, 0);
+    }
+
+    private void link(Timer timer, int level, int index) {
+        Timer head = heads[level][index];
+        timer.level = level;
+        timer.index = index;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        heads[level][index] = timer;
+        if (level < LEVELS) {
+            occupied[level] |= 1L << index;
+        }
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        }
+        else {
+            heads[timer.level][timer.index] = timer.next;
+            if (timer.next == null && timer.level < LEVELS) {
+                occupied[timer.level] &= ~(1L << timer.index);
+            }
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.level = -1;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    /**
+     * Schedules the events of the due timers in the order in which the timers are due and have been scheduled.
+     */
+    private void scheduleDueTimers(List<Timer> dueTimers) {
+        dueTimers.sort(Comparator.comparingLong(Timer::getTime).thenComparingLong(Timer::getSequence));
+        for (Timer timer : dueTimers) {
+            ProcessInstance who = timer.who;
+            timer.who.removeTimer(timer);
+            timer.who = null;
+            size--;
+            timer.event.schedule(who, new TimeInstant(timer.time, Experiment.getEpsilon()), timer.sequence);
+        }
+    }
+
+    /**
+     * Schedules the tick event for the start of the next slot which holds timers, if this is earlier than the point
+     * in time it is scheduled for.
+     */
+    private void scheduleTick() {
+        long next = getNextTickTime();
+        if (next == Long.MAX_VALUE) {
+            return;
+        }
+        if (tickEvent == null) {
+            tickEvent = new TickEvent(model);
+        }
+        tickEvent.scheduleAt(next);
+    }
+
+    /**
+     * @return the start of the next slot after the cursor which holds timers, {@link Long#MAX_VALUE} if the wheel
+     *         holds no timers
+     */
+    long getNextTickTime() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] != 0) {
+                long cursorSlot = cursor / widths[level];
+                long slots = Long.rotateRight(occupied[level], (int) ((cursorSlot + 1) & (SLOTS - 1)));
+                next = Math.min(next, (cursorSlot + 1 + Long.numberOfTrailingZeros(slots)) * widths[level]);
+            }
+        }
+        if (heads[OVERFLOW][0] != null) {
+            next = Math.min(next, (cursor / widths[LEVELS - 1] + 1) * widths[LEVELS - 1]);
+        }
+        return next;
+    }
+
+    private void tick() {
+        List<Timer> dueTimers = new ArrayList<Timer>();
+        advance(model.presentTime().getTimeInEpsilon(), dueTimers);
+        scheduleDueTimers(dueTimers);
+        scheduleTick();
+    }
+
+    /**
+     * Position of an event in the wheel, each event which is scheduled as a timer has one.
+     */
+    public static final class Timer {
+
+        private final ScyllaEvent event;
+        private ProcessInstance who;
+        private long time;
+        private long sequence;
+        // level and slot which hold the timer, the level is negative if the timer is not held by the wheel
+        private int level = -1;
+        private int index;
+        private Timer prev;
+        private Timer next;
+
+        public Timer(ScyllaEvent event) {
+            this.event = event;
+        }
+
+        public boolean isScheduled() {
+            return level >= 0;
+        }
+
+        ScyllaEvent getEvent() {
+            return event;
+        }
+
+        long getTime() {
+            return time;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+    }
+
+    private class TickEvent extends ProxyEvent {
+
+        TickEvent(SimulationModel owner) {
+            super(owner, "TimerWheel", false, true);
+        }
+
+        @Override
+        protected void run() throws SuspendExecution {
+            tick();
+        }
+    }
+}
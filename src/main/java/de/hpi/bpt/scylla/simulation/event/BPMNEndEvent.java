@@ -8,6 +8,7 @@ import co.paralleluniverse.fibers.SuspendExecution;
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.model.process.node.EventDefinitionType;
+import de.hpi.bpt.scylla.plugin_type.logger.OutputLoggerPluggable;
 import de.hpi.bpt.scylla.plugin_type.simulation.event.BPMNEndEventPluggable;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
@@ -93,6 +94,11 @@ public class BPMNEndEvent extends BPMNEvent {
 
             scheduleNextEvents();
 
+            if (processInstance.getParent() == null && !processInstance.isPending()) {
+                OutputLoggerPluggable.runProcessInstanceEndedPlugins(model, processModel.getId(),
+                        processInstance.getId());
+            }
+
             if (!model.isAnyEventScheduledOrQueued()) {
                 model.getExperiment().stop();
             }
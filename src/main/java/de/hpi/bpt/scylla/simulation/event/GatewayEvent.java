@@ -80,8 +80,10 @@ public class GatewayEvent extends ScyllaEvent {
             sendTraceNote(message);
 
             // default behavior: prepare DesmoJ events for nodes that follow after all outgoing flows
-            // i.e. for splits: default behavior is the one of a parallel gateway
-            for (Integer nextNodeId : idsOfNextNodes) {
+            // i.e. for splits: default behavior is the one of a parallel gateway, unless plugins choose the branches
+            Set<Integer> idsOfChosenNodes = GatewayEventPluggable.runNextNodeSelectionPlugins(this, processInstance,
+                    idsOfNextNodes);
+            for (Integer nextNodeId : idsOfChosenNodes) {
                 List<ScyllaEvent> events = SimulationUtils.createEventsForNextNode(this, pSimComponents,
                         processInstance, nextNodeId);
 
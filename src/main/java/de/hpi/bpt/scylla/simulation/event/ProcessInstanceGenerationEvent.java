@@ -10,6 +10,7 @@ import de.hpi.bpt.scylla.model.process.graph.exception.MultipleStartNodesExcepti
 import de.hpi.bpt.scylla.model.process.graph.exception.NoStartNodeException;
 import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.plugin_type.simulation.event.ProcessInstanceGenerationEventPluggable;
+import de.hpi.bpt.scylla.simulation.EventKernel;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
@@ -34,6 +35,8 @@ public class ProcessInstanceGenerationEvent extends Event<ProcessInstance> {
     private TimeSpan timeSpanToNextProcessInstance;
     private TimeSpan timeSpanToStartEvent;
 
+    private EventKernel.Slot kernelSlot = new EventKernel.Slot(this);
+
     public ProcessInstanceGenerationEvent(Model owner, String processId, Long endTimeRelativeToGlobalStart,
             boolean showInTrace) {
         super(owner, processId + "_ProcessInstanceGeneration", showInTrace);
@@ -101,6 +104,17 @@ public class ProcessInstanceGenerationEvent extends Event<ProcessInstance> {
         }
     }
 
+    @Override
+    public void schedule(ProcessInstance who, TimeSpan dt) {
+        EventKernel eventKernel = ((SimulationModel) getModel()).getEventKernel();
+        if (eventKernel.isEnabled()) {
+            eventKernel.schedule(kernelSlot, who, dt);
+        }
+        else {
+            super.schedule(who, dt);
+        }
+    }
+
     public String getProcessId() {
         return processId;
     }
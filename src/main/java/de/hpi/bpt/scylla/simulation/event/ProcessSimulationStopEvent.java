@@ -45,7 +45,7 @@ public class ProcessSimulationStopEvent extends ExternalEvent {
             for (Entity entity : entities) {
                 if (entity instanceof ProcessInstance) {
                     ProcessInstance processInstance = (ProcessInstance) entity;
-                    if (processInstance.isScheduled() && processId.equals(processInstance.getProcessModel().getId())) {
+                    if (processInstance.isPending() && processId.equals(processInstance.getProcessModel().getId())) {
                         processInstance.cancel();
 
                         idsOfProcessInstancesToAbort.add(processInstance.getId());
@@ -1,22 +1,23 @@
 package de.hpi.bpt.scylla.simulation.event;
 
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import co.paralleluniverse.fibers.SuspendExecution;
 import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
-import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
-import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.simulation.EventKernel;
+import de.hpi.bpt.scylla.simulation.MicroStepQueue;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
+import de.hpi.bpt.scylla.simulation.TimerWheel;
 import de.hpi.bpt.scylla.simulation.utils.SimulationUtils;
 import desmoj.core.simulator.Event;
 import desmoj.core.simulator.Model;
 import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeOperations;
 import desmoj.core.simulator.TimeSpan;
 
 /**
@@ -40,10 +41,14 @@ public abstract class ScyllaEvent extends Event<ProcessInstance> {
 
     private int nextEventIndex = 0;
 
+    private EventKernel.Slot kernelSlot = new EventKernel.Slot(this);
+    // created when the event is scheduled as a timer for the first time
+    private TimerWheel.Timer timer;
+
     public ScyllaEvent(Model owner, String source, TimeInstant simulationTimeOfSource,
             ProcessSimulationComponents desmojObjects, ProcessInstance processInstance, int nodeId) {
         super(owner, buildEventName(processInstance.getProcessModel(), processInstance.getId(), nodeId),
-                owner.traceIsOn());
+                ((SimulationModel) owner).isTraced(processInstance, nodeId, desmojObjects));
         this.source = source;
         this.simulationTimeOfSource = simulationTimeOfSource;
         this.pSimComponents = desmojObjects;
@@ -55,6 +60,18 @@ public abstract class ScyllaEvent extends Event<ProcessInstance> {
         }
     }
 
+    /**
+     * Sends a trace note, the message is only built if this event is traced.
+     * 
+     * @param message
+     *            builds the trace message
+     */
+    protected void sendTraceNote(Supplier<String> message) {
+        if (traceIsOn()) {
+            sendTraceNote(message.get());
+        }
+    }
+
     public static String buildEventName(ProcessModel processModel, int processInstanceId, int nodeId) {
         return prependProcessModelIds(processModel) + "PI" + processInstanceId + "_N" + nodeId;
     }
@@ -67,28 +84,31 @@ public abstract class ScyllaEvent extends Event<ProcessInstance> {
     }
 
     public void scheduleNextEvents() throws ScyllaRuntimeException, SuspendExecution {
+        scheduleNextEvents(false);
+    }
+
+    /**
+     * @param routineEndsHere
+     *            true if the event routine has nothing left to do afterwards, then a next event which is run inline is
+     *            executed right away, see {@link MicroStepQueue}
+     */
+    protected void scheduleNextEvents(boolean routineEndsHere) throws ScyllaRuntimeException, SuspendExecution {
+        SimulationModel model = (SimulationModel) getModel();
         for (int i : nextEventMap.keySet()) {
             ScyllaEvent nextEvent = nextEventMap.get(i);
-            SimulationModel model = (SimulationModel) nextEvent.getModel();
             TimeSpan timeSpanToNextEvent = timeSpanToNextEventMap.get(i);
             //if this is known as canceld don't schedule outgoing Elements of this
-            boolean alreadyCanceled = false;
-            Collection<Map<Integer, List<ProcessNodeInfo>>> allProcesses = model.getProcessNodeInfos().values();
-            for (Map<Integer, java.util	.List<ProcessNodeInfo>> process : allProcesses) {
-                List<ProcessNodeInfo> currentProcess = process.get(processInstance.getId());
-                for (ProcessNodeInfo task : currentProcess) {
-                    if (task.getId().equals(nodeId) && task.getTransition().equals(ProcessNodeTransitionType.CANCEL)){
-                        alreadyCanceled = true;
-                    }
-                }
-            }
+            boolean alreadyCanceled = model.isCanceled(processInstance, nodeId);
             if (!alreadyCanceled) {
-                SimulationUtils.scheduleEvent(nextEvent, timeSpanToNextEvent);
+                SimulationUtils.scheduleEventOrRunInline(nextEvent, timeSpanToNextEvent, routineEndsHere);
             }
         }
         // to make sure that one will not schedule events twice
         nextEventMap.clear();
         timeSpanToNextEventMap.clear();
+        if (routineEndsHere) {
+            model.getMicroStepQueue().runPending();
+        }
     }
 
 
@@ -143,4 +163,119 @@ public abstract class ScyllaEvent extends Event<ProcessInstance> {
     public void schedule(TimeSpan timeSpan) {
     	schedule(getProcessInstance(), timeSpan);
     }
+
+    // schedule on the event kernel if it is enabled and keep the index of active nodes up to date, see
+    // EventKernel and ActiveNodeIndex; the trace filter is checked against the time the event is due, not the time it
+    // has been created
+
+    @Override
+    public void schedule(ProcessInstance who) {
+        SimulationModel model = (SimulationModel) getModel();
+        applyTraceFilter(model, model.presentTime());
+        if (model.getEventKernel().isEnabled()) {
+            model.getEventKernel().schedule(kernelSlot, who, model.presentTime());
+        }
+        else {
+            super.schedule(who);
+        }
+        model.getActiveNodeIndex().add(this);
+    }
+
+    @Override
+    public void schedule(ProcessInstance who, TimeSpan dt) {
+        SimulationModel model = (SimulationModel) getModel();
+        applyTraceFilter(model, TimeOperations.add(model.presentTime(), dt));
+        if (model.getEventKernel().isEnabled()) {
+            model.getEventKernel().schedule(kernelSlot, who, dt);
+        }
+        else {
+            super.schedule(who, dt);
+        }
+        model.getActiveNodeIndex().add(this);
+    }
+
+    @Override
+    public void schedule(ProcessInstance who, TimeInstant instant) {
+        SimulationModel model = (SimulationModel) getModel();
+        applyTraceFilter(model, instant);
+        if (model.getEventKernel().isEnabled()) {
+            model.getEventKernel().schedule(kernelSlot, who, instant);
+        }
+        else {
+            super.schedule(who, instant);
+        }
+        model.getActiveNodeIndex().add(this);
+    }
+
+    /**
+     * Like {@link #schedule(ProcessInstance, TimeInstant)}, but while the {@link EventKernel} is enabled, the event is
+     * executed in the order of the given sequence number among the events which are due at the same time, e.g. of a
+     * timer which has become due, see {@link TimerWheel}.
+     * 
+     * @param sequence
+     *            sequence number drawn from the event kernel
+     */
+    public void schedule(ProcessInstance who, TimeInstant instant, long sequence) {
+        SimulationModel model = (SimulationModel) getModel();
+        applyTraceFilter(model, instant);
+        if (model.getEventKernel().isEnabled()) {
+            model.getEventKernel().schedule(kernelSlot, who, instant.getTimeInEpsilon(), sequence);
+        }
+        else {
+            super.schedule(who, instant);
+        }
+        model.getActiveNodeIndex().add(this);
+    }
+
+    private void applyTraceFilter(SimulationModel model, TimeInstant dueTime) {
+        if (!model.traceIsOn()) {
+            return;
+        }
+        if (model.isTraced(processInstance, nodeId, pSimComponents, dueTime)) {
+            traceOn();
+        }
+        else {
+            traceOff();
+        }
+    }
+
+    /**
+     * Schedules the event as a timer, which is held by the {@link TimerWheel} until it is about to become due. For
+     * events which are likely to be canceled or rescheduled before they are due, e.g. timeouts. If the wheel is not
+     * enabled, the event is scheduled right away.
+     * 
+     * @param timeSpan
+     *            time span from now until the event is due
+     */
+    public void scheduleTimer(TimeSpan timeSpan) {
+        if (!((SimulationModel) getModel()).getTimerWheel().isEnabled()) {
+            schedule(getProcessInstance(), timeSpan);
+            return;
+        }
+        if (timer == null) {
+            timer = new TimerWheel.Timer(this);
+        }
+        ((SimulationModel) getModel()).getTimerWheel().schedule(timer, getProcessInstance(), timeSpan);
+    }
+
+    @Override
+    public void cancel() {
+        SimulationModel model = (SimulationModel) getModel();
+        if (timer != null && model.getTimerWheel().cancel(timer)) {
+            return;
+        }
+        if (!model.getMicroStepQueue().remove(this) && !model.getEventKernel().cancel(kernelSlot)) {
+            super.cancel();
+        }
+        model.getActiveNodeIndex().remove(this);
+    }
+
+    /**
+     * @return true if the event is scheduled, by DesmoJ or by the {@link EventKernel}, is held by the
+     *         {@link TimerWheel} or waits to be run inline, see {@link MicroStepQueue}
+     */
+    public boolean isPending() {
+        return isScheduled() || kernelSlot.isScheduled() || (timer != null && timer.isScheduled())
+                || ((SimulationModel) getModel()).getMicroStepQueue().isPending(this);
+    }
 }
@@ -46,41 +46,14 @@ public class TaskBeginEvent extends TaskEvent {
         ProcessModel subProcess = processModel.getSubProcesses().get(nodeId);
         TaskType type = processModel.getTasks().get(nodeId);
 
-        String message = null;
-        if (subProcess != null) {
-            message = "Begin Subprocess: " + displayName;
-        }
-        else if (type == TaskType.DEFAULT) {
-            message = "Begin Default Task: " + displayName;
-        }
-        else if (type == TaskType.SERVICE) {
-            message = "Begin Service Task: " + displayName;
-        }
-        else if (type == TaskType.SEND) {
-            message = "Begin Send Task: " + displayName;
-        }
-        else if (type == TaskType.RECEIVE) {
-            message = "Begin Receive Task: " + displayName;
-        }
-        else if (type == TaskType.USER) {
-            message = "Begin User Task: " + displayName;
-        }
-        else if (type == TaskType.MANUAL) {
-            message = "Begin Manual Task: " + displayName;
-        }
-        else if (type == TaskType.BUSINESS_RULE) {
-            message = "Begin Business Rule: " + displayName;
-        }
-        else if (type == TaskType.SCRIPT) {
-            message = "Begin Script Task: " + displayName;
-        }
-        else {
+        String taskKind = getTaskKind(subProcess, type);
+        if (taskKind == null) {
             SimulationUtils.sendElementNotSupportedTraceNote(model, processModel, displayName, nodeId);
             SimulationUtils.abort(model, processInstance, nodeId, traceIsOn());
             return;
         }
 
-        sendTraceNote(message);
+        sendTraceNote(() -> "Begin " + taskKind + ": " + displayName);
 
         try {
 
@@ -120,7 +93,7 @@ public class TaskBeginEvent extends TaskEvent {
         Set<String> resources = new HashSet<String>();
         Set<ResourceObject> resourceObjects = processInstance.getAssignedResources().get(source).getResourceObjects();
         for (ResourceObject res : resourceObjects) {
-            String resourceName = res.getResourceType() + "_" + res.getId();
+            String resourceName = res.getName();
             resources.add(resourceName);
         }
         ProcessNodeTransitionType transition = ProcessNodeTransitionType.BEGIN;
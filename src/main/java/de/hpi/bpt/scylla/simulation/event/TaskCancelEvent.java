@@ -52,40 +52,13 @@ public class TaskCancelEvent extends TaskEvent {
             ProcessModel subProcess = processModel.getSubProcesses().get(nodeId);
             TaskType type = processModel.getTasks().get(nodeId);
 
-            String message = null;
-            if (subProcess != null) {
-                message = "Cancel Subprocess: " + displayName;
-            }
-            else if (type == TaskType.DEFAULT) {
-                message = "Cancel Default Task: " + displayName;
-            }
-            else if (type == TaskType.SERVICE) {
-                message = "Cancel Service Task: " + displayName;
-            }
-            else if (type == TaskType.SEND) {
-                message = "Cancel Send Task: " + displayName;
-            }
-            else if (type == TaskType.RECEIVE) {
-                message = "Cancel Receive Task: " + displayName;
-            }
-            else if (type == TaskType.USER) {
-                message = "Cancel User Task: " + displayName;
-            }
-            else if (type == TaskType.MANUAL) {
-                message = "Cancel Manual Task: " + displayName;
-            }
-            else if (type == TaskType.BUSINESS_RULE) {
-                message = "Cancel Business Rule: " + displayName;
-            }
-            else if (type == TaskType.SCRIPT) {
-                message = "Cancel Script Task: " + displayName;
-            }
-            else {
+            String taskKind = getTaskKind(subProcess, type);
+            if (taskKind == null) {
                 // TODO write to log because element not supported
                 SimulationUtils.abort(model, processInstance, nodeId, traceIsOn());
                 return;
             }
-            sendTraceNote(message);
+            sendTraceNote(() -> "Cancel " + taskKind + ": " + displayName);
 
             TaskCancelEventPluggable.runPlugins(this, processInstance);
 
@@ -111,7 +84,7 @@ public class TaskCancelEvent extends TaskEvent {
         Set<String> resources = new HashSet<String>();
         Set<ResourceObject> resourceObjects = processInstance.getAssignedResources().get(source).getResourceObjects();
         for (ResourceObject res : resourceObjects) {
-            String resourceName = res.getResourceType() + "_" + res.getId();
+            String resourceName = res.getName();
             resources.add(resourceName);
         }
         ProcessNodeTransitionType transition = ProcessNodeTransitionType.CANCEL;
@@ -8,11 +8,13 @@ import de.hpi.bpt.scylla.exception.ScyllaRuntimeException;
 import de.hpi.bpt.scylla.logger.DebugLogger;
 import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
 import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.model.configuration.SimulationConfiguration;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.model.process.node.TaskType;
 import de.hpi.bpt.scylla.plugin_type.simulation.event.TaskEnableEventPluggable;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
+import de.hpi.bpt.scylla.simulation.QueueAbandonment;
 import de.hpi.bpt.scylla.simulation.ResourceObjectTuple;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
 import de.hpi.bpt.scylla.simulation.utils.DateTimeUtils;
@@ -48,41 +50,14 @@ public class TaskEnableEvent extends TaskEvent {
         ProcessModel subProcess = processModel.getSubProcesses().get(nodeId);
         TaskType type = processModel.getTasks().get(nodeId);
 
-        String message = null;
-        if (subProcess != null) {
-            message = "Enable Subprocess: " + displayName;
-        }
-        else if (type == TaskType.DEFAULT) {
-            message = "Enable Default Task: " + displayName;
-        }
-        else if (type == TaskType.SERVICE) {
-            message = "Enable Service Task: " + displayName;
-        }
-        else if (type == TaskType.SEND) {
-            message = "Enable Send Task: " + displayName;
-        }
-        else if (type == TaskType.RECEIVE) {
-            message = "Enable Receive Task: " + displayName;
-        }
-        else if (type == TaskType.USER) {
-            message = "Enable User Task: " + displayName;
-        }
-        else if (type == TaskType.MANUAL) {
-            message = "Enable Manual Task: " + displayName;
-        }
-        else if (type == TaskType.BUSINESS_RULE) {
-            message = "Enable Business Rule: " + displayName;
-        }
-        else if (type == TaskType.SCRIPT) {
-            message = "Enable Script Task: " + displayName;
-        }
-        else {
+        String taskKind = getTaskKind(subProcess, type);
+        if (taskKind == null) {
             SimulationUtils.sendElementNotSupportedTraceNote(model, processModel, displayName, nodeId);
             SimulationUtils.abort(model, processInstance, nodeId, traceIsOn());
             return;
         }
 
-        sendTraceNote(message);
+        sendTraceNote(() -> "Enable " + taskKind + ": " + displayName);
 
         try {
 
@@ -93,8 +68,14 @@ public class TaskEnableEvent extends TaskEvent {
             ResourceObjectTuple resources = model.getResourceManager().getResourcesForEvent(beginEvent);
 
             if (resources == null) {
+                QueueAbandonment queueAbandonment = model.getQueueAbandonment();
+                if (queueAbandonment.balks(beginEvent)) {
+                    sendTraceNote(() -> "Queue of task " + displayName + " is too long, process instance balks.");
+                    queueAbandonment.abandon(beginEvent);
+                    return;
+                }
                 model.addToEventQueues(beginEvent);
-                sendTraceNote("Not enough resources available, task " + displayName + " is put in a queue.");
+                sendTraceNote(() -> "Not enough resources available, task " + displayName + " is put in a queue.");
             }
             else {
                 model.getResourceManager().assignResourcesToEvent(beginEvent, resources);
@@ -106,7 +87,7 @@ public class TaskEnableEvent extends TaskEvent {
 
             TaskEnableEventPluggable.runPlugins(this, processInstance);
 
-            scheduleNextEvents();
+            scheduleNextEvents(isFusedWithBeginEvent());
         }
         catch (ScyllaRuntimeException e) {
             DebugLogger.error(e.getMessage());
@@ -114,6 +95,16 @@ public class TaskEnableEvent extends TaskEvent {
         }
     }
     
+    /**
+     * @return true if the task requires neither resources nor a set-up, then its begin event is executed right after
+     *         this event whenever it can be run inline, see {@link de.hpi.bpt.scylla.simulation.MicroStepQueue}
+     */
+    private boolean isFusedWithBeginEvent() {
+        SimulationConfiguration simulationConfiguration = pSimComponents.getSimulationConfiguration();
+        return simulationConfiguration.getResourceReferenceSet(nodeId).isEmpty()
+                && !simulationConfiguration.getSetUpDurations().containsKey(nodeId);
+    }
+
     protected TaskBeginEvent createBeginEvent() {
         SimulationModel model = (SimulationModel) getModel();
         TimeInstant currentSimulationTime = model.presentTime();
@@ -1,6 +1,8 @@
 package de.hpi.bpt.scylla.simulation.event;
 
 import co.paralleluniverse.fibers.SuspendExecution;
+import de.hpi.bpt.scylla.model.process.ProcessModel;
+import de.hpi.bpt.scylla.model.process.node.TaskType;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.SimulationModel;
@@ -22,6 +24,46 @@ public abstract class TaskEvent extends ScyllaEvent {
 
     protected abstract void addToLog(ProcessInstance processInstance);
 
+    /**
+     * Names the kind of a task for trace notes.
+     * 
+     * @param subProcess
+     *            the subprocess of the task, <code>null</code> if the task is not a subprocess
+     * @param type
+     *            the type of the task
+     * @return the name, <code>null</code> if the type of task is not supported
+     */
+    protected static String getTaskKind(ProcessModel subProcess, TaskType type) {
+        if (subProcess != null) {
+            return "Subprocess";
+        }
+        else if (type == TaskType.DEFAULT) {
+            return "Default Task";
+        }
+        else if (type == TaskType.SERVICE) {
+            return "Service Task";
+        }
+        else if (type == TaskType.SEND) {
+            return "Send Task";
+        }
+        else if (type == TaskType.RECEIVE) {
+            return "Receive Task";
+        }
+        else if (type == TaskType.USER) {
+            return "User Task";
+        }
+        else if (type == TaskType.MANUAL) {
+            return "Manual Task";
+        }
+        else if (type == TaskType.BUSINESS_RULE) {
+            return "Business Rule";
+        }
+        else if (type == TaskType.SCRIPT) {
+            return "Script Task";
+        }
+        return null;
+    }
+
     @Override
     public void eventRoutine(ProcessInstance processInstance) throws SuspendExecution {
         SimulationModel model = (SimulationModel) getModel();
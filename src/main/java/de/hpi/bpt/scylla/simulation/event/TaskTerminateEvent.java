@@ -46,40 +46,13 @@ public class TaskTerminateEvent extends TaskEvent {
             ProcessModel subProcess = processModel.getSubProcesses().get(nodeId);
             TaskType type = processModel.getTasks().get(nodeId);
 
-            String message = null;
-            if (subProcess != null) {
-                message = "End of Subprocess: " + displayName;
-            }
-            else if (type == TaskType.DEFAULT) {
-                message = "End of Default Task: " + displayName;
-            }
-            else if (type == TaskType.SERVICE) {
-                message = "End of Service Task: " + displayName;
-            }
-            else if (type == TaskType.SEND) {
-                message = "End of Send Task: " + displayName;
-            }
-            else if (type == TaskType.RECEIVE) {
-                message = "End of Receive Task: " + displayName;
-            }
-            else if (type == TaskType.USER) {
-                message = "End of User Task: " + displayName;
-            }
-            else if (type == TaskType.MANUAL) {
-                message = "End of Manual Task: " + displayName;
-            }
-            else if (type == TaskType.BUSINESS_RULE) {
-                message = "End of Business Rule: " + displayName;
-            }
-            else if (type == TaskType.SCRIPT) {
-                message = "End of Script Task: " + displayName;
-            }
-            else {
+            String taskKind = getTaskKind(subProcess, type);
+            if (taskKind == null) {
                 // TODO write to log because element not supported
                 SimulationUtils.abort(model, processInstance, nodeId, traceIsOn());
                 return;
             }
-            sendTraceNote(message);
+            sendTraceNote(() -> "End of " + taskKind + ": " + displayName);
 
             // 1: check queues if there are any events waiting, schedule them first
             // 2: schedule event for next node
@@ -127,7 +100,7 @@ public class TaskTerminateEvent extends TaskEvent {
         Set<ResourceObject> resourceObjects = processInstance.getAssignedResources().get(source).getResourceObjects();
 
         for (ResourceObject res : resourceObjects) {
-            String resourceName = res.getResourceType() + "_" + res.getId();
+            String resourceName = res.getName();
             resources.add(resourceName);
         }
         ProcessNodeTransitionType transition = ProcessNodeTransitionType.TERMINATE;
@@ -142,12 +115,7 @@ public class TaskTerminateEvent extends TaskEvent {
             String processScopeNodeId = SimulationUtils.getProcessScopeNodeId(processModel, nodeId);
 
             // if task terminates correctly, cost drivers are assigned to it
-            List<String> costDrivers = new ArrayList<>();
-
-            Map<Integer, ArrayList<String>> costDriverMap = processModel.getActivityToCostDriverMap();
-            if (costDriverMap != null && costDriverMap.containsKey(nodeId)) {
-                costDrivers = costDriverMap.get(nodeId);
-            }
+            int[] costDrivers = processModel.getCostDriverIds(nodeId);
 
             ProcessNodeInfo info = new ProcessNodeInfo(nodeId, processScopeNodeId, source, timestamp, taskName, resources,
                     transition, costDrivers);
@@ -157,15 +125,6 @@ public class TaskTerminateEvent extends TaskEvent {
 
 
     private boolean alreadyCanceled(SimulationModel model){
-        Collection<Map<Integer, List<ProcessNodeInfo>>> allProcesses = model.getProcessNodeInfos().values();
-        for (Map<Integer, java.util	.List<ProcessNodeInfo>> process : allProcesses) {
-            List<ProcessNodeInfo> currentProcess = process.get(processInstance.getId());
-            for (ProcessNodeInfo task : currentProcess) {
-                if (task.getId().equals(nodeId) && task.getTransition().equals(ProcessNodeTransitionType.CANCEL)){
-                    return true;
-                }
-            }
-        }
-        return false;
+        return model.isCanceled(processInstance, nodeId);
     }
 }
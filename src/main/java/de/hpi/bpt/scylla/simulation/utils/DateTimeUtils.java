@@ -19,7 +19,6 @@ import java.util.concurrent.TimeUnit;
 
 import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
 import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
-import de.hpi.bpt.scylla.logger.ResourceInfo;
 import de.hpi.bpt.scylla.logger.ResourceStatus;
 import de.hpi.bpt.scylla.model.global.resource.TimetableItem;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
@@ -333,7 +332,7 @@ public class DateTimeUtils {
         Set<ResourceObject> resourceObjects = tuple.getResourceObjects();
 
         for (ResourceObject res : resourceObjects) {
-            String resourceName = res.getResourceType() + "_" + res.getId();
+            String resourceName = res.getName();
             resources.add(resourceName);
         }
 
@@ -384,11 +383,10 @@ public class DateTimeUtils {
                     // log idle during use
                     ResourceStatus status = ResourceStatus.IN_USE_IDLE;
                     long timeRelativeToStart = getTimeInstant(dateTime).getTimeRounded(timeUnit);
-                    ResourceInfo info = new ResourceInfo(timeRelativeToStart, status, processInstance, nodeId);
                     for (ResourceObject obj : tuple.getResourceObjects()) {
                         String resourceType = obj.getResourceType();
                         String resourceId = obj.getId();
-                        model.addResourceInfo(resourceType, resourceId, info);
+                        model.addResourceTransition(resourceType, resourceId, timeRelativeToStart, status);
                     }
 
                     ProcessNodeTransitionType transition = ProcessNodeTransitionType.PAUSE;
@@ -410,11 +408,10 @@ public class DateTimeUtils {
                     // log back to work
                     ResourceStatus status = ResourceStatus.IN_USE;
                     long timeRelativeToStart = getTimeInstant(dateTime).getTimeRounded(timeUnit);
-                    ResourceInfo info = new ResourceInfo(timeRelativeToStart, status, processInstance, nodeId);
                     for (ResourceObject obj : tuple.getResourceObjects()) {
                         String resourceType = obj.getResourceType();
                         String resourceId = obj.getId();
-                        model.addResourceInfo(resourceType, resourceId, info);
+                        model.addResourceTransition(resourceType, resourceId, timeRelativeToStart, status);
                     }
 
                     ProcessNodeTransitionType transition = ProcessNodeTransitionType.RESUME;
@@ -4,10 +4,8 @@ import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import co.paralleluniverse.fibers.SuspendExecution;
@@ -25,12 +23,14 @@ import de.hpi.bpt.scylla.model.configuration.distribution.PoissonDistribution;
 import de.hpi.bpt.scylla.model.configuration.distribution.TriangularDistribution;
 import de.hpi.bpt.scylla.model.configuration.distribution.UniformDistribution;
 import de.hpi.bpt.scylla.model.global.resource.TimetableItem;
+import de.hpi.bpt.scylla.model.process.ParallelJoin;
 import de.hpi.bpt.scylla.model.process.ProcessModel;
 import de.hpi.bpt.scylla.model.process.graph.exception.NodeNotFoundException;
 import de.hpi.bpt.scylla.model.process.node.EventType;
 import de.hpi.bpt.scylla.model.process.node.GatewayType;
 import de.hpi.bpt.scylla.plugin_type.simulation.EventCreationPluggable;
 import de.hpi.bpt.scylla.plugin_type.simulation.EventSchedulingPluggable;
+import de.hpi.bpt.scylla.simulation.MicroStepQueue;
 import de.hpi.bpt.scylla.simulation.ProcessInstance;
 import de.hpi.bpt.scylla.simulation.ProcessSimulationComponents;
 import de.hpi.bpt.scylla.simulation.ResourceObject;
@@ -96,22 +96,13 @@ public class SimulationUtils {
 
             GatewayType gType = processModel.getGateways().get(nextNodeId);
 
-            Set<Integer> idsOfNodesBeforeGateway = processModel.getIdsOfPreviousNodes(nextNodeId);
+            ParallelJoin join = gType == GatewayType.PARALLEL ? processModel.getParallelJoin(nextNodeId) : null;
 
-            if (gType == GatewayType.PARALLEL && idsOfNodesBeforeGateway.size() > 1) {
-                Map<Integer, Set<Integer>> referenceToEventsOnHold = processInstance.getNodesAndTriggers();
-                if (!referenceToEventsOnHold.containsKey(nextNodeId)) {
-                    referenceToEventsOnHold.put(nextNodeId, new HashSet<Integer>());
-                }
-                Set<Integer> nodesTriggeredFrom = referenceToEventsOnHold.get(nextNodeId);
-                int currentNodeId = currentEvent.getNodeId();
-                nodesTriggeredFrom.add(currentNodeId);
-                if (idsOfNodesBeforeGateway.equals(nodesTriggeredFrom)) {
+            if (join != null) {
+                if (processInstance.arriveAtJoin(join, currentEvent.getNodeId())) {
                     ScyllaEvent event = new GatewayEvent(model, source, currentSimulationTime, desmojObjects,
                             processInstance, nextNodeId);
                     events.add(event);
-                    // clear list of fired incoming flows
-                    referenceToEventsOnHold.remove(nextNodeId);
                 }
             }
             else {
@@ -172,6 +163,37 @@ public class SimulationUtils {
         }
     }
 
+    /**
+     * Like {@link #scheduleEvent(ScyllaEvent, TimeSpan)}, but the event is scheduled as a timer, see
+     * {@link ScyllaEvent#scheduleTimer(TimeSpan)}.
+     */
+    public static void scheduleTimer(ScyllaEvent event, TimeSpan timeSpan) throws ScyllaRuntimeException {
+        boolean normalBehavior = EventSchedulingPluggable.runPlugins(event, timeSpan);
+        if (normalBehavior) {
+            event.scheduleTimer(timeSpan);
+        }
+    }
+
+    /**
+     * Like {@link #scheduleEvent(ScyllaEvent, TimeSpan)}, but an event with zero delay which no plug-in has
+     * scheduled on its own may be run inline instead, see {@link MicroStepQueue}.
+     * 
+     * @param routineEndsHere
+     *            true if the calling event routine has nothing left to do after scheduling
+     */
+    public static void scheduleEventOrRunInline(ScyllaEvent event, TimeSpan timeSpan, boolean routineEndsHere)
+            throws ScyllaRuntimeException {
+        boolean normalBehavior = EventSchedulingPluggable.runPlugins(event, timeSpan);
+        if (normalBehavior) {
+            SimulationModel model = (SimulationModel) event.getModel();
+            if (timeSpan.getTimeInEpsilon() == 0 && model.getMicroStepQueue().offer(event, routineEndsHere)) {
+                return;
+            }
+            ProcessInstance processInstance = event.getProcessInstance();
+            event.schedule(processInstance, timeSpan);
+        }
+    }
+
     /**
      * Aborts the simulation of the given process instance.
      * 
@@ -0,0 +1,412 @@
+package desmoj.core.simulator;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Calendar queue (R. Brown, 1988) as event list of a DesmoJ experiment, see
+ * {@link SchedulerAccess#useEventList(Experiment, EventList)}.<br>
+ * Event notes are hashed by their time into buckets of a fixed width, like days into a calendar, and every bucket
+ * keeps its notes sorted by time. The number of buckets follows the number of notes and the width is adapted to the
+ * time between the earliest notes, so inserting a note and removing the first note take amortized constant time
+ * instead of time logarithmic in the number of scheduled events.<br>
+ * Notes for the same point in time always share a bucket. Among them, notes with a higher priority come first and
+ * notes with the same priority are kept first in, first out, like in the default event list.<br>
+ * Looking up the neighbours of a note, see {@link #nextNote(EventNote)}, {@link #prevNote(EventNote)} and
+ * {@link #lastNote()}, takes linear time, as DesmoJ only needs it to schedule events relative to other events.<br>
+ * Like the default event list, the list registers each note with its entities and its event when the note is
+ * inserted and deregisters it when the note is removed, so that {@link Schedulable#isScheduled()} and canceling
+ * work as usual.
+ *
+ */
+public class CalendarEventList extends EventList {
+
+    private static final int MIN_BUCKETS = 16;
+    // number of notes from which the width of the buckets is estimated
+    private static final int SAMPLE_SIZE = 64;
+
+    private Node[] heads;
+    private Node[] tails;
+    private int mask;
+    // width of a bucket in epsilon
+    private long width;
+    private int size;
+    private Map<EventNote, Node> nodes;
+
+    // first note, null if it has to be searched
+    private Node first;
+    // no note is scheduled before this point in time, the search for the first note starts here
+    private long lowerBound;
+
+    public CalendarEventList() {
+        reset();
+    }
+
+    @Override
+    EventNote firstNote() {
+        Node node = findFirst();
+        return node == null ? null : node.note;
+    }
+
+    @Override
+    void removeFirst() {
+        Node node = findFirst();
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    @Override
+    boolean remove(EventNote note) {
+        Node node = nodes.get(note);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    @Override
+    void insert(EventNote note) {
+        insertSorted(new Node(note));
+    }
+
+    @Override
+    void insertAfter(EventNote where, EventNote note) {
+        Node node = new Node(note);
+        Node whereNode = nodes.get(where);
+        if (whereNode == null || whereNode.time != node.time) {
+            insertSorted(node);
+            return;
+        }
+        link(whereNode, node);
+    }
+
+    @Override
+    void insertBefore(EventNote where, EventNote note) {
+        Node node = new Node(note);
+        Node whereNode = nodes.get(where);
+        if (whereNode == null || whereNode.time != node.time) {
+            insertSorted(node);
+            return;
+        }
+        link(whereNode.prev, node);
+    }
+
+    @Override
+    void insertAsFirst(EventNote note) {
+        Node node = new Node(note);
+        Node previous = tails[bucketOf(node.time)];
+        while (previous != null && previous.time >= node.time) {
+            previous = previous.prev;
+        }
+        link(previous, node);
+    }
+
+    @Override
+    void insertAsLast(EventNote note) {
+        Node node = new Node(note);
+        Node previous = tails[bucketOf(node.time)];
+        while (previous != null && previous.time > node.time) {
+            previous = previous.prev;
+        }
+        link(previous, node);
+    }
+
+    @Override
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    EventNote lastNote() {
+        Node last = null;
+        for (Node tail : tails) {
+            if (tail != null && (last == null || tail.time > last.time)) {
+                last = tail;
+            }
+        }
+        return last == null ? null : last.note;
+    }
+
+    @Override
+    EventNote nextNote(EventNote origin) {
+        Node originNode = nodes.get(origin);
+        if (originNode == null) {
+            return null;
+        }
+        if (originNode.next != null && originNode.next.time == originNode.time) {
+            return originNode.next.note;
+        }
+        // earliest note after the point in time of the origin
+        Node next = null;
+        for (Node head : heads) {
+            for (Node node = head; node != null; node = node.next) {
+                if (node.time > originNode.time) {
+                    if (next == null || node.time < next.time) {
+                        next = node;
+                    }
+                    break;
+                }
+            }
+        }
+        return next == null ? null : next.note;
+    }
+
+    @Override
+    EventNote prevNote(EventNote origin) {
+        Node originNode = nodes.get(origin);
+        if (originNode == null) {
+            return null;
+        }
+        if (originNode.prev != null && originNode.prev.time == originNode.time) {
+            return originNode.prev.note;
+        }
+        // latest note before the point in time of the origin
+        Node previous = null;
+        for (Node tail : tails) {
+            for (Node node = tail; node != null; node = node.prev) {
+                if (node.time < originNode.time) {
+                    if (previous == null || node.time > previous.time) {
+                        previous = node;
+                    }
+                    break;
+                }
+            }
+        }
+        return previous == null ? null : previous.note;
+    }
+
+    boolean contains(EventNote note) {
+        return nodes.containsKey(note);
+    }
+
+    void reset() {
+        heads = new Node[MIN_BUCKETS];
+        tails = new Node[MIN_BUCKETS];
+        mask = MIN_BUCKETS - 1;
+        width = 1;
+        size = 0;
+        nodes = new IdentityHashMap<EventNote, Node>();
+        first = null;
+        lowerBound = 0;
+    }
+
+    boolean removeAll() {
+        boolean wasEmpty = isEmpty();
+        for (EventNote note : nodes.keySet()) {
+            deregister(note);
+        }
+        reset();
+        return !wasEmpty;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarEventList[" + size + " notes in " + heads.length + " buckets of width " + width + "]";
+    }
+
+    private int bucketOf(long time) {
+        return (int) ((time / width) & mask);
+    }
+
+    private void insertSorted(Node node) {
+        Node previous = tails[bucketOf(node.time)];
+        while (previous != null
+                && (previous.time > node.time || (previous.time == node.time && previous.priority < node.priority))) {
+            previous = previous.prev;
+        }
+        link(previous, node);
+    }
+
+    /**
+     * Links the node into its bucket right after the given node, as head of the bucket if that is null.
+     */
+    private void link(Node previous, Node node) {
+        nodes.put(node.note, node);
+        register(node.note);
+        size++;
+        linkIntoBucket(previous, node);
+        if (node.time < lowerBound) {
+            lowerBound = node.time;
+        }
+        // the first note is always the head of its bucket
+        if (first != null && node.prev == null && node.time <= first.time) {
+            first = node;
+        }
+        if (size > 2 * heads.length) {
+            resize(heads.length * 2);
+        }
+    }
+
+    private void linkIntoBucket(Node previous, Node node) {
+        int bucket = bucketOf(node.time);
+        node.prev = previous;
+        node.next = previous == null ? heads[bucket] : previous.next;
+        if (node.prev == null) {
+            heads[bucket] = node;
+        }
+        else {
+            node.prev.next = node;
+        }
+        if (node.next == null) {
+            tails[bucket] = node;
+        }
+        else {
+            node.next.prev = node;
+        }
+    }
+
+    private void unlink(Node node) {
+        nodes.remove(node.note);
+        deregister(node.note);
+        size--;
+        int bucket = bucketOf(node.time);
+        if (node.prev == null) {
+            heads[bucket] = node.next;
+        }
+        else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tails[bucket] = node.prev;
+        }
+        else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        if (first == node) {
+            first = null;
+        }
+        if (size < heads.length / 2 && heads.length > MIN_BUCKETS) {
+            resize(heads.length / 2);
+        }
+    }
+
+    private static void register(EventNote note) {
+        Entity who1 = note.getEntity1();
+        Entity who2 = note.getEntity2();
+        Entity who3 = note.getEntity3();
+        EventAbstract what = note.getEvent();
+        if (who1 != null) {
+            who1.addEventNote(note);
+        }
+        if (who2 != null) {
+            who2.addEventNote(note);
+        }
+        if (who3 != null) {
+            who3.addEventNote(note);
+        }
+        if (what != null) {
+            what.addEventNote(note);
+        }
+    }
+
+    private static void deregister(EventNote note) {
+        Entity who1 = note.getEntity1();
+        Entity who2 = note.getEntity2();
+        Entity who3 = note.getEntity3();
+        EventAbstract what = note.getEvent();
+        if (who1 != null) {
+            who1.removeEventNote(note);
+        }
+        if (who2 != null) {
+            who2.removeEventNote(note);
+        }
+        if (who3 != null) {
+            who3.removeEventNote(note);
+        }
+        if (what != null) {
+            what.removeEventNote(note);
+        }
+    }
+
+    private Node findFirst() {
+        if (first != null || size == 0) {
+            return first;
+        }
+        // walk through the days of one year, starting with the day of the lower bound
+        int bucket = bucketOf(lowerBound);
+        long endOfDay = (lowerBound / width + 1) * width;
+        for (int i = 0; i < heads.length; i++) {
+            Node head = heads[bucket];
+            if (head != null && head.time < endOfDay) {
+                first = head;
+                break;
+            }
+            bucket = (bucket + 1) & mask;
+            endOfDay += width;
+        }
+        if (first == null) { // no note within a year, search all buckets
+            for (Node head : heads) {
+                if (head != null && (first == null || head.time < first.time)) {
+                    first = head;
+                }
+            }
+        }
+        lowerBound = first.time;
+        return first;
+    }
+
+    private void resize(int numberOfBuckets) {
+        long newWidth = estimateWidth();
+        Node[] oldHeads = heads;
+        heads = new Node[numberOfBuckets];
+        tails = new Node[numberOfBuckets];
+        mask = numberOfBuckets - 1;
+        width = newWidth;
+        // notes for the same point in time come from the same bucket and keep their order
+        for (Node head : oldHeads) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                Node previous = tails[bucketOf(node.time)];
+                while (previous != null && previous.time > node.time) {
+                    previous = previous.prev;
+                }
+                linkIntoBucket(previous, node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * @return three times the average distance between the earliest notes in a sample, at least 1
+     */
+    private long estimateWidth() {
+        long[] sample = new long[Math.min(size, SAMPLE_SIZE)];
+        int sampled = 0;
+        int bucket = bucketOf(lowerBound);
+        for (int i = 0; i < heads.length && sampled < sample.length; i++) {
+            for (Node node = heads[bucket]; node != null && sampled < sample.length; node = node.next) {
+                sample[sampled++] = node.time;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        Arrays.sort(sample, 0, sampled);
+        // ignore the later half, it may contain notes far in the future
+        int earliest = (sampled + 1) / 2;
+        if (earliest < 2) {
+            return width;
+        }
+        long averageDistance = (sample[earliest - 1] - sample[0]) / (earliest - 1);
+        return Math.max(1, 3 * averageDistance);
+    }
+
+    private static class Node {
+
+        private final EventNote note;
+        private final long time;
+        private final int priority;
+        private Node prev;
+        private Node next;
+
+        Node(EventNote note) {
+            this.note = note;
+            this.time = note.getTime().getTimeInEpsilon();
+            this.priority = note.getPriority();
+        }
+    }
+}
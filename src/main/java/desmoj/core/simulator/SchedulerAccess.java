@@ -0,0 +1,69 @@
+package desmoj.core.simulator;
+
+/**
+ * Access to the event list and the clock of the DesmoJ scheduler, which DesmoJ only exposes within this package.
+ *
+ */
+public final class SchedulerAccess {
+
+    private SchedulerAccess() {
+    }
+
+    /**
+     * @param model
+     *            model which is connected to a running experiment
+     * @param timeInstant
+     *            a point in time, usually the present time
+     * @return true if any event of the experiment is scheduled for the given point in time or earlier
+     */
+    public static boolean isEventScheduledUntil(Model model, TimeInstant timeInstant) {
+        EventNote first = model.getExperiment().getScheduler().evList.firstNote();
+        return first != null && !TimeInstant.isAfter(first.getTime(), timeInstant);
+    }
+
+    /**
+     * @param model
+     *            model which is connected to a running experiment
+     * @return the point in time of the next event in the event list in epsilon, the event which is being executed
+     *         does not count; {@link Long#MAX_VALUE} if no other event is scheduled
+     */
+    public static long getTimeOfNextEventInEpsilon(Model model) {
+        Scheduler scheduler = model.getExperiment().getScheduler();
+        EventNote note = scheduler.evList.firstNote();
+        if (note != null && note.getEvent() == scheduler.getCurrentEvent()) {
+            note = scheduler.evList.nextNote(note);
+        }
+        return note == null ? Long.MAX_VALUE : note.getTime().getTimeInEpsilon();
+    }
+
+    /**
+     * Advances the simulation clock of the experiment, e.g. for events which are not executed by the DesmoJ
+     * scheduler.
+     * 
+     * @param model
+     *            model which is connected to a running experiment
+     * @param timeInstant
+     *            the new present time, must not be before the present time or after the next event in the event list
+     */
+    public static void setPresentTime(Model model, TimeInstant timeInstant) {
+        model.getExperiment().getSimClock().setTime(timeInstant);
+    }
+
+    /**
+     * Replaces the event list of the experiment, e.g. by a {@link CalendarEventList}.
+     * 
+     * @param experiment
+     *            experiment for which nothing has been scheduled yet
+     * @param eventList
+     *            an empty event list
+     * @throws IllegalStateException
+     *             if events have been scheduled already
+     */
+    public static void useEventList(Experiment experiment, EventList eventList) {
+        Scheduler scheduler = experiment.getScheduler();
+        if (!scheduler.evList.isEmpty()) {
+            throw new IllegalStateException("Events have been scheduled already, the event list cannot be replaced.");
+        }
+        scheduler.evList = eventList;
+    }
+}
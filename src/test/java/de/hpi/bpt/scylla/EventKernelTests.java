@@ -0,0 +1,91 @@
+package de.hpi.bpt.scylla;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Validates the {@link de.hpi.bpt.scylla.simulation.EventKernel} against DesmoJ: sample models with a fixed seed are
+ * simulated once by DesmoJ and once by the kernel, and the output logs must be the same.
+ *
+ */
+public class EventKernelTests {
+
+	/**
+	 * The batch model holds its clusters until a timeout, the abandonment model lets instances renege at patience
+	 * deadlines which coincide with arrivals and task ends; the deadlines are run by an external event which is
+	 * scheduled while the simulation runs
+	 */
+	@ParameterizedTest(name = "{3}")
+	@CsvSource({
+		"samples/, p0_globalconf.xml, p0_costvariant.xml, p1_boundary.bpmn, p1_boundary_sim.xml",
+		"samples/, p0_globalconf.xml, p0_costvariant.xml, p2_normal.bpmn, p2_normal_sim.xml",
+		"samples/, p0_globalconf.xml, p0_costvariant.xml, p3_subproc.bpmn, p3_subproc_sim.xml",
+		"samples/, p0_globalconf.xml, p0_costvariant.xml, p4_parallel.bpmn, p4_parallel_sim.xml",
+		"samples/, p56_conf.xml, p0_costvariant.xml, p5_batch.bpmn, p5_batch_sim.xml",
+		"src/test/resources/core/queueAbandonment/, QueueAbandonmentGlobalConfiguration.xml, QueueAbandonmentCostVariantConfiguration.xml, claim_process_queue.bpmn, claim_process_queue_configuration.xml"
+	})
+	public void testNativeKernelWritesSameLogsAsDesmoJ(String folder, String globalConfiguration, String costVariantConfiguration, String processModel, String simulationConfiguration) throws IOException {
+		Map<String, byte[]> desmojLogs = runSimulation(folder, globalConfiguration, costVariantConfiguration, processModel, simulationConfiguration, false, false);
+		Map<String, byte[]> kernelLogs = runSimulation(folder, globalConfiguration, costVariantConfiguration, processModel, simulationConfiguration, true, false);
+		assertSameLogs(desmojLogs, kernelLogs);
+	}
+
+	/**
+	 * With the native kernel, the events of timers which the {@link de.hpi.bpt.scylla.simulation.TimerWheel} has held
+	 * keep the order in which they have been scheduled, so the logs must be the same as without the wheel
+	 */
+	@ParameterizedTest(name = "{3}")
+	@CsvSource({
+		"samples/, p0_globalconf.xml, p0_costvariant.xml, p1_boundary.bpmn, p1_boundary_sim.xml",
+		"samples/, p56_conf.xml, p0_costvariant.xml, p5_batch.bpmn, p5_batch_sim.xml"
+	})
+	public void testTimerWheelKeepsOrderOfEvents(String folder, String globalConfiguration, String costVariantConfiguration, String processModel, String simulationConfiguration) throws IOException {
+		Map<String, byte[]> logs = runSimulation(folder, globalConfiguration, costVariantConfiguration, processModel, simulationConfiguration, true, false);
+		Map<String, byte[]> timerWheelLogs = runSimulation(folder, globalConfiguration, costVariantConfiguration, processModel, simulationConfiguration, true, true);
+		assertSameLogs(logs, timerWheelLogs);
+	}
+
+	private static void assertSameLogs(Map<String, byte[]> expectedLogs, Map<String, byte[]> actualLogs) {
+		assertFalse(expectedLogs.isEmpty());
+		assertEquals(expectedLogs.keySet(), actualLogs.keySet());
+		for (String fileName : expectedLogs.keySet()) {
+			assertArrayEquals(expectedLogs.get(fileName), actualLogs.get(fileName), fileName + " differs");
+		}
+	}
+
+	/**
+	 * @return the contents of the XES and XML logs by file name
+	 */
+	private static Map<String, byte[]> runSimulation(String folder, String globalConfiguration, String costVariantConfiguration, String processModel, String simulationConfiguration, boolean useNativeEventKernel, boolean useTimerWheel) throws IOException {
+		File outputFolder = Files.createTempDirectory("scylla_kernel").toFile();
+		File output = new File(outputFolder, "output");
+		SimulationManager manager = new SimulationManager(folder, new String[] {folder + processModel}, new String[] {folder + simulationConfiguration}, folder + globalConfiguration, folder + costVariantConfiguration, true, false);
+		manager.setOutputPath(output.getPath() + Scylla.FILEDELIM);
+		manager.setUseNativeEventKernel(useNativeEventKernel);
+		manager.setUseTimerWheel(useTimerWheel);
+		manager.run();
+		Map<String, byte[]> logs = new TreeMap<>();
+		try {
+			for (File file : output.listFiles()) {
+				if (file.getName().endsWith(".xes") || file.getName().endsWith(".xml")) {
+					logs.put(file.getName(), Files.readAllBytes(file.toPath()));
+				}
+			}
+		} finally {
+			TestUtils.deleteFolder(output);
+			outputFolder.delete();
+		}
+		return logs;
+	}
+
+}
@@ -0,0 +1,122 @@
+package de.hpi.bpt.scylla;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.jdom2.Attribute;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+import de.hpi.bpt.scylla.parser.SimulationConfigurationParser;
+
+/**
+ * Compares the default DesmoJ event list with the {@link desmoj.core.simulator.CalendarEventList} on sample models
+ * which are scaled to a large number of concurrently running process instances.<br>
+ * A scale factor of n multiplies the number of process instances and the quantity of all resources by n and divides
+ * the time between arrivals by n, so n times as many process instances are running at the same time. The end date of
+ * the simulation is dropped, so all process instances are simulated.<br>
+ * This is not a test; run it with <code>EventListBenchmark [scale factor]... </code>, by default with the factors 1,
+ * 10 and 100. Each configuration is run three times and the fastest run is reported.
+ *
+ */
+public class EventListBenchmark {
+	
+	private static final String SAMPLES = "samples/";
+	private static final String COST_VARIANTS = "p0_costvariant.xml";
+	private static final int REPETITIONS = 3;
+	
+	// global configuration, process model, simulation configuration
+	private static final String[][] MODELS = {
+			{"p0_globalconf.xml", "p4_parallel.bpmn", "p4_parallel_sim.xml"},
+			{"p0_globalconf.xml", "p2_normal.bpmn", "p2_normal_sim.xml"},
+			{"Kreditkarte_global_1.xml", "Kreditkarte_1.bpmn", "Kreditkarte_sim_1.xml"}
+	};
+
+	public static void main(String[] args) throws Exception {
+		int[] scaleFactors = args.length == 0 ? new int[] {1, 10, 100} : new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			scaleFactors[i] = Integer.parseInt(args[i]);
+		}
+		StringBuilder results = new StringBuilder(String.format("%-24s %8s %14s %14s%n", "model", "scale", "default [ms]", "calendar [ms]"));
+		for (String[] model : MODELS) {
+			for (int scaleFactor : scaleFactors) {
+				long defaultTime = fastestRun(model, scaleFactor, false);
+				long calendarTime = fastestRun(model, scaleFactor, true);
+				results.append(String.format("%-24s %8d %14d %14d%n", model[1], scaleFactor, defaultTime, calendarTime));
+			}
+		}
+		System.out.print(results);
+	}
+	
+	private static long fastestRun(String[] model, int scaleFactor, boolean useCalendarEventList) throws Exception {
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < REPETITIONS; i++) {
+			File outputFolder = Files.createTempDirectory("scylla_benchmark").toFile();
+			ScaledSimulationManager manager = new ScaledSimulationManager(model, scaleFactor);
+			manager.setOutputPath(outputFolder.getPath() + Scylla.FILEDELIM + "output" + Scylla.FILEDELIM);
+			manager.setUseCalendarEventList(useCalendarEventList);
+			long start = System.nanoTime();
+			manager.run();
+			fastest = Math.min(fastest, (System.nanoTime() - start) / 1000000);
+			TestUtils.deleteFolder(new File(outputFolder, "output"));
+			outputFolder.delete();
+		}
+		return fastest;
+	}
+	
+	private static class ScaledSimulationManager extends SimulationManager {
+		
+		private int scaleFactor;
+		
+		ScaledSimulationManager(String[] model, int scaleFactor) {
+			super(SAMPLES, new String[] {SAMPLES + model[1]}, new String[] {SAMPLES + model[2]}, SAMPLES + model[0], SAMPLES + COST_VARIANTS, false, false);
+			this.scaleFactor = scaleFactor;
+		}
+		
+		@Override
+		protected void parseGlobalConfiguration(Element globalConfigRoot) throws ScyllaValidationException {
+			for (Element resource : globalConfigRoot.getDescendants(Filters.element("dynamicResource"))) {
+				scale(resource.getAttribute("defaultQuantity"), scaleFactor);
+			}
+			super.parseGlobalConfiguration(globalConfigRoot);
+		}
+		
+		@Override
+		protected void parseSimulationConfiguration(SimulationConfigurationParser simParser, Document scDoc) throws ScyllaValidationException {
+			Namespace simNamespace = scDoc.getRootElement().getNamespace();
+			for (Element simulationConfiguration : scDoc.getRootElement().getChildren("simulationConfiguration", simNamespace)) {
+				scale(simulationConfiguration.getAttribute("processInstances"), scaleFactor);
+				simulationConfiguration.removeAttribute("endDateTime");
+				for (Element startEvent : simulationConfiguration.getChildren("startEvent", simNamespace)) {
+					Element arrivalRate = startEvent.getChild("arrivalRate", simNamespace);
+					if (arrivalRate == null) continue;
+					for (Element parameter : arrivalRate.getDescendants(Filters.element())) {
+						if (parameter.getChildren().isEmpty()) scaleText(parameter, 1.0 / scaleFactor);
+						scale(parameter.getAttribute("value"), 1.0 / scaleFactor);
+					}
+				}
+			}
+			super.parseSimulationConfiguration(simParser, scDoc);
+		}
+		
+		private static void scale(Attribute attribute, int factor) {
+			if (attribute != null) attribute.setValue(Long.toString(Math.round(Double.parseDouble(attribute.getValue()) * factor)));
+		}
+		
+		private static void scale(Attribute attribute, double factor) {
+			if (attribute != null) attribute.setValue(Double.toString(Double.parseDouble(attribute.getValue()) * factor));
+		}
+		
+		private static void scaleText(Element element, double factor) {
+			try {
+				element.setText(Double.toString(Double.parseDouble(element.getTextTrim()) * factor));
+			} catch (NumberFormatException e) {
+				// not a numeric parameter
+			}
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package de.hpi.bpt.scylla;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Validates the inlining of zero-delay events, see {@link de.hpi.bpt.scylla.simulation.MicroStepQueue}: sample models
+ * with a fixed seed are simulated once with and once without inlining, and the output logs must be the same.
+ *
+ */
+public class InlineZeroDelayEventsTests {
+
+	private static final String SAMPLES = "samples/";
+	private static final String COST_VARIANTS = "p0_costvariant.xml";
+
+	@ParameterizedTest(name = "{1}")
+	@CsvSource({
+		"p0_globalconf.xml, p1_boundary.bpmn, p1_boundary_sim.xml",
+		"p0_globalconf.xml, p2_normal.bpmn, p2_normal_sim.xml",
+		"p0_globalconf.xml, p3_subproc.bpmn, p3_subproc_sim.xml",
+		"p0_globalconf.xml, p4_parallel.bpmn, p4_parallel_sim.xml"
+	})
+	public void testInliningWritesSameLogs(String globalConfiguration, String processModel, String simulationConfiguration) throws IOException {
+		Map<String, byte[]> scheduledLogs = runSimulation(globalConfiguration, processModel, simulationConfiguration, false);
+		Map<String, byte[]> inlinedLogs = runSimulation(globalConfiguration, processModel, simulationConfiguration, true);
+		assertFalse(scheduledLogs.isEmpty());
+		assertEquals(scheduledLogs.keySet(), inlinedLogs.keySet());
+		for (String fileName : scheduledLogs.keySet()) {
+			assertArrayEquals(scheduledLogs.get(fileName), inlinedLogs.get(fileName), fileName + " differs");
+		}
+	}
+
+	/**
+	 * @return the contents of the XES and XML logs by file name
+	 */
+	private static Map<String, byte[]> runSimulation(String globalConfiguration, String processModel, String simulationConfiguration, boolean inlineZeroDelayEvents) throws IOException {
+		File outputFolder = Files.createTempDirectory("scylla_inline").toFile();
+		File output = new File(outputFolder, "output");
+		SimulationManager manager = new SimulationManager(SAMPLES, new String[] {SAMPLES + processModel}, new String[] {SAMPLES + simulationConfiguration}, SAMPLES + globalConfiguration, SAMPLES + COST_VARIANTS, true, false);
+		manager.setOutputPath(output.getPath() + Scylla.FILEDELIM);
+		manager.setInlineZeroDelayEvents(inlineZeroDelayEvents);
+		manager.run();
+		Map<String, byte[]> logs = new TreeMap<>();
+		try {
+			for (File file : output.listFiles()) {
+				if (file.getName().endsWith(".xes") || file.getName().endsWith(".xml")) {
+					logs.put(file.getName(), Files.readAllBytes(file.toPath()));
+				}
+			}
+		} finally {
+			TestUtils.deleteFolder(output);
+			outputFolder.delete();
+		}
+		return logs;
+	}
+
+}
@@ -0,0 +1,112 @@
+package de.hpi.bpt.scylla;
+
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+public class ParallelGatewayTests extends SimulationTest {
+
+	private static final String FOLDER = "parallelJoin/";
+
+	@Test
+	/**
+	 * A join of 70 branches needs two arrival words: "close claim" starts exactly once, when the slowest branch
+	 * "check part 70" completes
+	 */
+	public void testJoinOfMoreThan64Branches() throws JDOMException, IOException {
+		runSimpleSimulation(FOLDER+"ParallelJoinGlobalConfiguration.xml", FOLDER+"wide_join.bpmn", FOLDER+"wide_join_configuration.xml");
+		List<Map<String, List<OffsetDateTime>>> traces = parseTransitionTimes("wide_join");
+		assertEquals(3, traces.size());
+		for (Map<String, List<OffsetDateTime>> trace : traces) {
+			for (int part = 1; part <= 70; part++) {
+				assertEquals(1, trace.getOrDefault("check part "+part+" complete", Collections.emptyList()).size());
+			}
+			List<OffsetDateTime> closeStarts = trace.get("close claim start");
+			assertEquals(1, closeStarts.size());
+			assertEquals(trace.get("check part 70 complete").get(0), closeStarts.get(0));
+		}
+	}
+
+	@Test
+	/**
+	 * The join is passed once per iteration of the loop: its arrivals are reset when it fires, so "decide on claim"
+	 * never starts before "check damage" of the same iteration has completed
+	 */
+	public void testJoinFiresOncePerIterationOfLoop() throws JDOMException, IOException {
+		// an instance loops with probability 0.5, the seed makes sure that the loop is taken at all
+		setGlobalSeed(42L);
+		runSimpleSimulation(FOLDER+"ParallelJoinGlobalConfiguration.xml", FOLDER+"loop_join.bpmn", FOLDER+"loop_join_configuration.xml");
+		List<Map<String, List<OffsetDateTime>>> traces = parseTransitionTimes("loop_join");
+		assertEquals(30, traces.size());
+		boolean looped = false;
+		for (Map<String, List<OffsetDateTime>> trace : traces) {
+			List<OffsetDateTime> coverageChecked = trace.get("check coverage complete");
+			List<OffsetDateTime> damageChecked = trace.get("check damage complete");
+			List<OffsetDateTime> decisionsStarted = trace.get("decide on claim start");
+			assertEquals(coverageChecked.size(), damageChecked.size());
+			assertEquals(damageChecked.size(), decisionsStarted.size());
+			for (int iteration = 0; iteration < decisionsStarted.size(); iteration++) {
+				assertFalse(decisionsStarted.get(iteration).isBefore(damageChecked.get(iteration)), "Join fired before all branches arrived");
+			}
+			looped |= decisionsStarted.size() > 1;
+		}
+		assertTrue(looped);
+	}
+
+	/**
+	 * @return for each trace of the XES log the times of the events by name and lifecycle transition, e.g.
+	 *         "close claim start"
+	 */
+	private List<Map<String, List<OffsetDateTime>>> parseTransitionTimes(String modelName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<Map<String, List<OffsetDateTime>>> traces = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			Map<String, List<OffsetDateTime>> timesOfTrace = new HashMap<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				String name = null;
+				String transition = null;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					String key = attribute.getAttributeValue("key");
+					if (key.equals("concept:name")) {
+						name = attribute.getAttributeValue("value");
+					} else if (key.equals("lifecycle:transition")) {
+						transition = attribute.getAttributeValue("value");
+					}
+				}
+				for (Element attribute : event.getChildren("date", nsp)) {
+					if (attribute.getAttributeValue("key").equals("time:timestamp")) {
+						timesOfTrace.computeIfAbsent(name+" "+transition, k -> new ArrayList<>())
+							.add(OffsetDateTime.parse(attribute.getAttributeValue("value")));
+					}
+				}
+			}
+			traces.add(timesOfTrace);
+		}
+		return traces;
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "core";
+	}
+
+}
@@ -0,0 +1,177 @@
+package de.hpi.bpt.scylla;
+
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+public class QueueAbandonmentTests extends SimulationTest {
+
+	private static final String FOLDER = "queueAbandonment/";
+
+	@Test
+	/**
+	 * One clerk, a new instance every 10 minutes, 60 minutes per task, 25 minutes of patience and balking at 2 waiting instances:
+	 * instance 1 is served right away, 2 and 3 renege, 4 balks, 5 is served after instance 1 and 6 reneges while 5 is served
+	 */
+	public void testAbandonedInstancesAreWithdrawn() throws JDOMException, IOException {
+		runSimpleSimulation(FOLDER+"QueueAbandonmentGlobalConfiguration.xml", FOLDER+"claim_process_queue.bpmn", FOLDER+"claim_process_queue_configuration.xml");
+		List<List<String>> transitions = parseTransitions("claim_process_queue");
+		assertEquals(6, transitions.size());
+		int served = 0;
+		int abandoned = 0;
+		for (List<String> transitionsOfTrace : transitions) {
+			if (transitionsOfTrace.contains("withdraw")) {
+				assertFalse(transitionsOfTrace.contains("start"), "Abandoned instance has begun its task");
+				abandoned++;
+			} else {
+				assertTrue(transitionsOfTrace.contains("complete"));
+				served++;
+			}
+		}
+		assertEquals(2, served);
+		assertEquals(4, abandoned);
+	}
+
+	@Test
+	/**
+	 * Same scenario: the abandonment records carry the times at which the instances left, and the queue of the clerk
+	 * never holds more instances than the balking threshold
+	 */
+	public void testAbandonmentRecordsAndQueueLength() throws JDOMException, IOException {
+		runSimpleSimulation(FOLDER+"QueueAbandonmentGlobalConfiguration.xml", FOLDER+"claim_process_queue.bpmn", FOLDER+"claim_process_queue_configuration.xml");
+		List<Map<String, Long>> traces = parseMinutesOfTask("claim_process_queue", "check claim completeness");
+		assertEquals(6, traces.size());
+		// instance 1 and 5 are served, 2, 3 and 6 renege after 25 minutes, 4 balks on arrival
+		assertServed(traces.get(0), 0, 0);
+		assertAbandoned(traces.get(1), 10, 35);
+		assertAbandoned(traces.get(2), 20, 45);
+		assertAbandoned(traces.get(3), 30, 30);
+		assertServed(traces.get(4), 40, 60);
+		assertAbandoned(traces.get(5), 50, 75);
+
+		int maximalQueueLength = 0;
+		for (Map<String, Long> trace : traces) {
+			long time = trace.get("arrival");
+			int queueLength = 0;
+			for (Map<String, Long> other : traces) {
+				long left = other.containsKey("start") ? other.get("start") : other.get("withdraw");
+				if (other.get("arrival") <= time && time < left) {
+					queueLength++;
+				}
+			}
+			maximalQueueLength = Math.max(maximalQueueLength, queueLength);
+		}
+		assertEquals(2, maximalQueueLength);
+	}
+
+	private static void assertServed(Map<String, Long> trace, long arrival, long start) {
+		assertEquals(Long.valueOf(arrival), trace.get("arrival"));
+		assertEquals(Long.valueOf(start), trace.get("start"));
+		assertEquals(Long.valueOf(start + 60), trace.get("complete"));
+		assertFalse(trace.containsKey("withdraw"));
+	}
+
+	private static void assertAbandoned(Map<String, Long> trace, long arrival, long withdrawal) {
+		assertEquals(Long.valueOf(arrival), trace.get("arrival"));
+		assertEquals(Long.valueOf(withdrawal), trace.get("withdraw"));
+		assertFalse(trace.containsKey("start"), "Abandoned instance has begun its task");
+	}
+
+	/**
+	 * @return for each trace of the XES log, ordered by arrival, the minutes since the first arrival at which the
+	 *         process instance arrived ("arrival") and at which the task went through each lifecycle transition
+	 */
+	private List<Map<String, Long>> parseMinutesOfTask(String modelName, String taskName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<Map<String, OffsetDateTime>> traces = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			Map<String, OffsetDateTime> timesOfTrace = new HashMap<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				String name = null;
+				String transition = null;
+				OffsetDateTime time = null;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					String key = attribute.getAttributeValue("key");
+					if (key.equals("concept:name")) {
+						name = attribute.getAttributeValue("value");
+					} else if (key.equals("lifecycle:transition")) {
+						transition = attribute.getAttributeValue("value");
+					}
+				}
+				for (Element attribute : event.getChildren("date", nsp)) {
+					if (attribute.getAttributeValue("key").equals("time:timestamp")) {
+						time = OffsetDateTime.parse(attribute.getAttributeValue("value"));
+					}
+				}
+				timesOfTrace.putIfAbsent("arrival", time);
+				if (taskName.equals(name)) {
+					timesOfTrace.put(transition, time);
+				}
+			}
+			traces.add(timesOfTrace);
+		}
+		traces.sort(Comparator.comparing(trace -> trace.get("arrival")));
+		OffsetDateTime firstArrival = traces.get(0).get("arrival");
+		List<Map<String, Long>> minutes = new ArrayList<>();
+		for (Map<String, OffsetDateTime> timesOfTrace : traces) {
+			Map<String, Long> minutesOfTrace = new HashMap<>();
+			timesOfTrace.forEach((key, time) -> minutesOfTrace.put(key, Duration.between(firstArrival, time).toMinutes()));
+			minutes.add(minutesOfTrace);
+		}
+		return minutes;
+	}
+
+	/**
+	 * @return the lifecycle transitions of the events of each trace of the XES log
+	 */
+	private List<List<String>> parseTransitions(String modelName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<List<String>> transitions = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			List<String> transitionsOfTrace = new ArrayList<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				for (Element attribute : event.getChildren("string", nsp)) {
+					if (attribute.getAttributeValue("key").equals("lifecycle:transition")) {
+						transitionsOfTrace.add(attribute.getAttributeValue("value"));
+					}
+				}
+			}
+			transitions.add(transitionsOfTrace);
+		}
+		return transitions;
+	}
+
+	@Override
+	protected String getCostVariantConfiguration() {
+		return FOLDER+"QueueAbandonmentCostVariantConfiguration.xml";
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "core";
+	}
+
+}
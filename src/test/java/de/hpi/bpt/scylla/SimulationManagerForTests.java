@@ -19,6 +19,7 @@ public class SimulationManagerForTests extends SimulationManager{
 			new String[] {test.getPath(simulationModel)}, 
 			new String[] {test.getPath(simulationConfiguration)}, 
 			test.getPath(globalConfiguration), 
+			test.getPath(test.getCostVariantConfiguration()), 
 			true, 
 			false);
 		this.test = test;
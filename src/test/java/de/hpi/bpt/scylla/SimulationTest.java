@@ -136,6 +136,14 @@ public abstract class SimulationTest {
 		afterParsing = Optional.of(r);
 	}
 	
+	/**
+	 * Cost variant configuration all simulations of a test class are run with, can be overriden
+	 * @return a file name which is resolved by {@link #getPath(String)}
+	 */
+	protected String getCostVariantConfiguration() {
+		return "."+FILEDELIM+"CostVariantConfiguration.xml";
+	}
+	
 	protected String getFolder() {
 		return TestUtils.RESOURCEFOLDER+getFolderName()+FILEDELIM;
 	}
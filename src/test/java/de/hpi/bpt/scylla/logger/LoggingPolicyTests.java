@@ -0,0 +1,70 @@
+package de.hpi.bpt.scylla.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class LoggingPolicyTests {
+
+	private static ProcessNodeInfo info(long timestamp, String taskName) {
+		return new ProcessNodeInfo(1, "1", "source", timestamp, taskName, Collections.emptySet(),
+				ProcessNodeTransitionType.BEGIN);
+	}
+
+	@Test
+	public void testDefaultLogsEverything() {
+		LoggingPolicy policy = new LoggingPolicy();
+		assertTrue(policy.logsEverything());
+		assertTrue(policy.accepts("p", 17, "Task_1", info(0, "Task")));
+	}
+
+	@Test
+	public void testEveryKthInstance() {
+		LoggingPolicy policy = new LoggingPolicy().setEveryKthInstance(3);
+		assertTrue(policy.accepts("p", 1, "Task_1", info(0, "Task")));
+		assertFalse(policy.accepts("p", 2, "Task_1", info(0, "Task")));
+		assertFalse(policy.accepts("p", 3, "Task_1", info(0, "Task")));
+		assertTrue(policy.accepts("p", 4, "Task_1", info(0, "Task")));
+	}
+
+	@Test
+	public void testFractionIsReproducible() {
+		LoggingPolicy first = new LoggingPolicy().setFraction(0.25, 42);
+		LoggingPolicy second = new LoggingPolicy().setFraction(0.25, 42);
+		boolean[] acceptedByFirst = new boolean[1001];
+		for (int id = 1000; id >= 1; id--) {
+			acceptedByFirst[id] = first.accepts("p", id, "Task_1", info(0, "Task"));
+		}
+		int logged = 0;
+		for (int id = 1; id <= 1000; id++) {
+			boolean accepted = second.accepts("p", id, "Task_1", info(0, "Task"));
+			assertEquals(acceptedByFirst[id], accepted);
+			if (accepted) logged++;
+		}
+		assertTrue(logged > 150 && logged < 350, "Logged " + logged + " of 1000 instances");
+	}
+
+	@Test
+	public void testWarmUpIsDecidedOnFirstRecord() {
+		LoggingPolicy policy = new LoggingPolicy().setWarmUpTime(100);
+		assertFalse(policy.accepts("p", 1, "Task_1", info(50, "Task")));
+		assertFalse(policy.accepts("p", 1, "Task_1", info(150, "Task")));
+		assertTrue(policy.accepts("p", 2, "Task_1", info(100, "Task")));
+	}
+
+	@Test
+	public void testProcessesAndNodes() {
+		LoggingPolicy policy = new LoggingPolicy()
+				.setProcessIds(Collections.singleton("p"))
+				.setNodes(Collections.singleton("Check"));
+		assertFalse(policy.accepts("q", 1, "Task_1", info(0, "Check")));
+		assertTrue(policy.accepts("p", 1, "Task_1", info(0, "Check")));
+		assertFalse(policy.accepts("p", 1, "Task_2", info(0, "Archive")));
+		assertTrue(policy.accepts("p", 1, "Check", info(0, "Archive")));
+	}
+
+}
@@ -0,0 +1,55 @@
+package de.hpi.bpt.scylla.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ProcessNodeInfoTests {
+
+	@Test
+	public void testNamesAreResolved() {
+		Set<String> resources = new LinkedHashSet<>(Arrays.asList("Clerk_2", "Clerk_1"));
+		List<String> costDrivers = Arrays.asList("Paper", "Electricity");
+		ProcessNodeInfo info = new ProcessNodeInfo(3, "Process_1_Task_3", "source", 42, "Check", resources,
+				ProcessNodeTransitionType.TERMINATE, costDrivers);
+
+		assertEquals(Integer.valueOf(3), info.getId());
+		assertEquals("Process_1_Task_3", info.getProcessScopeNodeId());
+		assertEquals("Check", info.getTaskName());
+		assertEquals(42, info.getTimestamp());
+		assertEquals(Arrays.asList("Clerk_2", "Clerk_1"), Arrays.asList(info.getResources().toArray()));
+		assertEquals(costDrivers, info.getCostDrivers());
+	}
+
+	@Test
+	public void testSharedIdentifiers() {
+		ProcessNodeInfo begin = new ProcessNodeInfo(3, "Process_1_Task_3", "source", 1, "Check",
+				Collections.singleton("Clerk_1"), ProcessNodeTransitionType.BEGIN);
+		ProcessNodeInfo end = new ProcessNodeInfo(3, "Process_1_Task_3", "source", 2, "Check",
+				Collections.singleton("Clerk_1"), ProcessNodeTransitionType.TERMINATE);
+		assertEquals(begin.getResourceIds()[0], end.getResourceIds()[0]);
+		assertSame(SymbolTable.EMPTY, begin.getCostDriverIds());
+		assertTrue(begin.getCostDrivers().isEmpty());
+		assertTrue(begin.getDataObjectField().isEmpty());
+	}
+
+	@Test
+	public void testClearedSymbolTableStartsOver() {
+		SymbolTable table = new SymbolTable();
+		table.intern("Clerk_1");
+		assertEquals(1, table.intern("Clerk_2"));
+		table.clear();
+		assertEquals(0, table.size());
+		assertEquals(0, table.intern("Clerk_2"));
+		assertEquals("Clerk_2", table.resolve(0));
+	}
+
+}
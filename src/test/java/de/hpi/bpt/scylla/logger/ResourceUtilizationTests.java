@@ -0,0 +1,56 @@
+package de.hpi.bpt.scylla.logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.model.global.resource.EmissionFactorSeries;
+
+public class ResourceUtilizationTests {
+
+	@Test
+	public void testDurationsAreAccumulated() {
+		ResourceUtilization utilization = new ResourceUtilization();
+		utilization.addTransition(10, ResourceStatus.IN_USE);
+		utilization.addTransition(30, ResourceStatus.IN_USE_IDLE);
+		utilization.addTransition(50, ResourceStatus.IN_USE);
+		utilization.addTransition(60, ResourceStatus.FREE);
+
+		assertEquals(30, utilization.getDurationInUse());
+		assertEquals(20, utilization.getDurationInUseIdle());
+		assertEquals(60, utilization.getLastTimestamp());
+		assertEquals(ResourceStatus.FREE, utilization.getLastStatus());
+		assertEquals(4, utilization.getNumberOfTransitions());
+	}
+
+	@Test
+	public void testEmissionsAreIntegratedOverTimeInUse() {
+		// 1 per minute in the first half hour, 3 per minute in the second, repeated every hour
+		EmissionFactorSeries factors = new EmissionFactorSeries("grid", TimeUnit.MINUTES, new double[] { 0, 30 },
+				new double[] { 1, 3 }, 60).inTimeUnit(TimeUnit.SECONDS);
+		ResourceUtilization utilization = new ResourceUtilization(factors);
+		utilization.addTransition(20 * 60, ResourceStatus.IN_USE);
+		utilization.addTransition(40 * 60, ResourceStatus.IN_USE_IDLE);
+		utilization.addTransition(50 * 60, ResourceStatus.IN_USE);
+		utilization.addTransition(70 * 60, ResourceStatus.FREE);
+
+		// 10 + 30 in the first busy interval, 30 + 10 in the second one
+		assertEquals(80, utilization.getEmissions(), 1e-9);
+	}
+
+	@Test
+	public void testBusyTimeSeries() {
+		ResourceBusyTimeSeries series = new ResourceBusyTimeSeries(10);
+		series.change(5, 1);
+		series.change(15, 1);
+		series.change(25, -2);
+		series.change(35, 1);
+
+		assertEquals(1, series.getBusyCount());
+		assertArrayEquals(new double[] { 0.5, 1.5, 1, 0.5, 1 }, series.getAverageBusyCounts(50), 1e-9);
+	}
+
+}
@@ -0,0 +1,58 @@
+package de.hpi.bpt.scylla.logger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+public class TraceFilterTests {
+
+	@Test
+	public void testDefaultMatchesAll() {
+		TraceFilter filter = new TraceFilter();
+		assertTrue(filter.matchesAll());
+		assertTrue(filter.matches(17, "Task_1", "Check", Collections.emptySet(), 1000));
+	}
+
+	@Test
+	public void testProcessInstanceRangeAndTimeWindow() {
+		TraceFilter filter = new TraceFilter().setProcessInstanceRange(5, 10).setTimeWindow(100, 200);
+		assertFalse(filter.matchesAll());
+		assertFalse(filter.matches(4, "Task_1", "Check", Collections.emptySet(), 150));
+		assertTrue(filter.matches(5, "Task_1", "Check", Collections.emptySet(), 150));
+		assertTrue(filter.matches(10, "Task_1", "Check", Collections.emptySet(), 200));
+		assertFalse(filter.matches(11, "Task_1", "Check", Collections.emptySet(), 150));
+		assertFalse(filter.matches(7, "Task_1", "Check", Collections.emptySet(), 99));
+	}
+
+	@Test
+	public void testNodesAndResourceTypes() {
+		TraceFilter filter = new TraceFilter()
+				.setNodes(new HashSet<>(Arrays.asList("Task_1", "Archive")))
+				.setResourceTypes(Collections.singleton("Clerk"));
+		assertTrue(filter.matches(1, "Task_1", "Check", Arrays.asList("Manager", "Clerk"), 0));
+		assertTrue(filter.matches(1, "Task_2", "Archive", Collections.singleton("Clerk"), 0));
+		assertFalse(filter.matches(1, "Task_3", "Check", Collections.singleton("Clerk"), 0));
+		assertFalse(filter.matches(1, "Task_1", "Check", Collections.singleton("Manager"), 0));
+		assertFalse(filter.matches(1, "Task_1", "Check", Collections.emptySet(), 0));
+	}
+
+	@Test
+	public void testResourceTypesAreCheckedSeparately() {
+		TraceFilter filter = new TraceFilter().setNodes(Collections.singleton("Task_1"));
+		assertFalse(filter.hasResourceTypes());
+		assertTrue(filter.matchesResourceType("Manager"));
+		assertTrue(filter.matches(1, "Task_1", "Check", 0));
+		assertFalse(filter.matches(1, "Task_2", "Check", 0));
+		filter.setResourceTypes(Collections.singleton("Clerk"));
+		assertTrue(filter.hasResourceTypes());
+		assertTrue(filter.matchesResourceType("Clerk"));
+		assertFalse(filter.matchesResourceType("Manager"));
+		assertTrue(filter.matches(1, "Task_1", "Check", 0));
+	}
+
+}
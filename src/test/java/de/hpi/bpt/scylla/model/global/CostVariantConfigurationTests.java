@@ -0,0 +1,106 @@
+package de.hpi.bpt.scylla.model.global;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CostVariantConfigurationTests {
+
+	private static CostVariantConfiguration configuration(int count) {
+		Map<String, Double> frequencies = new HashMap<>();
+		frequencies.put("A", 0.2);
+		frequencies.put("B", 0.3);
+		frequencies.put("C", 0.5);
+		return new CostVariantConfiguration(frequencies, count);
+	}
+
+	private static Map<String, Integer> countVariants(CostVariantConfiguration configuration, int from, int to) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (int instanceId = from; instanceId <= to; instanceId++) {
+			counts.merge(configuration.takeCostVariant(instanceId), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	@Test
+	public void testSameSeedSameVariants() {
+		CostVariantConfiguration first = configuration(10);
+		CostVariantConfiguration second = configuration(10);
+		first.setSeed(7);
+		second.setSeed(7);
+		for (int instanceId = 5000; instanceId >= 1; instanceId--) {
+			assertEquals(first.takeCostVariant(instanceId), second.takeCostVariant(instanceId));
+		}
+	}
+
+	@Test
+	public void testSampledFrequencies() {
+		CostVariantConfiguration configuration = configuration(10);
+		configuration.setSeed(42);
+		Map<String, Integer> counts = countVariants(configuration, 1, 100000);
+		assertEquals(0.2, counts.get("A") / 100000.0, 0.01);
+		assertEquals(0.3, counts.get("B") / 100000.0, 0.01);
+		assertEquals(0.5, counts.get("C") / 100000.0, 0.01);
+	}
+
+	@Test
+	public void testExactQuotas() {
+		CostVariantConfiguration configuration = configuration(1000);
+		configuration.setExactQuotas(true);
+		configuration.setSeed(3);
+		Map<String, Integer> counts = countVariants(configuration, 1, 1000);
+		assertEquals(Integer.valueOf(200), counts.get("A"));
+		assertEquals(Integer.valueOf(300), counts.get("B"));
+		assertEquals(Integer.valueOf(500), counts.get("C"));
+		// further instances are sampled instead of failing
+		assertTrue(configuration.takeCostVariant(1001) != null);
+	}
+
+	@Test
+	public void testExactQuotasOfFrequenciesNotSummingUpToOne() {
+		Map<String, Double> frequencies = new HashMap<>();
+		frequencies.put("A", 2.0);
+		frequencies.put("B", 3.0);
+		CostVariantConfiguration configuration = new CostVariantConfiguration(frequencies, 100);
+		configuration.setExactQuotas(true);
+		Map<String, Integer> counts = countVariants(configuration, 1, 100);
+		assertEquals(Integer.valueOf(40), counts.get("A"));
+		assertEquals(Integer.valueOf(60), counts.get("B"));
+	}
+
+	@Test
+	public void testExactQuotasWithTiedRemainders() {
+		Map<String, Double> frequencies = new HashMap<>();
+		frequencies.put("A", 1.0 / 3);
+		frequencies.put("B", 1.0 / 3);
+		frequencies.put("C", 1.0 / 3);
+		CostVariantConfiguration configuration = new CostVariantConfiguration(frequencies, 100);
+		configuration.setExactQuotas(true);
+		configuration.setSeed(5);
+		Map<String, Integer> counts = countVariants(configuration, 1, 100);
+		// the instance which is left goes to the first variant
+		assertEquals(Integer.valueOf(34), counts.get("A"));
+		assertEquals(Integer.valueOf(33), counts.get("B"));
+		assertEquals(Integer.valueOf(33), counts.get("C"));
+	}
+
+	@Test
+	public void testApportionmentSumsUpToCount() {
+		double[] frequencies = { 0.1, 0.1, 0.1, 0.1, 0.1, 0.1, 0.1, 0.3 };
+		for (long count = 1; count <= 1000; count++) {
+			long[] quotas = CostVariantSampler.apportion(frequencies, 1.0, count);
+			long total = 0;
+			for (int i = 0; i < frequencies.length; i++) {
+				double share = frequencies[i] * count;
+				assertTrue(Math.abs(quotas[i] - share) < 1, "Quota is not the share rounded down or up");
+				total += quotas[i];
+			}
+			assertEquals(count, total);
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package de.hpi.bpt.scylla.model.global.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class EmissionFactorSeriesTests {
+
+	@Test
+	public void testIntegrateSteps() {
+		EmissionFactorSeries series = new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 2, 5 },
+				new double[] { 1, 4 }, 0);
+		assertEquals(0, series.integrate(0, 2), 1e-9);
+		assertEquals(3, series.integrate(0, 5), 1e-9);
+		assertEquals(1 + 8, series.integrate(4, 7), 1e-9);
+		assertEquals(0, series.integrate(7, 4), 1e-9);
+	}
+
+	@Test
+	public void testIntegratePeriodically() {
+		EmissionFactorSeries series = new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 0, 12 },
+				new double[] { 1, 2 }, 24);
+		assertEquals(36, series.integrate(0, 24), 1e-9);
+		assertEquals(36 * 3, series.integrate(5, 5 + 72), 1e-9);
+		assertEquals(2 + 1, series.integrate(23, 25), 1e-9);
+	}
+
+	@Test
+	public void testInTimeUnit() {
+		EmissionFactorSeries series = new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 0, 12 },
+				new double[] { 1, 2 }, 24).inTimeUnit(TimeUnit.MINUTES);
+		assertEquals(36, series.integrate(0, 24 * 60), 1e-9);
+		assertEquals(1.5, series.integrate(11 * 60 + 30, 12 * 60 + 30), 1e-9);
+	}
+
+	@Test
+	public void testMeanFactor() {
+		assertEquals(1.5, new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 0, 12 }, new double[] { 1, 2 }, 24)
+				.getMeanFactor(), 1e-9);
+		assertEquals(4, new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 2, 5 }, new double[] { 1, 4 }, 0)
+				.getMeanFactor(), 1e-9);
+	}
+
+	@Test
+	public void testStepsMustAscend() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new EmissionFactorSeries("s", TimeUnit.HOURS, new double[] { 3, 3 }, new double[] { 1, 2 }, 0));
+	}
+
+}
@@ -0,0 +1,59 @@
+package de.hpi.bpt.scylla.model.process;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelJoinTests {
+
+	@Test
+	public void testBitsFollowOrderOfNodeIds() {
+		Set<Integer> previousNodeIds = new LinkedHashSet<>();
+		previousNodeIds.add(12);
+		previousNodeIds.add(3);
+		previousNodeIds.add(7);
+		ParallelJoin join = new ParallelJoin(previousNodeIds, 5);
+		assertEquals(5, join.getFirstWord());
+		assertEquals(1, join.getNumberOfWords());
+		assertEquals(0b111L, join.getExpectedMask(0));
+		assertEquals(0, join.getBitOf(3));
+		assertEquals(1, join.getBitOf(7));
+		assertEquals(2, join.getBitOf(12));
+		assertEquals(-1, join.getBitOf(4));
+	}
+
+	@Test
+	public void testJoinOf64BranchesFillsOneWord() {
+		ParallelJoin join = new ParallelJoin(nodeIds(64), 0);
+		assertEquals(1, join.getNumberOfWords());
+		assertEquals(-1L, join.getExpectedMask(0));
+	}
+
+	@Test
+	public void testJoinOfMoreThan64BranchesSpansWords() {
+		ParallelJoin join = new ParallelJoin(nodeIds(70), 0);
+		assertEquals(2, join.getNumberOfWords());
+		assertEquals(-1L, join.getExpectedMask(0));
+		assertEquals(0b111111L, join.getExpectedMask(1));
+		assertEquals(63, join.getBitOf(63));
+		assertEquals(64, join.getBitOf(64));
+		assertEquals(69, join.getBitOf(69));
+
+		join = new ParallelJoin(nodeIds(129), 0);
+		assertEquals(3, join.getNumberOfWords());
+		assertEquals(-1L, join.getExpectedMask(1));
+		assertEquals(1L, join.getExpectedMask(2));
+	}
+
+	private static Set<Integer> nodeIds(int count) {
+		Set<Integer> nodeIds = new LinkedHashSet<>();
+		for (int nodeId = count - 1; nodeId >= 0; nodeId--) {
+			nodeIds.add(nodeId);
+		}
+		return nodeIds;
+	}
+
+}
@@ -10,7 +10,6 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 import de.hpi.bpt.scylla.plugin.batch.BatchCSVLogger.BatchCSVEntry;
-import de.hpi.bpt.scylla.plugin.dataobject.DataObjectField;
 
 public class BatchGroupingCharacteristicTests extends BatchSimulationTest {
 	
@@ -29,7 +28,7 @@ public class BatchGroupingCharacteristicTests extends BatchSimulationTest {
 			assertEquals(
 				1, 
 				processes
-					.map(each -> DataObjectField.getDataObjectValue(each,"DataObject.Value"))
+					.map(getDataObjectValues("DataObject.Value")::get)
 					.collect(Collectors.toSet())
 					.size());
 		}
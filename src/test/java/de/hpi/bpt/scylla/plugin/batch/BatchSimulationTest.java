@@ -3,11 +3,18 @@ package de.hpi.bpt.scylla.plugin.batch;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+
 import static de.hpi.bpt.scylla.Scylla.*;
 import de.hpi.bpt.scylla.SimulationTest;
 import de.hpi.bpt.scylla.TestUtils;
@@ -18,6 +25,8 @@ public class BatchSimulationTest extends SimulationTest{
 
 	protected BatchClusterExecutionType executionType;
 	protected List<BatchCSVEntry> table;
+	protected String simulationModel;
+	private Map<String, Map<Integer, String>> dataObjectValues = new HashMap<>();
 
 	@Override
 	protected String getFolderName() {return "BatchPlugin";}
@@ -30,6 +39,8 @@ public class BatchSimulationTest extends SimulationTest{
 	
 	@Override
 	protected void runSimpleSimulation(String globalConfiguration, String simulationModel, String simulationConfiguration) {
+		this.simulationModel = simulationModel;
+		dataObjectValues.clear();
 		super.runSimpleSimulation(globalConfiguration, simulationModel, simulationConfiguration);
 		parseTable();
 	}
@@ -54,6 +65,40 @@ public class BatchSimulationTest extends SimulationTest{
 		table = TestUtils.readCSV(f).stream().map(BatchCSVEntry::fromArray).collect(Collectors.toList());
 	}
 	
+	/**
+	 * Data object values are released when their process instance ends, so they are read from the XES log of the run
+	 * @param fieldName : Field in the form dataObjectName.fieldName
+	 * @return The last logged value of the field per process instance
+	 */
+	protected Map<Integer, String> getDataObjectValues(String fieldName) {
+		return dataObjectValues.computeIfAbsent(fieldName, this::parseDataObjectValues);
+	}
+	
+	private Map<Integer, String> parseDataObjectValues(String fieldName) {
+		String modelName = simulationModel.substring(0, simulationModel.lastIndexOf('.'));
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		Map<Integer, String> values = new HashMap<>();
+		try {
+			Element log = new SAXBuilder().build(f).getRootElement();
+			Namespace nsp = log.getNamespace();
+			for(Element trace : log.getChildren("trace", nsp)) {
+				Integer instanceId = null;
+				for(Element attribute : trace.getChildren("string", nsp)) {
+					if(attribute.getAttributeValue("key").equals("concept:name"))instanceId = Integer.valueOf(attribute.getAttributeValue("value"));
+				}
+				for(Element event : trace.getChildren("event", nsp)) {
+					for(Element attribute : event.getChildren("string", nsp)) {
+						if(attribute.getAttributeValue("key").equals(fieldName))values.put(instanceId, attribute.getAttributeValue("value"));
+					}
+				}
+			}
+		} catch (JDOMException | IOException e) {
+			fail(e);
+		}
+		return values;
+	}
+	
 	protected void assertExecutionType() {
 		table.stream().forEach((each)->{if(!each.getBatchNumber().isEmpty())assertEquals(executionType, each.getBatchType());});
 	}
@@ -2,7 +2,11 @@ package de.hpi.bpt.scylla.plugin.batch;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -79,6 +83,33 @@ public class ExclusiveGatewayInBatchTests extends BatchSimulationTest{
 		}
 	}
 	
+	@Test
+	/**
+	 * Regression test for deciding exclusive gateways before their successor events are created: the decision capture
+	 * still finds exactly one chosen successor, so all instances of a cluster follow the branch of its first instance
+	 */
+	public void testClusterFollowsCapturedDecision() {
+		ByteArrayOutputStream errors = new ByteArrayOutputStream();
+		System.setErr(new PrintStream(errors));
+		executionType = BatchClusterExecutionType.SEQUENTIAL_CASEBASED;
+		setGlobalSeed(7L);
+		runSimpleSimulation(
+				"BatchTestGlobalConfiguration.xml", 
+				"ModelGatewayExclusive.bpmn", 
+				"BatchTestSimulationConfigurationWithXGateway.xml");
+		
+		assertEquals(20, table.size());
+		assertFalse(errors.toString().contains("AssertionError"), "Decision of the cluster was not captured");
+		assertTrue(getClusters().values().stream().anyMatch(cluster -> cluster.size() > 2));
+		for(List<BatchCSVEntry> cluster : getClusters().values()) {
+			Set<String> branches = cluster.stream()
+					.map(BatchCSVEntry::getActivityName)
+					.filter(name -> name.equals("Activity A") || name.equals("Activity B"))
+					.collect(Collectors.toSet());
+			assertEquals(1, branches.size(), "Instances of a cluster took different branches");
+		}
+	}
+	
 	private static void assertExclusiveness(List<BatchCSVEntry> processInstance) {
 		assertTrue(
 				processInstance.stream().anyMatch((any)->{return any.getActivityName().equals("Activity A");})
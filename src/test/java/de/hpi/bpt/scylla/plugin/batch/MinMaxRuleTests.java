@@ -10,6 +10,8 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -25,7 +27,6 @@ import de.hpi.bpt.scylla.TestSeeds;
 import de.hpi.bpt.scylla.TestUtils;
 import de.hpi.bpt.scylla.exception.ScyllaValidationException;
 import de.hpi.bpt.scylla.plugin.batch.BatchCSVLogger.BatchCSVEntry;
-import de.hpi.bpt.scylla.plugin.dataobject.DataObjectField;
 
 public class MinMaxRuleTests extends BatchSimulationTest {
 	
@@ -64,6 +65,28 @@ public class MinMaxRuleTests extends BatchSimulationTest {
 		}
 	}
 	
+	@Test
+	public void testReachingNodesMatchWillReach() {
+		createSimpleSimulationManager(
+				"BatchTestGlobalConfiguration.xml", 
+				"ModelWithGrouping.bpmn", 
+				"BatchTestSimulationConfigurationWithDataObject.xml");
+		try {
+			simulationManager._parseInput();
+			Integer batchTask = getProcessModel().getIdentifiersToNodeIds().get("BatchTask");
+			BitSet reachingNodes = BatchPluginUtils.getBatchActivities(getProcessModel()).get(batchTask).getReachingNodes();
+			for(Integer nodeId : getProcessModel().getGraph().getNodes().keySet()) {
+				assertEquals(
+						MinMaxRule.willReach(getProcessModel(), Collections.singleton(nodeId), batchTask), 
+						reachingNodes.get(nodeId),
+						"Reachability of node "+getProcessModel().getIdentifiers().get(nodeId));
+			}
+		} catch (ScyllaValidationException | JDOMException | IOException e) {
+			e.printStackTrace();
+			fail(e);
+		}
+	}
+	
 	@TestSeeds({-1633284822204608005L, 806123754304894459L, -7860141510320648011L, -7969201103926881908L})
 	public void testExpectedTimeoutAndLoad(long seed) {
 		setGlobalSeed(seed);
@@ -105,7 +128,7 @@ public class MinMaxRuleTests extends BatchSimulationTest {
 	}
 	
 	protected boolean similarInstancesWereAvailableAt(Date aPointInTime, List<BatchCSVEntry> cluster) {
-		Object dataObjectValue = DataObjectField.getDataObjectValue(cluster.get(0).getInstanceId(),"DataObject.Value");
+		Object dataObjectValue = getDataObjectValues("DataObject.Value").get(cluster.get(0).getInstanceId());
 		return availableDataObjects().get(dataObjectValue).stream()
 				.filter(each -> (aPointInTime.compareTo(each.getValue0()) >= 0 && aPointInTime.compareTo(each.getValue1()) <= 0))
 				.count() > 1;
@@ -118,7 +141,7 @@ public class MinMaxRuleTests extends BatchSimulationTest {
 			try {
 				Date arrival = BatchCSVLogger.timeFormat.parse(entry.getArrival());
 				Date complete = BatchCSVLogger.timeFormat.parse(entry.getComplete());
-				Object dataObjectValue = DataObjectField.getDataObjectValue(entry.getInstanceId(),"DataObject.Value");
+				Object dataObjectValue = getDataObjectValues("DataObject.Value").get(entry.getInstanceId());
 				instanceWithDataObjectAvailabilities
 					.computeIfAbsent(dataObjectValue, x -> new ArrayList<>())
 					.add(new Pair<Date, Date>(arrival, complete));
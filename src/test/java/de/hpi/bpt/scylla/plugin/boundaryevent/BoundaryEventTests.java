@@ -0,0 +1,202 @@
+package de.hpi.bpt.scylla.plugin.boundaryevent;
+
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.SimulationTest;
+
+/**
+ * "process claim" takes 60 minutes and has one boundary timer event "reminder due", whose definition is set by each test
+ */
+public class BoundaryEventTests extends SimulationTest {
+
+	@Test
+	public void testUnboundedCycleFiresWhileTaskIsRunning() throws JDOMException, IOException {
+		setTimer("timeCycle", "R/PT25M", false);
+		runTimerSimulation();
+		for (List<String> trace : parseCompletedNames()) {
+			assertEquals(2, Collections.frequency(trace, "reminder due"));
+			assertEquals(2, Collections.frequency(trace, "send reminder"));
+			assertTrue(trace.contains("process claim"));
+		}
+	}
+
+	@Test
+	public void testBoundedCycleFiresNTimes() throws JDOMException, IOException {
+		setTimer("timeCycle", "R1/PT25M", false);
+		runTimerSimulation();
+		for (List<String> trace : parseCompletedNames()) {
+			assertEquals(1, Collections.frequency(trace, "reminder due"));
+			assertTrue(trace.contains("process claim"));
+		}
+	}
+
+	@Test
+	public void testDurationFiresOnce() throws JDOMException, IOException {
+		setTimer("timeDuration", "PT25M", false);
+		runTimerSimulation();
+		for (List<String> trace : parseCompletedNames()) {
+			assertEquals(1, Collections.frequency(trace, "reminder due"));
+			assertTrue(trace.contains("process claim"));
+		}
+	}
+
+	@Test
+	public void testInterruptingCycleCancelsTask() throws JDOMException, IOException {
+		setTimer("timeCycle", "R/PT25M", true);
+		runTimerSimulation();
+		for (List<String> trace : parseCompletedNames()) {
+			assertEquals(1, Collections.frequency(trace, "reminder due"));
+			assertFalse(trace.contains("process claim"), "Interrupted task has been completed");
+		}
+	}
+
+	@Test
+	public void testTaskEndsBeforeFirstOccurrence() throws JDOMException, IOException {
+		setTimer("timeCycle", "R/PT90M", true);
+		runTimerSimulation();
+		for (List<String> trace : parseCompletedNames()) {
+			assertFalse(trace.contains("reminder due"));
+			assertFalse(trace.contains("send reminder"));
+			assertTrue(trace.contains("process claim"));
+		}
+	}
+
+	@Test
+	/**
+	 * Each occurrence of the cycle fires at its own point in time, measured from the arrival of the claim, at which
+	 * "process claim" starts right away
+	 */
+	public void testCycleFiresAtItsOccurrences() throws JDOMException, IOException {
+		setTimer("timeCycle", "R/PT25M", false);
+		runTimerSimulation();
+		for (List<Duration> firings : parseFiringTimes()) {
+			assertEquals(Arrays.asList(Duration.ofMinutes(25), Duration.ofMinutes(50)), firings);
+		}
+	}
+
+	@Test
+	public void testInterruptingCycleFiresAtFirstOccurrence() throws JDOMException, IOException {
+		setTimer("timeCycle", "R/PT25M", true);
+		runTimerSimulation();
+		for (List<Duration> firings : parseFiringTimes()) {
+			assertEquals(Collections.singletonList(Duration.ofMinutes(25)), firings);
+		}
+	}
+
+	private void runTimerSimulation() {
+		runSimpleSimulation("BoundaryEventGlobalConfiguration.xml", "boundary_timer.bpmn", "boundary_timer_configuration.xml");
+	}
+
+	/**
+	 * Replaces the timer definition of the boundary event before the process model is parsed
+	 */
+	private void setTimer(String timeAttribute, String value, boolean isInterrupting) {
+		beforeParsingModels.computeIfAbsent("Process_Timer", s -> new ArrayList<>()).add(() -> {
+			Element process = processRoots.get("Process_Timer");
+			Namespace nsp = process.getNamespace();
+			Element boundaryEvent = process.getChild("boundaryEvent", nsp);
+			boundaryEvent.setAttribute("cancelActivity", Boolean.toString(isInterrupting));
+			Element timerDefinition = boundaryEvent.getChild("timerEventDefinition", nsp);
+			timerDefinition.removeContent();
+			timerDefinition.addContent(new Element(timeAttribute, nsp).setText(value));
+		});
+	}
+
+	/**
+	 * @return the names of the completed tasks and events of each trace of the XES log
+	 */
+	private List<List<String>> parseCompletedNames() throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+"boundary_timer.xes"));
+		assertTrue(f.exists());
+		List<List<String>> names = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			List<String> namesOfTrace = new ArrayList<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				String name = null;
+				boolean completed = false;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					String key = attribute.getAttributeValue("key");
+					if (key.equals("concept:name")) {
+						name = attribute.getAttributeValue("value");
+					} else if (key.equals("lifecycle:transition")) {
+						completed = attribute.getAttributeValue("value").equals("complete");
+					}
+				}
+				if (completed) {
+					namesOfTrace.add(name);
+				}
+			}
+			names.add(namesOfTrace);
+		}
+		assertEquals(3, names.size());
+		return names;
+	}
+
+	/**
+	 * @return for each trace of the XES log the times at which "reminder due" completed, relative to the first event
+	 */
+	private List<List<Duration>> parseFiringTimes() throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+"boundary_timer.xes"));
+		assertTrue(f.exists());
+		List<List<Duration>> firings = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			OffsetDateTime arrival = null;
+			List<Duration> firingsOfTrace = new ArrayList<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				String name = null;
+				boolean completed = false;
+				OffsetDateTime time = null;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					String key = attribute.getAttributeValue("key");
+					if (key.equals("concept:name")) {
+						name = attribute.getAttributeValue("value");
+					} else if (key.equals("lifecycle:transition")) {
+						completed = attribute.getAttributeValue("value").equals("complete");
+					}
+				}
+				for (Element attribute : event.getChildren("date", nsp)) {
+					if (attribute.getAttributeValue("key").equals("time:timestamp")) {
+						time = OffsetDateTime.parse(attribute.getAttributeValue("value"));
+					}
+				}
+				if (arrival == null) {
+					arrival = time;
+				}
+				if (completed && "reminder due".equals(name)) {
+					firingsOfTrace.add(Duration.between(arrival, time));
+				}
+			}
+			firings.add(firingsOfTrace);
+		}
+		assertEquals(3, firings.size());
+		return firings;
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "BoundaryEventPlugin";
+	}
+
+}
@@ -0,0 +1,89 @@
+package de.hpi.bpt.scylla.plugin.boundaryevent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+
+public class BoundaryTimerTests {
+
+	private static final double BEGIN = 1000;
+	private static final double END = BEGIN + 3600;
+
+	@Test
+	public void testDurationFiresOnce() throws ScyllaValidationException {
+		BoundaryTimer timer = BoundaryTimer.parse(definition("timeDuration", "PT25M"), false);
+		assertEquals(BEGIN + 1500, timer.getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, timer.getTimeOfOccurrence(2, BEGIN, END));
+	}
+
+	@Test
+	public void testUnboundedCycleFiresWhileTaskIsRunning() throws ScyllaValidationException {
+		BoundaryTimer timer = BoundaryTimer.parse(definition("timeCycle", "R/PT25M"), false);
+		assertEquals(BEGIN + 1500, timer.getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(BEGIN + 3000, timer.getTimeOfOccurrence(2, BEGIN, END));
+		assertEquals(-1, timer.getTimeOfOccurrence(3, BEGIN, END));
+		assertEquals(BEGIN + 30000, timer.getTimeOfOccurrence(20, BEGIN, BEGIN + 36000));
+	}
+
+	@Test
+	public void testBoundedCycleFiresNTimes() throws ScyllaValidationException {
+		BoundaryTimer timer = BoundaryTimer.parse(definition("timeCycle", "R2/PT10M"), false);
+		assertEquals(BEGIN + 600, timer.getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(BEGIN + 1200, timer.getTimeOfOccurrence(2, BEGIN, END));
+		assertEquals(-1, timer.getTimeOfOccurrence(3, BEGIN, END));
+	}
+
+	@Test
+	public void testCycleOfZeroRecurrencesNeverFires() throws ScyllaValidationException {
+		assertEquals(-1, BoundaryTimer.parse(definition("timeCycle", "R0/PT10M"), false).getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, BoundaryTimer.parse(definition("timeCycle", "R0/PT10M"), true).getTimeOfOccurrence(1, BEGIN, END));
+	}
+
+	@Test
+	public void testInterruptingCycleFiresOnce() throws ScyllaValidationException {
+		BoundaryTimer timer = BoundaryTimer.parse(definition("timeCycle", "R/PT10M"), true);
+		assertEquals(BEGIN + 600, timer.getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, timer.getTimeOfOccurrence(2, BEGIN, END));
+		timer = BoundaryTimer.parse(definition("timeCycle", "R5/PT10M"), true);
+		assertEquals(BEGIN + 600, timer.getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, timer.getTimeOfOccurrence(2, BEGIN, END));
+	}
+
+	@Test
+	/**
+	 * A cycle may still fire at the instant the task ends, a duration only strictly before
+	 */
+	public void testOccurrenceAtEndOfTask() throws ScyllaValidationException {
+		assertEquals(END, BoundaryTimer.parse(definition("timeCycle", "R/PT30M"), false).getTimeOfOccurrence(2, BEGIN, END));
+		assertEquals(-1, BoundaryTimer.parse(definition("timeDuration", "PT60M"), false).getTimeOfOccurrence(1, BEGIN, END));
+	}
+
+	@Test
+	public void testTaskEndsBeforeFirstOccurrence() throws ScyllaValidationException {
+		assertEquals(-1, BoundaryTimer.parse(definition("timeDuration", "PT90M"), false).getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, BoundaryTimer.parse(definition("timeCycle", "R/PT90M"), false).getTimeOfOccurrence(1, BEGIN, END));
+		assertEquals(-1, BoundaryTimer.parse(definition("timeDuration", "PT90M"), true).getTimeOfOccurrence(1, BEGIN, END));
+	}
+
+	@Test
+	public void testInvalidDefinitions() throws ScyllaValidationException {
+		assertNull(BoundaryTimer.parse(definition("timeDate", "2020-12-14T09:00:00"), false));
+		assertThrows(ScyllaValidationException.class, () -> BoundaryTimer.parse(definition("timeCycle", "PT10M"), false));
+		assertThrows(ScyllaValidationException.class, () -> BoundaryTimer.parse(definition("timeCycle", "Rx/PT10M"), false));
+		assertThrows(ScyllaValidationException.class, () -> BoundaryTimer.parse(definition("timeDuration", "10 minutes"), false));
+	}
+
+	private static Map<String, String> definition(String attribute, String value) {
+		Map<String, String> definitionAttributes = new HashMap<>();
+		definitionAttributes.put(attribute, value);
+		return definitionAttributes;
+	}
+
+}
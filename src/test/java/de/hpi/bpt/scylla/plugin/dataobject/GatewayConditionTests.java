@@ -0,0 +1,99 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.exception.ScyllaValidationException;
+
+public class GatewayConditionTests {
+
+	@Test
+	public void testContainsOperator() {
+		assertTrue(GatewayCondition.containsOperator("Discount.Type=25&&Discount.Points<1000"));
+		assertTrue(GatewayCondition.containsOperator("Order.Amount>=10"));
+		assertFalse(GatewayCondition.containsOperator("yes"));
+	}
+
+	@Test
+	public void testMissingOperatorIsReportedAtCompileTime() {
+		assertThrows(ScyllaValidationException.class, () -> GatewayCondition.compile("Discount.Type=25&&Discount.Points"));
+	}
+
+	@Test
+	public void testIsLong() {
+		assertTrue(GatewayCondition.isLong("1000"));
+		assertTrue(GatewayCondition.isLong("-7"));
+		assertTrue(GatewayCondition.isLong(String.valueOf(Long.MAX_VALUE)));
+		assertFalse(GatewayCondition.isLong("99999999999999999999"));
+		assertFalse(GatewayCondition.isLong("3.0"));
+		assertFalse(GatewayCondition.isLong(" 5"));
+		assertFalse(GatewayCondition.isLong("-"));
+	}
+
+	/**
+	 * @return true if the condition holds if the given field has the given value and all other fields are not set
+	 */
+	private static boolean isFulfilled(String expression, String fieldName, Object fieldValue) throws ScyllaValidationException {
+		return isFulfilled(expression, Map.of(fieldName, fieldValue));
+	}
+
+	private static boolean isFulfilled(String expression, Map<String, Object> fieldValues) throws ScyllaValidationException {
+		GatewayCondition condition = GatewayCondition.compile(expression);
+		Map<Integer, Object> valuesBySlot = new HashMap<>();
+		fieldValues.forEach((fieldName, value) -> valuesBySlot.put(DataObjectField.getSlot(fieldName), value));
+		return condition.isFulfilledFor(valuesBySlot::get);
+	}
+
+	@Test
+	public void testNumericComparison() throws ScyllaValidationException {
+		assertTrue(isFulfilled("Order.Amount<1000", "Order.Amount", 999L));
+		assertFalse(isFulfilled("Order.Amount<1000", "Order.Amount", 1000L));
+		// numbers are compared by value, not as strings
+		assertTrue(isFulfilled("Order.Amount>9", "Order.Amount", 10L));
+		assertTrue(isFulfilled("Order.Amount>9", "Order.Amount", 10));
+		assertTrue(isFulfilled("Order.Amount>9", "Order.Amount", "10"));
+		assertTrue(isFulfilled("Order.Amount=10", "Order.Amount", "010"));
+		assertTrue(isFulfilled("Order.Amount!=10", "Order.Amount", 11L));
+	}
+
+	@Test
+	public void testStringComparison() throws ScyllaValidationException {
+		assertTrue(isFulfilled("Discount.Type=gold", "Discount.Type", "gold"));
+		assertTrue(isFulfilled("Discount.Type==gold", "Discount.Type", " gold "));
+		assertFalse(isFulfilled("Discount.Type=gold", "Discount.Type", "silver"));
+		assertTrue(isFulfilled("Discount.Type!=gold", "Discount.Type", "silver"));
+		// strings are not ordered
+		assertFalse(isFulfilled("Discount.Type<silver", "Discount.Type", "gold"));
+		// a numeric constant is compared as string to a value which is not an integral number
+		assertFalse(isFulfilled("Order.Amount>9", "Order.Amount", "ten"));
+		assertFalse(isFulfilled("Order.Amount=10", "Order.Amount", 10.0));
+		assertTrue(isFulfilled("Order.Amount!=10", "Order.Amount", "ten"));
+	}
+
+	@Test
+	public void testOperatorsWithTwoCharacters() throws ScyllaValidationException {
+		// >= and <= must not be taken for > and < with a value starting with =
+		assertTrue(isFulfilled("Order.Amount>=10", "Order.Amount", 10L));
+		assertTrue(isFulfilled("Order.Amount>=10", "Order.Amount", 11L));
+		assertFalse(isFulfilled("Order.Amount>=10", "Order.Amount", 9L));
+		assertTrue(isFulfilled("Order.Amount<=10", "Order.Amount", 10L));
+		assertFalse(isFulfilled("Order.Amount<=10", "Order.Amount", 11L));
+		assertTrue(isFulfilled("Order.Amount <= 10", "Order.Amount", 9L));
+		assertFalse(isFulfilled("Order.Amount<10", "Order.Amount", 10L));
+	}
+
+	@Test
+	public void testConjunction() throws ScyllaValidationException {
+		String expression = "Discount.Type=25&&Discount.Points<1000";
+		assertTrue(isFulfilled(expression, Map.of("Discount.Type", 25L, "Discount.Points", 999L)));
+		assertFalse(isFulfilled(expression, Map.of("Discount.Type", 25L, "Discount.Points", 1000L)));
+		assertFalse(isFulfilled(expression, Map.of("Discount.Type", 10L, "Discount.Points", 999L)));
+	}
+
+}
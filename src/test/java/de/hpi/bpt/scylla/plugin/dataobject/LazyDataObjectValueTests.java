@@ -0,0 +1,59 @@
+package de.hpi.bpt.scylla.plugin.dataobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+
+public class LazyDataObjectValueTests {
+
+	private static class CountingDistributionWrapper extends DataDistributionWrapper {
+
+		private int samples = 0;
+
+		CountingDistributionWrapper() {
+			super(DataDistributionType.LONG);
+		}
+
+		@Override
+		public Object getSample() {
+			return Long.valueOf(42 + samples++);
+		}
+	}
+
+	@Test
+	public void testNeverReadValueIsSampledOnceWhenResolved() {
+		CountingDistributionWrapper wrapper = new CountingDistributionWrapper();
+		DataObjectField field = new DataObjectField(wrapper, 5, "Order", "Amount", "long");
+		ProcessNodeInfo info = new ProcessNodeInfo(5, "Process_1_Task_5", "source", 0, "Check",
+				Collections.emptySet(), ProcessNodeTransitionType.TERMINATE);
+		info.SetDataObjectField(Collections.singletonMap(field.getQualifiedName(), new LazyDataObjectValue(field)));
+		assertEquals(0, wrapper.samples);
+
+		info.resolveDataObjectValues();
+		assertEquals(42L, info.getDataObjectField().get("Order.Amount"));
+		info.resolveDataObjectValues();
+		assertEquals(42L, info.getDataObjectField().get("Order.Amount"));
+		assertEquals(1, wrapper.samples);
+	}
+
+	@Test
+	public void testValueReadDuringSimulationIsLogged() {
+		CountingDistributionWrapper wrapper = new CountingDistributionWrapper();
+		DataObjectField field = new DataObjectField(wrapper, 5, "Order", "Amount", "long");
+		LazyDataObjectValue value = new LazyDataObjectValue(field);
+		ProcessNodeInfo info = new ProcessNodeInfo(5, "Process_1_Task_5", "source", 0, "Check",
+				Collections.emptySet(), ProcessNodeTransitionType.TERMINATE);
+		info.SetDataObjectField(Collections.singletonMap(field.getQualifiedName(), value));
+		assertEquals(42L, value.get());
+
+		info.resolveDataObjectValues();
+		assertEquals(42L, info.getDataObjectField().get("Order.Amount"));
+		assertEquals(1, wrapper.samples);
+	}
+
+}
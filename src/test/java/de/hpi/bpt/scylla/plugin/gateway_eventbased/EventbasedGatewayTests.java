@@ -0,0 +1,114 @@
+package de.hpi.bpt.scylla.plugin.gateway_eventbased;
+
+import static de.hpi.bpt.scylla.Scylla.FILEDELIM;
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.SimulationTest;
+import de.hpi.bpt.scylla.TestUtils;
+
+public class EventbasedGatewayTests extends SimulationTest {
+
+	private static final Duration REMINDER_DELAY = Duration.ofMinutes(50);
+
+	@Test
+	/**
+	 * After "request documents", the documents arrive after a uniform delay of 0 to 100 minutes and the reminder is due
+	 * after 50 minutes. Only the earlier event of the race may occur, exactly when it was sampled:
+	 * if the delay of the documents was sampled a second time when they are scheduled, they would arrive later than
+	 * the reminder in about half of the instances in which they won the race.
+	 */
+	public void testEarliestEventWinsRaceWithItsSampledDelay() throws JDOMException, IOException {
+		runSimpleSimulation("EventbasedGatewayGlobalConfiguration.xml", "eventbased_race.bpmn", "eventbased_race_configuration.xml");
+		List<Map<String, OffsetDateTime>> traces = parseCompletionTimes("eventbased_race");
+		assertEquals(40, traces.size());
+		int documentsFirst = 0;
+		int reminderFirst = 0;
+		for (Map<String, OffsetDateTime> trace : traces) {
+			OffsetDateTime requested = trace.get("request documents");
+			assertNotNull(requested);
+			OffsetDateTime documentsReceived = trace.get("documents received");
+			OffsetDateTime reminderDue = trace.get("reminder due");
+			assertTrue(documentsReceived == null ^ reminderDue == null, "Not exactly one event of the race occurred");
+			if (documentsReceived != null) {
+				Duration delay = Duration.between(requested, documentsReceived);
+				assertTrue(delay.compareTo(REMINDER_DELAY) <= 0, "Documents arrived after the reminder was due: "+delay);
+				assertTrue(trace.containsKey("check documents"));
+				documentsFirst++;
+			} else {
+				assertEquals(REMINDER_DELAY, Duration.between(requested, reminderDue));
+				assertTrue(trace.containsKey("send reminder"));
+				reminderFirst++;
+			}
+		}
+		assertTrue(documentsFirst > 0);
+		assertTrue(reminderFirst > 0);
+	}
+
+	@Test
+	/**
+	 * Under the same seed, each instance has the same winner of the race, at the same point in time
+	 */
+	public void testSameSeedSameWinnersAndTimes() throws JDOMException, IOException {
+		setGlobalSeed(1234L);
+		runSimpleSimulation("EventbasedGatewayGlobalConfiguration.xml", "eventbased_race.bpmn", "eventbased_race_configuration.xml");
+		List<Map<String, OffsetDateTime>> firstRun = parseCompletionTimes("eventbased_race");
+		TestUtils.deleteFolder(new File("."+FILEDELIM+outputPath));
+		runSimpleSimulation("EventbasedGatewayGlobalConfiguration.xml", "eventbased_race.bpmn", "eventbased_race_configuration.xml");
+		List<Map<String, OffsetDateTime>> secondRun = parseCompletionTimes("eventbased_race");
+		assertEquals(40, firstRun.size());
+		assertEquals(firstRun, secondRun);
+	}
+
+	/**
+	 * @return for each trace of the XES log the time of the last event of each name
+	 */
+	private List<Map<String, OffsetDateTime>> parseCompletionTimes(String modelName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<Map<String, OffsetDateTime>> traces = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			Map<String, OffsetDateTime> timesOfTrace = new HashMap<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				String name = null;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					if (attribute.getAttributeValue("key").equals("concept:name")) {
+						name = attribute.getAttributeValue("value");
+					}
+				}
+				for (Element attribute : event.getChildren("date", nsp)) {
+					if (attribute.getAttributeValue("key").equals("time:timestamp")) {
+						timesOfTrace.put(name, OffsetDateTime.parse(attribute.getAttributeValue("value")));
+					}
+				}
+			}
+			traces.add(timesOfTrace);
+		}
+		return traces;
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "EventbasedGatewayPlugin";
+	}
+
+}
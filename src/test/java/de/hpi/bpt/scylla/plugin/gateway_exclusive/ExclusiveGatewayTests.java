@@ -0,0 +1,81 @@
+package de.hpi.bpt.scylla.plugin.gateway_exclusive;
+
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.SimulationTest;
+
+public class ExclusiveGatewayTests extends SimulationTest {
+
+	@Test
+	/**
+	 * The branch to "accept claim" has probability 1: every instance takes it and no instance executes "reject claim"
+	 */
+	public void testOnlyChosenBranchIsExecuted() throws JDOMException, IOException {
+		runSimpleSimulation("ExclusiveGatewayGlobalConfiguration.xml", "exclusive_choice.bpmn", "exclusive_choice_configuration.xml");
+		List<List<String>> names = parseEventNames("exclusive_choice");
+		assertEquals(20, names.size());
+		for (List<String> namesOfTrace : names) {
+			assertTrue(namesOfTrace.contains("accept claim"));
+			assertFalse(namesOfTrace.contains("reject claim"), "Branch which has not been chosen was executed");
+		}
+	}
+
+	@Test
+	/**
+	 * The split always chooses "check claim", the flow which leads directly to the parallel join is never taken.
+	 * As no events are created for the untaken flow, it does not arrive at the join and "archive claim" is never
+	 * enabled.
+	 */
+	public void testUntakenBranchDoesNotTriggerParallelJoin() throws JDOMException, IOException {
+		runSimpleSimulation("ExclusiveGatewayGlobalConfiguration.xml", "exclusive_parallel_join.bpmn", "exclusive_parallel_join_configuration.xml");
+		List<List<String>> names = parseEventNames("exclusive_parallel_join");
+		assertEquals(5, names.size());
+		for (List<String> namesOfTrace : names) {
+			assertTrue(namesOfTrace.contains("check claim"));
+			assertFalse(namesOfTrace.contains("archive claim"), "Parallel join fired without an arrival of its second flow");
+		}
+	}
+
+	/**
+	 * @return the names of the events of each trace of the XES log
+	 */
+	private List<List<String>> parseEventNames(String modelName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<List<String>> names = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			List<String> namesOfTrace = new ArrayList<>();
+			for (Element event : trace.getChildren("event", nsp)) {
+				for (Element attribute : event.getChildren("string", nsp)) {
+					if (attribute.getAttributeValue("key").equals("concept:name")) {
+						namesOfTrace.add(attribute.getAttributeValue("value"));
+					}
+				}
+			}
+			names.add(namesOfTrace);
+		}
+		return names;
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "ExclusiveGatewayPlugin";
+	}
+
+}
@@ -0,0 +1,41 @@
+package de.hpi.bpt.scylla.plugin.statslogger_nojar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+
+public class StatisticsProcessInstanceCollectorTests {
+
+	private static final Map<String, Double> COSTS = Collections.singletonMap("Clerk_1", 2.0);
+
+	private static ProcessNodeInfo info(long timestamp, ProcessNodeTransitionType transition) {
+		return new ProcessNodeInfo(3, "Process_1_Task_3", "Process_1_3_Enable", timestamp, "Check",
+				Collections.singleton("Clerk_1"), transition);
+	}
+
+	@Test
+	public void testTaskIsOpenUntilItEnds() {
+		StatisticsProcessInstanceCollector collector = new StatisticsProcessInstanceCollector();
+		assertFalse(collector.hasOpenTasks());
+		collector.add(info(0, ProcessNodeTransitionType.ENABLE), COSTS);
+		assertTrue(collector.hasOpenTasks());
+		collector.add(info(4, ProcessNodeTransitionType.BEGIN), COSTS);
+		assertTrue(collector.hasOpenTasks());
+		collector.add(info(10, ProcessNodeTransitionType.TERMINATE), COSTS);
+		assertFalse(collector.hasOpenTasks());
+
+		StatisticsProcessInstanceObject statistics = collector.getStatistics();
+		assertEquals(10, statistics.getDurationTotal());
+		assertEquals(4, statistics.getDurationWaiting());
+		assertEquals(12.0, statistics.getCosts());
+	}
+
+}
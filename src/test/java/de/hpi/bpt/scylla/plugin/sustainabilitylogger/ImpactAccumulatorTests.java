@@ -0,0 +1,85 @@
+package de.hpi.bpt.scylla.plugin.sustainabilitylogger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.logger.ProcessNodeInfo;
+import de.hpi.bpt.scylla.logger.ProcessNodeTransitionType;
+import de.hpi.bpt.scylla.model.global.CostVariantConfiguration;
+import de.hpi.bpt.scylla.parser.CostVariantConfigurationParser;
+
+public class ImpactAccumulatorTests {
+
+	private static ProcessNodeInfo terminate(String node, String name, String... costDrivers) {
+		return new ProcessNodeInfo(1, node, "source", 0, name, Collections.emptySet(),
+				ProcessNodeTransitionType.TERMINATE, Arrays.asList(costDrivers));
+	}
+
+	@Test
+	public void testImpactsAreAccumulated() throws Exception {
+		Element root = new Element("costVariantConfig").setAttribute("count", "2");
+		root.addContent(new Element("variant").setAttribute("id", "Green").setAttribute("frequency", "1")
+				.addContent(new Element("driver").setAttribute("id", "Paper").setAttribute("cost", "2"))
+				.addContent(new Element("driver").setAttribute("id", "Electricity").setAttribute("cost", "0.5")));
+		CostVariantConfiguration configuration = new CostVariantConfigurationParser().parse(root);
+
+		ImpactAccumulator accumulator = new ImpactAccumulator(configuration);
+		accumulator.add("p", 1, terminate("p_Task_1", "Print", "Paper", "Electricity"));
+		accumulator.add("p", 2, terminate("p_Task_1", "Print", "Paper"));
+		accumulator.add("p", 2, new ProcessNodeInfo(2, "p_Task_2", "source", 0, "Check", Collections.emptySet(),
+				ProcessNodeTransitionType.BEGIN, Arrays.asList("Paper")));
+
+		ImpactAccumulator.ProcessImpacts impacts = accumulator.getImpactsPerProcess().get("p");
+		assertEquals(2, impacts.numberOfInstances);
+		assertEquals(2.5, impacts.impactPerInstance[1], 1e-9);
+		assertEquals(2, impacts.impactPerInstance[2], 1e-9);
+		assertEquals("Green", impacts.variantPerInstance[1]);
+		assertEquals(4.5, impacts.impactsPerActivity.get("p_Task_1").impact, 1e-9);
+		assertEquals(2, impacts.impactsPerActivity.get("p_Task_1").executions);
+		assertEquals(4.5, accumulator.getImpactsPerVariant().get("Green").impact, 1e-9);
+		assertEquals(2, accumulator.getImpactsPerVariant().get("Green").instances);
+	}
+
+	@Test
+	public void testUnknownDriverHasNoImpact() {
+		Map<String, Double> frequencies = new HashMap<>();
+		frequencies.put("Default", 1.0);
+		CostVariantConfiguration configuration = new CostVariantConfiguration(frequencies, 1,
+				Collections.singletonMap("Default", Collections.singletonMap("Paper", 1.0)));
+
+		ImpactAccumulator accumulator = new ImpactAccumulator(configuration);
+		accumulator.add("p", 1, terminate("p_Task_1", "Print", "Toner"));
+		assertEquals(0, accumulator.getImpactsPerProcess().get("p").impactPerInstance[1], 1e-9);
+	}
+
+	@Test
+	public void testAllVariantsAreEvaluated() throws Exception {
+		Element root = new Element("costVariantConfig").setAttribute("count", "2").setAttribute("evaluate", "all");
+		root.addContent(new Element("variant").setAttribute("id", "A").setAttribute("frequency", "1")
+				.addContent(new Element("driver").setAttribute("id", "Paper").setAttribute("cost", "2")));
+		root.addContent(new Element("variant").setAttribute("id", "B").setAttribute("frequency", "0")
+				.addContent(new Element("driver").setAttribute("id", "Paper").setAttribute("cost", "3")));
+		CostVariantConfiguration configuration = new CostVariantConfigurationParser().parse(root);
+
+		ImpactAccumulator accumulator = new ImpactAccumulator(configuration);
+		accumulator.add("p", 1, terminate("p_Task_1", "Print", "Paper"));
+		accumulator.add("p", 2, terminate("p_Task_1", "Print", "Paper", "Paper"));
+
+		assertEquals(Arrays.asList("A", "B"), Arrays.asList(accumulator.getAllVariants()));
+		ImpactAccumulator.ProcessImpacts impacts = accumulator.getImpactsPerProcess().get("p");
+		assertEquals(6, accumulator.getTotalImpactPerVariant()[0], 1e-9);
+		assertEquals(9, accumulator.getTotalImpactPerVariant()[1], 1e-9);
+		assertEquals(3, impacts.impactPerVariantAndInstance[1][1], 1e-9);
+		assertEquals(6, impacts.impactPerVariantAndInstance[1][2], 1e-9);
+		// the impact under the drawn variant is not affected
+		assertEquals(6, accumulator.getImpactsPerVariant().get("A").impact, 1e-9);
+	}
+
+}
@@ -0,0 +1,93 @@
+package de.hpi.bpt.scylla.plugin.sustainabilitylogger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.model.global.CostVariantConfiguration;
+import de.hpi.bpt.scylla.parser.CostVariantConfigurationParser;
+
+public class XESImpactCalculatorTests {
+
+	private static final String LOG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"
+			+ "<log xes.version=\"1.0\">"
+			+ "<string key=\"concept:name\" value=\"p\"/>"
+			+ "<trace><string key=\"concept:name\" value=\"1\"/><string key=\"cost:variant\" value=\"Green\"/>"
+			+ "<event><string key=\"concept:name\" value=\"Print\"/><string key=\"lifecycle:transition\" value=\"start\"/>"
+			+ "<string key=\"cost:driver\" value=\"Paper\"/></event>"
+			+ "<event><string key=\"concept:name\" value=\"Print\"/><string key=\"lifecycle:transition\" value=\"complete\"/>"
+			+ "<string key=\"cost:driver\" value=\"Paper\"/><string key=\"cost:driver\" value=\"Electricity\"/></event>"
+			+ "</trace>"
+			+ "<trace><string key=\"concept:name\" value=\"7\"/><string key=\"cost:variant\" value=\"Grey\"/>"
+			+ "<event><string key=\"concept:name\" value=\"Print\"/><string key=\"lifecycle:transition\" value=\"complete\"/>"
+			+ "<string key=\"cost:driver\" value=\"Paper\"/></event>"
+			+ "</trace>"
+			+ "</log>";
+
+	private static CostVariantConfiguration configuration() throws Exception {
+		Element root = new Element("costVariantConfig").setAttribute("count", "2");
+		root.addContent(new Element("variant").setAttribute("id", "Green").setAttribute("frequency", "0.5")
+				.addContent(new Element("driver").setAttribute("id", "Paper").setAttribute("cost", "2"))
+				.addContent(new Element("driver").setAttribute("id", "Electricity").setAttribute("cost", "0.5")));
+		root.addContent(new Element("variant").setAttribute("id", "Grey").setAttribute("frequency", "0.5")
+				.addContent(new Element("driver").setAttribute("id", "Paper").setAttribute("cost", "3")));
+		return new CostVariantConfigurationParser().parse(root);
+	}
+
+	private static void assertImpacts(ImpactAccumulator accumulator) {
+		ImpactAccumulator.ProcessImpacts impacts = accumulator.getImpactsPerProcess().get("p");
+		assertEquals(2, impacts.numberOfInstances);
+		assertEquals(2.5, impacts.impactPerInstance[1], 1e-9);
+		assertEquals(3, impacts.impactPerInstance[7], 1e-9);
+		assertEquals("Grey", impacts.variantPerInstance[7]);
+		assertEquals(5.5, impacts.impactsPerActivity.get("Print").impact, 1e-9);
+		assertEquals(2, impacts.impactsPerActivity.get("Print").executions);
+		assertEquals(1, accumulator.getImpactsPerVariant().get("Green").instances);
+		assertEquals(3, accumulator.getImpactsPerVariant().get("Grey").impact, 1e-9);
+	}
+
+	@Test
+	public void testPlainLog() throws Exception {
+		XESImpactCalculator calculator = new XESImpactCalculator(configuration(), 2);
+		calculator.addLog(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), "log");
+		assertImpacts(calculator.getAccumulator());
+	}
+
+	@Test
+	public void testCompressedLog() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(LOG.getBytes(StandardCharsets.UTF_8));
+		}
+		XESImpactCalculator calculator = new XESImpactCalculator(configuration(), 2);
+		calculator.addLog(new ByteArrayInputStream(compressed.toByteArray()), "log");
+		assertImpacts(calculator.getAccumulator());
+	}
+
+	@Test
+	public void testLogOfManyChunks() throws Exception {
+		int traces = 10 * 1024 + 5;
+		StringBuilder log = new StringBuilder("<log><string key=\"concept:name\" value=\"p\"/>");
+		for (int i = 1; i <= traces; i++) {
+			log.append("<trace><string key=\"concept:name\" value=\"").append(i)
+					.append("\"/><string key=\"cost:variant\" value=\"Grey\"/>")
+					.append("<event><string key=\"concept:name\" value=\"Print\"/><string key=\"lifecycle:transition\" value=\"complete\"/>")
+					.append("<string key=\"cost:driver\" value=\"Paper\"/></event></trace>");
+		}
+		log.append("</log>");
+		XESImpactCalculator calculator = new XESImpactCalculator(configuration(), 2);
+		calculator.addLog(new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.UTF_8)), "log");
+		ImpactAccumulator.ProcessImpacts impacts = calculator.getAccumulator().getImpactsPerProcess().get("p");
+		assertEquals(traces, impacts.numberOfInstances);
+		assertEquals(3, impacts.impactPerInstance[traces], 1e-9);
+		assertEquals(traces, impacts.impactsPerActivity.get("Print").executions);
+		assertEquals(3.0 * traces, calculator.getAccumulator().getImpactsPerVariant().get("Grey").impact, 1e-6);
+	}
+
+}
@@ -0,0 +1,84 @@
+package de.hpi.bpt.scylla.plugin.sustainableassignment;
+
+import static de.hpi.bpt.scylla.Scylla.normalizePath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.SAXBuilder;
+import org.junit.jupiter.api.Test;
+
+import de.hpi.bpt.scylla.SimulationTest;
+
+public class SustainableResourceAssignmentTests extends SimulationTest {
+
+	@Test
+	/**
+	 * Two clerks of equal cost, both always available: every instance is assigned the clerk with the lower emission factor
+	 */
+	public void testLowerEmissionInstanceIsChosen() throws JDOMException, IOException {
+		runSimpleSimulation("SustainableAssignmentGlobalConfiguration.xml", "claim_process.bpmn", "claim_process_configuration.xml");
+		List<Set<String>> resources = parseResourcesOfStartedTasks("claim_process");
+		assertEquals(3, resources.size());
+		for (Set<String> resourcesOfTrace : resources) {
+			assertEquals(Set.of("Clerk_Green"), resourcesOfTrace);
+		}
+	}
+
+	@Test
+	/**
+	 * The green clerk and the green printer are both available, but their timetables do not intersect; the best
+	 * combination with intersecting timetables is the green clerk with the grey printer (1 + 5), not the grey clerk with
+	 * the green printer (10 + 2)
+	 */
+	public void testDisjointTimetablesFallBackToBestCombination() throws JDOMException, IOException {
+		runSimpleSimulation("SustainableAssignmentTimetablesGlobalConfiguration.xml", "claim_process.bpmn", "claim_process_two_resources_configuration.xml");
+		List<Set<String>> resources = parseResourcesOfStartedTasks("claim_process");
+		assertEquals(1, resources.size());
+		assertEquals(Set.of("Clerk_Green", "Printer_Grey"), resources.get(0));
+	}
+
+	/**
+	 * @return the resources of the started tasks of each trace of the XES log
+	 */
+	private List<Set<String>> parseResourcesOfStartedTasks(String modelName) throws JDOMException, IOException {
+		File f = new File(normalizePath("./"+outputPath+modelName+".xes"));
+		assertTrue(f.exists());
+		List<Set<String>> resources = new ArrayList<>();
+		Element log = new SAXBuilder().build(f).getRootElement();
+		Namespace nsp = log.getNamespace();
+		for (Element trace : log.getChildren("trace", nsp)) {
+			for (Element event : trace.getChildren("event", nsp)) {
+				Set<String> resourcesOfEvent = new HashSet<>();
+				boolean started = false;
+				for (Element attribute : event.getChildren("string", nsp)) {
+					String key = attribute.getAttributeValue("key");
+					if (key.equals("lifecycle:transition")) {
+						started = attribute.getAttributeValue("value").equals("start");
+					} else if (key.equals("org:resource")) {
+						resourcesOfEvent.add(attribute.getAttributeValue("value"));
+					}
+				}
+				if (started) {
+					resources.add(resourcesOfEvent);
+				}
+			}
+		}
+		return resources;
+	}
+
+	@Override
+	protected String getFolderName() {
+		return "SustainableAssignmentPlugin";
+	}
+
+}
@@ -0,0 +1,80 @@
+package de.hpi.bpt.scylla.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class EventHeapTests {
+
+	@Test
+	public void testEntriesAreOrderedByTimeThenBySequence() {
+		EventHeap<TestEntry> heap = new EventHeap<>();
+		TestEntry late = add(heap, 20, 0);
+		TestEntry second = add(heap, 10, 2);
+		TestEntry first = add(heap, 10, 1);
+		assertEquals(first, heap.first());
+		assertEquals(10, heap.firstTime());
+		assertTrue(heap.remove(first));
+		assertEquals(second, heap.first());
+		assertTrue(heap.remove(second));
+		assertEquals(late, heap.first());
+		assertTrue(heap.remove(late));
+		assertTrue(heap.isEmpty());
+		assertNull(heap.first());
+	}
+
+	@Test
+	public void testRemoveOnlyEntriesWhichAreHeld() {
+		EventHeap<TestEntry> heap = new EventHeap<>();
+		TestEntry entry = add(heap, 5, 0);
+		assertTrue(entry.isHeld());
+		assertTrue(heap.remove(entry));
+		assertFalse(entry.isHeld());
+		assertFalse(heap.remove(entry));
+		assertFalse(heap.remove(new TestEntry()));
+	}
+
+	@Test
+	/**
+	 * Random additions and removals from the middle of the heap, beyond its initial capacity
+	 */
+	public void testRandomAdditionsAndRemovals() {
+		Random random = new Random(3);
+		EventHeap<TestEntry> heap = new EventHeap<>();
+		List<TestEntry> held = new ArrayList<>();
+		long sequence = 0;
+		for (int i = 0; i < 5000; i++) {
+			if (held.isEmpty() || random.nextInt(3) > 0) {
+				held.add(add(heap, random.nextInt(100), sequence++));
+			} else {
+				TestEntry entry = held.remove(random.nextInt(held.size()));
+				assertTrue(heap.remove(entry));
+			}
+			assertEquals(held.size(), heap.size());
+		}
+		held.sort(Comparator.comparingLong(TestEntry::getTime).thenComparingLong(TestEntry::getSequence));
+		for (TestEntry entry : held) {
+			assertEquals(entry, heap.first());
+			heap.remove(entry);
+		}
+		assertTrue(heap.isEmpty());
+	}
+
+	private static TestEntry add(EventHeap<TestEntry> heap, long time, long sequence) {
+		TestEntry entry = new TestEntry();
+		heap.add(entry, time, sequence);
+		return entry;
+	}
+
+	private static class TestEntry extends EventHeap.Entry {
+	}
+
+}
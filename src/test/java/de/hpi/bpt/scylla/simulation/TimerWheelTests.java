@@ -0,0 +1,169 @@
+package de.hpi.bpt.scylla.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Slots of level 0 span 10 epsilon, so the levels span 10, 640, 40960 and 2621440 epsilon per slot and the wheel
+ * covers 167772160 epsilon before timers overflow
+ */
+public class TimerWheelTests {
+
+	private static final long WIDTH = 10;
+	private static final long OVERFLOW = 64 * 64 * 64 * 64 * WIDTH;
+
+	private TimerWheel wheel = new TimerWheel(null, WIDTH);
+	private List<TimerWheel.Timer> dueTimers = new ArrayList<>();
+	private long nextSequence = 0;
+
+	@Test
+	public void testTimerWithinSlotOfCursorIsDueRightAway() {
+		TimerWheel.Timer timer = add(9);
+		assertEquals(List.of(timer), dueTimers);
+		assertFalse(timer.isScheduled());
+		timer = add(10);
+		assertTrue(timer.isScheduled());
+		assertEquals(10, wheel.getNextTickTime());
+	}
+
+	@Test
+	public void testTimersArePlacedInLowestLevelWhichCoversThem() {
+		assertNextTickOfSingleTimer(639, 630);
+		assertNextTickOfSingleTimer(640, 640);
+		assertNextTickOfSingleTimer(40959, 40320);
+		assertNextTickOfSingleTimer(40960, 40960);
+		assertNextTickOfSingleTimer(OVERFLOW - 1, 63 * 2621440L);
+		assertNextTickOfSingleTimer(OVERFLOW, 2621440);
+	}
+
+	@Test
+	public void testAdvanceMovesTimersDownLevelByLevel() {
+		TimerWheel.Timer timer = add(45005);
+		assertEquals(40960, wheel.getNextTickTime());
+		wheel.advance(40960, dueTimers);
+		assertTrue(dueTimers.isEmpty());
+		assertEquals(44800, wheel.getNextTickTime());
+		wheel.advance(44800, dueTimers);
+		assertTrue(dueTimers.isEmpty());
+		assertEquals(45000, wheel.getNextTickTime());
+		wheel.advance(45000, dueTimers);
+		assertEquals(List.of(timer), dueTimers);
+		assertEquals(Long.MAX_VALUE, wheel.getNextTickTime());
+	}
+
+	@Test
+	public void testCancelAfterMoveToLowerLevel() {
+		TimerWheel.Timer timer = add(45005);
+		TimerWheel.Timer other = add(45100);
+		wheel.advance(44800, dueTimers);
+		assertTrue(wheel.cancel(timer));
+		assertFalse(timer.isScheduled());
+		assertFalse(wheel.cancel(timer));
+		assertEquals(45100, wheel.getNextTickTime());
+		wheel.advance(45100, dueTimers);
+		assertEquals(List.of(other), dueTimers);
+		assertEquals(Long.MAX_VALUE, wheel.getNextTickTime());
+	}
+
+	@Test
+	public void testOverflowIsPlacedAnewWhenLastLevelMoves() {
+		TimerWheel.Timer timer = add(3 * OVERFLOW + 7);
+		List<Long> ticks = tickUntilDue();
+		assertEquals(List.of(timer), dueTimers);
+		assertEquals(3 * OVERFLOW, (long) ticks.get(ticks.size() - 1));
+		for (int i = 1; i < ticks.size(); i++) {
+			assertTrue(ticks.get(i - 1) < ticks.get(i));
+		}
+	}
+
+	@Test
+	/**
+	 * Jumps of the cursor over more than 64 slots of level 0 and of level 1 must neither lose timers nor collect them
+	 * early, also if some of them are canceled after they have been moved down
+	 */
+	public void testJumpsOverMoreThan64Slots() {
+		Random random = new Random(42);
+		List<TimerWheel.Timer> timers = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			timers.add(add(1 + random.nextInt(3_000_000)));
+		}
+		Set<TimerWheel.Timer> canceled = new HashSet<>();
+		Set<TimerWheel.Timer> collected = new HashSet<>();
+		long now = 0;
+		while (now < 3_000_000) {
+			now += random.nextBoolean() ? 650 + random.nextInt(1000) : 41000 + random.nextInt(50000);
+			wheel.advance(now, dueTimers);
+			for (TimerWheel.Timer timer : dueTimers) {
+				assertTrue(timer.getTime() / WIDTH <= now / WIDTH, "Timer collected before its slot");
+				assertTrue(collected.add(timer));
+			}
+			dueTimers.clear();
+			for (TimerWheel.Timer timer : timers) {
+				if (timer.isScheduled() && timer.getTime() / WIDTH > now / WIDTH && random.nextInt(50) == 0) {
+					assertTrue(wheel.cancel(timer));
+					canceled.add(timer);
+				}
+			}
+			for (TimerWheel.Timer timer : timers) {
+				assertEquals(timer.getTime() / WIDTH > now / WIDTH && !canceled.contains(timer), timer.isScheduled());
+			}
+		}
+		assertEquals(timers.size(), collected.size() + canceled.size());
+		assertEquals(Long.MAX_VALUE, wheel.getNextTickTime());
+	}
+
+	@Test
+	/**
+	 * Ticks which follow the next tick time reach each timer at the start of its slot of level 0
+	 */
+	public void testTicksReachTimersAtStartOfTheirSlot() {
+		Random random = new Random(7);
+		for (int i = 0; i < 500; i++) {
+			add(WIDTH + random.nextInt(500_000_000));
+		}
+		while (wheel.getNextTickTime() != Long.MAX_VALUE) {
+			long now = wheel.getNextTickTime();
+			wheel.advance(now, dueTimers);
+			for (TimerWheel.Timer timer : dueTimers) {
+				assertEquals(now, timer.getTime() / WIDTH * WIDTH);
+			}
+			dueTimers.clear();
+		}
+	}
+
+	private TimerWheel.Timer add(long time) {
+		TimerWheel.Timer timer = new TimerWheel.Timer(null);
+		wheel.add(timer, time, nextSequence++, dueTimers);
+		return timer;
+	}
+
+	private void assertNextTickOfSingleTimer(long time, long expectedTick) {
+		wheel = new TimerWheel(null, WIDTH);
+		add(time);
+		assertEquals(expectedTick, wheel.getNextTickTime());
+	}
+
+	/**
+	 * Advances the wheel from tick to tick until a timer is due
+	 * @return the points in time of the ticks
+	 */
+	private List<Long> tickUntilDue() {
+		List<Long> ticks = new ArrayList<>();
+		while (dueTimers.isEmpty()) {
+			long now = wheel.getNextTickTime();
+			ticks.add(now);
+			wheel.advance(now, dueTimers);
+		}
+		return ticks;
+	}
+
+}
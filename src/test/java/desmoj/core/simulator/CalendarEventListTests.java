@@ -0,0 +1,203 @@
+package desmoj.core.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the {@link CalendarEventList} with the default event list of DesmoJ: the same events are scheduled through
+ * the DesmoJ scheduler into both lists and must leave them in the same order.<br>
+ * The calendar list depends on package-private parts of DesmoJ, so these tests have to run against the DesmoJ jar.
+ */
+public class CalendarEventListTests {
+
+	@Test
+	public void testSameTimeFirstInFirstOut() {
+		assertSameOrder(run -> {
+			for (int i = 0; i < 5; i++) {
+				run.schedule(10);
+			}
+			run.schedule(5);
+			run.schedule(5);
+			run.popAll();
+		});
+	}
+
+	@Test
+	public void testHigherPriorityFirst() {
+		Run run = assertSameOrder(r -> {
+			r.schedule(10, 0);
+			r.schedule(10, 2);
+			r.schedule(10, 1);
+			r.schedule(10, 2);
+			r.schedule(20, 5);
+			r.popAll();
+		});
+		assertEquals(List.of(1, 3, 2, 0, 4), run.order);
+	}
+
+	@Test
+	public void testInsertBeforeAndAfter() {
+		assertSameOrder(run -> {
+			ExternalEvent first = run.schedule(10);
+			ExternalEvent second = run.schedule(10);
+			run.event().scheduleAfter(first);
+			run.event().scheduleBefore(first);
+			run.event().scheduleAfter(second);
+			run.event().scheduleBefore(second);
+			run.schedule(10);
+			run.popAll();
+		});
+	}
+
+	@Test
+	public void testRemove() {
+		Run run = assertSameOrder(r -> {
+			for (int i = 0; i < 10; i++) {
+				r.schedule(i % 3);
+			}
+			r.events.get(0).cancel();
+			r.events.get(4).cancel();
+			r.events.get(9).cancel();
+		});
+		assertFalse(run.events.get(0).isScheduled());
+		assertFalse(run.events.get(4).isScheduled());
+		assertTrue(run.events.get(5).isScheduled());
+		assertTrue(run.eventList instanceof CalendarEventList);
+		run.popAll();
+		assertEquals(7, run.order.size());
+		for (ExternalEvent event : run.events) {
+			assertFalse(event.isScheduled());
+		}
+	}
+
+	@Test
+	/**
+	 * Dense and sparse points in time, inserted in random order and interleaved with removals, so that the number and
+	 * the width of the buckets change several times
+	 */
+	public void testResizeAcrossBucketWidths() {
+		assertSameOrder(run -> {
+			Random random = new Random(42);
+			for (int i = 0; i < 300; i++) {
+				run.schedule(random.nextInt(50) * 0.001);
+			}
+			for (int i = 0; i < 300; i++) {
+				run.schedule(1000 + random.nextInt(1000) * 37.0, random.nextInt(3));
+			}
+			run.pop(450);
+			for (int i = 0; i < 200; i++) {
+				run.schedule(500 + random.nextInt(20));
+			}
+			run.pop(600);
+			for (int i = 0; i < 100; i++) {
+				run.schedule(100000 + random.nextInt(5) * 0.5);
+			}
+			run.popAll();
+		});
+	}
+
+	/**
+	 * Runs the scenario with the default event list and with the calendar event list
+	 * @return the run with the calendar event list
+	 */
+	private static Run assertSameOrder(Consumer<Run> scenario) {
+		Run expected = new Run(false);
+		scenario.accept(expected);
+		Run actual = new Run(true);
+		scenario.accept(actual);
+		assertEquals(expected.order, actual.order);
+		return actual;
+	}
+
+	private static class Run {
+
+		private final Model model;
+		private final EventList eventList;
+		private final List<ExternalEvent> events = new ArrayList<>();
+		// indices of the events in the order in which they left the event list
+		private final List<Integer> order = new ArrayList<>();
+
+		Run(boolean useCalendarEventList) {
+			Experiment experiment = new Experiment("CalendarEventListTests", false);
+			if (useCalendarEventList) {
+				SchedulerAccess.useEventList(experiment, new CalendarEventList());
+			}
+			model = new TestModel();
+			model.connectToExperiment(experiment);
+			eventList = experiment.getScheduler().evList;
+		}
+
+		ExternalEvent event() {
+			ExternalEvent event = new TestEvent(model, events.size());
+			events.add(event);
+			return event;
+		}
+
+		ExternalEvent schedule(double time) {
+			ExternalEvent event = event();
+			event.schedule(new TimeInstant(time));
+			return event;
+		}
+
+		ExternalEvent schedule(double time, int priority) {
+			ExternalEvent event = event();
+			event.setSchedulingPriority(priority);
+			event.schedule(new TimeInstant(time));
+			return event;
+		}
+
+		void pop(int count) {
+			for (int i = 0; i < count && !eventList.isEmpty(); i++) {
+				order.add(((TestEvent) eventList.firstNote().getEvent()).index);
+				eventList.removeFirst();
+			}
+		}
+
+		void popAll() {
+			pop(Integer.MAX_VALUE);
+		}
+	}
+
+	private static class TestModel extends Model {
+
+		TestModel() {
+			super(null, "CalendarEventListTests", false, false);
+		}
+
+		@Override
+		public String description() {
+			return "Model to compare event lists";
+		}
+
+		@Override
+		public void doInitialSchedules() {
+		}
+
+		@Override
+		public void init() {
+		}
+	}
+
+	private static class TestEvent extends ExternalEvent {
+
+		private final int index;
+
+		TestEvent(Model owner, int index) {
+			super(owner, "Event" + index, false);
+			this.index = index;
+		}
+
+		@Override
+		public void eventRoutine() {
+		}
+	}
+
+}